@@ -0,0 +1,95 @@
+package com.panopticum.cassandra;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@UtilityClass
+public class CassandraPageCursors {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] MAC_KEY = macKey();
+
+    public record Position(String pagingState, int offset, String queryHash) {
+    }
+
+    public Optional<Position> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = token.trim().split("\\.", 2);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[0]);
+            if (!MessageDigest.isEqual(sign(payload), Base64.getUrlDecoder().decode(parts[1]))) {
+                return Optional.empty();
+            }
+            Map<String, Object> map = JSON.readValue(payload, new TypeReference<Map<String, Object>>() {
+            });
+            if (!(map.get("p") instanceof String pagingState) || pagingState.isBlank()
+                    || !(map.get("h") instanceof String queryHash)) {
+                return Optional.empty();
+            }
+            int offset = map.get("o") instanceof Number n ? n.intValue() : 0;
+
+            return Optional.of(new Position(pagingState, Math.max(0, offset), queryHash));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode(Position position) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("p", position.pagingState());
+        payload.put("o", position.offset());
+        payload.put("h", position.queryHash());
+        try {
+            byte[] bytes = JSON.writeValueAsBytes(payload);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+            return encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public String queryHash(String keyspace, String cql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String source = (keyspace != null ? keyspace : "") + "\n" + (cql != null ? cql.trim() : "");
+            byte[] hash = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private byte[] sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(MAC_KEY, MAC_ALGORITHM));
+
+        return mac.doFinal(payload);
+    }
+
+    private byte[] macKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        return key;
+    }
+}
@@ -1,20 +1,27 @@
 package com.panopticum.cassandra.controller;
 
 import com.panopticum.cassandra.model.CassandraQueryRequest;
+import com.panopticum.cassandra.model.CassandraScanReport;
 import com.panopticum.cassandra.model.CassandraKeyspaceInfo;
 import com.panopticum.cassandra.model.CassandraTableInfo;
 import com.panopticum.cassandra.service.CassandraMetadataService;
 import com.panopticum.core.model.Page;
 import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.controller.AbstractConnectionApiController;
+import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.service.DbConnectionService;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.annotation.Status;
+import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.MediaType;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.annotation.ExecuteOn;
@@ -26,6 +33,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.reactivestreams.Publisher;
+
+import java.util.Map;
 
 @Controller("/api/cassandra/connections")
 @Secured(SecurityRule.IS_AUTHENTICATED)
@@ -75,6 +85,87 @@ public class CassandraApiController extends AbstractConnectionApiController {
         return cassandraMetadataService.listTablesPaged(id, keyspaceName, page, size, sort, order);
     }
 
+    @Get("/{id}/driver-metrics")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Driver metrics of the cached sessions")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Session and node metrics by name"),
+            @ApiResponse(responseCode = "404", description = "connection.notFound")
+    })
+    public Map<String, Object> driverMetrics(@Parameter(description = "Connection ID") @PathVariable Long id) {
+        ensureConnectionExists(id);
+        return cassandraMetadataService.driverMetrics(id);
+    }
+
+    @Post("/{id}/keyspaces/{keyspaceName}/tables/{tableName}/scans")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Start a token-range scan of a table (mode COUNT or STATS)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scan progress report"),
+            @ApiResponse(responseCode = "404", description = "connection.notFound or cassandra.scanTableNotFound")
+    })
+    public CassandraScanReport startScan(
+            @Parameter(description = "Connection ID") @PathVariable Long id,
+            @PathVariable String keyspaceName,
+            @PathVariable String tableName,
+            @QueryValue(value = "mode", defaultValue = "COUNT") String mode) {
+        ensureConnectionExists(id);
+        return payloadOrThrow(cassandraMetadataService.startScan(id, keyspaceName, tableName, mode));
+    }
+
+    @Get("/{id}/keyspaces/{keyspaceName}/tables/{tableName}/scans/{mode}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Progress or result of a table scan")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scan progress report"),
+            @ApiResponse(responseCode = "404", description = "cassandra.scanNotFound")
+    })
+    public CassandraScanReport scanReport(
+            @Parameter(description = "Connection ID") @PathVariable Long id,
+            @PathVariable String keyspaceName,
+            @PathVariable String tableName,
+            @PathVariable String mode) {
+        ensureConnectionExists(id);
+        return cassandraMetadataService.getScanReport(id, keyspaceName, tableName, mode)
+                .orElseThrow(() -> new HttpStatusException(HttpStatus.NOT_FOUND, "cassandra.scanNotFound"));
+    }
+
+    @Delete("/{id}/keyspaces/{keyspaceName}/tables/{tableName}/scans/{mode}")
+    @Status(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Cancel a running table scan")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Cancelled"),
+            @ApiResponse(responseCode = "404", description = "cassandra.scanNotFound")
+    })
+    public void cancelScan(
+            @Parameter(description = "Connection ID") @PathVariable Long id,
+            @PathVariable String keyspaceName,
+            @PathVariable String tableName,
+            @PathVariable String mode) {
+        ensureConnectionExists(id);
+        if (!cassandraMetadataService.cancelScan(id, keyspaceName, tableName, mode)) {
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "cassandra.scanNotFound");
+        }
+    }
+
+    @Get("/{id}/keyspaces/{keyspaceName}/tables/{tableName}/export")
+    @Produces({"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Stream every row of a table as CSV or JSON Lines (format=csv|jsonl)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rows streamed in token order per split"),
+            @ApiResponse(responseCode = "404", description = "connection.notFound or cassandra.scanTableNotFound")
+    })
+    public HttpResponse<Publisher<String>> export(
+            @Parameter(description = "Connection ID") @PathVariable Long id,
+            @PathVariable String keyspaceName,
+            @PathVariable String tableName,
+            @QueryValue(value = "format", defaultValue = "csv") String format) {
+        ensureConnectionExists(id);
+        boolean jsonLines = "jsonl".equalsIgnoreCase(format);
+        Publisher<String> body = payloadOrThrow(cassandraMetadataService.exportTable(id, keyspaceName, tableName, jsonLines));
+        return CassandraExports.response(body, keyspaceName, tableName, jsonLines);
+    }
+
     @Post("/{id}/keyspaces/{keyspaceName}/query")
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Execute CQL query")
@@ -87,6 +178,15 @@ public class CassandraApiController extends AbstractConnectionApiController {
             @PathVariable String keyspaceName,
             @Valid @Body CassandraQueryRequest request) {
         return runCqlQuery(id, keyspaceName, request.getCql(), request.getOffset(), request.getLimit(),
-                cassandraMetadataService::executeQuery);
+                (connectionId, keyspace, cql, offset, limit) -> cassandraMetadataService.executeQuery(
+                        connectionId, keyspace, cql, offset, limit, true, request.getCursor()));
+    }
+
+    private static <T> T payloadOrThrow(AccessResult<T> result) {
+        if (result.isOk()) {
+            return result.getPayload();
+        }
+        HttpStatus status = result.getStatus() == AccessResult.Status.NOT_FOUND ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY;
+        throw new HttpStatusException(status, result.getMessageKey());
     }
 }
@@ -5,12 +5,14 @@ import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.model.Page;
 import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.controller.AbstractConnectionUiController;
+import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.error.ErrorKeys;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.ui.AppAlerts;
 import com.panopticum.core.util.ControllerModelHelper;
 import com.panopticum.core.util.QueryResultModelHelper;
 import com.panopticum.cassandra.model.CassandraKeyspaceInfo;
+import com.panopticum.cassandra.model.CassandraScanReport;
 import com.panopticum.cassandra.model.CassandraTableInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -32,7 +34,11 @@ import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.micronaut.views.ModelAndView;
 import io.micronaut.views.View;
+import org.reactivestreams.Publisher;
+
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -120,6 +126,71 @@ public class CassandraController extends AbstractConnectionUiController {
         return model;
     }
 
+    @Produces(MediaType.TEXT_HTML)
+    @Get("/{id}/{keyspaceName}/{tableName}/scan")
+    @View("cassandra/scan")
+    public Map<String, Object> scan(@PathVariable Long id, @PathVariable String keyspaceName, @PathVariable String tableName,
+                                    @QueryValue(value = "error", defaultValue = "") String error) {
+        Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
+        Optional<DbConnection> conn = dbConnectionService.findById(id);
+        if (conn.isEmpty()) {
+            return model;
+        }
+
+        List<BreadcrumbItem> breadcrumbs = new ArrayList<>();
+        breadcrumbs.add(new BreadcrumbItem(conn.get().getName(), "/cassandra/" + id));
+        breadcrumbs.add(new BreadcrumbItem(keyspaceName, "/cassandra/" + id + "/" + keyspaceName));
+        breadcrumbs.add(new BreadcrumbItem(tableName, null));
+        ControllerModelHelper.addBreadcrumbs(model, breadcrumbs);
+        model.put("connectionId", id);
+        model.put("keyspaceName", keyspaceName);
+        model.put("tableName", tableName);
+        if (!error.isBlank()) {
+            AppAlerts.i18n(model, error);
+        }
+
+        List<CassandraScanReport> reports = cassandraMetadataService.listScanReports(id, keyspaceName, tableName);
+        model.put("reports", reports);
+        model.put("running", reports.stream().anyMatch(CassandraScanReport::isRunning));
+        reports.stream().filter(r -> "STATS".equals(r.getMode())).findFirst()
+                .ifPresent(r -> model.put("statsReport", r));
+        if (reports.stream().anyMatch(r -> "FAILED".equals(r.getState()))) {
+            AppAlerts.i18n(model, "cassandra.scanFailed");
+        }
+
+        return model;
+    }
+
+    @Post("/{id}/{keyspaceName}/{tableName}/scan")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public HttpResponse<?> scanAction(@PathVariable Long id, @PathVariable String keyspaceName, @PathVariable String tableName,
+                                      @Nullable String mode, @Nullable String action) {
+        String error = "";
+        if ("cancel".equals(action)) {
+            cassandraMetadataService.cancelScan(id, keyspaceName, tableName, mode);
+        } else {
+            AccessResult<CassandraScanReport> result = cassandraMetadataService.startScan(id, keyspaceName, tableName, mode);
+            if (!result.isOk()) {
+                error = "?error=" + URLEncoder.encode(result.getMessageKey(), StandardCharsets.UTF_8);
+            }
+        }
+
+        return HttpResponse.redirect(URI.create("/cassandra/" + id + "/" + keyspaceName + "/" + tableName + "/scan" + error));
+    }
+
+    @Get("/{id}/{keyspaceName}/{tableName}/export")
+    public HttpResponse<?> export(@PathVariable Long id, @PathVariable String keyspaceName, @PathVariable String tableName,
+                                  @QueryValue(value = "format", defaultValue = "csv") String format) {
+        boolean jsonLines = "jsonl".equalsIgnoreCase(format);
+        AccessResult<Publisher<String>> result = cassandraMetadataService.exportTable(id, keyspaceName, tableName, jsonLines);
+        if (!result.isOk()) {
+            return HttpResponse.redirect(URI.create("/cassandra/" + id + "/" + keyspaceName + "/" + tableName + "/scan?error="
+                    + URLEncoder.encode(result.getMessageKey(), StandardCharsets.UTF_8)));
+        }
+
+        return CassandraExports.response(result.getPayload(), keyspaceName, tableName, jsonLines);
+    }
+
     @Produces(MediaType.TEXT_HTML)
     @Get("/{id}/{keyspaceName}/cql")
     @View("cassandra/cql")
@@ -180,7 +251,8 @@ public class CassandraController extends AbstractConnectionUiController {
     @Produces(MediaType.TEXT_HTML)
     public Object executeQuery(@PathVariable Long id, String sql, String keyspaceName,
                                @Nullable Integer offset, @Nullable Integer limit,
-                               @Nullable String sort, @Nullable String order, String target) {
+                               @Nullable String sort, @Nullable String order, String target,
+                               @Nullable String cursor) {
         Map<String, Object> model = new HashMap<>();
         model.put("connectionId", id);
         model.put("keyspaceName", keyspaceName);
@@ -195,7 +267,7 @@ public class CassandraController extends AbstractConnectionUiController {
 
         int off = offset != null ? Math.max(0, offset) : 0;
         int lim = limit != null && limit > 0 ? limit : 100;
-        var result = cassandraMetadataService.executeQuery(id, keyspaceName, sql, off, lim)
+        var result = cassandraMetadataService.executeQuery(id, keyspaceName, sql, off, lim, true, cursor)
                 .orElse(QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED));
         QueryResultModelHelper.putQueryResult(model, result, sort, order);
         model.put("sql", sql);
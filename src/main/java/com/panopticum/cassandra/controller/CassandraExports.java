@@ -0,0 +1,19 @@
+package com.panopticum.cassandra.controller;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import lombok.experimental.UtilityClass;
+import org.reactivestreams.Publisher;
+
+@UtilityClass
+class CassandraExports {
+
+    HttpResponse<Publisher<String>> response(Publisher<String> body, String keyspace, String table, boolean jsonLines) {
+        String fileName = (keyspace + "." + table).replaceAll("[^A-Za-z0-9_.-]", "_") + (jsonLines ? ".jsonl" : ".csv");
+
+        return HttpResponse.ok(body)
+                .contentType(MediaType.of(jsonLines ? "application/x-ndjson" : "text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    }
+}
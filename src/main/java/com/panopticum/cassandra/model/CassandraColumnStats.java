@@ -0,0 +1,21 @@
+package com.panopticum.cassandra.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Serdeable
+public class CassandraColumnStats {
+
+    private final String name;
+    private final String type;
+    private final String kind;
+    private final long sampled;
+    private final long nulls;
+    private final int distinct;
+    private final boolean distinctCapped;
+    private final String min;
+    private final String max;
+}
@@ -19,4 +19,7 @@ public class CassandraQueryRequest {
 
     @Schema(description = "Limit", defaultValue = "100")
     private int limit = 100;
+
+    @Schema(description = "Opaque cursor from nextCursor of a previous result; takes precedence over offset")
+    private String cursor;
 }
@@ -0,0 +1,34 @@
+package com.panopticum.cassandra.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Serdeable
+public class CassandraScanReport {
+
+    private final String keyspace;
+    private final String table;
+    private final String mode;
+    private final String state;
+    private final String startedAt;
+    private final String finishedAt;
+    private final int nodes;
+    private final int splitsTotal;
+    private final int splitsDone;
+    private final long rows;
+    private final String error;
+    private final List<CassandraColumnStats> columns;
+
+    public boolean isRunning() {
+        return "RUNNING".equals(state);
+    }
+
+    public int getProgressPercent() {
+        return splitsTotal > 0 ? (int) (100L * splitsDone / splitsTotal) : 100;
+    }
+}
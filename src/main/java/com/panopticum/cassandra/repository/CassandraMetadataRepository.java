@@ -2,6 +2,7 @@ package com.panopticum.cassandra.repository;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.PagingState;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
@@ -10,7 +11,6 @@ import com.panopticum.core.error.ConnectionSupport;
 import com.panopticum.core.error.MetadataAccessException;
 import com.panopticum.core.sql.JdbcSqlExecutor;
 import com.panopticum.core.sql.SqlStatementClassifier;
-import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.cassandra.model.CassandraKeyspaceInfo;
 import com.panopticum.core.model.ColumnInfo;
@@ -21,15 +21,16 @@ import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.InetSocketAddress;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Singleton
@@ -37,8 +38,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CassandraMetadataRepository {
 
-    private static final int DEFAULT_PORT = 9042;
-    private static final String LOCAL_DC = "datacenter1";
+    private static final Pattern USE_STATEMENT = Pattern.compile("\\s*USE\\b", Pattern.CASE_INSENSITIVE);
     private static final String LIST_KEYSPACES =
             "SELECT keyspace_name, durable_writes, replication FROM system_schema.keyspaces";
     private static final String LIST_TABLES =
@@ -47,10 +47,11 @@ public class CassandraMetadataRepository {
             "SELECT column_name, kind, position, type FROM system_schema.columns WHERE keyspace_name = ? AND table_name = ?";
 
     private final DbConnectionService dbConnectionService;
+    private final CassandraSessionRegistry sessionRegistry;
 
     public List<CassandraKeyspaceInfo> listKeyspaceInfos(Long connectionId) {
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, null))) {
-            ResultSet rs = session.execute(SimpleStatement.newInstance(LIST_KEYSPACES));
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
+            ResultSet rs = lease.execute(SimpleStatement.newInstance(LIST_KEYSPACES));
             List<CassandraKeyspaceInfo> list = new ArrayList<>();
             for (Row row : rs) {
                 String name = row.getString("keyspace_name");
@@ -71,8 +72,8 @@ public class CassandraMetadataRepository {
         if (keyspaceName == null || keyspaceName.isBlank()) {
             return List.of();
         }
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, keyspaceName))) {
-            ResultSet rs = session.execute(SimpleStatement.newInstance(LIST_TABLES, keyspaceName));
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
+            ResultSet rs = lease.execute(lease.prepare(LIST_TABLES).bind(keyspaceName));
             List<CassandraTableInfo> list = new ArrayList<>();
             for (Row row : rs) {
                 String name = row.getString("table_name");
@@ -90,20 +91,26 @@ public class CassandraMetadataRepository {
         }
     }
 
-    public Optional<QueryResultData> executeCql(Long connectionId, String keyspaceName, String cql, int limit) {
+    public Optional<CqlPage> executeCqlPage(Long connectionId, String keyspaceName, String cql, int offset, int limit,
+                                            String pagingState) {
         if (cql == null || cql.isBlank()) {
-            return Optional.of(new QueryResultData(List.of(), List.of(), List.of()));
+            return Optional.of(new CqlPage(new QueryResultData(List.of(), List.of(), List.of()), false, null));
         }
-        try (CqlSession session = ConnectionSupport.require(
-                createSession(connectionId, keyspaceName != null && !keyspaceName.isBlank() ? keyspaceName : null))) {
+        if (USE_STATEMENT.matcher(cql).lookingAt()) {
+            throw new MetadataAccessException("cassandra.useNotSupported");
+        }
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, keyspaceName))) {
             String trimmed = cql.trim();
             SimpleStatement stmt = SimpleStatement.newInstance(trimmed).setPageSize(limit);
-            ResultSet rs = session.execute(stmt);
+            if (pagingState != null) {
+                stmt = stmt.setPagingState(PagingState.fromString(pagingState), lease.session());
+            }
+            ResultSet rs = lease.execute(stmt);
             var defs = rs.getColumnDefinitions();
             if (defs == null || defs.size() == 0) {
                 int affected = SqlStatementClassifier.isMutation(trimmed) && rs.wasApplied() ? 1 : 0;
 
-                return Optional.of(JdbcSqlExecutor.rowsAffected(affected));
+                return Optional.of(new CqlPage(JdbcSqlExecutor.rowsAffected(affected), false, null));
             }
             int colCount = defs.size();
             List<String> columns = new ArrayList<>();
@@ -112,15 +119,30 @@ public class CassandraMetadataRepository {
                 columns.add(defs.get(i).getName().asInternal());
                 columnTypes.add(defs.get(i).getType().toString());
             }
+            Iterator<Row> it = rs.iterator();
+            int skip = pagingState == null ? Math.max(0, offset) : 0;
+            while (skip > 0 && it.hasNext()) {
+                it.next();
+                skip--;
+            }
             List<List<Object>> rows = new ArrayList<>();
-            for (Row row : rs) {
+            while (rows.size() < limit && it.hasNext()) {
+                Row row = it.next();
                 List<Object> cellList = new ArrayList<>();
                 for (int i = 0; i < colCount; i++) {
                     cellList.add(row.getObject(i));
                 }
                 rows.add(cellList);
             }
-            return Optional.of(new QueryResultData(columns, columnTypes, rows));
+            String next = null;
+            boolean hasMore = rs.getAvailableWithoutFetching() > 0;
+            if (!hasMore) {
+                PagingState state = rs.getExecutionInfo().getSafePagingState();
+                next = state != null ? state.toString() : null;
+                hasMore = next != null;
+            }
+
+            return Optional.of(new CqlPage(new QueryResultData(columns, columnTypes, rows), hasMore, next));
         } catch (Exception e) {
             log.warn("executeCql failed: {}", e.getMessage());
             throw new MetadataAccessException(e.getMessage(), e);
@@ -131,8 +153,8 @@ public class CassandraMetadataRepository {
         if (keyspaceName == null || keyspaceName.isBlank() || tableName == null || tableName.isBlank()) {
             return List.of();
         }
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, null))) {
-            ResultSet rs = session.execute(SimpleStatement.newInstance(LIST_COLUMNS, keyspaceName, tableName));
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
+            ResultSet rs = lease.execute(lease.prepare(LIST_COLUMNS).bind(keyspaceName, tableName));
             List<Row> rows = new ArrayList<>();
             rs.forEach(rows::add);
             return rows.stream()
@@ -154,8 +176,8 @@ public class CassandraMetadataRepository {
         if (keyspaceName == null || keyspaceName.isBlank() || tableName == null || tableName.isBlank()) {
             return Map.of();
         }
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, null))) {
-            ResultSet rs = session.execute(SimpleStatement.newInstance(LIST_COLUMNS, keyspaceName, tableName));
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
+            ResultSet rs = lease.execute(lease.prepare(LIST_COLUMNS).bind(keyspaceName, tableName));
             Map<String, String> out = new LinkedHashMap<>();
             for (Row row : rs) {
                 String col = row.getString("column_name");
@@ -186,7 +208,7 @@ public class CassandraMetadataRepository {
         if (setCols.isEmpty()) {
             return Optional.empty();
         }
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, keyspaceName))) {
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
             String ks = quoteId(keyspaceName);
             String tbl = quoteId(tableName);
             List<String> setParts = new ArrayList<>();
@@ -198,7 +220,7 @@ public class CassandraMetadataRepository {
                 whereParts.add(quoteId(col) + " = ?");
             }
             String cql = "UPDATE " + ks + "." + tbl + " SET " + String.join(", ", setParts) + " WHERE " + String.join(" AND ", whereParts);
-            PreparedStatement prepared = session.prepare(cql);
+            PreparedStatement prepared = lease.prepare(cql);
             int idx = 0;
             BoundStatementBuilder builder = prepared.boundStatementBuilder();
             for (String col : setCols) {
@@ -212,7 +234,7 @@ public class CassandraMetadataRepository {
                 String strVal = val != null ? val.toString() : null;
                 builder = bindValue(builder, idx++, type, strVal);
             }
-            session.execute(builder.build());
+            lease.execute(builder.build());
             return Optional.empty();
         } catch (Exception e) {
             log.warn("executeUpdate failed: {}", e.getMessage());
@@ -309,29 +331,24 @@ public class CassandraMetadataRepository {
         }
     }
 
-    private Optional<CqlSession> createSession(Long connectionId, String keyspace) {
+    public record CqlPage(QueryResultData data, boolean hasMore, String pagingState) {
+    }
+
+    private Optional<CassandraSessionRegistry.Lease> lease(Long connectionId, String keyspace) {
         return dbConnectionService.findById(connectionId)
                 .filter(c -> "cassandra".equalsIgnoreCase(c.getType()))
-                .flatMap(c -> buildSession(c, keyspace));
+                .flatMap(c -> {
+                    try {
+                        return Optional.of(sessionRegistry.lease(c, keyspace));
+                    } catch (Exception e) {
+                        log.warn("Failed to connect to {}: {}", c.getName(), e.getMessage());
+                        return Optional.empty();
+                    }
+                });
     }
 
-    private Optional<CqlSession> buildSession(DbConnection conn, String keyspace) {
-        int port = conn.getPort() > 0 ? conn.getPort() : DEFAULT_PORT;
-        try {
-            var builder = CqlSession.builder()
-                    .addContactPoint(new InetSocketAddress(conn.getHost().trim(), port))
-                    .withLocalDatacenter(LOCAL_DC);
-            if (conn.getUsername() != null && !conn.getUsername().isBlank()) {
-                builder = builder.withAuthCredentials(conn.getUsername(), conn.getPassword() != null ? conn.getPassword() : "");
-            }
-            if (keyspace != null && !keyspace.isBlank()) {
-                builder = builder.withKeyspace(keyspace);
-            }
-            return Optional.of(builder.build());
-        } catch (Exception e) {
-            log.warn("Failed to connect to {}: {}", conn.getName(), e.getMessage());
-            return Optional.empty();
-        }
+    public Map<String, Object> driverMetrics(Long connectionId) {
+        return sessionRegistry.metrics(connectionId);
     }
 
     private static String formatReplication(Map<String, String> replication) {
@@ -356,16 +373,7 @@ public class CassandraMetadataRepository {
 
     public Optional<CqlSession> createSessionForTest(String host, int port, String keyspace, String username, String password) {
         try {
-            var builder = CqlSession.builder()
-                    .addContactPoint(new InetSocketAddress(host.trim(), port > 0 ? port : DEFAULT_PORT))
-                    .withLocalDatacenter(LOCAL_DC);
-            if (username != null && !username.isBlank()) {
-                builder = builder.withAuthCredentials(username, password != null ? password : "");
-            }
-            if (keyspace != null && !keyspace.isBlank()) {
-                builder = builder.withKeyspace(keyspace);
-            }
-            return Optional.of(builder.build());
+            return Optional.of(sessionRegistry.newSession(host, port, keyspace, username, password));
         } catch (Exception e) {
             log.debug("Test connection failed: {}", e.getMessage());
             return Optional.empty();
@@ -373,8 +381,8 @@ public class CassandraMetadataRepository {
     }
 
     public Optional<EntityDescription> describeTable(Long connectionId, String keyspace, String tableName) {
-        try (CqlSession session = ConnectionSupport.require(createSession(connectionId, keyspace))) {
-            ResultSet rs = session.execute(SimpleStatement.newInstance(LIST_COLUMNS, keyspace, tableName));
+        try (CassandraSessionRegistry.Lease lease = ConnectionSupport.require(lease(connectionId, null))) {
+            ResultSet rs = lease.execute(lease.prepare(LIST_COLUMNS).bind(keyspace, tableName));
             List<ColumnInfo> columns = new ArrayList<>();
             List<String> pk = new ArrayList<>();
             for (Row row : rs) {
@@ -0,0 +1,374 @@
+package com.panopticum.cassandra.repository;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.datastax.dse.driver.api.core.DseProtocolVersion;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.util.StringUtils;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Singleton
+public class CassandraSessionRegistry {
+
+    private static final int DEFAULT_PORT = 9042;
+    private static final String LOCAL_DC = "datacenter1";
+    private static final List<String> SESSION_METRICS = List.of(
+            "connected-nodes", "cql-requests", "cql-client-timeouts", "bytes-sent", "bytes-received");
+    private static final List<String> NODE_METRICS = List.of("pool.open-connections", "pool.in-flight");
+
+    private final Map<SessionKey, Entry> sessions = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.cassandra.session.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.cassandra.session.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    @Value("${panopticum.cassandra.session.pool-local-size:1}")
+    private int poolLocalSize;
+
+    @Value("${panopticum.cassandra.session.idle-eviction:15m}")
+    private Duration idleEviction;
+
+    @Value("${panopticum.cassandra.session.prepared-cache-size:256}")
+    private int preparedCacheSize;
+
+    @PreDestroy
+    void stop() {
+        sessions.values().forEach(Entry::retire);
+        sessions.clear();
+    }
+
+    public Lease lease(DbConnection conn, String keyspace) {
+        String ks = keyspace != null && !keyspace.isBlank() ? keyspace : null;
+        Lease shared = acquire(conn, "");
+        if (ks == null || shared.entry.perRequestKeyspace) {
+            shared.keyspace = ks;
+            return shared;
+        }
+        shared.close();
+
+        return acquire(conn, ks);
+    }
+
+    public CqlSession newSession(String host, int port, String keyspace, String username, String password) {
+        CqlSessionBuilder builder = CqlSession.builder()
+                .addContactPoint(new InetSocketAddress(host.trim(), port > 0 ? port : DEFAULT_PORT))
+                .withLocalDatacenter(LOCAL_DC)
+                .withConfigLoader(configLoader());
+        if (username != null && !username.isBlank()) {
+            builder = builder.withAuthCredentials(username, password != null ? password : "");
+        }
+        if (keyspace != null && !keyspace.isBlank()) {
+            builder = builder.withKeyspace(keyspace);
+        }
+
+        return builder.build();
+    }
+
+    public Map<String, Object> metrics(Long connectionId) {
+        Map<String, Object> out = new TreeMap<>();
+        sessions.forEach((key, entry) -> {
+            if (!key.connectionId().equals(connectionId)) {
+                return;
+            }
+            CqlSession session = entry.session;
+            if (session == null) {
+                return;
+            }
+            session.getMetrics().ifPresent(metrics -> {
+                MetricRegistry registry = metrics.getRegistry();
+                registry.getMetrics().forEach((name, metric) -> {
+                    Object value = metricValue(metric);
+                    if (value != null) {
+                        out.put(key.keyspace().isEmpty() ? name : key.keyspace() + "/" + name, value);
+                    }
+                });
+            });
+            out.put((key.keyspace().isEmpty() ? "" : key.keyspace() + "/") + "prepared-statements", entry.preparedCount());
+        });
+
+        return out;
+    }
+
+    public void invalidate(Long connectionId) {
+        sessions.entrySet().removeIf(e -> {
+            if (!e.getKey().connectionId().equals(connectionId)) {
+                return false;
+            }
+            e.getValue().retire();
+            return true;
+        });
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction.toMillis();
+        sessions.entrySet().removeIf(e -> {
+            if (!e.getValue().retireIfIdle(cutoff)) {
+                return false;
+            }
+            log.debug("Closed idle Cassandra session for connection {}", e.getKey().connectionId());
+            return true;
+        });
+    }
+
+    private Lease acquire(DbConnection conn, String keyspace) {
+        String fingerprint = String.join("\n", String.valueOf(conn.getHost()), String.valueOf(conn.getPort()),
+                String.valueOf(conn.getUsername()), StringUtils.sha256(conn.getPassword()));
+        SessionKey key = new SessionKey(conn.getId(), keyspace);
+        while (true) {
+            Entry[] created = new Entry[1];
+            Entry entry = sessions.compute(key, (k, current) -> {
+                if (current != null && current.fingerprint.equals(fingerprint) && !current.isRetired()) {
+                    return current;
+                }
+                if (current != null) {
+                    current.retire();
+                }
+                created[0] = new Entry(fingerprint, Math.max(1, preparedCacheSize));
+                return created[0];
+            });
+            if (entry == created[0]) {
+                try {
+                    entry.open(newSession(conn.getHost(), conn.getPort(), keyspace, conn.getUsername(), conn.getPassword()));
+                } catch (RuntimeException e) {
+                    sessions.remove(key, entry);
+                    entry.fail(e);
+                    throw e;
+                }
+            }
+            if (!entry.acquire()) {
+                continue;
+            }
+            try {
+                entry.awaitOpen();
+            } catch (RuntimeException e) {
+                entry.release();
+                throw e;
+            }
+            return new Lease(entry);
+        }
+    }
+
+    private DriverConfigLoader configLoader() {
+        return DriverConfigLoader.programmaticBuilder()
+                .withDuration(DefaultDriverOption.CONNECTION_CONNECT_TIMEOUT, connectTimeout)
+                .withDuration(DefaultDriverOption.CONNECTION_INIT_QUERY_TIMEOUT, connectTimeout)
+                .withDuration(DefaultDriverOption.REQUEST_TIMEOUT, requestTimeout)
+                .withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, Math.max(1, poolLocalSize))
+                .withStringList(DefaultDriverOption.METRICS_SESSION_ENABLED, SESSION_METRICS)
+                .withStringList(DefaultDriverOption.METRICS_NODE_ENABLED, NODE_METRICS)
+                .build();
+    }
+
+    private static Object metricValue(Metric metric) {
+        if (metric instanceof Gauge<?> gauge) {
+            return gauge.getValue();
+        }
+        if (metric instanceof Counter counter) {
+            return counter.getCount();
+        }
+        if (metric instanceof Timer timer) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("count", timer.getCount());
+            value.put("oneMinuteRate", timer.getOneMinuteRate());
+            value.put("p99Millis", timer.getSnapshot().get99thPercentile() / 1_000_000d);
+            return value;
+        }
+        if (metric instanceof Meter meter) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("count", meter.getCount());
+            value.put("oneMinuteRate", meter.getOneMinuteRate());
+            return value;
+        }
+
+        return null;
+    }
+
+    private record SessionKey(Long connectionId, String keyspace) {
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private String keyspace;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public CqlSession session() {
+            return entry.session;
+        }
+
+        public ResultSet execute(SimpleStatement statement) {
+            return entry.session.execute(keyspace != null ? statement.setKeyspace(CqlIdentifier.fromInternal(keyspace)) : statement);
+        }
+
+        public ResultSet execute(Statement<?> statement) {
+            return entry.session.execute(statement);
+        }
+
+        public PreparedStatement prepare(String cql) {
+            return entry.prepare(cql, keyspace);
+        }
+
+        @Override
+        public void close() {
+            entry.release();
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<CqlSession> opened = new CompletableFuture<>();
+        private final String fingerprint;
+        private final Map<String, PreparedStatement> prepared;
+        private volatile CqlSession session;
+        private volatile boolean perRequestKeyspace;
+        private int leases;
+        private boolean retired;
+        private long lastUsed = System.currentTimeMillis();
+
+        private Entry(String fingerprint, int preparedCacheSize) {
+            this.fingerprint = fingerprint;
+            this.prepared = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    return size() > preparedCacheSize;
+                }
+            };
+        }
+
+        private void open(CqlSession session) {
+            ProtocolVersion version = session.getContext().getProtocolVersion();
+            perRequestKeyspace = version.getCode() >= DefaultProtocolVersion.V5.getCode()
+                    && !DseProtocolVersion.DSE_V1.equals(version);
+            synchronized (this) {
+                this.session = session;
+                if (retired && leases == 0) {
+                    session.closeAsync();
+                }
+            }
+            opened.complete(session);
+        }
+
+        private void fail(RuntimeException e) {
+            synchronized (this) {
+                retired = true;
+            }
+            opened.completeExceptionally(e);
+        }
+
+        private void awaitOpen() {
+            try {
+                opened.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        private PreparedStatement prepare(String cql, String keyspace) {
+            String key = (keyspace != null ? keyspace : "") + "\n" + cql;
+            synchronized (prepared) {
+                PreparedStatement cached = prepared.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            SimpleStatement statement = SimpleStatement.newInstance(cql);
+            PreparedStatement statementPrepared = session.prepare(
+                    keyspace != null ? statement.setKeyspace(CqlIdentifier.fromInternal(keyspace)) : statement);
+            synchronized (prepared) {
+                prepared.put(key, statementPrepared);
+            }
+
+            return statementPrepared;
+        }
+
+        private int preparedCount() {
+            synchronized (prepared) {
+                return prepared.size();
+            }
+        }
+
+        private synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            lastUsed = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void release() {
+            leases--;
+            lastUsed = System.currentTimeMillis();
+            if (retired && leases == 0 && session != null) {
+                session.closeAsync();
+            }
+        }
+
+        private synchronized boolean retireIfIdle(long cutoff) {
+            if (leases > 0 || lastUsed >= cutoff) {
+                return false;
+            }
+            retire();
+            return true;
+        }
+
+        private synchronized boolean isRetired() {
+            return retired;
+        }
+
+        private synchronized void retire() {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (leases == 0 && session != null) {
+                session.closeAsync();
+            }
+        }
+    }
+}
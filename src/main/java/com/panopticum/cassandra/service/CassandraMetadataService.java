@@ -1,12 +1,15 @@
 package com.panopticum.cassandra.service;
 
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.error.ErrorKeys;
 import com.panopticum.core.model.Page;
 import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.sql.SqlQuerySupport;
 import com.panopticum.core.util.QueryResultMapper;
+import com.panopticum.cassandra.CassandraPageCursors;
 import com.panopticum.cassandra.model.CassandraKeyspaceInfo;
+import com.panopticum.cassandra.model.CassandraScanReport;
 import com.panopticum.core.model.QueryResultData;
 import com.panopticum.cassandra.model.CassandraTableInfo;
 import com.panopticum.core.model.EntityDescription;
@@ -15,6 +18,7 @@ import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -31,10 +35,12 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class CassandraMetadataService {
 
+    private static final int DETAIL_PAGE_SIZE = 100;
     private static final Pattern FROM_TABLE_CQL = Pattern.compile(
             "(?i)FROM\\s+\"([^\"]+)\"|FROM\\s+(\\w+)\\.(\\w+)|FROM\\s+(\\w+)(?=[\\s;]|$)");
 
     private final CassandraMetadataRepository cassandraMetadataRepository;
+    private final CassandraTableScanner tableScanner;
 
     @Value("${panopticum.limits.query-rows:1000}")
     private int queryRowsLimit;
@@ -71,9 +77,10 @@ public class CassandraMetadataService {
         }
         String tableName = tableOpt.get();
         List<String> primaryKeyColumns = cassandraMetadataRepository.getPrimaryKeyColumns(connectionId, keyspaceName, tableName);
-        Optional<QueryResult> resultOpt = executeQuery(connectionId, keyspaceName, sql, 0, rowNum + 1, false);
+        int index = rowNum % DETAIL_PAGE_SIZE;
+        Optional<QueryResult> resultOpt = executeQuery(connectionId, keyspaceName, sql, rowNum - index, DETAIL_PAGE_SIZE, false);
         if (resultOpt.isEmpty() || resultOpt.get().hasError() || resultOpt.get().getRows() == null
-                || resultOpt.get().getRows().size() <= rowNum) {
+                || resultOpt.get().getRows().size() <= index) {
             out.put("editable", false);
             out.put("detailRows", List.<Map<String, String>>of());
             return out;
@@ -81,7 +88,7 @@ public class CassandraMetadataService {
         QueryResult result = resultOpt.get();
         List<String> columns = result.getColumns();
         List<String> types = result.getColumnTypes() != null ? result.getColumnTypes() : List.of();
-        List<Object> row = result.getRows().get(rowNum);
+        List<Object> row = result.getRows().get(index);
         Set<String> keySet = Set.copyOf(primaryKeyColumns);
         List<Map<String, String>> detailRows = new ArrayList<>();
         for (int i = 0; i < columns.size(); i++) {
@@ -201,12 +208,24 @@ public class CassandraMetadataService {
     }
 
     public Optional<QueryResult> executeQuery(Long connectionId, String keyspaceName, String cql, int offset, int limit, boolean truncateCells) {
-        return SqlQuerySupport.run(() -> executeQueryUnchecked(connectionId, keyspaceName, cql, offset, limit, truncateCells));
+        return executeQuery(connectionId, keyspaceName, cql, offset, limit, truncateCells, null);
     }
 
-    private Optional<QueryResult> executeQueryUnchecked(Long connectionId, String keyspaceName, String cql, int offset, int limit, boolean truncateCells) {
+    public Optional<QueryResult> executeQuery(Long connectionId, String keyspaceName, String cql, int offset, int limit,
+                                              boolean truncateCells, String cursor) {
+        return SqlQuerySupport.run(() -> executeQueryUnchecked(connectionId, keyspaceName, cql, offset, limit, truncateCells, cursor));
+    }
+
+    private Optional<QueryResult> executeQueryUnchecked(Long connectionId, String keyspaceName, String cql, int offset, int limit,
+                                                        boolean truncateCells, String cursor) {
         int lim = Math.min(limit > 0 ? limit : 100, queryRowsLimit);
-        QueryResultData data = cassandraMetadataRepository.executeCql(connectionId, keyspaceName, cql, lim).orElseThrow();
+        String queryHash = CassandraPageCursors.queryHash(keyspaceName, cql);
+        Optional<CassandraPageCursors.Position> position = CassandraPageCursors.decode(cursor)
+                .filter(p -> p.queryHash().equals(queryHash));
+        int off = position.map(CassandraPageCursors.Position::offset).orElse(Math.max(0, offset));
+        CassandraMetadataRepository.CqlPage page = cassandraMetadataRepository.executeCqlPage(connectionId, keyspaceName, cql,
+                off, lim, position.map(CassandraPageCursors.Position::pagingState).orElse(null)).orElseThrow();
+        QueryResultData data = page.data();
         if (data.getColumns() == null) {
             data.setColumns(List.of());
         }
@@ -216,14 +235,43 @@ public class CassandraMetadataService {
         if (data.getRows() == null) {
             data.setRows(List.of());
         }
+        QueryResult mapped = QueryResultMapper.fromRows(data, off, lim, truncateCells);
+        String next = page.pagingState() != null
+                ? CassandraPageCursors.encode(new CassandraPageCursors.Position(page.pagingState(), off + data.getRows().size(), queryHash))
+                : null;
 
-        return Optional.of(QueryResultMapper.fromPaged(data, offset, lim, truncateCells));
+        return Optional.of(new QueryResult(mapped.getColumns(), mapped.getColumnTypes(), mapped.getRows(), null, null,
+                off, lim, page.hasMore(), next, null));
     }
 
     public Optional<QueryResult> executeQuery(Long connectionId, String keyspaceName, String cql, int offset, int limit) {
         return executeQuery(connectionId, keyspaceName, cql, offset, limit, true);
     }
 
+    public Map<String, Object> driverMetrics(Long connectionId) {
+        return cassandraMetadataRepository.driverMetrics(connectionId);
+    }
+
+    public AccessResult<CassandraScanReport> startScan(Long connectionId, String keyspaceName, String tableName, String mode) {
+        return tableScanner.start(connectionId, keyspaceName, tableName, mode);
+    }
+
+    public Optional<CassandraScanReport> getScanReport(Long connectionId, String keyspaceName, String tableName, String mode) {
+        return tableScanner.report(connectionId, keyspaceName, tableName, mode);
+    }
+
+    public List<CassandraScanReport> listScanReports(Long connectionId, String keyspaceName, String tableName) {
+        return tableScanner.reports(connectionId, keyspaceName, tableName);
+    }
+
+    public boolean cancelScan(Long connectionId, String keyspaceName, String tableName, String mode) {
+        return tableScanner.cancel(connectionId, keyspaceName, tableName, mode);
+    }
+
+    public AccessResult<Publisher<String>> exportTable(Long connectionId, String keyspaceName, String tableName, boolean jsonLines) {
+        return tableScanner.export(connectionId, keyspaceName, tableName, jsonLines);
+    }
+
     public Optional<EntityDescription> describeEntity(Long connectionId, String catalog, String entity) {
         return cassandraMetadataRepository.describeTable(connectionId, catalog, entity);
     }
@@ -0,0 +1,692 @@
+package com.panopticum.cassandra.service;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.data.ByteUtils;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.panopticum.cassandra.model.CassandraColumnStats;
+import com.panopticum.cassandra.model.CassandraScanReport;
+import com.panopticum.cassandra.repository.CassandraSessionRegistry;
+import com.panopticum.core.error.AccessResult;
+import com.panopticum.core.error.MetadataAccessException;
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.service.DbConnectionService;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class CassandraTableScanner {
+
+    static final String MODE_COUNT = "COUNT";
+    static final String MODE_STATS = "STATS";
+    static final String MODE_EXPORT = "EXPORT";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int PREVIEW_LENGTH = 120;
+
+    private final DbConnectionService dbConnectionService;
+    private final CassandraSessionRegistry sessionRegistry;
+
+    private final Map<JobKey, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Job, Long> exports = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.cassandra.scan.parallelism:8}")
+    private int parallelism;
+
+    @Value("${panopticum.cassandra.scan.splits-per-node:32}")
+    private int splitsPerNode;
+
+    @Value("${panopticum.cassandra.scan.page-size:1000}")
+    private int pageSize;
+
+    @Value("${panopticum.cassandra.scan.sample-rows-per-split:200}")
+    private int sampleRowsPerSplit;
+
+    @Value("${panopticum.cassandra.scan.max-distinct:1000}")
+    private int maxDistinct;
+
+    @Value("${panopticum.cassandra.scan.export-parallelism:4}")
+    private int exportParallelism;
+
+    @Value("${panopticum.cassandra.scan.export-buffer:16}")
+    private int exportBuffer;
+
+    @Value("${panopticum.cassandra.scan.result-ttl:1h}")
+    private Duration resultTtl;
+
+    private ExecutorService pool;
+    private ExecutorService exportPool;
+
+    @PostConstruct
+    void start() {
+        pool = newPool(parallelism, "cassandra-scan-");
+        exportPool = newPool(exportParallelism, "cassandra-export-");
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.values().forEach(Job::cancel);
+        exports.keySet().forEach(Job::cancel);
+        pool.shutdownNow();
+        exportPool.shutdownNow();
+    }
+
+    AccessResult<CassandraScanReport> start(Long connectionId, String keyspace, String table, String mode) {
+        String normalized = MODE_STATS.equalsIgnoreCase(mode) ? MODE_STATS : MODE_COUNT;
+        JobKey key = new JobKey(connectionId, keyspace, table, normalized);
+        Job running = jobs.get(key);
+        if (running != null && running.isRunning()) {
+            return AccessResult.ok(running.report());
+        }
+        AccessResult<Job> prepared = prepare(connectionId, keyspace, table, normalized);
+        if (!prepared.isOk()) {
+            return failure(prepared);
+        }
+        Job job = jobs.compute(key, (k, current) ->
+                current != null && current.isRunning() ? current : prepared.getPayload());
+        if (job != prepared.getPayload()) {
+            prepared.getPayload().plan.lease().close();
+            return AccessResult.ok(job.report());
+        }
+        log.debug("Cassandra {} scan of {}.{} started over {} splits", normalized, keyspace, table, job.plan.splits().size());
+        launch(pool, job, MODE_STATS.equals(normalized) ? this::sample : this::count);
+
+        return AccessResult.ok(job.report());
+    }
+
+    AccessResult<Publisher<String>> export(Long connectionId, String keyspace, String table, boolean jsonLines) {
+        AccessResult<Job> checked = prepare(connectionId, keyspace, table, MODE_EXPORT);
+        if (!checked.isOk()) {
+            return failure(checked);
+        }
+        checked.getPayload().plan.lease().close();
+        Publisher<String> body = Flux.<String, Job>generate(() -> startExport(connectionId, keyspace, table, jsonLines),
+                        (state, sink) -> {
+                            try {
+                                String chunk = null;
+                                while (chunk == null) {
+                                    boolean finished = state.finishedAt != null;
+                                    chunk = state.output.poll(250, TimeUnit.MILLISECONDS);
+                                    if (chunk == null && finished) {
+                                        if ("FAILED".equals(state.state)) {
+                                            sink.error(new MetadataAccessException(state.error));
+                                        } else if ("CANCELLED".equals(state.state)) {
+                                            sink.error(new MetadataAccessException("cassandra.scanCancelled"));
+                                        } else {
+                                            sink.complete();
+                                        }
+                                        return state;
+                                    }
+                                }
+                                sink.next(chunk);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                state.cancel();
+                                sink.error(new MetadataAccessException("cassandra.scanCancelled"));
+                            }
+                            return state;
+                        }, state -> {
+                            state.cancel();
+                            exports.remove(state);
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return AccessResult.ok(body);
+    }
+
+    private Job startExport(Long connectionId, String keyspace, String table, boolean jsonLines) {
+        AccessResult<Job> prepared = prepare(connectionId, keyspace, table, MODE_EXPORT);
+        if (!prepared.isOk()) {
+            throw new MetadataAccessException(prepared.getMessageKey());
+        }
+        Job job = prepared.getPayload();
+        exports.put(job, connectionId);
+        if (!jsonLines) {
+            job.output.offer(job.plan.columns().stream().map(c -> csvCell(c.name())).collect(Collectors.joining(",")) + "\n");
+        }
+        launch(exportPool, job, (j, split) -> export(j, split, jsonLines));
+
+        return job;
+    }
+
+    List<CassandraScanReport> reports(Long connectionId, String keyspace, String table) {
+        return jobs.entrySet().stream()
+                .filter(e -> e.getKey().connectionId().equals(connectionId)
+                        && e.getKey().keyspace().equals(keyspace) && e.getKey().table().equals(table))
+                .sorted(Comparator.comparing(e -> e.getKey().mode()))
+                .map(e -> e.getValue().report())
+                .toList();
+    }
+
+    Optional<CassandraScanReport> report(Long connectionId, String keyspace, String table, String mode) {
+        return Optional.ofNullable(jobs.get(new JobKey(connectionId, keyspace, table, normalizeMode(mode)))).map(Job::report);
+    }
+
+    boolean cancel(Long connectionId, String keyspace, String table, String mode) {
+        Job job = jobs.get(new JobKey(connectionId, keyspace, table, normalizeMode(mode)));
+        if (job == null || !job.isRunning()) {
+            return false;
+        }
+        job.cancel();
+
+        return true;
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() == null) {
+            return;
+        }
+        jobs.entrySet().removeIf(entry -> {
+            if (!entry.getKey().connectionId().equals(event.connectionId())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+        exports.entrySet().removeIf(entry -> {
+            if (!entry.getValue().equals(event.connectionId())) {
+                return false;
+            }
+            entry.getKey().cancel();
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelay = "5m", initialDelay = "5m")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private AccessResult<Job> prepare(Long connectionId, String keyspace, String table, String mode) {
+        Optional<DbConnection> conn = dbConnectionService.findById(connectionId)
+                .filter(c -> "cassandra".equalsIgnoreCase(c.getType()));
+        if (conn.isEmpty()) {
+            return AccessResult.notFound("connection.notFound");
+        }
+        CassandraSessionRegistry.Lease lease = null;
+        try {
+            lease = sessionRegistry.lease(conn.get(), null);
+            Metadata metadata = lease.session().getMetadata();
+            CqlIdentifier ks = CqlIdentifier.fromInternal(keyspace);
+            Optional<TableMetadata> tableMetadata = metadata.getKeyspace(ks)
+                    .flatMap(k -> k.getTable(CqlIdentifier.fromInternal(table)));
+            if (tableMetadata.isEmpty()) {
+                lease.close();
+                return AccessResult.notFound("cassandra.scanTableNotFound");
+            }
+            Optional<TokenMap> tokenMap = metadata.getTokenMap();
+            if (tokenMap.isEmpty()) {
+                lease.close();
+                return AccessResult.error("cassandra.scanNoTokenMap");
+            }
+            Plan plan = plan(lease, ks, tableMetadata.get(), tokenMap.get());
+            String projection = MODE_COUNT.equals(mode)
+                    ? "count(*)"
+                    : plan.columns().stream().map(c -> c.id().asCql(true)).collect(Collectors.joining(", "));
+            String suffix = MODE_STATS.equals(mode) ? " LIMIT " + Math.max(1, sampleRowsPerSplit) : "";
+            PreparedStatement statement = lease.prepare(select(plan, projection, suffix, false));
+            PreparedStatement openStatement = plan.minToken() != null ? lease.prepare(select(plan, projection, suffix, true)) : null;
+
+            return AccessResult.ok(new Job(mode, plan, statement, openStatement,
+                    MODE_EXPORT.equals(mode) ? Math.max(1, exportBuffer) : 0));
+        } catch (Exception e) {
+            log.warn("Cassandra scan of {}.{} could not be planned: {}", keyspace, table, e.getMessage());
+            if (lease != null) {
+                lease.close();
+            }
+            return AccessResult.error("cassandra.scanFailed");
+        }
+    }
+
+    private Plan plan(CassandraSessionRegistry.Lease lease, CqlIdentifier keyspace, TableMetadata table, TokenMap tokenMap) {
+        List<ScanColumn> columns = new ArrayList<>();
+        Set<ColumnMetadata> partitionKey = Set.copyOf(table.getPartitionKey());
+        for (ColumnMetadata column : table.getColumns().values()) {
+            String kind = partitionKey.contains(column) ? "partition_key"
+                    : table.getClusteringColumns().containsKey(column) ? "clustering"
+                    : column.isStatic() ? "static" : "regular";
+            columns.add(new ScanColumn(column.getName(), column.getName().asInternal(), column.getType().asCql(false, true), kind));
+        }
+        List<CqlIdentifier> tokenColumns = table.getPartitionKey().stream().map(ColumnMetadata::getName).toList();
+
+        Token minToken = minToken(tokenMap);
+        Map<String, List<TokenRange>> byNode = new TreeMap<>();
+        for (TokenRange range : tokenMap.getTokenRanges()) {
+            if (minToken == null && range.isWrappedAround()) {
+                minToken = range.unwrap().get(0).getEnd();
+            }
+            Set<Node> replicas = tokenMap.getReplicas(keyspace, range);
+            String owner = replicas.isEmpty() ? "" : replicas.iterator().next().getEndPoint().toString();
+            byNode.computeIfAbsent(owner, k -> new ArrayList<>()).add(range);
+        }
+        List<List<TokenRange>> perNode = new ArrayList<>();
+        for (List<TokenRange> owned : byNode.values()) {
+            int pieces = Math.max(1, (int) Math.ceil((double) Math.max(1, splitsPerNode) / owned.size()));
+            List<TokenRange> splits = new ArrayList<>();
+            for (TokenRange range : owned) {
+                for (TokenRange piece : range.splitEvenly(pieces)) {
+                    splits.addAll(piece.unwrap());
+                }
+            }
+            perNode.add(splits);
+        }
+        int total = perNode.stream().mapToInt(List::size).sum();
+        List<TokenRange> splits = new ArrayList<>(total);
+        for (int i = 0; splits.size() < total; i++) {
+            for (List<TokenRange> owned : perNode) {
+                if (i < owned.size()) {
+                    splits.add(owned.get(i));
+                }
+            }
+        }
+
+        return new Plan(lease, keyspace, table.getName(), columns, tokenColumns, splits, byNode.size(), minToken);
+    }
+
+    private static Token minToken(TokenMap tokenMap) {
+        String partitioner = tokenMap.getPartitionerName();
+        try {
+            if (partitioner.endsWith("Murmur3Partitioner")) {
+                return tokenMap.parse(String.valueOf(Long.MIN_VALUE));
+            }
+            if (partitioner.endsWith("RandomPartitioner")) {
+                return tokenMap.parse("-1");
+            }
+            if (partitioner.endsWith("ByteOrderedPartitioner")) {
+                return tokenMap.parse("0x");
+            }
+        } catch (RuntimeException e) {
+            log.debug("Cannot parse min token for {}: {}", partitioner, e.getMessage());
+        }
+
+        return null;
+    }
+
+    private static ExecutorService newPool(int size, String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, size), runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void launch(ExecutorService executor, Job job, ScanTask task) {
+        List<TokenRange> splits = job.plan.splits();
+        job.pending.set(splits.size() + 1);
+        for (TokenRange split : splits) {
+            try {
+                executor.execute(() -> run(job, split, task));
+            } catch (RejectedExecutionException e) {
+                job.fail(e);
+                complete(job);
+            }
+        }
+        complete(job);
+    }
+
+    private void run(Job job, TokenRange split, ScanTask task) {
+        try {
+            if (job.cancelled) {
+                return;
+            }
+            task.scan(job, split);
+            job.splitsDone.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancel();
+        } catch (Exception e) {
+            log.warn("Cassandra scan of {}.{} failed on {}: {}", job.plan.keyspace().asInternal(),
+                    job.plan.table().asInternal(), split, e.getMessage());
+            job.fail(e);
+        } finally {
+            complete(job);
+        }
+    }
+
+    private void complete(Job job) {
+        if (job.pending.decrementAndGet() == 0) {
+            job.finish();
+            job.plan.lease().close();
+        }
+    }
+
+    private void count(Job job, TokenRange split) {
+        Row row = job.plan.lease().execute(bind(job, split)).one();
+        job.rows.addAndGet(row != null ? row.getLong(0) : 0L);
+    }
+
+    private void sample(Job job, TokenRange split) {
+        for (Row row : job.plan.lease().execute(bind(job, split))) {
+            if (job.cancelled) {
+                return;
+            }
+            for (int i = 0; i < job.columns.size(); i++) {
+                job.columns.get(i).add(row.getObject(i), Math.max(1, maxDistinct));
+            }
+            job.rows.incrementAndGet();
+        }
+    }
+
+    private void export(Job job, TokenRange split, boolean jsonLines) throws InterruptedException {
+        ResultSet rs = job.plan.lease().execute(bind(job, split));
+        StringBuilder chunk = new StringBuilder();
+        for (Row row : rs) {
+            if (job.cancelled) {
+                return;
+            }
+            chunk.append(jsonLines ? jsonLine(job.plan.columns(), row) : csvLine(job.plan.columns().size(), row)).append('\n');
+            job.rows.incrementAndGet();
+            if (rs.getAvailableWithoutFetching() == 0) {
+                push(job, chunk.toString());
+                chunk.setLength(0);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            push(job, chunk.toString());
+        }
+    }
+
+    private BoundStatement bind(Job job, TokenRange split) {
+        BoundStatement bound = job.openStatement != null && split.getEnd().equals(job.plan.minToken())
+                ? job.openStatement.bind()
+                        .setToken(0, split.getStart())
+                        .setRoutingToken(split.getStart())
+                : job.statement.bind()
+                        .setToken(0, split.getStart())
+                        .setToken(1, split.getEnd())
+                        .setRoutingToken(split.getEnd());
+
+        return bound
+                .setRoutingKeyspace(job.plan.keyspace())
+                .setConsistencyLevel(DefaultConsistencyLevel.LOCAL_ONE)
+                .setPageSize(Math.max(1, pageSize))
+                .setIdempotent(true);
+    }
+
+    private static void push(Job job, String chunk) throws InterruptedException {
+        while (!job.cancelled) {
+            if (job.output.offer(chunk, 500, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private static String select(Plan plan, String projection, String suffix, boolean openEnd) {
+        String token = "token(" + plan.tokenColumns().stream().map(c -> c.asCql(true)).collect(Collectors.joining(", ")) + ")";
+
+        return "SELECT " + projection + " FROM " + plan.keyspace().asCql(true) + "." + plan.table().asCql(true)
+                + " WHERE " + token + " > ?" + (openEnd ? "" : " AND " + token + " <= ?") + suffix;
+    }
+
+    private static String csvLine(int columns, Row row) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = exportValue(row.getObject(i));
+            line.append(value instanceof Map<?, ?> || value instanceof List<?> ? csvCell(toJson(value)) : csvCell(value));
+        }
+
+        return line.toString();
+    }
+
+    private static String jsonLine(List<ScanColumn> columns, Row row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            values.put(columns.get(i).name(), exportValue(row.getObject(i)));
+        }
+
+        return toJson(values);
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = String.valueOf(value);
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+
+        return text;
+    }
+
+    private static Object exportValue(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof ByteBuffer buffer) {
+            return ByteUtils.toHexString(buffer);
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> out = new ArrayList<>(collection.size());
+            collection.forEach(item -> out.add(exportValue(item)));
+            return out;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> out = new LinkedHashMap<>();
+            map.forEach((k, v) -> out.put(String.valueOf(exportValue(k)), exportValue(v)));
+            return out;
+        }
+
+        return value.toString();
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return JSON.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(value);
+        }
+    }
+
+    private static String preview(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object exported = exportValue(value);
+        String text = exported instanceof Map<?, ?> || exported instanceof List<?> ? toJson(exported) : String.valueOf(exported);
+
+        return text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) + "…" : text;
+    }
+
+    private static String normalizeMode(String mode) {
+        return MODE_STATS.equalsIgnoreCase(mode) ? MODE_STATS : MODE_COUNT;
+    }
+
+    private static <T> AccessResult<T> failure(AccessResult<?> result) {
+        return AccessResult.<T>builder().status(result.getStatus()).messageKey(result.getMessageKey()).build();
+    }
+
+    @FunctionalInterface
+    private interface ScanTask {
+        void scan(Job job, TokenRange split) throws Exception;
+    }
+
+    private record JobKey(Long connectionId, String keyspace, String table, String mode) {
+    }
+
+    private record ScanColumn(CqlIdentifier id, String name, String type, String kind) {
+    }
+
+    private record Plan(CassandraSessionRegistry.Lease lease, CqlIdentifier keyspace, CqlIdentifier table,
+                        List<ScanColumn> columns, List<CqlIdentifier> tokenColumns, List<TokenRange> splits, int nodes,
+                        Token minToken) {
+    }
+
+    private static final class Job {
+
+        private final String mode;
+        private final Plan plan;
+        private final PreparedStatement statement;
+        private final PreparedStatement openStatement;
+        private final BlockingQueue<String> output;
+        private final List<ColumnAccumulator> columns;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger splitsDone = new AtomicInteger();
+        private final AtomicLong rows = new AtomicLong();
+        private volatile String state = "RUNNING";
+        private volatile boolean cancelled;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private Job(String mode, Plan plan, PreparedStatement statement, PreparedStatement openStatement, int outputCapacity) {
+            this.mode = mode;
+            this.plan = plan;
+            this.statement = statement;
+            this.openStatement = openStatement;
+            this.output = new ArrayBlockingQueue<>(Math.max(1, outputCapacity + 1));
+            this.columns = plan.columns().stream().map(ColumnAccumulator::new).toList();
+        }
+
+        private boolean isRunning() {
+            return "RUNNING".equals(state);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if ("RUNNING".equals(state)) {
+                state = "CANCELLED";
+                finishedAt = Instant.now();
+            }
+        }
+
+        private synchronized void fail(Exception e) {
+            cancelled = true;
+            if ("RUNNING".equals(state)) {
+                state = "FAILED";
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                finishedAt = Instant.now();
+            }
+        }
+
+        private synchronized void finish() {
+            if ("RUNNING".equals(state)) {
+                state = "DONE";
+                finishedAt = Instant.now();
+            }
+        }
+
+        private CassandraScanReport report() {
+            return CassandraScanReport.builder()
+                    .keyspace(plan.keyspace().asInternal())
+                    .table(plan.table().asInternal())
+                    .mode(mode)
+                    .state(state)
+                    .startedAt(startedAt.toString())
+                    .finishedAt(finishedAt != null ? finishedAt.toString() : null)
+                    .nodes(plan.nodes())
+                    .splitsTotal(plan.splits().size())
+                    .splitsDone(splitsDone.get())
+                    .rows(rows.get())
+                    .error(error)
+                    .columns(MODE_STATS.equals(mode) ? columns.stream().map(ColumnAccumulator::stats).toList() : List.of())
+                    .build();
+        }
+    }
+
+    private static final class ColumnAccumulator {
+
+        private final ScanColumn column;
+        private final Set<Object> distinct = new HashSet<>();
+        private long sampled;
+        private long nulls;
+        private boolean capped;
+        private int cap;
+        private Object min;
+        private Object max;
+
+        private ColumnAccumulator(ScanColumn column) {
+            this.column = column;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized void add(Object value, int maxDistinct) {
+            sampled++;
+            if (value == null) {
+                nulls++;
+                return;
+            }
+            if (!capped && distinct.add(value) && distinct.size() > maxDistinct) {
+                capped = true;
+                cap = maxDistinct;
+                distinct.clear();
+            }
+            if (value instanceof Comparable<?> comparable) {
+                if (min == null || min.getClass() == value.getClass() && ((Comparable<Object>) comparable).compareTo(min) < 0) {
+                    min = value;
+                }
+                if (max == null || max.getClass() == value.getClass() && ((Comparable<Object>) comparable).compareTo(max) > 0) {
+                    max = value;
+                }
+            }
+        }
+
+        private synchronized CassandraColumnStats stats() {
+            return CassandraColumnStats.builder()
+                    .name(column.name())
+                    .type(column.type())
+                    .kind(column.kind())
+                    .sampled(sampled)
+                    .nulls(nulls)
+                    .distinct(capped ? cap : distinct.size())
+                    .distinctCapped(capped)
+                    .min(preview(min))
+                    .max(preview(max))
+                    .build();
+        }
+    }
+}
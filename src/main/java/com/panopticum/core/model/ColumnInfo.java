@@ -4,6 +4,8 @@ import io.micronaut.serde.annotation.Serdeable;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 @Builder
 @Serdeable
@@ -14,4 +16,6 @@ public class ColumnInfo {
     private final boolean nullable;
     private final boolean primaryKey;
     private final int position;
+    private final Double presence;
+    private final Map<String, Double> typeDistribution;
 }
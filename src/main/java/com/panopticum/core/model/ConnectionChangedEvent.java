@@ -0,0 +1,4 @@
+package com.panopticum.core.model;
+
+public record ConnectionChangedEvent(Long connectionId, String type, boolean deleted) {
+}
@@ -20,10 +20,17 @@ public class Page<T> {
     private final boolean hasMore;
     private final int prevOffset;
     private final int nextOffset;
+    private final String nextCursor;
 
     public Page(List<T> items, int page, int size, String sort, String order,
                 int fromRow, int toRow, boolean hasPrev, boolean hasMore,
                 int prevOffset, int nextOffset) {
+        this(items, page, size, sort, order, fromRow, toRow, hasPrev, hasMore, prevOffset, nextOffset, null);
+    }
+
+    public Page(List<T> items, int page, int size, String sort, String order,
+                int fromRow, int toRow, boolean hasPrev, boolean hasMore,
+                int prevOffset, int nextOffset, String nextCursor) {
         this.items = items != null ? items : List.of();
         this.page = page;
         this.size = size;
@@ -35,6 +42,7 @@ public class Page<T> {
         this.hasMore = hasMore;
         this.prevOffset = prevOffset;
         this.nextOffset = nextOffset;
+        this.nextCursor = nextCursor;
     }
 
     public static <T> Page<T> of(List<T> sortedItems, int page, int size, String sort, String order) {
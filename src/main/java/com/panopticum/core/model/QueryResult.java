@@ -17,6 +17,8 @@ public class QueryResult {
     private final int offset;
     private final int limit;
     private final boolean hasMore;
+    private final String nextCursor;
+    private final String prevCursor;
 
     public QueryResult(List<String> columns, List<List<Object>> rows, String error, int offset, int limit, boolean hasMore) {
         this(columns, null, rows, null, error, offset, limit, hasMore);
@@ -24,6 +26,11 @@ public class QueryResult {
 
     public QueryResult(List<String> columns, List<String> columnTypes, List<List<Object>> rows, List<String> docIds,
                        String error, int offset, int limit, boolean hasMore) {
+        this(columns, columnTypes, rows, docIds, error, offset, limit, hasMore, null, null);
+    }
+
+    public QueryResult(List<String> columns, List<String> columnTypes, List<List<Object>> rows, List<String> docIds,
+                       String error, int offset, int limit, boolean hasMore, String nextCursor, String prevCursor) {
         this.columns = columns != null ? columns : List.of();
         this.columnTypes = columnTypes;
         this.rows = rows != null ? rows : List.of();
@@ -32,6 +39,8 @@ public class QueryResult {
         this.offset = offset;
         this.limit = limit;
         this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
     }
 
     public static QueryResult error(String message) {
@@ -42,6 +51,10 @@ public class QueryResult {
         return error != null;
     }
 
+    public QueryResult withCursors(String next, String prev) {
+        return new QueryResult(columns, columnTypes, rows, docIds, error, offset, limit, hasMore, next, prev);
+    }
+
     public boolean hasPrev() {
         return offset > 0;
     }
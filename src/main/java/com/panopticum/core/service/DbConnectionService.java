@@ -1,10 +1,12 @@
 package com.panopticum.core.service;
 
 import com.panopticum.core.audit.AuditService;
+import com.panopticum.core.model.ConnectionChangedEvent;
 import com.panopticum.core.model.ConnectionType;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.repository.DbConnectionRepository;
 import com.panopticum.core.util.BreadcrumbPathHelper;
+import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.exceptions.HttpStatusException;
 import jakarta.inject.Singleton;
@@ -23,6 +25,7 @@ public class DbConnectionService {
 
     private final DbConnectionRepository repository;
     private final AuditService auditService;
+    private final ApplicationEventPublisher<ConnectionChangedEvent> connectionEvents;
 
     public List<DbConnection> findAll() {
         return repository.findAll();
@@ -49,6 +52,7 @@ public class DbConnectionService {
         } else {
             auditService.connectionUpdate(saved.getId(), saved.getType(), saved.getName());
         }
+        connectionEvents.publishEvent(new ConnectionChangedEvent(saved.getId(), saved.getType(), false));
 
         return saved;
     }
@@ -66,9 +70,11 @@ public class DbConnectionService {
     }
 
     public void deleteById(Long id) {
-        repository.findById(id).ifPresent(conn ->
+        Optional<DbConnection> existing = repository.findById(id);
+        existing.ifPresent(conn ->
                 auditService.connectionDelete(conn.getId(), conn.getType(), conn.getName()));
         repository.deleteById(id);
+        connectionEvents.publishEvent(new ConnectionChangedEvent(id, existing.map(DbConnection::getType).orElse(null), true));
     }
 
     public List<String> listConfiguredUiPaths() {
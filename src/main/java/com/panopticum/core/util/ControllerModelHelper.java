@@ -51,6 +51,7 @@ public class ControllerModelHelper {
         model.put("hasMore", page.isHasMore());
         model.put("prevOffset", page.getPrevOffset());
         model.put("nextOffset", page.getNextOffset());
+        model.put("nextCursor", page.getNextCursor() != null ? page.getNextCursor() : "");
     }
 
     public void addOrderToggles(Map<String, Object> model, String sort, String order,
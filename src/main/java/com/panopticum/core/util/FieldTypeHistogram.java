@@ -0,0 +1,76 @@
+package com.panopticum.core.util;
+
+import com.panopticum.core.model.ColumnInfo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FieldTypeHistogram {
+
+    private final Map<String, Map<String, Long>> typeCounts = new LinkedHashMap<>();
+    private final Map<String, Long> presentCounts = new LinkedHashMap<>();
+    private long samples;
+
+    public void nextSample() {
+        samples++;
+    }
+
+    public void add(String field, String type) {
+        if (field == null) {
+            return;
+        }
+        presentCounts.merge(field, 1L, Long::sum);
+        typeCounts.computeIfAbsent(field, k -> new LinkedHashMap<>()).merge(type != null ? type : "null", 1L, Long::sum);
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public int getFieldCount() {
+        return presentCounts.size();
+    }
+
+    public List<ColumnInfo> toColumns(String primaryKey, Comparator<String> fieldOrder) {
+        List<String> fields = new ArrayList<>(presentCounts.keySet());
+        if (fieldOrder != null) {
+            fields.sort(fieldOrder);
+        }
+        List<ColumnInfo> columns = new ArrayList<>();
+        int pos = 1;
+        for (String field : fields) {
+            long present = presentCounts.getOrDefault(field, 0L);
+            Map<String, Long> types = typeCounts.getOrDefault(field, Map.of());
+            String dominant = types.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse("null");
+            Map<String, Double> distribution = new LinkedHashMap<>();
+            types.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> distribution.put(e.getKey(), ratio(e.getValue(), present)));
+            double presence = ratio(present, samples);
+            boolean pk = field.equals(primaryKey);
+            columns.add(ColumnInfo.builder()
+                    .name(field)
+                    .type(dominant)
+                    .nullable(!pk && (presence < 1.0 || types.containsKey("null")))
+                    .primaryKey(pk)
+                    .position(pos++)
+                    .presence(presence)
+                    .typeDistribution(distribution)
+                    .build());
+        }
+        return columns;
+    }
+
+    private static double ratio(long part, long total) {
+        if (total <= 0) {
+            return 0.0;
+        }
+        return Math.round(part * 10000.0 / total) / 10000.0;
+    }
+}
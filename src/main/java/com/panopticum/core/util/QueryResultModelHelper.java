@@ -41,6 +41,8 @@ public class QueryResultModelHelper {
         model.put("prevOffset", result.prevOffset());
         model.put("fromRow", result.fromRow());
         model.put("toRow", result.toRow());
+        model.put("nextCursor", result.getNextCursor() != null ? result.getNextCursor() : "");
+        model.put("prevCursor", result.getPrevCursor() != null ? result.getPrevCursor() : "");
         model.put("sort", sort != null ? sort : "");
         model.put("order", order != null ? order : "");
         if (result.getDocIds() != null) {
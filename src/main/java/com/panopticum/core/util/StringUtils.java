@@ -2,10 +2,15 @@ package com.panopticum.core.util;
 
 import lombok.experimental.UtilityClass;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 @UtilityClass
 public class StringUtils {
 
-    private static final int MAX_CELL_LENGTH = 200;
+    public static final int MAX_CELL_LENGTH = 200;
     private static final String ELLIPSIS = "\u2026";
 
     public Object truncateCell(Object value) {
@@ -28,4 +33,22 @@ public class StringUtils {
         }
         return s.substring(0, MAX_CELL_LENGTH) + ELLIPSIS;
     }
+
+    public String truncate(char[] chars, int offset, int length) {
+        if (length <= MAX_CELL_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        return new String(chars, offset, MAX_CELL_LENGTH) + ELLIPSIS;
+    }
+
+    public String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
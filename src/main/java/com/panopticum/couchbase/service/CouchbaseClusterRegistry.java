@@ -0,0 +1,307 @@
+package com.panopticum.couchbase.service;
+
+import com.couchbase.client.java.Cluster;
+import com.couchbase.client.java.ClusterOptions;
+import com.couchbase.client.java.env.ClusterEnvironment;
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.util.StringUtils;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Singleton
+public class CouchbaseClusterRegistry {
+
+    private final Map<Long, Entry> clusters = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.couchbase.client.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.couchbase.client.kv-timeout:5s}")
+    private Duration kvTimeout;
+
+    @Value("${panopticum.couchbase.client.management-timeout:30s}")
+    private Duration managementTimeout;
+
+    @Value("${panopticum.couchbase.client.ready-timeout:20s}")
+    private Duration readyTimeout;
+
+    @Value("${panopticum.couchbase.client.idle-eviction:15m}")
+    private Duration idleEviction;
+
+    private ClusterEnvironment plainEnvironment;
+    private ClusterEnvironment tlsEnvironment;
+
+    @PreDestroy
+    synchronized void stop() {
+        List<CompletableFuture<Void>> closing = clusters.values().stream().map(Entry::close).toList();
+        clusters.clear();
+        try {
+            CompletableFuture.allOf(closing.toArray(CompletableFuture[]::new))
+                    .get(managementTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Couchbase clusters did not disconnect before shutdown: {}", e.getMessage());
+        }
+        if (plainEnvironment != null) {
+            plainEnvironment.shutdown();
+            plainEnvironment = null;
+        }
+        if (tlsEnvironment != null) {
+            tlsEnvironment.shutdown();
+            tlsEnvironment = null;
+        }
+    }
+
+    public Lease lease(DbConnection conn) {
+        String fingerprint = String.join("\n", String.valueOf(conn.getHost()), String.valueOf(conn.getPort()),
+                String.valueOf(conn.isUseHttps()), String.valueOf(conn.getUsername()),
+                StringUtils.sha256(conn.getPassword()));
+        while (true) {
+            Entry[] created = new Entry[1];
+            Entry entry = clusters.compute(conn.getId(), (id, current) -> {
+                if (current != null && current.fingerprint.equals(fingerprint) && !current.isRetired()) {
+                    return current;
+                }
+                if (current != null) {
+                    current.retire();
+                }
+                created[0] = new Entry(fingerprint);
+                return created[0];
+            });
+            if (entry == created[0]) {
+                try {
+                    entry.open(connect(conn));
+                } catch (RuntimeException e) {
+                    clusters.remove(conn.getId(), entry);
+                    entry.fail(e);
+                    throw e;
+                }
+            }
+            if (!entry.acquire()) {
+                continue;
+            }
+            try {
+                entry.awaitReady(readyTimeout);
+            } catch (RuntimeException e) {
+                entry.release();
+                if (clusters.remove(conn.getId(), entry)) {
+                    entry.retire();
+                }
+                throw e;
+            }
+            return new Lease(entry);
+        }
+    }
+
+    public Cluster connect(DbConnection conn) {
+        String connectionString = CouchbaseMetadataService.connectionString(conn);
+        ClusterOptions options = ClusterOptions.clusterOptions(conn.getUsername() != null ? conn.getUsername() : "",
+                conn.getPassword() != null ? conn.getPassword() : "");
+        if (connectionString.contains("?")) {
+            return Cluster.connect(connectionString, options);
+        }
+
+        return Cluster.connect(connectionString, options.environment(environment(connectionString.startsWith("couchbases://"))));
+    }
+
+    public void invalidate(Long connectionId) {
+        Entry entry = clusters.remove(connectionId);
+        if (entry != null) {
+            entry.retire();
+        }
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction.toMillis();
+        clusters.entrySet().removeIf(e -> {
+            if (!e.getValue().retireIfIdle(cutoff)) {
+                return false;
+            }
+            log.debug("Disconnected idle Couchbase cluster for connection {}", e.getKey());
+            return true;
+        });
+    }
+
+    private synchronized ClusterEnvironment environment(boolean tls) {
+        if (tls) {
+            if (tlsEnvironment == null) {
+                tlsEnvironment = buildEnvironment(true);
+            }
+            return tlsEnvironment;
+        }
+        if (plainEnvironment == null) {
+            plainEnvironment = buildEnvironment(false);
+        }
+
+        return plainEnvironment;
+    }
+
+    private ClusterEnvironment buildEnvironment(boolean tls) {
+        return ClusterEnvironment.builder()
+                .timeoutConfig(timeouts -> timeouts
+                        .connectTimeout(connectTimeout)
+                        .kvTimeout(kvTimeout)
+                        .managementTimeout(managementTimeout))
+                .securityConfig(security -> security.enableTls(tls))
+                .build();
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public Cluster cluster() {
+            return entry.cluster;
+        }
+
+        @Override
+        public void close() {
+            entry.release();
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<Cluster> opened = new CompletableFuture<>();
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private final String fingerprint;
+        private volatile Cluster cluster;
+        private volatile boolean ready;
+        private int leases;
+        private boolean retired;
+        private boolean closing;
+        private boolean disconnecting;
+        private long lastUsed = System.currentTimeMillis();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private void open(Cluster cluster) {
+            synchronized (this) {
+                this.cluster = cluster;
+                if (retired && (leases == 0 || closing)) {
+                    disconnect();
+                }
+            }
+            opened.complete(cluster);
+        }
+
+        private void fail(RuntimeException e) {
+            synchronized (this) {
+                retired = true;
+            }
+            opened.completeExceptionally(e);
+            closed.complete(null);
+        }
+
+        private void awaitReady(Duration timeout) {
+            Cluster connected = awaitOpen();
+            if (ready) {
+                return;
+            }
+            synchronized (connected) {
+                if (!ready) {
+                    connected.waitUntilReady(timeout);
+                    ready = true;
+                }
+            }
+        }
+
+        private Cluster awaitOpen() {
+            try {
+                return opened.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        private synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            lastUsed = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void release() {
+            leases--;
+            lastUsed = System.currentTimeMillis();
+            if (retired && leases == 0) {
+                disconnect();
+            }
+        }
+
+        private synchronized boolean retireIfIdle(long cutoff) {
+            if (leases > 0 || lastUsed >= cutoff) {
+                return false;
+            }
+            retire();
+            return true;
+        }
+
+        private synchronized boolean isRetired() {
+            return retired;
+        }
+
+        private synchronized void retire() {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (leases == 0) {
+                disconnect();
+            }
+        }
+
+        private synchronized CompletableFuture<Void> close() {
+            retired = true;
+            closing = true;
+            disconnect();
+            return closed;
+        }
+
+        private void disconnect() {
+            if (cluster == null || disconnecting) {
+                return;
+            }
+            disconnecting = true;
+            cluster.async().disconnect().whenComplete((ignored, e) -> {
+                if (e != null) {
+                    log.debug("Couchbase disconnect failed: {}", e.getMessage());
+                }
+                closed.complete(null);
+            });
+        }
+    }
+}
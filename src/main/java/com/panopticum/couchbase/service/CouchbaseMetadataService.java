@@ -7,12 +7,14 @@ import com.couchbase.client.java.Collection;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.ScanOptions;
+import com.couchbase.client.java.kv.ScanResult;
+import com.couchbase.client.java.kv.ScanType;
 import com.couchbase.client.java.manager.bucket.BucketSettings;
 import com.couchbase.client.java.manager.collection.CollectionSpec;
 import com.couchbase.client.java.manager.collection.ScopeSpec;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
-import com.couchbase.client.java.ClusterOptions;
 import com.panopticum.core.error.ErrorKeys;
 import com.panopticum.core.model.DatabaseInfo;
 import com.panopticum.core.model.DbConnection;
@@ -22,8 +24,9 @@ import com.panopticum.core.model.TableInfo;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.couchbase.model.CouchbaseBucketInfo;
 import com.panopticum.couchbase.model.CouchbaseScopeCollections;
-import com.panopticum.core.model.ColumnInfo;
 import com.panopticum.core.model.EntityDescription;
+import com.panopticum.core.util.FieldTypeHistogram;
+import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,16 +39,21 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeSet;
+import java.util.stream.Stream;
 
 @Singleton
 @RequiredArgsConstructor
 @Slf4j
 public class CouchbaseMetadataService {
 
-    private static final Duration READY = Duration.ofSeconds(20);
-
     private final DbConnectionService dbConnectionService;
+    private final CouchbaseClusterRegistry clusterRegistry;
+
+    @Value("${panopticum.couchbase.client.ready-timeout:20s}")
+    private Duration readyTimeout;
+
+    @Value("${panopticum.limits.schema-sample:10000}")
+    private int schemaSampleLimit;
 
     public Optional<String> testProbe(String host, int port, String database, String username, String password, boolean useHttps) {
         if (host == null || host.isBlank()) {
@@ -74,12 +82,12 @@ public class CouchbaseMetadataService {
         if (!"couchbase".equalsIgnoreCase(c.get().getType())) {
             return Optional.of(ErrorKeys.CONNECTION_NOT_AVAILABLE);
         }
-        return testWithConnection(c.get());
+        return testWithLease(c.get());
     }
 
     private Optional<String> testWithConnection(DbConnection c) {
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (Cluster cluster = clusterRegistry.connect(c)) {
+            cluster.waitUntilReady(readyTimeout);
             cluster.ping();
             return Optional.empty();
         } catch (Exception e) {
@@ -88,11 +96,14 @@ public class CouchbaseMetadataService {
         }
     }
 
-    public Cluster connect(DbConnection c) {
-        String connStr = connectionString(c);
-        ClusterOptions opts = ClusterOptions.clusterOptions(c.getUsername(),
-                c.getPassword() != null ? c.getPassword() : "");
-        return Cluster.connect(connStr, opts);
+    private Optional<String> testWithLease(DbConnection c) {
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            lease.cluster().ping();
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("Couchbase ping failed: {}", e.getMessage());
+            return Optional.ofNullable(e.getMessage());
+        }
     }
 
     public static String connectionString(DbConnection c) {
@@ -107,8 +118,8 @@ public class CouchbaseMetadataService {
 
     public List<CouchbaseBucketInfo> listBucketInfos(Long connectionId) {
         DbConnection c = requireConn(connectionId);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             Map<String, BucketSettings> all = cluster.buckets().getAllBuckets();
             List<CouchbaseBucketInfo> out = new ArrayList<>();
             for (BucketSettings bs : all.values()) {
@@ -153,10 +164,10 @@ public class CouchbaseMetadataService {
 
     public List<CouchbaseScopeCollections> listScopesAndCollections(Long connectionId, String bucketName) {
         DbConnection c = requireConn(connectionId);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             Bucket bucket = cluster.bucket(bucketName);
-            bucket.waitUntilReady(READY);
+            bucket.waitUntilReady(readyTimeout);
             List<CouchbaseScopeCollections> out = new ArrayList<>();
             for (ScopeSpec scope : bucket.collections().getAllScopes()) {
                 List<String> cols = new ArrayList<>();
@@ -216,8 +227,8 @@ public class CouchbaseMetadataService {
         String cq = bt(collection);
         String stmt = "SELECT META(b).id AS documentId, b.* FROM " + bq + "." + sq + "." + cq + " AS b LIMIT " + Math.max(1, limit)
                 + " OFFSET " + Math.max(0, offset);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             QueryResult qr = cluster.query(stmt, QueryOptions.queryOptions().timeout(Duration.ofMinutes(2)));
             List<JsonObject> objs = qr.rowsAsObject();
             LinkedHashSet<String> colNames = new LinkedHashSet<>();
@@ -248,8 +259,8 @@ public class CouchbaseMetadataService {
 
     public com.panopticum.core.model.QueryResult executeN1ql(Long connectionId, String statement, int offset, int limit) {
         DbConnection c = requireConn(connectionId);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             String stmt = statement.strip().replaceFirst(";+\\s*$", "");
             String windowed = wrapLimitOffset(stmt, offset, limit);
             QueryResult qr = cluster.query(windowed, QueryOptions.queryOptions().timeout(Duration.ofMinutes(2)));
@@ -294,8 +305,8 @@ public class CouchbaseMetadataService {
             return Optional.empty();
         }
         DbConnection c = requireConn(connectionId);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             Collection coll = cluster.bucket(bucket).scope(scope).collection(collection);
             GetResult gr = coll.get(documentId);
             JsonObject jo = gr.contentAsObject();
@@ -316,8 +327,8 @@ public class CouchbaseMetadataService {
             return Optional.of("error.specifyCollection");
         }
         DbConnection c = requireConn(connectionId);
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
             Collection coll = cluster.bucket(bucket).scope(scope).collection(collection);
             coll.replace(documentId, JsonObject.fromJson(jsonString));
             return Optional.empty();
@@ -329,33 +340,23 @@ public class CouchbaseMetadataService {
         }
     }
 
-    public Optional<EntityDescription> describeCollection(Long connectionId, String bucket, String scope, String collection) {
+    public Optional<EntityDescription> describeCollection(Long connectionId, String bucket, String scope, String collection,
+                                                          int sampleSize) {
         DbConnection c = requireConn(connectionId);
-        String bq = bt(bucket);
-        String sq = bt(scope);
-        String cq = bt(collection);
-        String stmt = "SELECT b.* FROM " + bq + "." + sq + "." + cq + " AS b LIMIT 50";
-        try (Cluster cluster = connect(c)) {
-            cluster.waitUntilReady(READY);
-            QueryResult qr = cluster.query(stmt, QueryOptions.queryOptions().timeout(Duration.ofMinutes(1)));
-            TreeSet<String> keys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-            int rowCount = 0;
-            for (JsonObject jo : qr.rowsAsObject()) {
-                rowCount++;
-                keys.addAll(jo.getNames());
+        int n = Math.min(Math.max(1, sampleSize), schemaSampleLimit);
+        try (CouchbaseClusterRegistry.Lease lease = clusterRegistry.lease(c)) {
+            Cluster cluster = lease.cluster();
+            FieldTypeHistogram histogram = new FieldTypeHistogram();
+            String note;
+            try {
+                sampleWithRangeScan(cluster.bucket(bucket).scope(scope).collection(collection), n, histogram);
+                note = "Schema inferred from " + histogram.getSamples() + " randomly sampled documents (KV sampling scan).";
+            } catch (Exception e) {
+                log.debug("Sampling scan unavailable for {}.{}.{}: {}", bucket, scope, collection, e.getMessage());
+                histogram = new FieldTypeHistogram();
+                sampleWithQuery(cluster, bucket, scope, collection, n, histogram);
+                note = "Schema inferred from the first " + histogram.getSamples() + " documents (N1QL; sampling scan requires Couchbase Server 7.6+).";
             }
-            List<ColumnInfo> cols = new ArrayList<>();
-            int pos = 1;
-            for (String k : keys) {
-                cols.add(ColumnInfo.builder()
-                        .name(k)
-                        .type("json")
-                        .nullable(true)
-                        .primaryKey(false)
-                        .position(pos++)
-                        .build());
-            }
-            List<String> pk = List.of();
             return Optional.of(EntityDescription.builder()
                     .connectionId(null)
                     .dbType(null)
@@ -363,13 +364,13 @@ public class CouchbaseMetadataService {
                     .catalog(bucket)
                     .namespace(scope)
                     .entity(collection)
-                    .columns(cols)
-                    .primaryKey(pk)
+                    .columns(histogram.toColumns(null, String.CASE_INSENSITIVE_ORDER))
+                    .primaryKey(List.of())
                     .foreignKeys(List.of())
                     .indexes(List.of())
-                    .approximateRowCount((long) rowCount)
+                    .approximateRowCount(histogram.getSamples())
                     .inferredFromSample(true)
-                    .notes(List.of())
+                    .notes(List.of(note))
                     .build());
         } catch (Exception e) {
             log.warn("describeCollection failed: {}", e.getMessage());
@@ -377,6 +378,52 @@ public class CouchbaseMetadataService {
         }
     }
 
+    private static void sampleWithRangeScan(Collection coll, int n, FieldTypeHistogram histogram) {
+        try (Stream<ScanResult> results = coll.scan(ScanType.samplingScan(n),
+                ScanOptions.scanOptions().timeout(Duration.ofMinutes(1)))) {
+            results.forEach(r -> {
+                histogram.nextSample();
+                JsonObject jo = r.contentAsObject();
+                for (String name : jo.getNames()) {
+                    histogram.add(name, jsonType(jo.get(name)));
+                }
+            });
+        }
+    }
+
+    private static void sampleWithQuery(Cluster cluster, String bucket, String scope, String collection, int n,
+                                        FieldTypeHistogram histogram) {
+        String stmt = "SELECT RAW ARRAY [p.name, TYPE(p.val)] FOR p IN OBJECT_PAIRS(b) END FROM "
+                + bt(bucket) + "." + bt(scope) + "." + bt(collection) + " AS b LIMIT " + n;
+        QueryResult qr = cluster.query(stmt, QueryOptions.queryOptions().timeout(Duration.ofMinutes(1)));
+        for (JsonArray fields : qr.rowsAs(JsonArray.class)) {
+            histogram.nextSample();
+            for (int i = 0; i < fields.size(); i++) {
+                JsonArray pair = fields.getArray(i);
+                histogram.add(pair.getString(0), pair.getString(1));
+            }
+        }
+    }
+
+    private static String jsonType(Object v) {
+        if (v == null) {
+            return "null";
+        }
+        if (v instanceof JsonObject) {
+            return "object";
+        }
+        if (v instanceof JsonArray) {
+            return "array";
+        }
+        if (v instanceof Number) {
+            return "number";
+        }
+        if (v instanceof Boolean) {
+            return "boolean";
+        }
+        return "string";
+    }
+
     private DbConnection requireConn(Long connectionId) {
         return dbConnectionService.findById(connectionId)
                 .filter(c -> "couchbase".equalsIgnoreCase(c.getType()))
@@ -0,0 +1,74 @@
+package com.panopticum.elasticsearch;
+
+import com.panopticum.core.util.SizeFormatter;
+import com.panopticum.elasticsearch.model.ElasticsearchIndexGroup;
+import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class ElasticsearchIndexPatterns {
+
+    private static final Pattern ROLLOVER_GENERATION = Pattern.compile("^(.+?)-\\d{6}$");
+    private static final Pattern DAILY_SUFFIX = Pattern.compile("^(.*\\d{4}([.\\-_])\\d{2})\\2\\d{2}$");
+    private static final Pattern MONTHLY_SUFFIX = Pattern.compile("^(.*[^\\d])(\\d{4}[.\\-_]\\d{2})$");
+    private static final Pattern HUMAN_SIZE = Pattern.compile("^([0-9]+(?:\\.[0-9]+)?)\\s*([kmgtp]?b)?$");
+
+    public String groupPattern(String index) {
+        if (index == null || index.isBlank()) {
+            return index;
+        }
+        Matcher rollover = ROLLOVER_GENERATION.matcher(index);
+        String base = rollover.matches() ? rollover.group(1) : index;
+        Matcher daily = DAILY_SUFFIX.matcher(base);
+        if (daily.matches()) {
+            return daily.group(1) + daily.group(2) + "*";
+        }
+        Matcher monthly = MONTHLY_SUFFIX.matcher(base);
+        if (monthly.matches()) {
+            return monthly.group(1) + "*";
+        }
+
+        return rollover.matches() ? base + "-*" : index;
+    }
+
+    public List<ElasticsearchIndexGroup> group(List<ElasticsearchIndexInfo> indices) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (ElasticsearchIndexInfo info : indices) {
+            if (info.getIndex() == null) {
+                continue;
+            }
+            long[] t = totals.computeIfAbsent(groupPattern(info.getIndex()), k -> new long[3]);
+            t[0]++;
+            t[1] += info.getDocsCountNum();
+            t[2] += parseSize(info.getStoreSize());
+        }
+        List<ElasticsearchIndexGroup> groups = new ArrayList<>(totals.size());
+        totals.forEach((pattern, t) -> groups.add(
+                new ElasticsearchIndexGroup(pattern, (int) t[0], t[1], t[2], SizeFormatter.formatSize(t[2]))));
+
+        return groups;
+    }
+
+    private long parseSize(String size) {
+        if (size == null || size.isBlank()) {
+            return 0L;
+        }
+        Matcher m = HUMAN_SIZE.matcher(size.trim().toLowerCase(Locale.ROOT));
+        if (!m.matches()) {
+            return 0L;
+        }
+        double value = Double.parseDouble(m.group(1));
+        String unit = m.group(2) != null ? m.group(2) : "b";
+        int power = "bkmgtp".indexOf(unit.charAt(0));
+
+        return (long) (value * Math.pow(1024, Math.max(0, power)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.panopticum.elasticsearch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@UtilityClass
+public class ElasticsearchPageCursors {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public enum Mode {
+        PIT,
+        OPENSEARCH_PIT,
+        SCROLL
+    }
+
+    public record Position(Mode mode, String contextId, List<Object> searchAfter, int offset, int limit,
+                           String queryHash) {
+    }
+
+    public Optional<Position> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> map = JSON.readValue(Base64.getUrlDecoder().decode(token.trim()),
+                    new TypeReference<Map<String, Object>>() {
+                    });
+            Mode mode = Mode.valueOf(String.valueOf(map.get("m")));
+            Object id = map.get("c");
+            Object hash = map.get("h");
+            if (!(id instanceof String contextId) || contextId.isBlank() || !(hash instanceof String queryHash)) {
+                return Optional.empty();
+            }
+            List<Object> searchAfter = map.get("s") instanceof List<?> list ? new ArrayList<>(list) : null;
+            if (mode != Mode.SCROLL && (searchAfter == null || searchAfter.isEmpty())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new Position(mode, contextId, searchAfter, Math.max(0, intValue(map.get("o"))),
+                    Math.max(1, intValue(map.get("l"))), queryHash));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode(Position position) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("m", position.mode().name());
+        payload.put("c", position.contextId());
+        payload.put("s", position.searchAfter());
+        payload.put("o", position.offset());
+        payload.put("l", position.limit());
+        payload.put("h", position.queryHash());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JSON.writeValueAsBytes(payload));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public String queryHash(String indexName, String queryDsl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String source = (indexName != null ? indexName : "") + "\n" + (queryDsl != null ? queryDsl.trim() : "");
+            byte[] hash = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private int intValue(Object value) {
+        return value instanceof Number n ? n.intValue() : 0;
+    }
+}
@@ -1,12 +1,15 @@
 package com.panopticum.elasticsearch.client;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
+import com.panopticum.elasticsearch.model.ElasticsearchPitOpenResult;
+import com.panopticum.elasticsearch.model.ElasticsearchPointInTime;
 import com.panopticum.elasticsearch.model.ElasticsearchSearchResult;
-import com.panopticum.elasticsearch.model.SearchResponseDto;
 import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
@@ -20,11 +23,15 @@ import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -118,13 +125,16 @@ public class ElasticsearchClient {
     private List<ElasticsearchIndexInfo> listIndicesHttpsChain(String root, String username, String password) {
         String urlFull = root + "/_cat/indices?format=json&h=index,docs.count,store.size";
         try {
-            java.net.http.HttpResponse<String> r = ElasticsearchJdkHttps.get(urlFull, username, password);
+            java.net.http.HttpResponse<InputStream> r = ElasticsearchJdkHttps.sendStream("GET", urlFull, null,
+                    username, password);
             int code = r.statusCode();
-            String body = r.body() != null ? r.body() : "";
             if (code == 200) {
-                return objectMapper.readValue(body, new TypeReference<List<ElasticsearchIndexInfo>>() {
-                });
+                try (InputStream in = r.body()) {
+                    return objectMapper.readValue(in, new TypeReference<List<ElasticsearchIndexInfo>>() {
+                    });
+                }
             }
+            String body = readBody(r);
             if (code == 403 || code == 401) {
                 log.debug("Elasticsearch listIndices cat(full) HTTP {} for {}, trying fallbacks", code, urlFull);
 
@@ -259,6 +269,12 @@ public class ElasticsearchClient {
         return out;
     }
 
+    private static String readBody(java.net.http.HttpResponse<InputStream> response) throws IOException {
+        try (InputStream in = response.body()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
     private static String truncateForLog(String body) {
         if (body == null) {
             return "";
@@ -271,20 +287,44 @@ public class ElasticsearchClient {
         return t;
     }
 
+    public String clusterMetadataFingerprint(String baseUrl, String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        String url = root + "/_cluster/state/metadata?filter_path=metadata.indices.*.state,"
+                + "metadata.indices.*.mapping_version,metadata.indices.*.settings_version,"
+                + "metadata.indices.*.aliases_version,metadata.data_stream.data_stream.*.generation";
+        RawResponse r = send("GET", url, null, username, password);
+        if (r == null || !r.isSuccess()) {
+            log.debug("Elasticsearch cluster metadata fingerprint unavailable for {} (HTTP {})", root,
+                    r != null ? r.status() : null);
+
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(r.body().getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(hash);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public Map<String, Object> getMapping(String baseUrl, String indexName, String username, String password) {
         String root = normalizeBaseUrl(baseUrl);
         String url = root + "/" + encodePath(indexName) + "/_mapping";
         if (isHttps(root)) {
             try {
-                java.net.http.HttpResponse<String> r = ElasticsearchJdkHttps.get(url, username, password);
-                if (r.statusCode() < 200 || r.statusCode() >= 300) {
-                    log.debug("Elasticsearch getMapping failed for {}: status {}", url, r.statusCode());
+                java.net.http.HttpResponse<InputStream> r = ElasticsearchJdkHttps.sendStream("GET", url, null,
+                        username, password);
+                try (InputStream in = r.body()) {
+                    if (r.statusCode() < 200 || r.statusCode() >= 300) {
+                        log.debug("Elasticsearch getMapping failed for {}: status {}", url, r.statusCode());
 
-                    return null;
-                }
+                        return null;
+                    }
 
-                return objectMapper.readValue(r.body(), new TypeReference<Map<String, Object>>() {
-                });
+                    return objectMapper.readValue(in, new TypeReference<Map<String, Object>>() {
+                    });
+                }
             } catch (Exception e) {
                 log.warn("Failed to connect to Elasticsearch {}: {}", url, e.getMessage());
 
@@ -312,52 +352,176 @@ public class ElasticsearchClient {
     public ElasticsearchSearchResult search(String baseUrl, String indexName, String searchBody,
                                             String username, String password) {
         String root = normalizeBaseUrl(baseUrl);
-        String url = root + "/" + encodePath(indexName) + "/_search";
-        String body = searchBody != null && !searchBody.isBlank() ? searchBody : "{}";
-        if (isHttps(root)) {
-            try {
-                java.net.http.HttpResponse<String> r = ElasticsearchJdkHttps.post(url, body, username, password);
-                int code = r.statusCode();
-                String respBody = r.body() != null ? r.body() : "";
-                if (code < 200 || code >= 300) {
-                    log.warn("Elasticsearch search HTTP {} for {} body snippet: {}", code, url, truncateForLog(respBody));
 
-                    return ElasticsearchSearchResult.fail(
-                            searchFailureMessage(code, respBody));
-                }
+        return postSearch(root + "/" + encodePath(indexName) + "/_search", searchBody, username, password);
+    }
+
+    public ElasticsearchSearchResult searchPointInTime(String baseUrl, String searchBody,
+                                                       String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+
+        return postSearch(root + "/_search", searchBody, username, password);
+    }
+
+    public ElasticsearchSearchResult openScroll(String baseUrl, String indexName, String searchBody, String keepAlive,
+                                                String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        String url = root + "/" + encodePath(indexName) + "/_search?scroll=" + encodePath(keepAlive);
+
+        return postSearch(url, searchBody, username, password);
+    }
+
+    public ElasticsearchSearchResult continueScroll(String baseUrl, String scrollId, String keepAlive,
+                                                    String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        try {
+            String body = objectMapper.writeValueAsString(Map.of("scroll", keepAlive, "scroll_id", scrollId));
+
+            return postSearch(root + "/_search/scroll", body, username, password);
+        } catch (Exception e) {
+            return ElasticsearchSearchResult.fail(e.getMessage());
+        }
+    }
+
+    public ElasticsearchPitOpenResult openPointInTime(String baseUrl, String indexName, String keepAlive,
+                                                      String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        String index = encodePath(indexName);
+        String ka = encodePath(keepAlive);
+        String esUrl = root + "/" + index + "/_pit?keep_alive=" + ka;
+        RawResponse es = send("POST", esUrl, null, username, password);
+        if (es != null && es.isSuccess()) {
+            return pointInTimeFrom(es.body(), "id", false);
+        }
+        if (!isMissingEndpoint(es)) {
+            log.debug("Elasticsearch open PIT HTTP {} for {}: {}", es != null ? es.status() : null, esUrl,
+                    es != null ? truncateForLog(es.body()) : null);
+
+            return ElasticsearchPitOpenResult.failed();
+        }
+        String osUrl = root + "/" + index + "/_search/point_in_time?keep_alive=" + ka;
+        RawResponse os = send("POST", osUrl, null, username, password);
+        if (os != null && os.isSuccess()) {
+            return pointInTimeFrom(os.body(), "pit_id", true);
+        }
+        log.debug("Elasticsearch point-in-time not available for {} (HTTP {})", root,
+                os != null ? os.status() : null);
 
-                return ElasticsearchSearchResult.ok(objectMapper.readValue(respBody, SearchResponseDto.class));
+        return isMissingEndpoint(os) ? ElasticsearchPitOpenResult.unsupported() : ElasticsearchPitOpenResult.failed();
+    }
+
+    private static boolean isMissingEndpoint(RawResponse response) {
+        return response != null && (response.status() == 400 || response.status() == 404 || response.status() == 405)
+                && !response.body().contains("index_not_found_exception");
+    }
+
+    public void closePointInTime(String baseUrl, ElasticsearchPointInTime pit, String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        try {
+            RawResponse r = pit.openSearch()
+                    ? send("DELETE", root + "/_search/point_in_time",
+                    objectMapper.writeValueAsString(Map.of("pit_id", List.of(pit.id()))), username, password)
+                    : send("DELETE", root + "/_pit",
+                    objectMapper.writeValueAsString(Map.of("id", pit.id())), username, password);
+            if (r != null && !r.isSuccess() && r.status() != 404) {
+                log.debug("Elasticsearch close PIT HTTP {} for {}", r.status(), root);
+            }
+        } catch (Exception e) {
+            log.debug("Elasticsearch close PIT failed for {}: {}", root, e.getMessage());
+        }
+    }
+
+    public void clearScroll(String baseUrl, String scrollId, String username, String password) {
+        String root = normalizeBaseUrl(baseUrl);
+        try {
+            RawResponse r = send("DELETE", root + "/_search/scroll",
+                    objectMapper.writeValueAsString(Map.of("scroll_id", List.of(scrollId))), username, password);
+            if (r != null && !r.isSuccess() && r.status() != 404) {
+                log.debug("Elasticsearch clear scroll HTTP {} for {}", r.status(), root);
+            }
+        } catch (Exception e) {
+            log.debug("Elasticsearch clear scroll failed for {}: {}", root, e.getMessage());
+        }
+    }
+
+    private ElasticsearchPitOpenResult pointInTimeFrom(String body, String field, boolean openSearch) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get(field);
+            if (id == null || !id.isTextual() || id.asText().isBlank()) {
+                return ElasticsearchPitOpenResult.failed();
+            }
+
+            return ElasticsearchPitOpenResult.ok(new ElasticsearchPointInTime(id.asText(), openSearch));
+        } catch (Exception e) {
+            log.debug("Elasticsearch open PIT response not parsed: {}", e.getMessage());
+
+            return ElasticsearchPitOpenResult.failed();
+        }
+    }
+
+    private RawResponse send(String method, String url, String body, String username, String password) {
+        if (isHttps(url)) {
+            try {
+                java.net.http.HttpResponse<String> r = ElasticsearchJdkHttps.send(method, url, body, username, password);
+
+                return new RawResponse(r.statusCode(), r.body() != null ? r.body() : "");
             } catch (Exception e) {
-                log.warn("Elasticsearch search failed for {}: {}", url, e.getMessage());
+                log.warn("Elasticsearch {} failed for {}: {}", method, url, e.getMessage());
 
-                return ElasticsearchSearchResult.fail(e.getMessage());
+                return null;
             }
         }
         BlockingHttpClient client = httpClient.toBlocking();
-        MutableHttpRequest<String> request = HttpRequest.POST(url, body)
+        MutableHttpRequest<Object> request = HttpRequest.create(HttpMethod.parse(method), url)
                 .contentType(MediaType.APPLICATION_JSON_TYPE)
                 .accept(MediaType.APPLICATION_JSON_TYPE);
+        if (body != null) {
+            request.body(body);
+        }
         if (username != null && !username.isBlank()) {
             request.basicAuth(username, password != null ? password : "");
         }
         try {
-            HttpResponse<SearchResponseDto> response = client.exchange(request, Argument.of(SearchResponseDto.class));
-            SearchResponseDto dto = response.getBody().orElse(null);
-            if (dto == null) {
-                return ElasticsearchSearchResult.fail("error.queryExecutionFailed");
-            }
+            HttpResponse<String> response = client.exchange(request, Argument.of(String.class));
 
-            return ElasticsearchSearchResult.ok(dto);
+            return new RawResponse(response.getStatus().getCode(), response.getBody().orElse(""));
         } catch (HttpClientResponseException e) {
-            int code = e.getStatus().getCode();
-            String errBody = httpErrorBodyAsString(e);
-            log.warn("Elasticsearch search HTTP {} for {}: {}", code, url, truncateForLog(errBody));
-
-            return ElasticsearchSearchResult.fail(searchFailureMessage(code, errBody));
+            return new RawResponse(e.getStatus().getCode(), httpErrorBodyAsString(e));
         } catch (HttpClientException e) {
             log.warn("Failed to connect to Elasticsearch {}: {}", url, e.getMessage());
 
-            return ElasticsearchSearchResult.fail(e.getMessage());
+            return null;
+        }
+    }
+
+    private record RawResponse(int status, String body) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private ElasticsearchSearchResult postSearch(String url, String searchBody, String username, String password) {
+        String body = searchBody != null && !searchBody.isBlank() ? searchBody : "{}";
+        try {
+            java.net.http.HttpResponse<InputStream> r = ElasticsearchJdkHttps.sendStream("POST", url, body,
+                    username, password);
+            try (InputStream in = r.body()) {
+                int code = r.statusCode();
+                if (code < 200 || code >= 300) {
+                    String respBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                    log.warn("Elasticsearch search HTTP {} for {} body snippet: {}", code, url, truncateForLog(respBody));
+
+                    return ElasticsearchSearchResult.fail(searchFailureMessage(code, respBody), code);
+                }
+                try (JsonParser parser = objectMapper.createParser(in)) {
+                    return ElasticsearchSearchResult.ok(ElasticsearchSearchResponseReader.read(parser));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Elasticsearch search failed for {}: {}", url, e.getMessage());
+
+            return ElasticsearchSearchResult.fail(e.getMessage() != null ? e.getMessage() : "error.queryExecutionFailed");
         }
     }
 
@@ -1,5 +1,6 @@
 package com.panopticum.elasticsearch.client;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -84,6 +85,30 @@ final class ElasticsearchJdkHttps {
         return CLIENT.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
     }
 
+    HttpResponse<String> send(String method, String url, String body, String username, String password) throws Exception {
+        return CLIENT.send(request(method, url, body, username, password),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    HttpResponse<InputStream> sendStream(String method, String url, String body, String username, String password)
+            throws Exception {
+        return CLIENT.send(request(method, url, body, username, password), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private HttpRequest request(String method, String url, String body, String username, String password) {
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .method(method, publisher)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(120));
+        basicAuth(b, username, password);
+
+        return b.build();
+    }
+
     private void basicAuth(HttpRequest.Builder b, String username, String password) {
         if (username != null && !username.isBlank()) {
             String p = password != null ? password : "";
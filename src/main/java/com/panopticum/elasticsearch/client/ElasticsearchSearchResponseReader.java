@@ -0,0 +1,157 @@
+package com.panopticum.elasticsearch.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.panopticum.core.util.StringUtils;
+import com.panopticum.elasticsearch.model.SearchHitDto;
+import com.panopticum.elasticsearch.model.SearchResponseDto;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@UtilityClass
+final class ElasticsearchSearchResponseReader {
+
+    SearchResponseDto read(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected JSON object in search response");
+        }
+        SearchResponseDto dto = new SearchResponseDto();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "hits" -> dto.setHits(readHits(p));
+                case "pit_id" -> dto.setPitId(p.getValueAsString());
+                case "_scroll_id" -> dto.setScrollId(p.getValueAsString());
+                default -> p.skipChildren();
+            }
+        }
+
+        return dto;
+    }
+
+    private SearchResponseDto.HitsDto readHits(JsonParser p) throws IOException {
+        SearchResponseDto.HitsDto hits = new SearchResponseDto.HitsDto();
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+
+            return hits;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("total".equals(name)) {
+                hits.setTotal(readTotal(p, value));
+            } else if ("hits".equals(name) && value == JsonToken.START_ARRAY) {
+                List<SearchHitDto> list = new ArrayList<>();
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    list.add(readHit(p));
+                }
+                hits.setHits(list);
+            } else {
+                p.skipChildren();
+            }
+        }
+
+        return hits;
+    }
+
+    private SearchResponseDto.HitsDto.TotalDto readTotal(JsonParser p, JsonToken value) throws IOException {
+        SearchResponseDto.HitsDto.TotalDto total = new SearchResponseDto.HitsDto.TotalDto();
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            total.setValue(p.getLongValue());
+
+            return total;
+        }
+        if (value == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                if ("value".equals(name) && p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                    total.setValue(p.getLongValue());
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+
+        return total;
+    }
+
+    private SearchHitDto readHit(JsonParser p) throws IOException {
+        SearchHitDto hit = new SearchHitDto();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (name) {
+                case "_id" -> hit.setId(p.getValueAsString());
+                case "_score" -> hit.setScore(value.isNumeric() ? p.getDoubleValue() : null);
+                case "sort" -> hit.setSort(value == JsonToken.START_ARRAY
+                        ? p.readValueAs(new TypeReference<List<Object>>() {
+                        })
+                        : null);
+                case "_source" -> hit.setSource(value == JsonToken.START_OBJECT ? readSource(p) : null);
+                default -> p.skipChildren();
+            }
+        }
+
+        return hit;
+    }
+
+    private Map<String, Object> readSource(JsonParser p) throws IOException {
+        Map<String, Object> source = new LinkedHashMap<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            source.put(name, readCell(p, p.nextToken()));
+        }
+
+        return source;
+    }
+
+    private Object readCell(JsonParser p, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> StringUtils.truncate(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case START_OBJECT, START_ARRAY -> boundedJson(p);
+            default -> null;
+        };
+    }
+
+    private String boundedJson(JsonParser p) throws IOException {
+        StringWriter out = new StringWriter();
+        boolean truncated = false;
+        int depth = 0;
+        try (JsonGenerator g = p.getCodec().getFactory().createGenerator(out)) {
+            do {
+                JsonToken token = p.currentToken();
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (truncated) {
+                    continue;
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    g.writeString(StringUtils.truncate(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+                } else {
+                    g.copyCurrentEvent(p);
+                }
+                g.flush();
+                truncated = out.getBuffer().length() > StringUtils.MAX_CELL_LENGTH;
+            } while (depth > 0 && p.nextToken() != null);
+        }
+
+        return StringUtils.truncate(out.toString());
+    }
+}
@@ -8,6 +8,7 @@ import com.panopticum.core.model.ApiMutationResult;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.sql.SqlStatementKind;
 import com.panopticum.core.util.ApiQueryParams;
+import com.panopticum.elasticsearch.model.ElasticsearchIndexGroup;
 import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
 import com.panopticum.elasticsearch.model.ElasticsearchSearchRequest;
 import com.panopticum.elasticsearch.service.ElasticsearchMetadataService;
@@ -64,6 +65,23 @@ public class ElasticsearchApiController extends AbstractConnectionApiController
         return elasticsearchMetadataService.listIndicesPaged(id, page, size, sort, order);
     }
 
+    @Get("/{id}/index-groups")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "List indices grouped by rollover/date pattern")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Index groups page"),
+            @ApiResponse(responseCode = "404", description = "connection.notFound")
+    })
+    public Page<ElasticsearchIndexGroup> indexGroups(
+            @Parameter(description = "Connection ID") @PathVariable Long id,
+            @QueryValue(value = "page", defaultValue = "1") int page,
+            @QueryValue(value = "size", defaultValue = "50") int size,
+            @QueryValue(value = "sort", defaultValue = "index") String sort,
+            @QueryValue(value = "order", defaultValue = "asc") String order) {
+        ensureConnectionExists(id);
+        return elasticsearchMetadataService.listIndexGroupsPaged(id, page, size, sort, order);
+    }
+
     @Post("/{id}/indices/{indexName}/search")
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Search index")
@@ -81,7 +99,7 @@ public class ElasticsearchApiController extends AbstractConnectionApiController
                 ? request.getQuery() : DEFAULT_QUERY;
         int offset = ApiQueryParams.normalizedOffset(request.getOffset());
         int limit = ApiQueryParams.normalizedLimit(request.getLimit());
-        return elasticsearchMetadataService.executeQuery(id, indexName, query, offset, limit)
+        return elasticsearchMetadataService.executeQuery(id, indexName, query, offset, limit, request.getCursor())
                 .orElse(QueryResult.error(ApiErrors.QUERY_EXECUTION_FAILED));
     }
 
@@ -10,7 +10,6 @@ import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.ui.AppAlerts;
 import com.panopticum.core.util.ControllerModelHelper;
 import com.panopticum.core.util.QueryResultModelHelper;
-import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.panopticum.elasticsearch.service.ElasticsearchMetadataService;
@@ -70,7 +69,8 @@ public class ElasticsearchController extends AbstractConnectionUiController {
                                        @QueryValue(value = "page", defaultValue = "1") int page,
                                        @QueryValue(value = "size", defaultValue = "50") int size,
                                        @QueryValue(value = "sort", defaultValue = "index") String sort,
-                                       @QueryValue(value = "order", defaultValue = "asc") String order) {
+                                       @QueryValue(value = "order", defaultValue = "asc") String order,
+                                       @QueryValue(value = "view", defaultValue = "indices") String view) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -81,8 +81,12 @@ public class ElasticsearchController extends AbstractConnectionUiController {
         breadcrumbs.add(new BreadcrumbItem(conn.get().getName(), null));
         ControllerModelHelper.addBreadcrumbs(model, breadcrumbs);
         model.put("connectionId", id);
+        boolean groups = "groups".equals(view);
+        model.put("view", groups ? "groups" : "indices");
 
-        Page<ElasticsearchIndexInfo> paged = elasticsearchMetadataService.listIndicesPaged(id, page, size, sort, order);
+        Page<?> paged = groups
+                ? elasticsearchMetadataService.listIndexGroupsPaged(id, page, size, sort, order)
+                : elasticsearchMetadataService.listIndicesPaged(id, page, size, sort, order);
         ControllerModelHelper.addPagination(model, paged, "items");
         ControllerModelHelper.addOrderToggles(model, paged.getSort(), paged.getOrder(),
                 Map.of("index", "orderIndex", "docsCount", "orderDocsCount", "storeSize", "orderStoreSize"));
@@ -261,7 +265,8 @@ public class ElasticsearchController extends AbstractConnectionUiController {
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @Produces(MediaType.TEXT_HTML)
     public Object executeSearch(@PathVariable Long id, String indexName, String query,
-                               @Nullable Integer offset, @Nullable Integer limit, String target) {
+                               @Nullable Integer offset, @Nullable Integer limit, @Nullable String cursor,
+                               String target) {
         Map<String, Object> model = new HashMap<>();
         model.put("connectionId", id);
         model.put("indexName", indexName != null ? indexName : "");
@@ -287,7 +292,7 @@ public class ElasticsearchController extends AbstractConnectionUiController {
             return new ModelAndView<>("partials/elasticsearch-search-result", model);
         }
 
-        var result = elasticsearchMetadataService.executeQuery(id, indexName, query, off, lim)
+        var result = elasticsearchMetadataService.executeQuery(id, indexName, query, off, lim, cursor)
                 .orElse(QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED));
         QueryResultModelHelper.putQueryResult(model, result, "", "");
 
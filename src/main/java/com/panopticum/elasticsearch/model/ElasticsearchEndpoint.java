@@ -0,0 +1,4 @@
+package com.panopticum.elasticsearch.model;
+
+public record ElasticsearchEndpoint(String baseUrl, String username, String password) {
+}
@@ -0,0 +1,8 @@
+package com.panopticum.elasticsearch.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record ElasticsearchIndexGroup(String pattern, int indexCount, long docsCount, long storeBytes,
+                                      String storeSize) {
+}
@@ -0,0 +1,16 @@
+package com.panopticum.elasticsearch.model;
+
+public record ElasticsearchPitOpenResult(ElasticsearchPointInTime pit, boolean unsupported) {
+
+    public static ElasticsearchPitOpenResult ok(ElasticsearchPointInTime pit) {
+        return new ElasticsearchPitOpenResult(pit, false);
+    }
+
+    public static ElasticsearchPitOpenResult failed() {
+        return new ElasticsearchPitOpenResult(null, false);
+    }
+
+    public static ElasticsearchPitOpenResult unsupported() {
+        return new ElasticsearchPitOpenResult(null, true);
+    }
+}
@@ -0,0 +1,4 @@
+package com.panopticum.elasticsearch.model;
+
+public record ElasticsearchPointInTime(String id, boolean openSearch) {
+}
@@ -17,4 +17,7 @@ public class ElasticsearchSearchRequest {
 
     @Schema(description = "Limit", defaultValue = "100")
     private int limit = 100;
+
+    @Schema(description = "Opaque point-in-time cursor returned as nextCursor by the previous page")
+    private String cursor;
 }
@@ -1,12 +1,16 @@
 package com.panopticum.elasticsearch.model;
 
-public record ElasticsearchSearchResult(SearchResponseDto response, String failureMessage) {
+public record ElasticsearchSearchResult(SearchResponseDto response, String failureMessage, int httpStatus) {
 
     public static ElasticsearchSearchResult ok(SearchResponseDto response) {
-        return new ElasticsearchSearchResult(response, null);
+        return new ElasticsearchSearchResult(response, null, 200);
     }
 
     public static ElasticsearchSearchResult fail(String failureMessage) {
-        return new ElasticsearchSearchResult(null, failureMessage);
+        return new ElasticsearchSearchResult(null, failureMessage, 0);
+    }
+
+    public static ElasticsearchSearchResult fail(String failureMessage, int httpStatus) {
+        return new ElasticsearchSearchResult(null, failureMessage, httpStatus);
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.micronaut.serde.annotation.Serdeable;
 import lombok.Data;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -20,4 +21,7 @@ public class SearchHitDto {
 
     @JsonProperty("_score")
     private Double score;
+
+    @JsonProperty("sort")
+    private List<Object> sort;
 }
@@ -15,6 +15,12 @@ public class SearchResponseDto {
     @JsonProperty("hits")
     private HitsDto hits;
 
+    @JsonProperty("pit_id")
+    private String pitId;
+
+    @JsonProperty("_scroll_id")
+    private String scrollId;
+
     @Data
     @Serdeable
     @JsonIgnoreProperties(ignoreUnknown = true)
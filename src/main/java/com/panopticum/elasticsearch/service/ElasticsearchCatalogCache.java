@@ -0,0 +1,150 @@
+package com.panopticum.elasticsearch.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.elasticsearch.client.ElasticsearchClient;
+import com.panopticum.elasticsearch.model.ElasticsearchEndpoint;
+import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Singleton
+@RequiredArgsConstructor
+@Slf4j
+public class ElasticsearchCatalogCache {
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    private final Map<Long, Catalog> catalogs = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.elasticsearch.catalog.max-age:5m}")
+    private Duration maxAge;
+
+    @Value("${panopticum.elasticsearch.catalog.idle-eviction:30m}")
+    private Duration idleEviction;
+
+    public List<ElasticsearchIndexInfo> indices(Long connectionId, Supplier<ElasticsearchEndpoint> endpoint) {
+        Catalog cached = catalogs.get(connectionId);
+        if (cached != null) {
+            cached.readAt = System.currentTimeMillis();
+
+            return cached.indices;
+        }
+        ElasticsearchEndpoint target = endpoint.get();
+        String fingerprint = fingerprint(target);
+        List<ElasticsearchIndexInfo> indices = load(target);
+        if (!indices.isEmpty() || fingerprint != null) {
+            catalogs.put(connectionId, new Catalog(target, indices, fingerprint));
+        }
+
+        return indices;
+    }
+
+    public Optional<Map<String, Object>> mapping(Long connectionId, String indexName,
+                                                 Supplier<ElasticsearchEndpoint> endpoint) {
+        Catalog cached = catalogs.get(connectionId);
+        if (cached == null) {
+            return Optional.ofNullable(fetchMapping(endpoint.get(), indexName));
+        }
+        cached.readAt = System.currentTimeMillis();
+        Map<String, Object> mapping = cached.mappings.get(indexName);
+        if (mapping == null) {
+            mapping = fetchMapping(cached.endpoint, indexName);
+            if (mapping != null) {
+                cached.mappings.put(indexName, mapping);
+            }
+        }
+
+        return Optional.ofNullable(mapping);
+    }
+
+    public void invalidate(Long connectionId) {
+        catalogs.remove(connectionId);
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "${panopticum.elasticsearch.catalog.check-interval:30s}", initialDelay = "30s")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Catalog> entry : catalogs.entrySet()) {
+            Catalog catalog = entry.getValue();
+            if (now - catalog.readAt > idleEviction.toMillis()) {
+                catalogs.remove(entry.getKey(), catalog);
+                continue;
+            }
+            try {
+                String fingerprint = fingerprint(catalog.endpoint);
+                boolean metadataChanged = fingerprint != null && !Objects.equals(fingerprint, catalog.fingerprint);
+                if (!metadataChanged && now - catalog.loadedAt < maxAge.toMillis()) {
+                    continue;
+                }
+                List<ElasticsearchIndexInfo> indices = load(catalog.endpoint);
+                if (indices.isEmpty() && !catalog.indices.isEmpty() && !metadataChanged) {
+                    continue;
+                }
+                Catalog refreshed = new Catalog(catalog.endpoint, indices, fingerprint);
+                refreshed.readAt = catalog.readAt;
+                if (!metadataChanged) {
+                    refreshed.mappings.putAll(catalog.mappings);
+                }
+                catalogs.replace(entry.getKey(), catalog, refreshed);
+                if (metadataChanged) {
+                    log.debug("Elasticsearch catalog for connection {} reloaded after metadata change", entry.getKey());
+                }
+            } catch (Exception e) {
+                log.debug("Elasticsearch catalog refresh failed for connection {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private List<ElasticsearchIndexInfo> load(ElasticsearchEndpoint endpoint) {
+        return List.copyOf(elasticsearchClient.listIndices(endpoint.baseUrl(), endpoint.username(), endpoint.password()));
+    }
+
+    private String fingerprint(ElasticsearchEndpoint endpoint) {
+        return elasticsearchClient.clusterMetadataFingerprint(endpoint.baseUrl(), endpoint.username(),
+                endpoint.password());
+    }
+
+    private Map<String, Object> fetchMapping(ElasticsearchEndpoint endpoint, String indexName) {
+        Map<String, Object> mapping = elasticsearchClient.getMapping(endpoint.baseUrl(), indexName,
+                endpoint.username(), endpoint.password());
+
+        return mapping == null || mapping.isEmpty() ? null : mapping;
+    }
+
+    private static final class Catalog {
+
+        private final ElasticsearchEndpoint endpoint;
+        private final List<ElasticsearchIndexInfo> indices;
+        private final String fingerprint;
+        private final long loadedAt;
+        private final Map<String, Map<String, Object>> mappings = new ConcurrentHashMap<>();
+        private volatile long readAt;
+
+        private Catalog(ElasticsearchEndpoint endpoint, List<ElasticsearchIndexInfo> indices, String fingerprint) {
+            this.endpoint = endpoint;
+            this.indices = indices;
+            this.fingerprint = fingerprint;
+            this.loadedAt = System.currentTimeMillis();
+            this.readAt = loadedAt;
+        }
+    }
+}
@@ -8,18 +8,26 @@ import com.panopticum.core.model.Page;
 import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.util.StringUtils;
+import com.panopticum.elasticsearch.ElasticsearchIndexPatterns;
+import com.panopticum.elasticsearch.ElasticsearchPageCursors;
 import com.panopticum.elasticsearch.client.ElasticsearchClient;
+import com.panopticum.elasticsearch.model.ElasticsearchEndpoint;
+import com.panopticum.elasticsearch.model.ElasticsearchIndexGroup;
 import com.panopticum.elasticsearch.model.ElasticsearchIndexInfo;
+import com.panopticum.elasticsearch.model.ElasticsearchPitOpenResult;
+import com.panopticum.elasticsearch.model.ElasticsearchPointInTime;
 import com.panopticum.elasticsearch.model.ElasticsearchSearchResult;
 import com.panopticum.elasticsearch.model.SearchHitDto;
 import com.panopticum.elasticsearch.model.SearchResponseDto;
 import com.panopticum.core.model.ColumnInfo;
 import com.panopticum.core.model.EntityDescription;
 import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
@@ -27,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 @RequiredArgsConstructor
@@ -37,11 +46,24 @@ public class ElasticsearchMetadataService {
 
     private final DbConnectionService dbConnectionService;
     private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchCatalogCache catalogCache;
     private final ObjectMapper objectMapper;
 
+    private final Map<String, OpenContext> openContexts = new ConcurrentHashMap<>();
+    private final Map<String, Long> pitUnsupportedUntil = new ConcurrentHashMap<>();
+
     @Value("${panopticum.limits.query-rows:1000}")
     private int queryRowsLimit;
 
+    @Value("${panopticum.elasticsearch.pit-keep-alive:1m}")
+    private Duration pitKeepAlive;
+
+    @Value("${panopticum.elasticsearch.pit-unsupported-ttl:10m}")
+    private Duration pitUnsupportedTtl;
+
+    @Value("${panopticum.elasticsearch.max-open-contexts:64}")
+    private int maxOpenContexts;
+
     public Optional<String> testConnection(Optional<Long> connectionId, String host, Integer port,
                                           String username, String password) {
         if (host == null || host.isBlank()) {
@@ -106,10 +128,7 @@ public class ElasticsearchMetadataService {
 
     public List<ElasticsearchIndexInfo> listIndices(Long connectionId) {
         DbConnection conn = requireElasticsearch(connectionId);
-        return elasticsearchClient.listIndices(
-                resolveBaseUrl(conn, false),
-                conn.getUsername() != null ? conn.getUsername() : "",
-                conn.getPassword() != null ? conn.getPassword() : "");
+        return catalogCache.indices(connectionId, () -> endpoint(conn));
     }
 
     public Page<ElasticsearchIndexInfo> listIndicesPaged(Long connectionId, int page, int size, String sort, String order) {
@@ -123,6 +142,22 @@ public class ElasticsearchMetadataService {
         return Page.of(sorted, page, size, sortBy, order != null ? order : "asc");
     }
 
+    public Page<ElasticsearchIndexGroup> listIndexGroupsPaged(Long connectionId, int page, int size, String sort,
+                                                              String order) {
+        List<ElasticsearchIndexGroup> groups = ElasticsearchIndexPatterns.group(listIndices(connectionId));
+        String sortBy = sort != null ? sort : "index";
+        Comparator<ElasticsearchIndexGroup> c = switch (sortBy) {
+            case "docsCount" -> Comparator.comparingLong(ElasticsearchIndexGroup::docsCount);
+            case "storeSize" -> Comparator.comparingLong(ElasticsearchIndexGroup::storeBytes);
+            default -> Comparator.comparing(ElasticsearchIndexGroup::pattern, String.CASE_INSENSITIVE_ORDER);
+        };
+        List<ElasticsearchIndexGroup> sorted = groups.stream()
+                .sorted("desc".equalsIgnoreCase(order) ? c.reversed() : c)
+                .toList();
+
+        return Page.of(sorted, page, size, sortBy, order != null ? order : "asc");
+    }
+
     private static Comparator<ElasticsearchIndexInfo> indexComparator(String sortBy, boolean desc) {
         Comparator<ElasticsearchIndexInfo> c = switch (sortBy) {
             case "docsCount" -> Comparator.comparingLong(ElasticsearchIndexInfo::getDocsCountNum);
@@ -139,42 +174,282 @@ public class ElasticsearchMetadataService {
 
     public Optional<Map<String, Object>> getMapping(Long connectionId, String indexName) {
         DbConnection conn = requireElasticsearch(connectionId);
-        Map<String, Object> m = elasticsearchClient.getMapping(
-                resolveBaseUrl(conn, false),
-                indexName,
-                conn.getUsername() != null ? conn.getUsername() : "",
-                conn.getPassword() != null ? conn.getPassword() : "");
-        if (m == null || m.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(m);
+        return catalogCache.mapping(connectionId, indexName, () -> endpoint(conn));
     }
 
     public Optional<QueryResult> executeQuery(Long connectionId, String indexName, String queryDsl, int offset, int limit) {
+        return executeQuery(connectionId, indexName, queryDsl, offset, limit, null);
+    }
+
+    public Optional<QueryResult> executeQuery(Long connectionId, String indexName, String queryDsl, int offset, int limit,
+                                              String cursor) {
         if (indexName == null || indexName.isBlank()) {
             return Optional.of(QueryResult.error("error.specifyIndex"));
         }
         int lim = limit > 0 ? Math.min(limit, Math.min(queryRowsLimit, SEARCH_MAX_SIZE)) : 100;
         int off = Math.max(0, offset);
-        String searchBody = buildSearchBody(queryDsl, off, lim);
 
-        DbConnection conn = requireElasticsearch(connectionId);
-        ElasticsearchSearchResult sr = elasticsearchClient.search(
-                resolveBaseUrl(conn, false),
-                indexName,
-                searchBody,
-                conn.getUsername() != null ? conn.getUsername() : "",
-                conn.getPassword() != null ? conn.getPassword() : "");
+        ElasticsearchEndpoint endpoint = endpoint(requireElasticsearch(connectionId));
+        String queryHash = ElasticsearchPageCursors.queryHash(indexName, queryDsl);
+
+        Optional<ElasticsearchPageCursors.Position> position = ElasticsearchPageCursors.decode(cursor)
+                .filter(p -> p.queryHash().equals(queryHash));
+        if (position.isPresent()) {
+            Optional<QueryResult> continued = continuePage(endpoint, connectionId, queryDsl, position.get(), lim);
+            if (continued.isPresent()) {
+                return continued;
+            }
+            off = position.get().offset();
+        } else if (off == 0 && pitUnsupported(endpoint)) {
+            Optional<QueryResult> scrolled = openScroll(endpoint, connectionId, indexName, queryDsl, queryHash, lim);
+            if (scrolled.isPresent()) {
+                return scrolled;
+            }
+        }
+
+        ElasticsearchSearchResult sr = elasticsearchClient.search(endpoint.baseUrl(), indexName,
+                buildSearchBody(queryDsl, off, lim), endpoint.username(), endpoint.password());
         if (sr.failureMessage() != null) {
             return Optional.of(QueryResult.error(sr.failureMessage()));
         }
         if (sr.response() == null) {
             return Optional.of(QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED));
         }
+        if (position.isEmpty() && off == 0 && exceedsPage(sr.response(), lim)) {
+            Optional<QueryResult> opened = openPage(endpoint, connectionId, indexName, queryDsl, queryHash,
+                    sr.response(), lim);
+            if (opened.isPresent()) {
+                return opened;
+            }
+        }
 
         return Optional.of(searchResponseToQueryResult(sr.response(), off, lim));
     }
 
+    private static boolean exceedsPage(SearchResponseDto response, int limit) {
+        SearchResponseDto.HitsDto hits = response.getHits();
+        if (hits == null) {
+            return false;
+        }
+        if (hits.getTotal() != null && hits.getTotal().getValue() != null) {
+            return hits.getTotal().getValue() > limit;
+        }
+
+        return hits.getHits() != null && hits.getHits().size() >= limit;
+    }
+
+    private boolean pitUnsupported(ElasticsearchEndpoint endpoint) {
+        Long unsupportedUntil = pitUnsupportedUntil.get(endpoint.baseUrl());
+
+        return unsupportedUntil != null && unsupportedUntil > System.currentTimeMillis();
+    }
+
+    private Optional<QueryResult> openPage(ElasticsearchEndpoint endpoint, Long connectionId, String indexName,
+                                           String queryDsl, String queryHash, SearchResponseDto firstPage, int limit) {
+        if (pitUnsupported(endpoint)) {
+            return Optional.empty();
+        }
+        ElasticsearchPitOpenResult opened = elasticsearchClient.openPointInTime(endpoint.baseUrl(), indexName,
+                keepAlive(), endpoint.username(), endpoint.password());
+        ElasticsearchPointInTime pit = opened.pit();
+        if (pit != null) {
+            pitUnsupportedUntil.remove(endpoint.baseUrl());
+            ElasticsearchPageCursors.Mode mode = pit.openSearch()
+                    ? ElasticsearchPageCursors.Mode.OPENSEARCH_PIT : ElasticsearchPageCursors.Mode.PIT;
+            register(connectionId, new OpenContext(endpoint, mode, pit.id(), System.currentTimeMillis()));
+            QueryResult result = searchResponseToQueryResult(firstPage, 0, limit);
+            String next = ElasticsearchPageCursors.encode(new ElasticsearchPageCursors.Position(mode, pit.id(), null,
+                    limit, limit, queryHash));
+
+            return Optional.of(result.withCursors(next, null));
+        }
+        if (!opened.unsupported()) {
+            return Optional.empty();
+        }
+        pitUnsupportedUntil.put(endpoint.baseUrl(), System.currentTimeMillis() + pitUnsupportedTtl.toMillis());
+
+        return openScroll(endpoint, connectionId, indexName, queryDsl, queryHash, limit);
+    }
+
+    private Optional<QueryResult> openScroll(ElasticsearchEndpoint endpoint, Long connectionId, String indexName,
+                                             String queryDsl, String queryHash, int limit) {
+        Map<String, Object> body = parseSearchBody(queryDsl);
+        body.remove("from");
+        body.put("size", limit);
+        ElasticsearchSearchResult sr = elasticsearchClient.openScroll(endpoint.baseUrl(), indexName, toJson(body),
+                keepAlive(), endpoint.username(), endpoint.password());
+        if (sr.failureMessage() != null || sr.response() == null || sr.response().getScrollId() == null) {
+            return Optional.empty();
+        }
+        String scrollId = sr.response().getScrollId();
+        register(connectionId, new OpenContext(endpoint, ElasticsearchPageCursors.Mode.SCROLL, scrollId,
+                System.currentTimeMillis()));
+
+        return Optional.of(pagedResult(connectionId, sr.response(), new ElasticsearchPageCursors.Position(
+                ElasticsearchPageCursors.Mode.SCROLL, scrollId, null, 0, limit, queryHash), scrollId));
+    }
+
+    private Optional<QueryResult> continuePage(ElasticsearchEndpoint endpoint, Long connectionId, String queryDsl,
+                                               ElasticsearchPageCursors.Position position, int limit) {
+        if (position.mode() != ElasticsearchPageCursors.Mode.SCROLL) {
+            return pitPage(endpoint, connectionId, queryDsl, new ElasticsearchPageCursors.Position(position.mode(),
+                    position.contextId(), position.searchAfter(), position.offset(), limit, position.queryHash()));
+        }
+        if (position.limit() != limit) {
+            release(connectionId, position.contextId());
+
+            return Optional.empty();
+        }
+        ElasticsearchSearchResult sr = elasticsearchClient.continueScroll(endpoint.baseUrl(), position.contextId(),
+                keepAlive(), endpoint.username(), endpoint.password());
+        if (sr.failureMessage() != null || sr.response() == null) {
+            log.debug("Elasticsearch scroll continuation failed, falling back to from/size: {}", sr.failureMessage());
+            abandon(connectionId, position.contextId(), sr.httpStatus());
+
+            return Optional.empty();
+        }
+        String scrollId = sr.response().getScrollId() != null ? sr.response().getScrollId() : position.contextId();
+        touch(connectionId, position.contextId(), scrollId);
+
+        return Optional.of(pagedResult(connectionId, sr.response(), position, scrollId));
+    }
+
+    private Optional<QueryResult> pitPage(ElasticsearchEndpoint endpoint, Long connectionId, String queryDsl,
+                                          ElasticsearchPageCursors.Position position) {
+        Map<String, Object> body = parseSearchBody(queryDsl);
+        body.remove("from");
+        body.put("size", position.limit());
+        body.put("sort", pagingSort(body.get("sort"), position.mode()));
+        body.put("pit", Map.of("id", position.contextId(), "keep_alive", keepAlive()));
+        if (position.searchAfter() != null) {
+            body.put("search_after", position.searchAfter());
+        } else if (position.offset() > 0) {
+            body.put("from", position.offset());
+        }
+        ElasticsearchSearchResult sr = elasticsearchClient.searchPointInTime(endpoint.baseUrl(), toJson(body),
+                endpoint.username(), endpoint.password());
+        if (sr.failureMessage() != null || sr.response() == null) {
+            log.debug("Elasticsearch PIT search failed (HTTP {}), falling back to from/size: {}",
+                    sr.httpStatus(), sr.failureMessage());
+            abandon(connectionId, position.contextId(), sr.httpStatus());
+
+            return Optional.empty();
+        }
+        String pitId = sr.response().getPitId() != null ? sr.response().getPitId() : position.contextId();
+        touch(connectionId, position.contextId(), pitId);
+
+        return Optional.of(pagedResult(connectionId, sr.response(), position, pitId));
+    }
+
+    private QueryResult pagedResult(Long connectionId, SearchResponseDto response,
+                                    ElasticsearchPageCursors.Position position, String contextId) {
+        QueryResult result = searchResponseToQueryResult(response, position.offset(), position.limit());
+        List<SearchHitDto> hits = response.getHits() != null && response.getHits().getHits() != null
+                ? response.getHits().getHits() : List.of();
+        if (!result.isHasMore() || hits.isEmpty()) {
+            release(connectionId, contextId);
+
+            return result;
+        }
+        List<Object> searchAfter = hits.get(hits.size() - 1).getSort();
+        if (position.mode() != ElasticsearchPageCursors.Mode.SCROLL && (searchAfter == null || searchAfter.isEmpty())) {
+            release(connectionId, contextId);
+
+            return result;
+        }
+        String next = ElasticsearchPageCursors.encode(new ElasticsearchPageCursors.Position(position.mode(), contextId,
+                position.mode() == ElasticsearchPageCursors.Mode.SCROLL ? null : searchAfter,
+                position.offset() + hits.size(), position.limit(), position.queryHash()));
+
+        return result.withCursors(next, null);
+    }
+
+    private static List<Object> pagingSort(Object sort, ElasticsearchPageCursors.Mode mode) {
+        List<Object> out = new ArrayList<>();
+        if (sort instanceof List<?> list) {
+            out.addAll(list);
+        } else if (sort != null) {
+            out.add(sort);
+        }
+        if (out.isEmpty()) {
+            out.add(Map.of("_score", "desc"));
+        }
+        String tiebreaker = mode == ElasticsearchPageCursors.Mode.PIT ? "_shard_doc" : "_id";
+        boolean present = out.stream().anyMatch(s -> tiebreaker.equals(s)
+                || (s instanceof Map<?, ?> m && m.containsKey(tiebreaker)));
+        if (!present) {
+            out.add(Map.of(tiebreaker, "asc"));
+        }
+
+        return out;
+    }
+
+    private void register(Long connectionId, OpenContext context) {
+        openContexts.put(contextKey(connectionId, context.id()), context);
+        if (openContexts.size() > maxOpenContexts) {
+            openContexts.entrySet().stream()
+                    .min(Map.Entry.comparingByValue(Comparator.comparingLong(OpenContext::touchedAt)))
+                    .ifPresent(oldest -> {
+                        if (openContexts.remove(oldest.getKey(), oldest.getValue())) {
+                            close(oldest.getValue());
+                        }
+                    });
+        }
+    }
+
+    private void touch(Long connectionId, String previousId, String currentId) {
+        OpenContext context = openContexts.remove(contextKey(connectionId, previousId));
+        if (context != null) {
+            openContexts.put(contextKey(connectionId, currentId),
+                    new OpenContext(context.endpoint(), context.mode(), currentId, System.currentTimeMillis()));
+        }
+    }
+
+    private void release(Long connectionId, String contextId) {
+        OpenContext context = openContexts.remove(contextKey(connectionId, contextId));
+        if (context != null) {
+            close(context);
+        }
+    }
+
+    private void abandon(Long connectionId, String contextId, int httpStatus) {
+        if (httpStatus == 404) {
+            openContexts.remove(contextKey(connectionId, contextId));
+        } else {
+            release(connectionId, contextId);
+        }
+    }
+
+    private static String contextKey(Long connectionId, String contextId) {
+        return connectionId + "|" + contextId;
+    }
+
+    private void close(OpenContext context) {
+        ElasticsearchEndpoint e = context.endpoint();
+        switch (context.mode()) {
+            case PIT -> elasticsearchClient.closePointInTime(e.baseUrl(),
+                    new ElasticsearchPointInTime(context.id(), false), e.username(), e.password());
+            case OPENSEARCH_PIT -> elasticsearchClient.closePointInTime(e.baseUrl(),
+                    new ElasticsearchPointInTime(context.id(), true), e.username(), e.password());
+            case SCROLL -> elasticsearchClient.clearScroll(e.baseUrl(), context.id(), e.username(), e.password());
+        }
+    }
+
+    @Scheduled(fixedDelay = "30s", initialDelay = "30s")
+    public void evictExpiredContexts() {
+        long cutoff = System.currentTimeMillis() - pitKeepAlive.toMillis();
+        openContexts.entrySet().removeIf(e -> e.getValue().touchedAt() < cutoff);
+        long now = System.currentTimeMillis();
+        pitUnsupportedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private String keepAlive() {
+        return Math.max(1, pitKeepAlive.toSeconds()) + "s";
+    }
+
+    private record OpenContext(ElasticsearchEndpoint endpoint, ElasticsearchPageCursors.Mode mode, String id, long touchedAt) {
+    }
+
     private QueryResult searchResponseToQueryResult(SearchResponseDto response, int offset, int limit) {
         if (response == null || response.getHits() == null) {
             return QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED);
@@ -212,24 +487,37 @@ public class ElasticsearchMetadataService {
     }
 
     private String buildSearchBody(String queryDsl, int from, int size) {
+        Map<String, Object> body = parseSearchBody(queryDsl);
+        body.put("from", from);
+        body.put("size", size);
+
+        return toJson(body);
+    }
+
+    private Map<String, Object> parseSearchBody(String queryDsl) {
+        Map<String, Object> body = new TreeMap<>();
         try {
-            Map<String, Object> body = new TreeMap<>();
             if (queryDsl != null && !queryDsl.isBlank()) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> parsed = objectMapper.readValue(queryDsl.trim(), Map.class);
                 body.putAll(parsed);
             }
-            if (!body.containsKey("query")) {
-                body.put("query", Map.of("match_all", Map.of()));
-            }
-            body.put("from", from);
-            body.put("size", size);
-
-            return objectMapper.writeValueAsString(body);
         } catch (Exception e) {
             log.debug("Failed to parse query DSL, using match_all: {}", e.getMessage());
+            body.clear();
+        }
+        if (!body.containsKey("query")) {
+            body.put("query", Map.of("match_all", Map.of()));
+        }
+
+        return body;
+    }
 
-            return String.format("{\"query\":{\"match_all\":{}},\"from\":%d,\"size\":%d}", from, size);
+    private String toJson(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            return "{\"query\":{\"match_all\":{}}}";
         }
     }
 
@@ -276,6 +564,12 @@ public class ElasticsearchMetadataService {
         return updated ? Optional.empty() : Optional.of(ErrorKeys.QUERY_EXECUTION_FAILED);
     }
 
+    private ElasticsearchEndpoint endpoint(DbConnection conn) {
+        return new ElasticsearchEndpoint(resolveBaseUrl(conn, false),
+                conn.getUsername() != null ? conn.getUsername() : "",
+                conn.getPassword() != null ? conn.getPassword() : "");
+    }
+
     private DbConnection requireElasticsearch(Long connectionId) {
         return ConnectionSupport.require(
                 dbConnectionService.findById(connectionId).filter(c -> "elasticsearch".equalsIgnoreCase(c.getType())));
@@ -363,10 +657,8 @@ public class ElasticsearchMetadataService {
     public Optional<EntityDescription> describeIndex(Long connectionId, String indexName) {
         try {
             DbConnection conn = requireElasticsearch(connectionId);
-            String baseUrl = resolveBaseUrl(conn, false);
-            String user = conn.getUsername() != null ? conn.getUsername() : "";
-            String pass = conn.getPassword() != null ? conn.getPassword() : "";
-            Map<String, Object> mapping = elasticsearchClient.getMapping(baseUrl, indexName, user, pass);
+            Map<String, Object> mapping = catalogCache.mapping(connectionId, indexName, () -> endpoint(conn))
+                    .orElse(Map.of());
             List<ColumnInfo> columns = flattenEsMapping(mapping, indexName);
 
             return Optional.of(EntityDescription.builder()
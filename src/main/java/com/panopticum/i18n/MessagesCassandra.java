@@ -12,7 +12,40 @@ public class MessagesCassandra {
             Map.entry("cassandra.replication", "Replication"),
             Map.entry("cassandra.comment", "Comment"),
             Map.entry("cassandra.defaultTtl", "Default TTL"),
-            Map.entry("cassandra.gcGraceSeconds", "GC grace (s)")
+            Map.entry("cassandra.gcGraceSeconds", "GC grace (s)"),
+            Map.entry("cassandra.scanTitle", "Scan"),
+            Map.entry("cassandra.scanCount", "Count rows"),
+            Map.entry("cassandra.scanStats", "Sample statistics"),
+            Map.entry("cassandra.scanExportCsv", "Export CSV"),
+            Map.entry("cassandra.scanExportJsonl", "Export JSON Lines"),
+            Map.entry("cassandra.scanCancel", "Cancel"),
+            Map.entry("cassandra.scanHint", "The token ring is split into sub-ranges per node and read in parallel at LOCAL_ONE; statistics sample the first rows of every sub-range."),
+            Map.entry("cassandra.scanMode", "Mode"),
+            Map.entry("cassandra.scanState", "State"),
+            Map.entry("cassandra.scanSplits", "Sub-ranges"),
+            Map.entry("cassandra.scanNodes", "nodes"),
+            Map.entry("cassandra.scanRows", "Rows"),
+            Map.entry("cassandra.scanStarted", "Started"),
+            Map.entry("cassandra.scanFinished", "Finished"),
+            Map.entry("cassandra.scanStatsTitle", "Sampled statistics"),
+            Map.entry("cassandra.scanKind", "Kind"),
+            Map.entry("cassandra.scanNulls", "Nulls / sampled"),
+            Map.entry("cassandra.scanDistinct", "Distinct"),
+            Map.entry("cassandra.scanMin", "Min"),
+            Map.entry("cassandra.scanMax", "Max"),
+            Map.entry("cassandra.scanMode.COUNT", "Row count"),
+            Map.entry("cassandra.scanMode.STATS", "Statistics"),
+            Map.entry("cassandra.scanMode.EXPORT", "Export"),
+            Map.entry("cassandra.scanState.RUNNING", "Running"),
+            Map.entry("cassandra.scanState.DONE", "Done"),
+            Map.entry("cassandra.scanState.CANCELLED", "Cancelled"),
+            Map.entry("cassandra.scanState.FAILED", "Failed"),
+            Map.entry("cassandra.scanFailed", "Table scan failed; results are partial."),
+            Map.entry("cassandra.scanCancelled", "Table scan was cancelled; results are partial."),
+            Map.entry("cassandra.scanTableNotFound", "Table not found in the cluster metadata."),
+            Map.entry("cassandra.scanNoTokenMap", "Token metadata is not available for this cluster."),
+            Map.entry("cassandra.scanNotFound", "No scan of this kind for the table."),
+            Map.entry("cassandra.useNotSupported", "USE is not supported: sessions are shared. Pick the keyspace in the query page or qualify table names.")
     );
 
     public static final Map<String, String> RU = Map.ofEntries(
@@ -20,6 +53,39 @@ public class MessagesCassandra {
             Map.entry("cassandra.replication", "Репликация"),
             Map.entry("cassandra.comment", "Комментарий"),
             Map.entry("cassandra.defaultTtl", "TTL по умолчанию"),
-            Map.entry("cassandra.gcGraceSeconds", "GC grace (с)")
+            Map.entry("cassandra.gcGraceSeconds", "GC grace (с)"),
+            Map.entry("cassandra.scanTitle", "Сканирование"),
+            Map.entry("cassandra.scanCount", "Посчитать строки"),
+            Map.entry("cassandra.scanStats", "Статистика по выборке"),
+            Map.entry("cassandra.scanExportCsv", "Экспорт CSV"),
+            Map.entry("cassandra.scanExportJsonl", "Экспорт JSON Lines"),
+            Map.entry("cassandra.scanCancel", "Отменить"),
+            Map.entry("cassandra.scanHint", "Кольцо токенов делится на поддиапазоны по узлам и читается параллельно с LOCAL_ONE; статистика строится по первым строкам каждого поддиапазона."),
+            Map.entry("cassandra.scanMode", "Режим"),
+            Map.entry("cassandra.scanState", "Состояние"),
+            Map.entry("cassandra.scanSplits", "Поддиапазоны"),
+            Map.entry("cassandra.scanNodes", "узлов"),
+            Map.entry("cassandra.scanRows", "Строки"),
+            Map.entry("cassandra.scanStarted", "Начато"),
+            Map.entry("cassandra.scanFinished", "Завершено"),
+            Map.entry("cassandra.scanStatsTitle", "Статистика по выборке"),
+            Map.entry("cassandra.scanKind", "Вид"),
+            Map.entry("cassandra.scanNulls", "Null / в выборке"),
+            Map.entry("cassandra.scanDistinct", "Различных"),
+            Map.entry("cassandra.scanMin", "Мин."),
+            Map.entry("cassandra.scanMax", "Макс."),
+            Map.entry("cassandra.scanMode.COUNT", "Число строк"),
+            Map.entry("cassandra.scanMode.STATS", "Статистика"),
+            Map.entry("cassandra.scanMode.EXPORT", "Экспорт"),
+            Map.entry("cassandra.scanState.RUNNING", "Выполняется"),
+            Map.entry("cassandra.scanState.DONE", "Готово"),
+            Map.entry("cassandra.scanState.CANCELLED", "Отменено"),
+            Map.entry("cassandra.scanState.FAILED", "Ошибка"),
+            Map.entry("cassandra.scanFailed", "Сканирование таблицы завершилось с ошибкой; результаты неполные."),
+            Map.entry("cassandra.scanCancelled", "Сканирование таблицы отменено; результаты неполные."),
+            Map.entry("cassandra.scanTableNotFound", "Таблица не найдена в метаданных кластера."),
+            Map.entry("cassandra.scanNoTokenMap", "Метаданные токенов недоступны для этого кластера."),
+            Map.entry("cassandra.scanNotFound", "Сканирование этого вида для таблицы не найдено."),
+            Map.entry("cassandra.useNotSupported", "USE не поддерживается: сессии общие. Выберите keyspace на странице запроса или укажите его в имени таблицы.")
     );
 }
@@ -14,6 +14,10 @@ public class MessagesElasticsearch {
             Map.entry("elasticsearch.index", "Index"),
             Map.entry("elasticsearch.docsCount", "Docs"),
             Map.entry("elasticsearch.storeSize", "Size"),
+            Map.entry("elasticsearch.groupByPattern", "Group by pattern"),
+            Map.entry("elasticsearch.showIndices", "All indices"),
+            Map.entry("elasticsearch.pattern", "Pattern"),
+            Map.entry("elasticsearch.indexCount", "Indices"),
             Map.entry("elasticsearch.queryPlaceholder", "Query DSL (e.g. {\"query\":{\"match_all\":{}}})"),
             Map.entry("error.specifyIndex", "Specify index."),
             Map.entry("error.invalidJson", "Invalid JSON.")
@@ -26,6 +30,10 @@ public class MessagesElasticsearch {
             Map.entry("elasticsearch.index", "Индекс"),
             Map.entry("elasticsearch.docsCount", "Документов"),
             Map.entry("elasticsearch.storeSize", "Размер"),
+            Map.entry("elasticsearch.groupByPattern", "Группировать по шаблону"),
+            Map.entry("elasticsearch.showIndices", "Все индексы"),
+            Map.entry("elasticsearch.pattern", "Шаблон"),
+            Map.entry("elasticsearch.indexCount", "Индексов"),
             Map.entry("elasticsearch.queryPlaceholder", "Query DSL (напр. {\"query\":{\"match_all\":{}}})"),
             Map.entry("error.specifyIndex", "Укажите индекс."),
             Map.entry("error.invalidJson", "Неверный JSON.")
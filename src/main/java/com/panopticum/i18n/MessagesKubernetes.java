@@ -18,6 +18,20 @@ public class MessagesKubernetes {
             Map.entry("kubernetes.message", "Message"),
             Map.entry("kubernetes.tailLines", "Tail lines"),
             Map.entry("kubernetes.substring", "Substring"),
+            Map.entry("kubernetes.regex", "Regex"),
+            Map.entry("kubernetes.invalidRegex", "Invalid regular expression."),
+            Map.entry("kubernetes.logsOlder", "Older"),
+            Map.entry("kubernetes.logsNewer", "Newer"),
+            Map.entry("kubernetes.logsLatest", "Latest"),
+            Map.entry("kubernetes.logsFollow", "Follow"),
+            Map.entry("kubernetes.logsStop", "Stop"),
+            Map.entry("kubernetes.logStreamFailed", "Log stream stopped"),
+            Map.entry("kubernetes.logStreamLimit", "Too many log streams are open. Try again later."),
+            Map.entry("kubernetes.workloadLogsTitle", "Workload logs"),
+            Map.entry("kubernetes.workloadKind", "Kind"),
+            Map.entry("kubernetes.labelSelector", "Label selector"),
+            Map.entry("kubernetes.workloadNamePlaceholder", "name or app=web,tier=api"),
+            Map.entry("kubernetes.workloadNotFound", "Workload not found or it has no pod selector."),
             Map.entry("kubernetes.noNamespaces", "No namespaces configured or connection error."),
             Map.entry("kubernetes.noPods", "No pods or connection error."),
             Map.entry("kubernetes.noLogs", "No log lines."),
@@ -65,6 +79,20 @@ public class MessagesKubernetes {
             Map.entry("kubernetes.message", "Сообщение"),
             Map.entry("kubernetes.tailLines", "Последние строк"),
             Map.entry("kubernetes.substring", "Подстрока"),
+            Map.entry("kubernetes.regex", "Регулярное выражение"),
+            Map.entry("kubernetes.invalidRegex", "Некорректное регулярное выражение."),
+            Map.entry("kubernetes.logsOlder", "Раньше"),
+            Map.entry("kubernetes.logsNewer", "Позже"),
+            Map.entry("kubernetes.logsLatest", "Последние"),
+            Map.entry("kubernetes.logsFollow", "Следить"),
+            Map.entry("kubernetes.logsStop", "Остановить"),
+            Map.entry("kubernetes.logStreamFailed", "Поток лога остановлен"),
+            Map.entry("kubernetes.logStreamLimit", "Открыто слишком много потоков лога. Повторите позже."),
+            Map.entry("kubernetes.workloadLogsTitle", "Логи workload"),
+            Map.entry("kubernetes.workloadKind", "Тип"),
+            Map.entry("kubernetes.labelSelector", "Селектор меток"),
+            Map.entry("kubernetes.workloadNamePlaceholder", "имя или app=web,tier=api"),
+            Map.entry("kubernetes.workloadNotFound", "Workload не найден или у него нет селектора pod-ов."),
             Map.entry("kubernetes.noNamespaces", "Нет namespace или ошибка подключения."),
             Map.entry("kubernetes.noPods", "Нет pod-ов или ошибка подключения."),
             Map.entry("kubernetes.noLogs", "Нет строк лога."),
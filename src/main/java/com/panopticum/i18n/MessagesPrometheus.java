@@ -12,6 +12,20 @@ public class MessagesPrometheus {
             Map.entry("prometheus.queryTitle", "Query"),
             Map.entry("prometheus.metric", "Metric"),
             Map.entry("prometheus.job", "Job"),
+            Map.entry("prometheus.type", "Type"),
+            Map.entry("prometheus.help", "Help"),
+            Map.entry("prometheus.search", "Search"),
+            Map.entry("prometheus.searchPlaceholder", "Metric name prefix"),
+            Map.entry("prometheus.downsample", "Downsample"),
+            Map.entry("prometheus.downsample.lttb", "LTTB (display)"),
+            Map.entry("prometheus.downsample.avg", "Average"),
+            Map.entry("prometheus.downsample.min", "Minimum"),
+            Map.entry("prometheus.downsample.max", "Maximum"),
+            Map.entry("prometheus.downsample.none", "Off"),
+            Map.entry("prometheus.format", "Layout"),
+            Map.entry("prometheus.format.long", "Row per point"),
+            Map.entry("prometheus.format.wide", "Column per series"),
+            Map.entry("prometheus.cellBudget", "Result truncated to the cell budget; narrow the range, increase the step or enable downsampling."),
             Map.entry("prometheus.query", "PromQL Query"),
             Map.entry("prometheus.instant", "Instant"),
             Map.entry("prometheus.range", "Range"),
@@ -37,6 +51,20 @@ public class MessagesPrometheus {
             Map.entry("prometheus.queryTitle", "Запрос"),
             Map.entry("prometheus.metric", "Метрика"),
             Map.entry("prometheus.job", "Job"),
+            Map.entry("prometheus.type", "Тип"),
+            Map.entry("prometheus.help", "Описание"),
+            Map.entry("prometheus.search", "Поиск"),
+            Map.entry("prometheus.searchPlaceholder", "Префикс имени метрики"),
+            Map.entry("prometheus.downsample", "Прореживание"),
+            Map.entry("prometheus.downsample.lttb", "LTTB (для графика)"),
+            Map.entry("prometheus.downsample.avg", "Среднее"),
+            Map.entry("prometheus.downsample.min", "Минимум"),
+            Map.entry("prometheus.downsample.max", "Максимум"),
+            Map.entry("prometheus.downsample.none", "Выкл."),
+            Map.entry("prometheus.format", "Вид"),
+            Map.entry("prometheus.format.long", "Строка на точку"),
+            Map.entry("prometheus.format.wide", "Колонка на серию"),
+            Map.entry("prometheus.cellBudget", "Результат обрезан по лимиту ячеек; сузьте диапазон, увеличьте шаг или включите прореживание."),
             Map.entry("prometheus.query", "PromQL-запрос"),
             Map.entry("prometheus.instant", "Мгновенный"),
             Map.entry("prometheus.range", "Диапазон"),
@@ -19,6 +19,13 @@ public class MessagesRabbitmq {
             Map.entry("rabbitmq.consumers", "Consumers"),
             Map.entry("rabbitmq.noQueues", "No queues or connection error."),
             Map.entry("rabbitmq.noMessages", "No messages or connection error."),
+            Map.entry("rabbitmq.streamOffset", "Stream offset"),
+            Map.entry("rabbitmq.streamOffsetHint", "first, last, next, offset or ISO-8601 time"),
+            Map.entry("rabbitmq.streamRead", "Read"),
+            Map.entry("rabbitmq.publishRate", "Publish/s"),
+            Map.entry("rabbitmq.deliverRate", "Deliver/s"),
+            Map.entry("rabbitmq.depthHistory", "Depth history"),
+            Map.entry("rabbitmq.sampledAt", "Sampled at"),
             Map.entry("rabbitmq.messageNotFound", "Message not found."),
             Map.entry("rabbitmq.routingKey", "Routing key"),
             Map.entry("rabbitmq.payload", "Payload"),
@@ -28,6 +35,7 @@ public class MessagesRabbitmq {
             Map.entry("rabbitmq.publishSubmit", "Publish"),
             Map.entry("rabbitmq.publishRequired", "Enter at least one message."),
             Map.entry("rabbitmq.publishFailed", "Publish failed."),
+            Map.entry("rabbitmq.quorumPeekRefused", "Peeking a quorum queue requeues messages and raises their delivery count, which can dead-letter them. Add requeue=true to the URL to peek anyway."),
             Map.entry("rabbitmq.readOnlyPublish", "Publishing is disabled in read-only mode."),
             Map.entry("connectionTest.failed", "Connection failed.")
     );
@@ -44,6 +52,13 @@ public class MessagesRabbitmq {
             Map.entry("rabbitmq.consumers", "Подписчики"),
             Map.entry("rabbitmq.noQueues", "Нет очередей или ошибка подключения."),
             Map.entry("rabbitmq.noMessages", "Нет сообщений или ошибка подключения."),
+            Map.entry("rabbitmq.streamOffset", "Смещение в стриме"),
+            Map.entry("rabbitmq.streamOffsetHint", "first, last, next, смещение или время ISO-8601"),
+            Map.entry("rabbitmq.streamRead", "Читать"),
+            Map.entry("rabbitmq.publishRate", "Публикаций/с"),
+            Map.entry("rabbitmq.deliverRate", "Доставок/с"),
+            Map.entry("rabbitmq.depthHistory", "История глубины"),
+            Map.entry("rabbitmq.sampledAt", "Снято в"),
             Map.entry("rabbitmq.messageNotFound", "Сообщение не найдено."),
             Map.entry("rabbitmq.routingKey", "Routing key"),
             Map.entry("rabbitmq.payload", "Тело"),
@@ -53,6 +68,7 @@ public class MessagesRabbitmq {
             Map.entry("rabbitmq.publishSubmit", "Опубликовать"),
             Map.entry("rabbitmq.publishRequired", "Укажите хотя бы одно сообщение."),
             Map.entry("rabbitmq.publishFailed", "Не удалось опубликовать."),
+            Map.entry("rabbitmq.quorumPeekRefused", "Просмотр quorum-очереди возвращает сообщения в очередь и увеличивает их счётчик доставок, из-за чего они могут уйти в dead-letter. Добавьте requeue=true в адрес, чтобы всё равно просмотреть."),
             Map.entry("rabbitmq.readOnlyPublish", "Публикация отключена в режиме только чтение."),
             Map.entry("connectionTest.failed", "Подключение не удалось.")
     );
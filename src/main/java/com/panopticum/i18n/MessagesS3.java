@@ -25,6 +25,42 @@ public class MessagesS3 {
             Map.entry("s3.access.forbidden", "Access denied. Check your access key and permissions."),
             Map.entry("s3.access.notFound", "Bucket or object not found."),
             Map.entry("s3.access.error", "Could not connect to S3/MinIO."),
+            Map.entry("s3.columns", "Columns"),
+            Map.entry("s3.columnsPlaceholder", "all columns"),
+            Map.entry("s3.where", "Filter"),
+            Map.entry("s3.noRows", "No matching rows."),
+            Map.entry("s3.filterInvalid", "Filter must be a top-level column compared to a value, e.g. amount >= 100."),
+            Map.entry("s3.columnsNotFound", "None of the requested columns exist in the file."),
+            Map.entry("s3.parquetInvalid", "The object is not a readable Parquet file."),
+            Map.entry("s3.records", "Records"),
+            Map.entry("s3.moreRecords", "Showing the first records only; increase the record count to see more."),
+            Map.entry("s3.recordsInvalid", "Could not parse the object as JSON / JSON Lines."),
+            Map.entry("s3.recordTooLarge", "A record exceeds 4 MiB; a CSV file may have an unterminated quote."),
+            Map.entry("s3.selectTitle", "Query"),
+            Map.entry("s3.selectSql", "SELECT"),
+            Map.entry("s3.selectHint", "SELECT col1, col2 | * | COUNT(*) FROM 'key' or 'prefix/' [WHERE col = 'v' AND col >= 10] [LIMIT n] over CSV, JSON Lines and Parquet objects."),
+            Map.entry("s3.selectInvalid", "Unsupported query. Use SELECT columns | * | COUNT(*) FROM 'key-or-prefix/' [WHERE ...] [LIMIT n]."),
+            Map.entry("s3.selectTooManyObjects", "The prefix holds too many objects for a local query; narrow it down."),
+            Map.entry("s3.selectTimeout", "The query did not finish in time; the results are partial."),
+            Map.entry("s3.selectPartial", "Some objects could not be read; see the _error column."),
+            Map.entry("s3.selectUnsupportedFormat", "Only CSV/TSV, JSON / JSON Lines and Parquet objects (optionally gzip/zstd/snappy compressed) can be queried."),
+            Map.entry("s3.prefix", "Prefix"),
+            Map.entry("s3.usageTitle", "Usage"),
+            Map.entry("s3.usageStart", "Analyze"),
+            Map.entry("s3.usageCancel", "Cancel"),
+            Map.entry("s3.usageProgress", "Objects / bytes"),
+            Map.entry("s3.usagePrefixes", "Prefixes"),
+            Map.entry("s3.usageRequests", "List requests"),
+            Map.entry("s3.usageDepth", "Depth"),
+            Map.entry("s3.usageObjects", "Objects"),
+            Map.entry("s3.usageOldest", "Oldest"),
+            Map.entry("s3.usageNewest", "Newest"),
+            Map.entry("s3.usageHint", "Totals include nested prefixes. * marks prefixes aggregated without further breakdown."),
+            Map.entry("s3.usageFailed", "Usage analysis failed; totals are partial."),
+            Map.entry("s3.usageState.RUNNING", "Running"),
+            Map.entry("s3.usageState.DONE", "Done"),
+            Map.entry("s3.usageState.CANCELLED", "Cancelled"),
+            Map.entry("s3.usageState.FAILED", "Failed"),
             Map.entry("settings.placeholderNameS3", "e.g. Production S3"),
             Map.entry("settings.s3Endpoint", "Endpoint (host or URL)"),
             Map.entry("settings.placeholderS3Host", "s3.amazonaws.com or minio.example.com"),
@@ -52,6 +88,42 @@ public class MessagesS3 {
             Map.entry("s3.access.forbidden", "Доступ запрещён. Проверьте ключ и права."),
             Map.entry("s3.access.notFound", "Бакет или объект не найден."),
             Map.entry("s3.access.error", "Не удалось подключиться к S3/MinIO."),
+            Map.entry("s3.columns", "Колонки"),
+            Map.entry("s3.columnsPlaceholder", "все колонки"),
+            Map.entry("s3.where", "Фильтр"),
+            Map.entry("s3.noRows", "Подходящих строк нет."),
+            Map.entry("s3.filterInvalid", "Фильтр: колонка верхнего уровня, оператор и значение, например amount >= 100."),
+            Map.entry("s3.columnsNotFound", "В файле нет ни одной из указанных колонок."),
+            Map.entry("s3.parquetInvalid", "Объект не является читаемым Parquet-файлом."),
+            Map.entry("s3.records", "Записей"),
+            Map.entry("s3.moreRecords", "Показаны только первые записи; увеличьте количество, чтобы увидеть больше."),
+            Map.entry("s3.recordsInvalid", "Не удалось разобрать объект как JSON / JSON Lines."),
+            Map.entry("s3.recordTooLarge", "Запись больше 4 МиБ; возможно, в CSV-файле незакрытая кавычка."),
+            Map.entry("s3.selectTitle", "Запрос"),
+            Map.entry("s3.selectSql", "SELECT"),
+            Map.entry("s3.selectHint", "SELECT col1, col2 | * | COUNT(*) FROM 'ключ' или 'префикс/' [WHERE col = 'v' AND col >= 10] [LIMIT n] по CSV, JSON Lines и Parquet."),
+            Map.entry("s3.selectInvalid", "Запрос не поддерживается. Используйте SELECT колонки | * | COUNT(*) FROM 'ключ-или-префикс/' [WHERE ...] [LIMIT n]."),
+            Map.entry("s3.selectTooManyObjects", "Под префиксом слишком много объектов для локального запроса; сузьте его."),
+            Map.entry("s3.selectTimeout", "Запрос не завершился вовремя; результаты неполные."),
+            Map.entry("s3.selectPartial", "Часть объектов не удалось прочитать; см. колонку _error."),
+            Map.entry("s3.selectUnsupportedFormat", "Запросы поддерживаются только для CSV/TSV, JSON / JSON Lines и Parquet (в том числе gzip/zstd/snappy)."),
+            Map.entry("s3.prefix", "Префикс"),
+            Map.entry("s3.usageTitle", "Занятое место"),
+            Map.entry("s3.usageStart", "Анализировать"),
+            Map.entry("s3.usageCancel", "Отменить"),
+            Map.entry("s3.usageProgress", "Объекты / байты"),
+            Map.entry("s3.usagePrefixes", "Префиксы"),
+            Map.entry("s3.usageRequests", "Запросы листинга"),
+            Map.entry("s3.usageDepth", "Глубина"),
+            Map.entry("s3.usageObjects", "Объекты"),
+            Map.entry("s3.usageOldest", "Самый старый"),
+            Map.entry("s3.usageNewest", "Самый новый"),
+            Map.entry("s3.usageHint", "Итоги включают вложенные префиксы. * отмечает префиксы, посчитанные без дальнейшей разбивки."),
+            Map.entry("s3.usageFailed", "Анализ завершился с ошибкой; итоги неполные."),
+            Map.entry("s3.usageState.RUNNING", "Выполняется"),
+            Map.entry("s3.usageState.DONE", "Готово"),
+            Map.entry("s3.usageState.CANCELLED", "Отменено"),
+            Map.entry("s3.usageState.FAILED", "Ошибка"),
             Map.entry("settings.placeholderNameS3", "Например: Production S3"),
             Map.entry("settings.s3Endpoint", "Endpoint (хост или URL)"),
             Map.entry("settings.placeholderS3Host", "s3.amazonaws.com или minio.example.com"),
@@ -12,6 +12,7 @@ import com.panopticum.kubernetes.model.KubernetesConfigMapInfo;
 import com.panopticum.kubernetes.model.KubernetesDeploymentInfo;
 import com.panopticum.kubernetes.model.KubernetesEventInfo;
 import com.panopticum.kubernetes.model.KubernetesIngressInfo;
+import com.panopticum.kubernetes.model.KubernetesLogQuery;
 import com.panopticum.kubernetes.model.KubernetesPodDescription;
 import com.panopticum.kubernetes.model.KubernetesPodInfo;
 import com.panopticum.kubernetes.model.KubernetesSecretInfo;
@@ -19,6 +20,7 @@ import com.panopticum.kubernetes.model.KubernetesServiceInfo;
 import com.panopticum.kubernetes.model.KubernetesStatefulSetInfo;
 import com.panopticum.kubernetes.service.KubernetesService;
 import com.panopticum.kubernetes.util.KubernetesNamespaceCsv;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
@@ -26,12 +28,14 @@ import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.micronaut.views.View;
 import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.net.URLDecoder;
@@ -129,7 +133,11 @@ public class KubernetesController {
             @PathVariable String namespace,
             @PathVariable String pod,
             @QueryValue(value = "tail", defaultValue = "500") int tail,
-            @QueryValue(value = "substring", defaultValue = "") String substring) {
+            @QueryValue(value = "substring", defaultValue = "") String substring,
+            @QueryValue(value = "regex", defaultValue = "false") boolean regex,
+            @Nullable @QueryValue("sinceTime") String sinceTime,
+            @Nullable @QueryValue("until") String until,
+            @Nullable @QueryValue("container") String container) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -145,12 +153,20 @@ public class KubernetesController {
             model.put("podName", podName);
             model.put("tail", tail);
             model.put("substring", substring);
+            model.put("regex", regex);
             model.put("queryResult", QueryResult.error("kubernetes.namespaceNotAllowed"));
             return model;
         }
 
         int tailClamped = Math.min(Math.max(1, tail), KubernetesService.MAX_TAIL_LINES);
-        QueryResult qr = kubernetesService.tailPodLogsWithSubstring(id, ns, podName, tailClamped, substring);
+        QueryResult qr = kubernetesService.podLogs(id, ns, podName, KubernetesLogQuery.builder()
+                .container(container)
+                .limit(tailClamped)
+                .sinceTime(sinceTime)
+                .until(until)
+                .filter(substring)
+                .regex(regex)
+                .build());
 
         List<BreadcrumbItem> breadcrumbs = new ArrayList<>();
         breadcrumbs.add(new BreadcrumbItem(conn.get().getName(), "/kubernetes/" + id + "/namespaces"));
@@ -162,6 +178,9 @@ public class KubernetesController {
         model.put("podName", podName);
         model.put("tail", tailClamped);
         model.put("substring", substring);
+        model.put("regex", regex);
+        model.put("container", container);
+        model.put("windowed", sinceTime != null && !sinceTime.isBlank() || until != null && !until.isBlank());
         model.put("queryResult", qr);
         if (qr.hasError()) {
             AppAlerts.i18n(model, qr.getError());
@@ -170,6 +189,66 @@ public class KubernetesController {
         return model;
     }
 
+    @Produces(MediaType.TEXT_HTML)
+    @Get("/{id}/namespaces/{namespace}/workload-logs")
+    @View("kubernetes/workload-logs")
+    public Map<String, Object> workloadLogs(@PathVariable Long id,
+            @PathVariable String namespace,
+            @QueryValue(value = "kind", defaultValue = "deployment") String kind,
+            @QueryValue(value = "name", defaultValue = "") String name,
+            @QueryValue(value = "tail", defaultValue = "500") int tail,
+            @QueryValue(value = "substring", defaultValue = "") String substring,
+            @QueryValue(value = "regex", defaultValue = "false") boolean regex,
+            @Nullable @QueryValue("sinceTime") String sinceTime,
+            @Nullable @QueryValue("until") String until) {
+        String ns = decodePathSegment(namespace);
+        String workloadKind = KubernetesService.WORKLOAD_LOG_KINDS.contains(kind) ? kind : "deployment";
+        int tailClamped = Math.min(Math.max(1, tail), KubernetesService.MAX_TAIL_LINES);
+        Map<String, Object> model = buildNsModel(id, namespace, "logs", 1, tailClamped, null, null);
+        model.put("kind", workloadKind);
+        model.put("name", name);
+        model.put("tail", tailClamped);
+        model.put("substring", substring);
+        model.put("regex", regex);
+        model.put("windowed", sinceTime != null && !sinceTime.isBlank() || until != null && !until.isBlank());
+        Optional<DbConnection> conn = dbConnectionService.findById(id);
+        if (conn.isEmpty() || !isNamespaceAllowed(conn.get(), ns) || name.isBlank()) {
+            return model;
+        }
+
+        QueryResult qr = kubernetesService.workloadLogs(id, ns, workloadKind, name.trim(), KubernetesLogQuery.builder()
+                .limit(tailClamped)
+                .sinceTime(sinceTime)
+                .until(until)
+                .filter(substring)
+                .regex(regex)
+                .build());
+        model.put("queryResult", qr);
+        if (qr.hasError()) {
+            AppAlerts.i18n(model, qr.getError());
+        }
+
+        return model;
+    }
+
+    @Produces(MediaType.TEXT_EVENT_STREAM)
+    @Get("/{id}/namespaces/{namespace}/pods/{pod}/logs/stream")
+    public Publisher<Event<String>> logsStream(@PathVariable Long id,
+            @PathVariable String namespace,
+            @PathVariable String pod,
+            @QueryValue(value = "substring", defaultValue = "") String substring,
+            @QueryValue(value = "regex", defaultValue = "false") boolean regex,
+            @Nullable @QueryValue("sinceTime") String sinceTime,
+            @Nullable @QueryValue("container") String container) {
+        return kubernetesService.followPodLogs(id, decodePathSegment(namespace), decodePathSegment(pod),
+                KubernetesLogQuery.builder()
+                        .container(container)
+                        .sinceTime(sinceTime)
+                        .filter(substring)
+                        .regex(regex)
+                        .build());
+    }
+
     @Produces(MediaType.TEXT_HTML)
     @Get("/{id}/namespaces/{namespace}/pods/{pod}")
     @View("kubernetes/pod")
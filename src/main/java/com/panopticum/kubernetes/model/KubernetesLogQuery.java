@@ -0,0 +1,17 @@
+package com.panopticum.kubernetes.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class KubernetesLogQuery {
+
+    private final String container;
+    private final int limit;
+    private final String sinceTime;
+    private final Integer sinceSeconds;
+    private final String until;
+    private final String filter;
+    private final boolean regex;
+}
@@ -0,0 +1,204 @@
+package com.panopticum.kubernetes.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.util.StringUtils;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Singleton
+public class KubernetesClientRegistry {
+
+    private final Map<Long, Entry> clients = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.kubernetes.client.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.kubernetes.client.max-concurrent-requests:64}")
+    private int maxConcurrentRequests;
+
+    @Value("${panopticum.kubernetes.client.max-concurrent-requests-per-host:16}")
+    private int maxConcurrentRequestsPerHost;
+
+    @Value("${panopticum.kubernetes.client.max-idle-connections:16}")
+    private int maxIdleConnections;
+
+    @Value("${panopticum.kubernetes.client.keep-alive:5m}")
+    private Duration keepAlive;
+
+    @Value("${panopticum.kubernetes.client.idle-eviction:15m}")
+    private Duration idleEviction;
+
+    private ConnectionPool connectionPool;
+    private OkHttpClientFactory httpClientFactory;
+
+    @PostConstruct
+    void start() {
+        connectionPool = new ConnectionPool(Math.max(1, maxIdleConnections), keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+        httpClientFactory = new OkHttpClientFactory() {
+            @Override
+            protected void additionalConfig(OkHttpClient.Builder builder) {
+                builder.connectionPool(connectionPool);
+            }
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        clients.keySet().forEach(this::invalidate);
+        connectionPool.evictAll();
+    }
+
+    public Lease lease(DbConnection conn) {
+        String masterUrl = KubernetesService.resolveMasterUrl(conn.getHost(), conn.getPort());
+        if (masterUrl == null || conn.getPassword() == null || conn.getPassword().isBlank()) {
+            return null;
+        }
+        String fingerprint = fingerprint(masterUrl, conn.getPassword());
+        while (true) {
+            Entry entry = clients.compute(conn.getId(), (id, current) -> {
+                if (current != null && current.fingerprint.equals(fingerprint) && !current.isRetired()) {
+                    return current;
+                }
+                if (current != null) {
+                    current.retire();
+                }
+                return new Entry(newClient(masterUrl, conn.getPassword()), fingerprint);
+            });
+            if (entry.acquire()) {
+                return new Lease(entry);
+            }
+        }
+    }
+
+    public KubernetesClient newClient(String masterUrl, String token) {
+        Config config = new ConfigBuilder()
+                .withMasterUrl(masterUrl)
+                .withOauthToken(token)
+                .withTrustCerts(true)
+                .withConnectionTimeout((int) connectTimeout.toMillis())
+                .withMaxConcurrentRequests(Math.max(1, maxConcurrentRequests))
+                .withMaxConcurrentRequestsPerHost(Math.max(1, maxConcurrentRequestsPerHost))
+                .build();
+        return new KubernetesClientBuilder().withConfig(config).withHttpClientFactory(httpClientFactory).build();
+    }
+
+    public void invalidate(Long connectionId) {
+        Entry entry = clients.remove(connectionId);
+        if (entry != null) {
+            entry.retire();
+        }
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction.toMillis();
+        clients.entrySet().removeIf(e -> {
+            if (!e.getValue().retireIfIdle(cutoff)) {
+                return false;
+            }
+            log.debug("Closed idle Kubernetes client for connection {}", e.getKey());
+            return true;
+        });
+    }
+
+    private static String fingerprint(String masterUrl, String token) {
+        return masterUrl + "\n" + StringUtils.sha256(token);
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public KubernetesClient client() {
+            return entry.client;
+        }
+
+        @Override
+        public void close() {
+            entry.release();
+        }
+    }
+
+    private static final class Entry {
+
+        private final KubernetesClient client;
+        private final String fingerprint;
+        private int leases;
+        private boolean retired;
+        private long lastUsed = System.currentTimeMillis();
+
+        private Entry(KubernetesClient client, String fingerprint) {
+            this.client = client;
+            this.fingerprint = fingerprint;
+        }
+
+        private synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            lastUsed = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void release() {
+            leases--;
+            lastUsed = System.currentTimeMillis();
+            if (retired && leases == 0) {
+                client.close();
+            }
+        }
+
+        private synchronized boolean retireIfIdle(long cutoff) {
+            if (leases > 0 || lastUsed >= cutoff) {
+                return false;
+            }
+            retire();
+            return true;
+        }
+
+        private synchronized boolean isRetired() {
+            return retired;
+        }
+
+        private synchronized void retire() {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (leases == 0) {
+                client.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.panopticum.kubernetes.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.service.DbConnectionService;
+import com.panopticum.core.util.StringUtils;
+import com.panopticum.kubernetes.util.KubernetesNamespaceCsv;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class KubernetesInformerCache {
+
+    private final DbConnectionService dbConnectionService;
+    private final KubernetesClientRegistry clientRegistry;
+
+    private final Map<Long, Informers> connections = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.kubernetes.informers.enabled:true}")
+    private boolean enabled;
+
+    @Value("${panopticum.kubernetes.informers.resync:10m}")
+    private Duration resync;
+
+    @Value("${panopticum.kubernetes.informers.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    @SuppressWarnings("unchecked")
+    public <T extends HasMetadata> Optional<List<T>> list(Long connectionId, String namespace, Class<T> type) {
+        if (!enabled || namespace == null || namespace.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<DbConnection> conn = dbConnectionService.findById(connectionId);
+        if (conn.isEmpty() || !KubernetesNamespaceCsv.parse(conn.get().getDbName()).contains(namespace)) {
+            return Optional.empty();
+        }
+        Informers informers = informers(conn.get());
+        if (informers == null) {
+            return Optional.empty();
+        }
+        Key key = new Key(namespace, type);
+        Entry entry = informers.entry(key, k -> start(informers, k));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        if (entry.failed) {
+            informers.entries.remove(key, entry);
+            return Optional.empty();
+        }
+        if (!entry.informer.hasSynced()) {
+            return Optional.empty();
+        }
+
+        return Optional.of((List<T>) entry.informer.getStore().list());
+    }
+
+    public void invalidate(Long connectionId) {
+        Informers informers = connections.remove(connectionId);
+        if (informers != null) {
+            informers.close();
+        }
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void stopIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeout.toMillis();
+        connections.forEach((connectionId, informers) -> {
+            informers.entries.entrySet().removeIf(e -> {
+                if (e.getValue().lastAccess >= cutoff) {
+                    return false;
+                }
+                log.debug("Stopping idle {} informer for connection {} namespace {}",
+                        e.getKey().type().getSimpleName(), connectionId, e.getKey().namespace());
+                e.getValue().informer.stop();
+                return true;
+            });
+            closeIfEmpty(connectionId, informers);
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        connections.keySet().forEach(this::invalidate);
+    }
+
+    private synchronized void closeIfEmpty(Long connectionId, Informers informers) {
+        if (informers.closeIfEmpty()) {
+            connections.remove(connectionId, informers);
+        }
+    }
+
+    private synchronized Informers informers(DbConnection conn) {
+        String masterUrl = KubernetesService.resolveMasterUrl(conn.getHost(), conn.getPort());
+        if (masterUrl == null || conn.getPassword() == null || conn.getPassword().isBlank()) {
+            return null;
+        }
+        String fingerprint = masterUrl + "\n" + StringUtils.sha256(conn.getPassword());
+        Informers current = connections.get(conn.getId());
+        if (current != null && current.fingerprint.equals(fingerprint)) {
+            return current;
+        }
+        if (current != null) {
+            current.close();
+        }
+        KubernetesClientRegistry.Lease lease = clientRegistry.lease(conn);
+        if (lease == null) {
+            return null;
+        }
+        Informers created = new Informers(lease, fingerprint);
+        connections.put(conn.getId(), created);
+        return created;
+    }
+
+    private Entry start(Informers informers, Key key) {
+        SharedIndexInformer<? extends HasMetadata> informer = informers.lease.client().resources(key.type())
+                .inNamespace(key.namespace())
+                .runnableInformer(resync.toMillis());
+        Entry entry = new Entry(informer);
+        informer.start().whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("{} informer for namespace {} failed to start: {}", key.type().getSimpleName(),
+                        key.namespace(), error.getMessage());
+                entry.failed = true;
+                informer.stop();
+            }
+        });
+        return entry;
+    }
+
+    private record Key(String namespace, Class<? extends HasMetadata> type) {
+    }
+
+    private static final class Entry {
+
+        private final SharedIndexInformer<? extends HasMetadata> informer;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile boolean failed;
+
+        private Entry(SharedIndexInformer<? extends HasMetadata> informer) {
+            this.informer = informer;
+        }
+    }
+
+    private static final class Informers {
+
+        private final KubernetesClientRegistry.Lease lease;
+        private final String fingerprint;
+        private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+        private boolean closed;
+
+        private Informers(KubernetesClientRegistry.Lease lease, String fingerprint) {
+            this.lease = lease;
+            this.fingerprint = fingerprint;
+        }
+
+        private synchronized Entry entry(Key key, Function<Key, Entry> start) {
+            return closed ? null : entries.computeIfAbsent(key, start);
+        }
+
+        private synchronized boolean closeIfEmpty() {
+            if (!entries.isEmpty()) {
+                return false;
+            }
+            close();
+            return true;
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            entries.values().forEach(entry -> entry.informer.stop());
+            entries.clear();
+            lease.close();
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package com.panopticum.kubernetes.service;
+
+import com.panopticum.core.error.AccessResult;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.model.QueryResult;
+import com.panopticum.core.service.DbConnectionService;
+import com.panopticum.kubernetes.model.KubernetesLogQuery;
+import com.panopticum.kubernetes.util.KubernetesLogLines;
+import com.panopticum.kubernetes.util.KubernetesNamespaceCsv;
+import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.ContainerResource;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.Loggable;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.sse.Event;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class KubernetesLogStreamer {
+
+    private static final List<String> COLUMNS = List.of("line", "time", "message");
+    private static final List<String> COLUMN_TYPES = List.of("integer", "string", "string");
+    private static final List<String> WORKLOAD_COLUMNS = List.of("line", "time", "pod", "container", "message");
+    private static final List<String> WORKLOAD_COLUMN_TYPES = List.of("integer", "string", "string", "string", "string");
+
+    private final DbConnectionService dbConnectionService;
+    private final KubernetesClientRegistry clientRegistry;
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    @Value("${panopticum.kubernetes.logs.max-scan-lines:10000}")
+    private int maxScanLines;
+
+    @Value("${panopticum.kubernetes.logs.max-streams:16}")
+    private int maxStreams;
+
+    @Value("${panopticum.kubernetes.logs.stream-buffer:1000}")
+    private int streamBuffer;
+
+    @Value("${panopticum.kubernetes.logs.follow-timeout:30m}")
+    private Duration followTimeout;
+
+    @Value("${panopticum.kubernetes.logs.workload.parallelism:8}")
+    private int workloadParallelism;
+
+    @Value("${panopticum.kubernetes.logs.workload.max-pods:50}")
+    private int maxPods;
+
+    @Value("${panopticum.kubernetes.logs.workload.timeout:30s}")
+    private Duration workloadTimeout;
+
+    private ExecutorService pool;
+    private ExecutorService workloadPool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, maxStreams), runnable -> {
+            Thread thread = new Thread(runnable, "k8s-log-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workloadThreads = new AtomicInteger();
+        workloadPool = Executors.newFixedThreadPool(Math.max(1, workloadParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "k8s-workload-log-" + workloadThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+        workloadPool.shutdownNow();
+    }
+
+    public QueryResult window(Long connectionId, String namespace, String podName, KubernetesLogQuery query) {
+        Predicate<String> filter;
+        try {
+            filter = KubernetesLogLines.filter(query.getFilter(), query.isRegex());
+        } catch (PatternSyntaxException e) {
+            return QueryResult.error("kubernetes.invalidRegex");
+        }
+        AccessResult<DbConnection> conn = connection(connectionId, namespace, podName);
+        if (!conn.isOk()) {
+            return QueryResult.error(conn.getMessageKey());
+        }
+        boolean filtered = query.getFilter() != null && !query.getFilter().isBlank();
+        int limit = Math.min(Math.max(1, query.getLimit()), maxScanLines);
+        Instant since = KubernetesLogLines.parseInstant(query.getSinceTime());
+        Instant until = KubernetesLogLines.parseInstant(query.getUntil());
+        DbConnection c = conn.getPayload();
+        try (KubernetesClientRegistry.Lease lease = clientRegistry.lease(c)) {
+            KubernetesClient client = lease.client();
+            PodResource resource = client.pods().inNamespace(namespace).withName(podName);
+            Pod pod = resource.get();
+            if (pod == null) {
+                return QueryResult.error("kubernetes.podNotFound");
+            }
+            Loggable loggable = loggable(container(resource, pod, query.getContainer()).usingTimestamps(), query,
+                    since, until, filtered, limit);
+            try (BufferedReader reader = new BufferedReader(loggable.getLogReader())) {
+                Window window = collect(reader, filter, limit, since, until);
+                return toQueryResult(window, since, until);
+            }
+        } catch (KubernetesClientException e) {
+            log.warn("Pod log window failed: {}", e.getMessage());
+            return QueryResult.error(KubernetesService.kubernetesErrorKey(e));
+        } catch (IOException e) {
+            log.warn("Pod log window failed: {}", e.getMessage());
+            return QueryResult.error("kubernetes.access.error");
+        }
+    }
+
+    public Publisher<Event<String>> follow(Long connectionId, String namespace, String podName, KubernetesLogQuery query) {
+        Predicate<String> filter;
+        try {
+            filter = KubernetesLogLines.filter(query.getFilter(), query.isRegex());
+        } catch (PatternSyntaxException e) {
+            return Flux.just(failure("kubernetes.invalidRegex"));
+        }
+        AccessResult<DbConnection> conn = connection(connectionId, namespace, podName);
+        if (!conn.isOk()) {
+            return Flux.just(failure(conn.getMessageKey()));
+        }
+        Instant since = KubernetesLogLines.parseInstant(query.getSinceTime());
+
+        return Flux.<Event<String>>create(sink -> {
+                    if (activeStreams.incrementAndGet() > maxStreams) {
+                        activeStreams.decrementAndGet();
+                        sink.next(failure("kubernetes.logStreamLimit"));
+                        sink.complete();
+                        return;
+                    }
+                    try {
+                        pool.execute(() -> pump(conn.getPayload(), namespace, podName, query.getContainer(), since, filter, sink));
+                    } catch (RejectedExecutionException e) {
+                        activeStreams.decrementAndGet();
+                        sink.next(failure("kubernetes.logStreamLimit"));
+                        sink.complete();
+                    }
+                })
+                .onBackpressureBuffer(Math.max(1, streamBuffer), dropped -> { }, BufferOverflowStrategy.DROP_OLDEST)
+                .take(followTimeout);
+    }
+
+    private void pump(DbConnection conn, String namespace, String podName, String container, Instant since,
+                      Predicate<String> filter, FluxSink<Event<String>> sink) {
+        KubernetesClientRegistry.Lease lease = null;
+        LogWatch watch = null;
+        try {
+            lease = clientRegistry.lease(conn);
+            KubernetesClient client = lease.client();
+            PodResource resource = client.pods().inNamespace(namespace).withName(podName);
+            Pod pod = resource.get();
+            if (pod == null) {
+                sink.next(failure("kubernetes.podNotFound"));
+                return;
+            }
+            TimeTailPrettyLoggable timed = container(resource, pod, container).usingTimestamps();
+            watch = since != null
+                    ? timed.sinceTime(since.truncatedTo(ChronoUnit.SECONDS).toString()).watchLog()
+                    : timed.tailingLines(0).watchLog();
+            sink.onDispose(watch::close);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8))) {
+                String raw;
+                while (!sink.isCancelled() && (raw = reader.readLine()) != null) {
+                    KubernetesLogLines.Line line = KubernetesLogLines.parse(raw);
+                    if (since != null && line.time() != null && !line.time().isAfter(since)) {
+                        continue;
+                    }
+                    if (filter.test(line.message())) {
+                        sink.next(Event.of(line.message()).id(line.timestamp()));
+                    }
+                }
+            }
+        } catch (KubernetesClientException e) {
+            if (!sink.isCancelled()) {
+                log.warn("Pod log stream failed: {}", e.getMessage());
+                sink.next(failure(KubernetesService.kubernetesErrorKey(e)));
+            }
+        } catch (IOException e) {
+            if (!sink.isCancelled()) {
+                log.debug("Pod log stream closed: {}", e.getMessage());
+            }
+        } finally {
+            if (watch != null) {
+                watch.close();
+            }
+            if (lease != null) {
+                lease.close();
+            }
+            activeStreams.decrementAndGet();
+            sink.complete();
+        }
+    }
+
+    public QueryResult workload(Long connectionId, String namespace, String kind, String name, KubernetesLogQuery query) {
+        Predicate<String> filter;
+        try {
+            filter = KubernetesLogLines.filter(query.getFilter(), query.isRegex());
+        } catch (PatternSyntaxException e) {
+            return QueryResult.error("kubernetes.invalidRegex");
+        }
+        AccessResult<DbConnection> conn = connection(connectionId, namespace, name);
+        if (!conn.isOk()) {
+            return QueryResult.error(conn.getMessageKey());
+        }
+        boolean filtered = query.getFilter() != null && !query.getFilter().isBlank();
+        int limit = Math.min(Math.max(1, query.getLimit()), maxScanLines);
+        Instant since = KubernetesLogLines.parseInstant(query.getSinceTime());
+        Instant until = KubernetesLogLines.parseInstant(query.getUntil());
+        DbConnection c = conn.getPayload();
+        try (KubernetesClientRegistry.Lease lease = clientRegistry.lease(c)) {
+            KubernetesClient client = lease.client();
+            LabelSelector selector = selector(client, namespace, kind, name);
+            if (selector == null) {
+                return QueryResult.error("kubernetes.workloadNotFound");
+            }
+            List<Pod> pods = new ArrayList<>(client.pods().inNamespace(namespace).withLabelSelector(selector).list().getItems());
+            pods.sort(Comparator.comparing(p -> p.getMetadata().getName()));
+            boolean truncated = pods.size() > maxPods;
+            List<LogStream> streams = new ArrayList<>();
+            for (Pod pod : truncated ? pods.subList(0, maxPods) : pods) {
+                if (pod.getSpec() == null || pod.getSpec().getContainers() == null) {
+                    continue;
+                }
+                pod.getSpec().getContainers().forEach(ct -> streams.add(new LogStream(pod.getMetadata().getName(), ct.getName())));
+            }
+            if (streams.isEmpty()) {
+                return new QueryResult(WORKLOAD_COLUMNS, WORKLOAD_COLUMN_TYPES, List.of(), null, null, 0, 0, false);
+            }
+
+            List<Future<Window>> futures = new ArrayList<>(streams.size());
+            for (LogStream stream : streams) {
+                futures.add(workloadPool.submit(() -> {
+                    ContainerResource resource = client.pods().inNamespace(namespace).withName(stream.pod()).inContainer(stream.container());
+                    Loggable loggable = loggable(resource.usingTimestamps(), query, since, until, filtered, limit);
+                    try (BufferedReader reader = new BufferedReader(loggable.getLogReader())) {
+                        return collect(reader, filter, limit, since, until);
+                    }
+                }));
+            }
+            long deadline = System.nanoTime() + workloadTimeout.toNanos();
+            List<Window> windows = new ArrayList<>(streams.size());
+            int failed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    windows.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    return QueryResult.error("kubernetes.access.error");
+                } catch (ExecutionException | TimeoutException e) {
+                    futures.get(i).cancel(true);
+                    log.debug("Log stream {}/{} skipped: {}", streams.get(i).pod(), streams.get(i).container(), e.getMessage());
+                    windows.add(null);
+                    failed++;
+                }
+            }
+            if (failed == streams.size()) {
+                return QueryResult.error("kubernetes.access.error");
+            }
+
+            return merge(streams, windows, limit, since, until, truncated || failed > 0);
+        } catch (KubernetesClientException e) {
+            log.warn("Workload log window failed: {}", e.getMessage());
+            return QueryResult.error(KubernetesService.kubernetesErrorKey(e));
+        } catch (RejectedExecutionException e) {
+            return QueryResult.error("kubernetes.logStreamLimit");
+        }
+    }
+
+    private Loggable loggable(TimeTailPrettyLoggable timed, KubernetesLogQuery query, Instant since, Instant until,
+                              boolean filtered, int limit) {
+        if (since != null) {
+            return timed.sinceTime(since.truncatedTo(ChronoUnit.SECONDS).toString());
+        }
+        if (query.getSinceSeconds() != null && query.getSinceSeconds() > 0) {
+            return timed.sinceSeconds(query.getSinceSeconds()).tailingLines(maxScanLines);
+        }
+
+        return timed.tailingLines(filtered || until != null ? maxScanLines : limit);
+    }
+
+    private Window collect(BufferedReader reader, Predicate<String> filter, int limit, Instant since, Instant until)
+            throws IOException {
+        boolean forward = since != null;
+        Window window = new Window();
+        int scanned = 0;
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            KubernetesLogLines.Line line = KubernetesLogLines.parse(raw);
+            if (forward && line.time() != null && !line.time().isAfter(since)) {
+                continue;
+            }
+            if (until != null && line.time() != null && !line.time().isBefore(until)) {
+                break;
+            }
+            boolean matches = filter.test(line.message());
+            if (matches && forward && window.lines.size() >= limit) {
+                window.more = true;
+                break;
+            }
+            if (line.time() != null) {
+                window.lastSeen = line.time();
+            }
+            if (matches) {
+                window.lines.addLast(line);
+                if (window.lines.size() > limit) {
+                    window.lines.removeFirst();
+                    window.more = true;
+                }
+            }
+            if (forward && ++scanned >= maxScanLines) {
+                window.more = true;
+                break;
+            }
+        }
+
+        return window;
+    }
+
+    private static QueryResult toQueryResult(Window window, Instant since, Instant until) {
+        List<List<Object>> rows = new ArrayList<>(window.lines.size());
+        int lineNo = 1;
+        Iterator<KubernetesLogLines.Line> newestFirst = window.lines.descendingIterator();
+        while (newestFirst.hasNext()) {
+            KubernetesLogLines.Line line = newestFirst.next();
+            rows.add(List.of(lineNo++, line.timestamp(), line.message()));
+        }
+        String next = window.lastSeen != null ? window.lastSeen.toString() : since != null ? since.toString() : null;
+        KubernetesLogLines.Line oldest = window.lines.peekFirst();
+        String prev = oldest != null && oldest.time() != null ? oldest.time().toString() : until != null ? until.toString() : null;
+
+        return new QueryResult(COLUMNS, COLUMN_TYPES, rows, null, null, 0, rows.size(), window.more, next, prev);
+    }
+
+    private static QueryResult merge(List<LogStream> streams, List<Window> windows, int limit, Instant since,
+                                     Instant until, boolean partial) {
+        boolean forward = since != null;
+        Comparator<MergeCursor> byTime = Comparator.comparing(cursor -> cursor.line.time() != null ? cursor.line.time() : Instant.MIN);
+        PriorityQueue<MergeCursor> heads = new PriorityQueue<>(forward ? byTime : byTime.reversed());
+        boolean more = partial;
+        Instant lastSeen = null;
+        for (int i = 0; i < streams.size(); i++) {
+            Window window = windows.get(i);
+            if (window == null) {
+                continue;
+            }
+            more |= window.more;
+            if (window.lastSeen != null && (lastSeen == null || window.lastSeen.isAfter(lastSeen))) {
+                lastSeen = window.lastSeen;
+            }
+            MergeCursor cursor = new MergeCursor(streams.get(i), forward ? window.lines.iterator() : window.lines.descendingIterator());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<MergedLine> picked = new ArrayList<>();
+        while (!heads.isEmpty() && picked.size() < limit) {
+            MergeCursor cursor = heads.poll();
+            picked.add(new MergedLine(cursor.stream, cursor.line));
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        more |= !heads.isEmpty();
+        if (forward) {
+            Collections.reverse(picked);
+        }
+
+        List<List<Object>> rows = new ArrayList<>(picked.size());
+        int lineNo = 1;
+        for (MergedLine merged : picked) {
+            rows.add(List.of(lineNo++, merged.line().timestamp(), merged.stream().pod(), merged.stream().container(),
+                    merged.line().message()));
+        }
+        Instant newest = picked.isEmpty() ? null : picked.get(0).line().time();
+        Instant oldest = picked.isEmpty() ? null : picked.get(picked.size() - 1).line().time();
+        Instant nextAt = forward ? (newest != null ? newest : since) : lastSeen;
+        Instant prevAt = oldest != null ? oldest : until;
+
+        return new QueryResult(WORKLOAD_COLUMNS, WORKLOAD_COLUMN_TYPES, rows, null, null, 0, rows.size(), more,
+                nextAt != null ? nextAt.toString() : null, prevAt != null ? prevAt.toString() : null);
+    }
+
+    private static LabelSelector selector(KubernetesClient client, String namespace, String kind, String name) {
+        LabelSelector selector = switch (kind != null ? kind.toLowerCase(Locale.ROOT) : "") {
+            case "deployment" -> {
+                Deployment deployment = client.apps().deployments().inNamespace(namespace).withName(name).get();
+                yield deployment != null && deployment.getSpec() != null ? deployment.getSpec().getSelector() : null;
+            }
+            case "statefulset" -> {
+                StatefulSet statefulSet = client.apps().statefulSets().inNamespace(namespace).withName(name).get();
+                yield statefulSet != null && statefulSet.getSpec() != null ? statefulSet.getSpec().getSelector() : null;
+            }
+            case "selector" -> parseSelector(name);
+            default -> null;
+        };
+        if (selector == null
+                || (selector.getMatchLabels() == null || selector.getMatchLabels().isEmpty())
+                && (selector.getMatchExpressions() == null || selector.getMatchExpressions().isEmpty())) {
+            return null;
+        }
+
+        return selector;
+    }
+
+    private static LabelSelector parseSelector(String text) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (String part : text.split(",")) {
+            String term = part.trim();
+            if (term.isEmpty()) {
+                continue;
+            }
+            int eq = term.indexOf('=');
+            if (eq <= 0 || term.contains("!=")) {
+                return null;
+            }
+            String value = term.substring(eq + 1);
+            labels.put(term.substring(0, eq).trim(), (value.startsWith("=") ? value.substring(1) : value).trim());
+        }
+
+        return new LabelSelectorBuilder().withMatchLabels(labels).build();
+    }
+
+    private AccessResult<DbConnection> connection(Long connectionId, String namespace, String podName) {
+        DbConnection conn = dbConnectionService.findById(connectionId).orElse(null);
+        if (conn == null) {
+            return AccessResult.notFound("connection.notFound");
+        }
+        if (namespace == null || namespace.isBlank() || podName == null || podName.isBlank()) {
+            return AccessResult.error("kubernetes.namespaceAndPodRequired");
+        }
+        if (!KubernetesNamespaceCsv.parse(conn.getDbName()).contains(namespace)) {
+            return AccessResult.forbidden("kubernetes.namespaceNotAllowed");
+        }
+        if (KubernetesService.resolveMasterUrl(conn.getHost(), conn.getPort()) == null
+                || conn.getPassword() == null || conn.getPassword().isBlank()) {
+            return AccessResult.error("kubernetes.connectionInvalid");
+        }
+
+        return AccessResult.ok(conn);
+    }
+
+    private static ContainerResource container(PodResource resource, Pod pod, String container) {
+        if (container != null && !container.isBlank()) {
+            return resource.inContainer(container);
+        }
+        if (pod.getSpec() == null || pod.getSpec().getContainers() == null || pod.getSpec().getContainers().isEmpty()) {
+            return resource;
+        }
+
+        return resource.inContainer(pod.getSpec().getContainers().get(0).getName());
+    }
+
+    private static Event<String> failure(String messageKey) {
+        return Event.of(messageKey).name("failure");
+    }
+
+    private record LogStream(String pod, String container) {
+    }
+
+    private record MergedLine(LogStream stream, KubernetesLogLines.Line line) {
+    }
+
+    private static final class Window {
+
+        private final Deque<KubernetesLogLines.Line> lines = new ArrayDeque<>();
+        private Instant lastSeen;
+        private boolean more;
+    }
+
+    private static final class MergeCursor {
+
+        private final LogStream stream;
+        private final Iterator<KubernetesLogLines.Line> lines;
+        private KubernetesLogLines.Line line;
+
+        private MergeCursor(LogStream stream, Iterator<KubernetesLogLines.Line> lines) {
+            this.stream = stream;
+            this.lines = lines;
+        }
+
+        private boolean advance() {
+            line = lines.hasNext() ? lines.next() : null;
+            return line != null;
+        }
+    }
+}
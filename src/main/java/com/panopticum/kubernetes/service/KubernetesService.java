@@ -9,6 +9,7 @@ import com.panopticum.kubernetes.model.KubernetesConfigMapInfo;
 import com.panopticum.kubernetes.model.KubernetesDeploymentInfo;
 import com.panopticum.kubernetes.model.KubernetesEventInfo;
 import com.panopticum.kubernetes.model.KubernetesIngressInfo;
+import com.panopticum.kubernetes.model.KubernetesLogQuery;
 import com.panopticum.kubernetes.model.KubernetesPodDescription;
 import com.panopticum.kubernetes.model.KubernetesPodInfo;
 import com.panopticum.kubernetes.model.KubernetesSecretInfo;
@@ -17,27 +18,27 @@ import com.panopticum.kubernetes.model.KubernetesStatefulSetInfo;
 import com.panopticum.kubernetes.util.KubernetesNamespaceCsv;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
-import io.fabric8.kubernetes.client.Config;
-import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -46,8 +47,12 @@ import java.util.stream.Collectors;
 public class KubernetesService {
 
     public static final int MAX_TAIL_LINES = 10000;
+    public static final Set<String> WORKLOAD_LOG_KINDS = Set.of("deployment", "statefulset", "selector");
 
     private final DbConnectionService dbConnectionService;
+    private final KubernetesInformerCache informerCache;
+    private final KubernetesLogStreamer logStreamer;
+    private final KubernetesClientRegistry clientRegistry;
 
     public Optional<String> testConnection(String host, Integer port, String database, String password) {
         List<String> namespaces = KubernetesNamespaceCsv.parse(database);
@@ -61,7 +66,7 @@ public class KubernetesService {
         if (password == null || password.isBlank()) {
             return Optional.of("kubernetes.tokenRequired");
         }
-        try (KubernetesClient client = newClient(masterUrl, password)) {
+        try (KubernetesClient client = clientRegistry.newClient(masterUrl, password)) {
             for (String ns : namespaces) {
                 Optional<String> err = verifyNamespaceAccessible(client, ns);
                 if (err.isPresent()) {
@@ -111,8 +116,9 @@ public class KubernetesService {
         if (masterUrl == null || c.getPassword() == null || c.getPassword().isBlank()) {
             return Page.of(List.of(), page, size, sort, order);
         }
-        try (KubernetesClient client = newClient(masterUrl, c.getPassword())) {
-            List<Pod> pods = client.pods().inNamespace(namespace).list().getItems();
+        Optional<List<Pod>> cached = informerCache.list(connectionId, namespace, Pod.class);
+        try (KubernetesClientRegistry.Lease lease = cached.isPresent() ? null : clientRegistry.lease(c)) {
+            List<Pod> pods = cached.isPresent() ? cached.get() : lease.client().pods().inNamespace(namespace).list().getItems();
             List<KubernetesPodInfo> infos = new ArrayList<>();
             for (Pod p : pods) {
                 String name = p.getMetadata() != null ? p.getMetadata().getName() : null;
@@ -138,43 +144,43 @@ public class KubernetesService {
     }
 
     public QueryResult tailPodLogs(Long connectionId, String namespace, String podName, int tailLines) {
-        int tail = Math.min(Math.max(1, tailLines), MAX_TAIL_LINES);
-        Optional<DbConnection> conn = dbConnectionService.findById(connectionId);
-        if (conn.isEmpty()) {
-            return QueryResult.error("connection.notFound");
-        }
-        DbConnection c = conn.get();
-        if (namespace == null || namespace.isBlank() || podName == null || podName.isBlank()) {
-            return QueryResult.error("kubernetes.namespaceAndPodRequired");
-        }
-        if (!KubernetesNamespaceCsv.parse(c.getDbName()).contains(namespace)) {
-            return QueryResult.error("kubernetes.namespaceNotAllowed");
-        }
-        String masterUrl = resolveMasterUrl(c.getHost(), c.getPort());
-        if (masterUrl == null || c.getPassword() == null || c.getPassword().isBlank()) {
-            return QueryResult.error("kubernetes.connectionInvalid");
-        }
-        try (KubernetesClient client = newClient(masterUrl, c.getPassword())) {
-            Pod pod = client.pods().inNamespace(namespace).withName(podName).get();
-            if (pod == null) {
-                return QueryResult.error("kubernetes.podNotFound");
-            }
-            String container = defaultContainerName(pod);
-            String log;
-            if (container != null && !container.isBlank()) {
-                log = client.pods().inNamespace(namespace).withName(podName).inContainer(container)
-                        .tailingLines(tail).getLog();
-            } else {
-                log = client.pods().inNamespace(namespace).withName(podName).tailingLines(tail).getLog();
-            }
-            if (log == null) {
-                log = "";
-            }
-            return logsToQueryResult(log, 0, tail, false);
-        } catch (KubernetesClientException e) {
-            log.warn("tailPodLogs failed: {}", e.getMessage());
-            return QueryResult.error(kubernetesErrorKey(e));
+        return tailPodLogsWithSubstring(connectionId, namespace, podName, tailLines, null);
+    }
+
+    public QueryResult podLogs(Long connectionId, String namespace, String podName, KubernetesLogQuery query) {
+        return logStreamer.window(connectionId, namespace, podName, query);
+    }
+
+    public Publisher<io.micronaut.http.sse.Event<String>> followPodLogs(Long connectionId, String namespace, String podName,
+                                                                          KubernetesLogQuery query) {
+        return logStreamer.follow(connectionId, namespace, podName, query);
+    }
+
+    public QueryResult workloadLogs(Long connectionId, String namespace, String kind, String name,
+                                    KubernetesLogQuery query) {
+        return logStreamer.workload(connectionId, namespace, kind, name, query);
+    }
+
+    public static boolean isWorkloadLogEntity(String entity) {
+        int slash = entity != null ? entity.indexOf('/') : -1;
+        return slash > 0 && WORKLOAD_LOG_KINDS.contains(entity.substring(0, slash).toLowerCase(Locale.ROOT));
+    }
+
+    public QueryResult workloadLogsForMcp(Long connectionId, String catalog, String entity, String query,
+                                          int offset, int limit) {
+        String ns = catalog != null ? catalog.trim() : "";
+        int slash = entity.indexOf('/');
+        int safeOffset = Math.max(0, offset);
+        int safeLimit = Math.max(1, limit);
+        QueryResult merged = workloadLogs(connectionId, ns, entity.substring(0, slash).toLowerCase(Locale.ROOT),
+                entity.substring(slash + 1).trim(), KubernetesLogQuery.builder()
+                        .limit(Math.min(MAX_TAIL_LINES, safeOffset + safeLimit))
+                        .filter(query)
+                        .build());
+        if (merged.hasError()) {
+            return merged;
         }
+        return applyOffsetLimit(merged, safeOffset, safeLimit);
     }
 
     public QueryResult tailPodLogsForMcp(Long connectionId, String catalog, String entity, String query,
@@ -183,10 +189,8 @@ public class KubernetesService {
         String pod = entity != null ? entity.trim() : "";
         int safeOffset = Math.max(0, offset);
         int safeLimit = Math.max(1, limit);
-        int tail = query != null && !query.isBlank()
-                ? MAX_TAIL_LINES
-                : Math.min(MAX_TAIL_LINES, safeOffset + safeLimit);
-        QueryResult filtered = tailPodLogsWithSubstring(connectionId, ns, pod, tail, query);
+        QueryResult filtered = tailPodLogsWithSubstring(connectionId, ns, pod,
+                Math.min(MAX_TAIL_LINES, safeOffset + safeLimit), query);
         if (filtered.hasError()) {
             return filtered;
         }
@@ -195,15 +199,10 @@ public class KubernetesService {
 
     public QueryResult tailPodLogsWithSubstring(Long connectionId, String namespace, String podName,
                                                 int tailLines, String substring) {
-        int effectiveTail = substring != null && !substring.isBlank()
-                ? MAX_TAIL_LINES
-                : tailLines;
-        QueryResult qr = tailPodLogs(connectionId, namespace, podName, effectiveTail);
-        if (qr.hasError()) {
-            return qr;
-        }
-        QueryResult filtered = applyQueryFilter(qr, substring);
-        return applyOffsetLimit(filtered, 0, Math.max(1, tailLines));
+        return logStreamer.window(connectionId, namespace, podName, KubernetesLogQuery.builder()
+                .limit(Math.min(Math.max(1, tailLines), MAX_TAIL_LINES))
+                .filter(substring)
+                .build());
     }
 
     private static QueryResult applyOffsetLimit(QueryResult qr, int offset, int limit) {
@@ -214,67 +213,11 @@ public class KubernetesService {
         int from = Math.min(Math.max(0, offset), rows.size());
         int to = Math.min(from + Math.max(1, limit), rows.size());
         List<List<Object>> slice = rows.subList(from, to);
-        boolean hasMore = to < rows.size();
+        boolean hasMore = to < rows.size() || qr.isHasMore();
         return new QueryResult(qr.getColumns(), qr.getColumnTypes(), slice, qr.getDocIds(), null,
                 offset, slice.size(), hasMore);
     }
 
-    private static QueryResult applyQueryFilter(QueryResult qr, String query) {
-        if (query == null || query.isBlank()) {
-            return qr;
-        }
-
-        String needle = query.toLowerCase(Locale.ROOT);
-        List<List<Object>> filteredRows = qr.getRows().stream()
-                .filter(row -> row.size() > 1
-                        && row.get(1) != null
-                        && row.get(1).toString().toLowerCase(Locale.ROOT).contains(needle))
-                .collect(Collectors.toList());
-
-        return new QueryResult(
-                qr.getColumns(),
-                qr.getColumnTypes(),
-                filteredRows,
-                qr.getDocIds(),
-                null,
-                0,
-                filteredRows.size(),
-                false
-        );
-    }
-
-    private static String defaultContainerName(Pod pod) {
-        if (pod.getSpec() == null || pod.getSpec().getContainers() == null
-                || pod.getSpec().getContainers().isEmpty()) {
-            return null;
-        }
-        return pod.getSpec().getContainers().get(0).getName();
-    }
-
-    private static QueryResult logsToQueryResult(String log, int offset, int limit, boolean hasMore) {
-        List<String> lines = new ArrayList<>(splitLines(log));
-        Collections.reverse(lines);
-        List<List<Object>> rows = new ArrayList<>();
-        int lineNo = 1;
-        for (String line : lines) {
-            rows.add(List.of(lineNo, line));
-            lineNo++;
-        }
-        List<String> columns = List.of("line", "message");
-        return new QueryResult(columns, List.of("integer", "string"), rows, null, null, offset, limit, hasMore);
-    }
-
-    private static List<String> splitLines(String log) {
-        if (log == null || log.isEmpty()) {
-            return List.of();
-        }
-        String normalized = log.endsWith("\n") ? log.substring(0, log.length() - 1) : log;
-        if (normalized.isEmpty()) {
-            return List.of();
-        }
-        return List.of(normalized.split("\n", -1));
-    }
-
     private static Comparator<KubernetesPodInfo> podComparator(String sort, String order) {
         String s = sort != null ? sort : "name";
         boolean desc = "desc".equalsIgnoreCase(order);
@@ -312,7 +255,7 @@ public class KubernetesService {
         }
     }
 
-    private static String kubernetesErrorKey(KubernetesClientException e) {
+    static String kubernetesErrorKey(KubernetesClientException e) {
         if (e.getCode() == 401) {
             return "kubernetes.unauthorized";
         }
@@ -334,15 +277,6 @@ public class KubernetesService {
         return "https://" + h + (p != 443 ? ":" + p : "");
     }
 
-    static KubernetesClient newClient(String masterUrl, String token) {
-        Config config = new ConfigBuilder()
-                .withMasterUrl(masterUrl)
-                .withOauthToken(token)
-                .withTrustCerts(true)
-                .build();
-        return new KubernetesClientBuilder().withConfig(config).build();
-    }
-
     public AccessResult<KubernetesPodDescription> describePod(Long connectionId, String ns, String podName) {
         return withClient(connectionId, client -> {
             Pod pod = client.pods().inNamespace(ns).withName(podName).get();
@@ -376,7 +310,7 @@ public class KubernetesService {
                             "message", cond.getMessage() != null ? cond.getMessage() : ""));
                 }
             }
-            List<KubernetesEventInfo> recentEvents = fetchPodEvents(client, ns, podName);
+            List<KubernetesEventInfo> recentEvents = fetchPodEvents(client, connectionId, ns, podName);
             KubernetesPodDescription desc = KubernetesPodDescription.builder()
                     .name(pod.getMetadata().getName())
                     .namespace(ns)
@@ -391,9 +325,11 @@ public class KubernetesService {
         });
     }
 
-    private List<KubernetesEventInfo> fetchPodEvents(KubernetesClient client, String ns, String podName) {
+    private List<KubernetesEventInfo> fetchPodEvents(KubernetesClient client, Long connectionId, String ns, String podName) {
         try {
-            return client.v1().events().inNamespace(ns).list().getItems().stream()
+            List<Event> events = informerCache.list(connectionId, ns, Event.class)
+                    .orElseGet(() -> client.v1().events().inNamespace(ns).list().getItems());
+            return events.stream()
                     .filter(e -> e.getInvolvedObject() != null && podName.equals(e.getInvolvedObject().getName()))
                     .map(KubernetesService::toEventInfo)
                     .toList();
@@ -403,8 +339,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesEventInfo>> listEventsPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesEventInfo> events = client.v1().events().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, Event.class, resources -> {
+            List<KubernetesEventInfo> events = resources.stream()
                     .map(KubernetesService::toEventInfo)
                     .toList();
             return AccessResult.ok(Page.of(events, page, size, "name", "asc"));
@@ -412,8 +348,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesDeploymentInfo>> listDeploymentsPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesDeploymentInfo> items = client.apps().deployments().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, Deployment.class, resources -> {
+            List<KubernetesDeploymentInfo> items = resources.stream()
                     .map(KubernetesService::toDeploymentInfo)
                     .toList();
             return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
@@ -421,8 +357,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesStatefulSetInfo>> listStatefulSetsPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesStatefulSetInfo> items = client.apps().statefulSets().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, StatefulSet.class, resources -> {
+            List<KubernetesStatefulSetInfo> items = resources.stream()
                     .map(KubernetesService::toStatefulSetInfo)
                     .toList();
             return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
@@ -430,8 +366,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesServiceInfo>> listServicesPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesServiceInfo> items = client.services().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, io.fabric8.kubernetes.api.model.Service.class, resources -> {
+            List<KubernetesServiceInfo> items = resources.stream()
                     .map(KubernetesService::toServiceInfo)
                     .toList();
             return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
@@ -439,8 +375,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesIngressInfo>> listIngressesPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesIngressInfo> items = client.network().v1().ingresses().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, Ingress.class, resources -> {
+            List<KubernetesIngressInfo> items = resources.stream()
                     .map(KubernetesService::toIngressInfo)
                     .toList();
             return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
@@ -448,8 +384,8 @@ public class KubernetesService {
     }
 
     public AccessResult<Page<KubernetesConfigMapInfo>> listConfigMapsPaged(Long connectionId, String ns, int page, int size) {
-        return withClient(connectionId, client -> {
-            List<KubernetesConfigMapInfo> items = client.configMaps().inNamespace(ns).list().getItems().stream()
+        return withResources(connectionId, ns, ConfigMap.class, resources -> {
+            List<KubernetesConfigMapInfo> items = resources.stream()
                     .map(KubernetesService::toConfigMapInfo)
                     .toList();
             return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
@@ -481,18 +417,36 @@ public class KubernetesService {
         });
     }
 
+    private <R, T extends HasMetadata> AccessResult<R> withResources(Long connectionId, String ns, Class<T> type,
+                                                                     Function<List<T>, AccessResult<R>> action) {
+        Optional<List<T>> cached = informerCache.list(connectionId, ns, type);
+        if (cached.isPresent()) {
+            return action.apply(sortByName(cached.get()));
+        }
+        return withClient(connectionId, client -> action.apply(sortByName(client.resources(type).inNamespace(ns).list().getItems())));
+    }
+
+    private static <T extends HasMetadata> List<T> sortByName(List<T> items) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(item -> item.getMetadata() != null && item.getMetadata().getName() != null
+                ? item.getMetadata().getName() : "", String.CASE_INSENSITIVE_ORDER));
+        return sorted;
+    }
+
     private <T> AccessResult<T> withClient(Long connectionId, java.util.function.Function<KubernetesClient, AccessResult<T>> action) {
         Optional<DbConnection> connOpt = dbConnectionService.findById(connectionId);
         if (connOpt.isEmpty()) {
             return AccessResult.notFound("connection.notFound");
         }
         DbConnection conn = connOpt.get();
-        String masterUrl = resolveMasterUrl(conn.getHost(), conn.getPort());
-        if (masterUrl == null) {
+        if (resolveMasterUrl(conn.getHost(), conn.getPort()) == null) {
             return AccessResult.error("kubernetes.access.error");
         }
-        try (KubernetesClient client = newClient(masterUrl, conn.getPassword())) {
-            return action.apply(client);
+        try (KubernetesClientRegistry.Lease lease = clientRegistry.lease(conn)) {
+            if (lease == null) {
+                return AccessResult.error("kubernetes.access.error");
+            }
+            return action.apply(lease.client());
         } catch (KubernetesClientException e) {
             log.warn("Kubernetes access error code={}: {}", e.getCode(), e.getMessage());
             return switch (e.getCode()) {
@@ -0,0 +1,62 @@
+package com.panopticum.kubernetes.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class KubernetesLogLines {
+
+    public static final int MAX_LINE_LENGTH = 16384;
+
+    public static Predicate<String> filter(String text, boolean regex) {
+        if (text == null || text.isBlank()) {
+            return line -> true;
+        }
+        if (regex) {
+            Pattern pattern = Pattern.compile(text);
+            return line -> pattern.matcher(line).find();
+        }
+        String needle = text.toLowerCase(Locale.ROOT);
+
+        return line -> line.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    public static Line parse(String raw) {
+        int space = raw.indexOf(' ');
+        if (space > 0) {
+            Instant time = parseInstant(raw.substring(0, space));
+            if (time != null) {
+                return new Line(time, truncate(raw.substring(space + 1)));
+            }
+        }
+
+        return new Line(null, truncate(raw));
+    }
+
+    public static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_LINE_LENGTH ? message.substring(0, MAX_LINE_LENGTH) : message;
+    }
+
+    public record Line(Instant time, String message) {
+
+        public String timestamp() {
+            return time != null ? time.toString() : "";
+        }
+    }
+}
@@ -58,6 +58,8 @@ public class UnifiedQueryEnvelope {
         private boolean hasMore;
         private int offset;
         private int limit;
+        private String nextCursor;
+        private String prevCursor;
     }
 
     @Data
@@ -160,6 +162,8 @@ public class UnifiedQueryEnvelope {
                         .hasMore(qr.isHasMore())
                         .offset(qr.getOffset())
                         .limit(qr.getLimit())
+                        .nextCursor(qr.getNextCursor())
+                        .prevCursor(qr.getPrevCursor())
                         .build())
                 .raw(RawInfo.builder()
                         .columns(columns)
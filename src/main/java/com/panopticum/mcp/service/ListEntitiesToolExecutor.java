@@ -38,8 +38,9 @@ public class ListEntitiesToolExecutor implements McpToolExecutor {
         int size = Math.min(Math.max(1, toInt(args.get("size"), 50)), 100);
         String sort = args.get("sort") != null ? args.get("sort").toString() : "name";
         String order = args.get("order") != null ? args.get("order").toString() : "asc";
+        String cursor = args.get("cursor") != null ? args.get("cursor").toString() : null;
 
-        Map<String, Object> result = metadataFacadeService.listEntities(connectionId, catalog, namespace, page, size, sort, order);
+        Map<String, Object> result = metadataFacadeService.listEntities(connectionId, catalog, namespace, page, size, sort, order, cursor);
         if (result.containsKey("error")) {
             return error(result.get("error").toString());
         }
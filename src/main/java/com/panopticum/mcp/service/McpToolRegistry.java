@@ -86,11 +86,11 @@ public class McpToolRegistry {
                 "Return schema/namespace level inside a catalog. Required: connectionId (number). Optional: catalog (string), page, size. " +
                         "Postgres/MSSQL/Oracle: returns schemas. Couchbase: scopes. Cassandra/MySQL/ClickHouse/Mongo/Kafka/Redis/Elasticsearch/Kubernetes/S3/Prometheus/RabbitMQ: returns empty with notApplicable=true.";
             case "list-entities" ->
-                "Return tables/collections/partitions/objects/queues from which records are read. Required: connectionId (number). Optional: catalog, namespace, page, size, sort, order. " +
-                        "SQL/Cassandra: tables/views. Mongo: collections. Couchbase: collections (catalog=bucket, namespace=scope). Kafka: partitions (catalog=topic). Kubernetes: pods (catalog=namespace). S3: objects (catalog=bucket, namespace=prefix). Prometheus: metrics (catalog=job). RabbitMQ: queues (catalog=vhost). Redis/Elasticsearch: notApplicable.";
+                "Return tables/collections/partitions/objects/queues from which records are read. Required: connectionId (number). Optional: catalog, namespace, page, size, sort, order, cursor (pagination.nextCursor from the previous page, S3). " +
+                        "SQL/Cassandra: tables/views. Mongo: collections. Couchbase: collections (catalog=bucket, namespace=scope). Kafka: partitions (catalog=topic). Kubernetes: pods (catalog=namespace). S3: objects (catalog=bucket, namespace=prefix). Prometheus: metrics with type/help (catalog=job, namespace=metric name prefix). RabbitMQ: queues (catalog=vhost) from a background sampler with publishRate, deliverRate and depth history sparklines; sort by messages, publishRate or deliverRate with order=desc and size=N for a top-N. Redis/Elasticsearch: notApplicable.";
             case "query-data" ->
-                "Execute a query and return a unified JSON envelope. Required: connectionId (number), query (string) unless publish is set. Optional: catalog, namespace, entity, offset, limit (hard max 100), publish (array of message payloads for RabbitMQ). " +
-                        "SQL/CQL: SELECT returns rows; DML (INSERT/UPDATE/DELETE) returns rows_affected column; SQL with RETURNING returns rows. N1QL: N1QL text (Couchbase). Mongo/Elasticsearch: JSON (MQL/DSL). Kafka: JSON {\"partition\",\"fromOffset\",\"count\",\"fromEnd\"}, catalog=topic. Redis: glob pattern (e.g. user:*), catalog=dbIndex. S3: JSON {\"headBytes\",\"format\"}, catalog=bucket, entity=key. Prometheus: PromQL or JSON range query. RabbitMQ peek: count or JSON {\"count\"}, catalog=vhost, entity=queue; publish: publish array, catalog=vhost, entity=queue.";
+                "Execute a query and return a unified JSON envelope. Required: connectionId (number), query (string) unless publish is set. Optional: catalog, namespace, entity, offset, limit (hard max 100), cursor (result.nextCursor from the previous page, Mongo, Elasticsearch and Cassandra), publish (array of message payloads for RabbitMQ). " +
+                        "SQL/CQL: SELECT returns rows; DML (INSERT/UPDATE/DELETE) returns rows_affected column; SQL with RETURNING returns rows. N1QL: N1QL text (Couchbase). Mongo/Elasticsearch: JSON (MQL/DSL). Kafka: JSON {\"partition\",\"fromOffset\",\"count\",\"fromEnd\"}, catalog=topic. Redis: glob pattern (e.g. user:*), catalog=dbIndex. S3: JSON {\"headBytes\",\"format\"}, catalog=bucket, entity=key; gzip/zstd/framed-snappy objects are decompressed on the fly; CSV/TSV return a column grid from the header and JSON/JSONL return flattened columns for the first limit records (format text for raw content); S3 query mode: SELECT cols | * | COUNT(*) FROM 'key' or 'prefix/' [WHERE col op value AND ...] [LIMIT n] scans CSV/JSONL/Parquet locally in parallel (entity not needed); Parquet objects return rows read via ranged footer/column-chunk GETs, JSON {\"columns\":[...],\"where\":\"col >= 10\"} projects columns and skips row groups by min/max statistics. Prometheus: PromQL or JSON range query {\"promql\",\"start\",\"end\",\"step\" (default auto from a point budget),\"downsample\" (none|avg|min|max|lttb),\"format\" (long|wide: one column per series named by its label selector)}; range results are capped by a cell budget (hasMore=true when truncated). Kubernetes: catalog=namespace, entity=pod name for its log tail, or deployment/NAME, statefulset/NAME, selector/k=v,k2=v2 for the logs of all matching pods and containers merged by timestamp (columns time, pod, container, message); query is a substring filter. RabbitMQ peek: count or JSON {\"count\",\"offset\",\"requeue\"}, catalog=vhost, entity=queue, messages are read over AMQP and requeued, offset (first|last|next|number|ISO-8601 time) applies to stream queues, quorum queues are only peeked with requeue=true because it raises their delivery count; publish: publish array, catalog=vhost, entity=queue.";
             case "get-record-detail" ->
                 "Get full detail of a single record/document for point comparison between sources. " +
                         "Required: connectionId (number), entity (string), and an identifier. DocumentId for Mongo/Couchbase; entity as key name for Redis (catalog=dbIndex, default 0). primaryKey and locator reserved for engine-specific point lookup. " +
@@ -98,8 +98,8 @@ public class McpToolRegistry {
             case "describe-entity" ->
                 "Return schema/structure of an entity (table, collection, index, topic, queue, pod). " +
                         "Required: connectionId (number), entity (string — table name, collection name, index name, topic, queue, pod name, etc.). " +
-                        "Optional: catalog (database/keyspace/bucket/vhost/job), namespace (schema/scope/prefix), sampleSize (Mongo only, default 100). " +
-                        "Returns columns, types, PK, FK, indexes, approximate row count. Use before query-data to avoid guessing column names.";
+                        "Optional: catalog (database/keyspace/bucket/vhost/job), namespace (schema/scope/prefix), sampleSize (Mongo/Couchbase random sample, default 100, max 10000). " +
+                        "Returns columns, types, PK, FK, indexes, approximate row count; sampled columns also carry presence ratio and type distribution. Use before query-data to avoid guessing column names.";
             case "resolve-panopticum-link" ->
                 "Resolve a Panopticum UI URL or path into connectionId and MCP scope (catalog, namespace, entity). " +
                         "Required: link (string) — e.g. http://host/postgres/5/mydb/public/users, /postgres/5/mydb, clickhouse/289/log, or breadcrumb copy path PROD/FEED/ClickHouse/log (connection name may contain slashes). " +
@@ -145,21 +145,23 @@ public class McpToolRegistry {
                         "page", Map.of("type", "number", "description", "Page number, default 1"),
                         "size", Map.of("type", "number", "description", "Page size, default 50, max 100"),
                         "sort", Map.of("type", "string", "description", "Sort field"),
-                        "order", Map.of("type", "string", "description", "asc or desc")));
+                        "order", Map.of("type", "string", "description", "asc or desc"),
+                        "cursor", Map.of("type", "string", "description", "S3: pagination.nextCursor from the previous page")));
                 schema.put("required", List.of("connectionId"));
             }
             case "query-data" -> {
-                schema.put("properties", Map.of(
-                        "connectionId", Map.of("type", "number", "description", "Connection ID"),
-                        "query", Map.of("type", "string", "description", "SQL/CQL/N1QL/MQL JSON/ES DSL per dbType; Kafka: JSON opts; Redis: glob pattern; S3: JSON opts; Prometheus: PromQL; RabbitMQ peek: count or JSON count"),
-                        "publish", Map.of("type", "array", "items", Map.of("type", "string"), "description", "RabbitMQ: message payloads to publish (catalog=vhost, entity=queue)"),
-                        "catalog", Map.of("type", "string", "description", "Database/keyspace/bucket/topic/vhost/job"),
-                        "namespace", Map.of("type", "string", "description", "Schema/scope/prefix if applicable"),
-                        "entity", Map.of("type", "string", "description", "Table/collection/index/object key/queue"),
-                        "offset", Map.of("type", "number", "description", "Offset, default 0"),
-                        "limit", Map.of("type", "number", "description", "Limit, default 100, hard max 100"),
-                        "sort", Map.of("type", "string", "description", "Sort column/field"),
-                        "order", Map.of("type", "string", "description", "asc or desc")));
+                schema.put("properties", Map.ofEntries(
+                        Map.entry("connectionId", Map.of("type", "number", "description", "Connection ID")),
+                        Map.entry("query", Map.of("type", "string", "description", "SQL/CQL/N1QL/MQL JSON/ES DSL per dbType; Kafka: JSON opts; Redis: glob pattern; S3: JSON opts or restricted SELECT; Prometheus: PromQL; RabbitMQ peek: count or JSON {count, offset}")),
+                        Map.entry("publish", Map.of("type", "array", "items", Map.of("type", "string"), "description", "RabbitMQ: message payloads to publish (catalog=vhost, entity=queue)")),
+                        Map.entry("catalog", Map.of("type", "string", "description", "Database/keyspace/bucket/topic/vhost/job")),
+                        Map.entry("namespace", Map.of("type", "string", "description", "Schema/scope/prefix if applicable")),
+                        Map.entry("entity", Map.of("type", "string", "description", "Table/collection/index/object key/queue")),
+                        Map.entry("offset", Map.of("type", "number", "description", "Offset, default 0")),
+                        Map.entry("limit", Map.of("type", "number", "description", "Limit, default 100, hard max 100")),
+                        Map.entry("sort", Map.of("type", "string", "description", "Sort column/field")),
+                        Map.entry("order", Map.of("type", "string", "description", "asc or desc")),
+                        Map.entry("cursor", Map.of("type", "string", "description", "Opaque result.nextCursor/prevCursor from a previous call; resumes paging without offset"))));
                 schema.put("required", List.of("connectionId"));
             }
             case "get-record-detail" -> {
@@ -180,7 +182,7 @@ public class McpToolRegistry {
                         "entity", Map.of("type", "string", "description", "Table/collection/index/topic/queue/pod name"),
                         "catalog", Map.of("type", "string", "description", "Database/keyspace/bucket"),
                         "namespace", Map.of("type", "string", "description", "Schema if applicable"),
-                        "sampleSize", Map.of("type", "number", "description", "Sample size for schema inference (Mongo, default 100, max 500)")));
+                        "sampleSize", Map.of("type", "number", "description", "Sample size for schema inference (Mongo $sample / Couchbase sampling scan, default 100, max 10000)")));
                 schema.put("required", List.of("connectionId", "entity"));
             }
             case "resolve-panopticum-link" -> {
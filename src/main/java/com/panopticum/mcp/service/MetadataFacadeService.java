@@ -40,6 +40,7 @@ import com.panopticum.prometheus.service.PrometheusService;
 import com.panopticum.rabbitmq.service.RabbitMqMetadataService;
 import com.panopticum.rabbitmq.model.RabbitMqMessage;
 import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueueStats;
 import com.panopticum.redis.model.RedisDbInfo;
 import com.panopticum.redis.service.RedisMetadataService;
 import com.panopticum.s3.model.S3BucketInfo;
@@ -162,6 +163,11 @@ public class MetadataFacadeService {
     }
 
     public Map<String, Object> listEntities(Long connectionId, String catalog, String namespace, int page, int size, String sort, String order) {
+        return listEntities(connectionId, catalog, namespace, page, size, sort, order, null);
+    }
+
+    public Map<String, Object> listEntities(Long connectionId, String catalog, String namespace, int page, int size, String sort, String order,
+                                            String cursor) {
         Optional<DbConnection> connOpt = dbConnectionService.findById(connectionId);
         if (connOpt.isEmpty()) {
             return errorResult("connection.notFound");
@@ -207,16 +213,16 @@ public class MetadataFacadeService {
                         ? errorResult("kubernetes.namespaceRequired")
                         : toKubernetesPodEntityPage(kubernetesService.listPodsPaged(connectionId, cat, page, size, sort, order), cat);
                 case "redis", "elasticsearch" -> notApplicableResult();
-                case "rabbitmq" -> toRabbitQueueEntityPage(rabbitMqMetadataService.listQueues(connectionId), cat, page, size, sort, order);
+                case "rabbitmq" -> toRabbitQueueEntityPage(rabbitMqMetadataService.listQueueStats(connectionId), cat, page, size, sort, order);
                 case "s3" -> {
                     String bucket = cat;
                     String prefix = ns.isBlank() ? "" : ns;
-                    AccessResult<Page<S3ObjectInfo>> r = s3Service.listObjects(connectionId, bucket, prefix, page, size);
+                    AccessResult<Page<S3ObjectInfo>> r = s3Service.listObjects(connectionId, bucket, prefix, page, size, cursor);
                     yield r.isOk() ? toS3ObjectEntityPage(r.getPayload(), bucket) : errorResult(r.getMessageKey());
                 }
                 case "prometheus" -> {
                     String job = cat.isBlank() ? null : cat;
-                    AccessResult<com.panopticum.core.model.Page<com.panopticum.prometheus.model.PromMetricInfo>> r = prometheusService.listMetrics(connectionId, job, page, size);
+                    AccessResult<com.panopticum.core.model.Page<com.panopticum.prometheus.model.PromMetricInfo>> r = prometheusService.listMetrics(connectionId, job, ns, page, size);
                     yield r.isOk() ? toPromMetricEntityPage(r.getPayload(), cat) : errorResult(r.getMessageKey());
                 }
                 default -> errorResult("Unsupported dbType: " + type);
@@ -229,12 +235,12 @@ public class MetadataFacadeService {
 
     public Optional<QueryResult> executeQuery(Long connectionId, String catalog, String namespace, String entity,
                                               String query, int offset, int effectiveLimit, String sort, String order) {
-        return executeQuery(connectionId, catalog, namespace, entity, query, offset, effectiveLimit, sort, order, List.of());
+        return executeQuery(connectionId, catalog, namespace, entity, query, offset, effectiveLimit, sort, order, List.of(), null);
     }
 
     public Optional<QueryResult> executeQuery(Long connectionId, String catalog, String namespace, String entity,
                                               String query, int offset, int effectiveLimit, String sort, String order,
-                                              List<String> publishPayloads) {
+                                              List<String> publishPayloads, String cursor) {
         int limit = Math.min(effectiveLimit, MCP_QUERY_HARD_LIMIT);
 
         Optional<DbConnection> connOpt = dbConnectionService.findById(connectionId);
@@ -265,8 +271,8 @@ public class MetadataFacadeService {
                     yield oracleMetadataService.executeQuery(connectionId, schema, query, offset, limit, sort != null ? sort : "", order != null ? order : "");
                 }
                 case "clickhouse" -> clickHouseMetadataService.executeQuery(connectionId, cat, query, offset, limit, sort != null ? sort : "", order != null ? order : "");
-                case "mongodb" -> mongoMetadataService.executeQuery(connectionId, cat, entity != null ? entity : "", query != null ? query : "{}", offset, limit, sort != null ? sort : "_id", order != null ? order : "asc");
-                case "cassandra" -> cassandraMetadataService.executeQuery(connectionId, cat, query, offset, limit);
+                case "mongodb" -> mongoMetadataService.executeQuery(connectionId, cat, entity != null ? entity : "", query != null ? query : "{}", offset, limit, sort != null ? sort : "_id", order != null ? order : "asc", cursor);
+                case "cassandra" -> cassandraMetadataService.executeQuery(connectionId, cat, query, offset, limit, true, cursor);
                 case "kafka" -> kafkaService.executeQuery(connectionId, cat, entity, query, offset, limit);
                 case "redis" -> redisMetadataService.executeQuery(connectionId, cat, query, limit);
                 case "elasticsearch" -> {
@@ -275,7 +281,7 @@ public class MetadataFacadeService {
                         yield Optional.of(QueryResult.error("catalog or entity (index name) is required for Elasticsearch"));
                     }
                     String dsl = (query != null && !query.isBlank()) ? query.trim() : "{\"query\":{\"match_all\":{}}}";
-                    yield elasticsearchMetadataService.executeQuery(connectionId, index, dsl, offset, limit);
+                    yield elasticsearchMetadataService.executeQuery(connectionId, index, dsl, offset, limit, cursor);
                 }
                 case "kubernetes" -> {
                     if (cat == null || cat.isBlank()) {
@@ -302,25 +308,43 @@ public class MetadataFacadeService {
                             AccessResult<Page<com.panopticum.kubernetes.model.KubernetesSecretInfo>> r = kubernetesService.listSecretsPaged(connectionId, cat, 1, limit);
                             yield r.isOk() ? Optional.of(kubernetesSecretsToQueryResult(r.getPayload(), filter)) : Optional.of(QueryResult.error(r.getMessageKey()));
                         }
-                        default -> Optional.of(kubernetesService.tailPodLogsForMcp(connectionId, cat, entity, query, offset, limit));
+                        default -> KubernetesService.isWorkloadLogEntity(entity)
+                                ? Optional.of(kubernetesService.workloadLogsForMcp(connectionId, cat, entity, query, offset, limit))
+                                : Optional.of(kubernetesService.tailPodLogsForMcp(connectionId, cat, entity, query, offset, limit));
                     };
                 }
                 case "s3" -> {
                     if (cat == null || cat.isBlank()) {
                         yield Optional.of(QueryResult.error("s3.bucketRequired"));
                     }
+                    if (s3Service.isSelect(query)) {
+                        AccessResult<QueryResult> selected = s3Service.select(connectionId, cat, query, limit);
+                        yield Optional.of(selected.isOk() ? selected.getPayload() : QueryResult.error(selected.getMessageKey()));
+                    }
                     if (entity == null || entity.isBlank()) {
                         yield Optional.of(QueryResult.error("s3.keyRequired"));
                     }
                     int headBytes = 65536;
                     String format = "auto";
+                    List<String> columns = new ArrayList<>();
+                    String where = null;
                     if (query != null && !query.isBlank()) {
                         try {
                             com.fasterxml.jackson.databind.JsonNode q = new com.fasterxml.jackson.databind.ObjectMapper().readTree(query);
                             if (q.has("headBytes")) headBytes = q.get("headBytes").asInt(65536);
                             if (q.has("format")) format = q.get("format").asText("auto");
+                            if (q.has("where")) where = q.get("where").asText("");
+                            if (q.path("columns").isArray()) q.get("columns").forEach(c -> columns.add(c.asText()));
                         } catch (Exception ignored) {}
                     }
+                    if (s3Service.isParquet(format, entity)) {
+                        AccessResult<QueryResult> parquetResult = s3Service.queryParquet(connectionId, cat, entity, columns, where, offset, limit);
+                        yield Optional.of(parquetResult.isOk() ? parquetResult.getPayload() : QueryResult.error(parquetResult.getMessageKey()));
+                    }
+                    if (s3Service.isRecordFormat(format, entity)) {
+                        AccessResult<QueryResult> records = s3Service.previewRecords(connectionId, cat, entity, format, limit);
+                        yield Optional.of(records.isOk() ? records.getPayload() : QueryResult.error(records.getMessageKey()));
+                    }
                     AccessResult<String> peekResult = s3Service.peekObject(connectionId, cat, entity, headBytes, format);
                     if (peekResult.isOk()) {
                         yield Optional.of(new QueryResult(List.of("content"), List.of(List.of(peekResult.getPayload())), null, offset, 1, false));
@@ -339,8 +363,10 @@ public class MetadataFacadeService {
                             String promql = q.path("promql").asText("");
                             String start = q.path("start").asText("");
                             String end = q.path("end").asText("");
-                            String step = q.path("step").asText("60");
-                            r = prometheusService.executeRange(connectionId, promql, start, end, step);
+                            String step = q.path("step").asText("auto");
+                            r = prometheusService.executeRange(connectionId, promql, start, end, step,
+                                    prometheusService.rangeOptions(q.path("downsample").asText("none"),
+                                            q.path("format").asText("long"), true));
                         } catch (Exception e) {
                             r = prometheusService.executeInstant(connectionId, rawQuery);
                         }
@@ -362,8 +388,11 @@ public class MetadataFacadeService {
                         yield legacyPublish;
                     }
                     int count = parseRabbitMessageCount(query, limit);
-                    List<RabbitMqMessage> messages = rabbitMqMetadataService.peekMessages(connectionId, vhost, entity, count);
-                    yield Optional.of(rabbitMessagesToQueryResult(messages, offset, count));
+                    AccessResult<List<RabbitMqMessage>> messages = rabbitMqMetadataService.peekMessages(connectionId, vhost,
+                            entity, count, parseRabbitStreamOffset(query), false, parseRabbitRequeue(query));
+                    yield Optional.of(messages.isOk()
+                            ? rabbitMessagesToQueryResult(messages.getPayload(), offset, count)
+                            : QueryResult.error(messages.getMessageKey()));
                 }
                 default -> Optional.empty();
             };
@@ -787,18 +816,25 @@ public class MetadataFacadeService {
         Map<String, Object> out = new HashMap<>();
         out.put("items", items);
         out.put("scope", Map.of("catalog", bucket != null ? bucket : "", "namespace", ""));
-        out.put("pagination", Map.of("page", page.getPage(), "size", page.getSize(), "hasMore", page.isHasMore()));
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("page", page.getPage());
+        pagination.put("size", page.getSize());
+        pagination.put("hasMore", page.isHasMore());
+        if (page.getNextCursor() != null) {
+            pagination.put("nextCursor", page.getNextCursor());
+        }
+        out.put("pagination", pagination);
         return out;
     }
 
-    private Map<String, Object> toRabbitQueueEntityPage(List<RabbitMqQueueInfo> queues, String vhost, int page, int size, String sort, String order) {
-        List<RabbitMqQueueInfo> filtered = queues.stream()
+    private Map<String, Object> toRabbitQueueEntityPage(List<RabbitMqQueueStats> queues, String vhost, int page, int size, String sort, String order) {
+        List<RabbitMqQueueStats> filtered = queues.stream()
                 .filter(q -> vhost == null || vhost.isBlank() || vhost.equals(q.getVhost()))
                 .sorted(rabbitQueueComparator(sort, order))
                 .toList();
-        Page<RabbitMqQueueInfo> pageResult = Page.of(filtered, page, size, sort != null ? sort : "name", order != null ? order : "asc");
+        Page<RabbitMqQueueStats> pageResult = Page.of(filtered, page, size, sort != null ? sort : "name", order != null ? order : "asc");
         List<Map<String, Object>> items = new ArrayList<>();
-        for (RabbitMqQueueInfo queue : pageResult.getItems()) {
+        for (RabbitMqQueueStats queue : pageResult.getItems()) {
             Map<String, Object> m = new HashMap<>();
             m.put("name", queue.getName());
             m.put("kind", "queue");
@@ -807,6 +843,11 @@ public class MetadataFacadeService {
             m.put("messagesReady", queue.getMessagesReady());
             m.put("messagesUnacknowledged", queue.getMessagesUnacknowledged());
             m.put("consumers", queue.getConsumers());
+            m.put("publishRate", queue.getPublishRate());
+            m.put("deliverRate", queue.getDeliverRate());
+            m.put("depthHistory", queue.getDepthHistory());
+            m.put("depthSparkline", queue.getDepthSparkline());
+            m.put("publishSparkline", queue.getPublishSparkline());
             items.add(m);
         }
         Map<String, Object> out = new HashMap<>();
@@ -826,6 +867,8 @@ public class MetadataFacadeService {
             row.put("name", m.getName());
             row.put("kind", "metric");
             row.put("job", m.getJob());
+            row.put("type", m.getType());
+            row.put("help", m.getHelp());
             items.add(row);
         }
         Map<String, Object> out = new HashMap<>();
@@ -907,14 +950,39 @@ public class MetadataFacadeService {
         }
     }
 
-    private static java.util.Comparator<RabbitMqQueueInfo> rabbitQueueComparator(String sort, String order) {
+    private boolean parseRabbitRequeue(String query) {
+        if (query == null || query.isBlank() || !query.trim().startsWith("{")) {
+            return false;
+        }
+        try {
+            return objectMapper.readTree(query.trim()).path("requeue").asBoolean(false);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String parseRabbitStreamOffset(String query) {
+        if (query == null || query.isBlank() || !query.trim().startsWith("{")) {
+            return null;
+        }
+        try {
+            JsonNode offset = objectMapper.readTree(query.trim()).path("offset");
+            return offset.isMissingNode() || offset.isNull() ? null : offset.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static java.util.Comparator<RabbitMqQueueStats> rabbitQueueComparator(String sort, String order) {
         boolean desc = "desc".equalsIgnoreCase(order);
-        java.util.Comparator<RabbitMqQueueInfo> comparator = switch (sort != null ? sort : "name") {
+        java.util.Comparator<RabbitMqQueueStats> comparator = switch (sort != null ? sort : "name") {
             case "vhost" -> java.util.Comparator.comparing(q -> q.getVhost() != null ? q.getVhost() : "");
             case "messages" -> java.util.Comparator.comparing(q -> q.getMessages() != null ? q.getMessages() : 0L);
             case "messagesReady" -> java.util.Comparator.comparing(q -> q.getMessagesReady() != null ? q.getMessagesReady() : 0L);
             case "messagesUnacknowledged" -> java.util.Comparator.comparing(q -> q.getMessagesUnacknowledged() != null ? q.getMessagesUnacknowledged() : 0L);
             case "consumers" -> java.util.Comparator.comparing(q -> q.getConsumers() != null ? q.getConsumers() : 0);
+            case "publishRate" -> java.util.Comparator.comparing(q -> q.getPublishRate() != null ? q.getPublishRate() : 0d);
+            case "deliverRate" -> java.util.Comparator.comparing(q -> q.getDeliverRate() != null ? q.getDeliverRate() : 0d);
             default -> java.util.Comparator.comparing(q -> q.getName() != null ? q.getName() : "", String.CASE_INSENSITIVE_ORDER);
         };
         return desc ? comparator.reversed() : comparator;
@@ -1035,7 +1103,7 @@ public class MetadataFacadeService {
                         .map(d -> withConnectionId(d, connectionId, type));
                 case "h2", "hsqldb", "derby" -> lightJdbcMetadataService.describeEntity(connectionId, cat, ns, entity)
                         .map(d -> withConnectionId(d, connectionId, type));
-                case "couchbase" -> couchbaseMetadataService.describeCollection(connectionId, cat, ns, entity)
+                case "couchbase" -> couchbaseMetadataService.describeCollection(connectionId, cat, ns, entity, sampleSize)
                         .map(d -> withConnectionId(d, connectionId, type));
                 case "mysql" -> mySqlMetadataService.describeEntity(connectionId, cat, entity)
                         .map(d -> withConnectionId(d, connectionId, type));
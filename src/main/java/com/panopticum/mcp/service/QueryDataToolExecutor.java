@@ -54,6 +54,7 @@ public class QueryDataToolExecutor implements McpToolExecutor {
         int effectiveLimit = Math.min(Math.max(1, requestedLimit), HARD_LIMIT);
         String sort = args.get("sort") != null ? args.get("sort").toString() : null;
         String order = args.get("order") != null ? args.get("order").toString() : null;
+        String cursor = args.get("cursor") != null ? args.get("cursor").toString() : null;
 
         String dbType = metadataFacadeService.getDbType(connectionId);
         if (dbType == null) {
@@ -66,7 +67,7 @@ public class QueryDataToolExecutor implements McpToolExecutor {
         }
 
         Optional<QueryResult> qrOpt = metadataFacadeService.executeQuery(
-                connectionId, catalog, namespace, entity, query, offset, effectiveLimit, sort, order, publishPayloads);
+                connectionId, catalog, namespace, entity, query, offset, effectiveLimit, sort, order, publishPayloads, cursor);
 
         if (qrOpt.isEmpty()) {
             return error("error.queryExecutionFailed");
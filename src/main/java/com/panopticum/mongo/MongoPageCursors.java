@@ -0,0 +1,146 @@
+package com.panopticum.mongo;
+
+import lombok.experimental.UtilityClass;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+@UtilityClass
+public class MongoPageCursors {
+
+    private static final JsonWriterSettings EXTENDED_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] MAC_KEY = macKey();
+
+    public enum RangeMode {
+        ID,
+        UNIQUE,
+        COMPOUND,
+        SKIP
+    }
+
+    public record Position(String sortKey, int direction, RangeMode mode, boolean before,
+                           Object sortValue, Object id, int offset) {
+    }
+
+    public Optional<Position> decode(String token, String namespace) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = token.trim().split("\\.", 2);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[0]);
+            if (!MessageDigest.isEqual(sign(payload), Base64.getUrlDecoder().decode(parts[1]))) {
+                return Optional.empty();
+            }
+            Document doc = Document.parse(new String(payload, StandardCharsets.UTF_8));
+            if (!namespace.equals(doc.getString("n"))) {
+                return Optional.empty();
+            }
+            String key = doc.getString("k");
+            RangeMode mode = RangeMode.valueOf(doc.getString("m"));
+            if (key == null || key.isBlank() || mode == RangeMode.SKIP) {
+                return Optional.empty();
+            }
+            int direction = doc.getInteger("d", 1) == -1 ? -1 : 1;
+            return Optional.of(new Position(key, direction, mode, doc.getBoolean("b", false),
+                    doc.get("v"), doc.get("i"), Math.max(0, doc.getInteger("o", 0))));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public String after(String namespace, Document last, String sortKey, int direction, RangeMode mode, int offset) {
+        return boundary(namespace, last, sortKey, direction, mode, false, offset);
+    }
+
+    public String before(String namespace, Document first, String sortKey, int direction, RangeMode mode, int offset) {
+        return boundary(namespace, first, sortKey, direction, mode, true, offset);
+    }
+
+    public Document sortSpec(String sortKey, int direction, RangeMode mode) {
+        return switch (mode) {
+            case ID -> new Document("_id", direction);
+            case COMPOUND -> new Document(sortKey, direction).append("_id", direction);
+            case UNIQUE, SKIP -> new Document(sortKey, direction);
+        };
+    }
+
+    public Bson rangeFilter(Position position) {
+        String op = (position.direction() == 1) != position.before() ? "$gt" : "$lt";
+        return switch (position.mode()) {
+            case ID -> new Document("_id", new Document(op, position.id()));
+            case UNIQUE -> new Document(position.sortKey(), new Document(op, position.sortValue()));
+            case COMPOUND -> new Document("$or", List.of(
+                    new Document(position.sortKey(), new Document(op, position.sortValue())),
+                    new Document(position.sortKey(), position.sortValue()).append("_id", new Document(op, position.id()))));
+            case SKIP -> new Document();
+        };
+    }
+
+    private String boundary(String namespace, Document doc, String sortKey, int direction, RangeMode mode, boolean before,
+                            int offset) {
+        if (doc == null || mode == RangeMode.SKIP) {
+            return null;
+        }
+        Object id = doc.get("_id");
+        Object value = mode == RangeMode.ID ? id : valueAt(doc, sortKey);
+        if (id == null || value == null) {
+            return null;
+        }
+        Document payload = new Document("n", namespace)
+                .append("k", sortKey)
+                .append("d", direction)
+                .append("m", mode.name())
+                .append("b", before)
+                .append("v", mode == RangeMode.ID ? null : value)
+                .append("i", id)
+                .append("o", Math.max(0, offset));
+        try {
+            byte[] bytes = payload.toJson(EXTENDED_JSON).getBytes(StandardCharsets.UTF_8);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+            return encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(MAC_KEY, MAC_ALGORITHM));
+
+        return mac.doFinal(payload);
+    }
+
+    private byte[] macKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        return key;
+    }
+
+    private Object valueAt(Document doc, String path) {
+        Object current = doc;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Document d)) {
+                return null;
+            }
+            current = d.get(part);
+        }
+        return current;
+    }
+}
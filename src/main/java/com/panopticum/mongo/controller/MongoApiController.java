@@ -98,7 +98,7 @@ public class MongoApiController extends AbstractConnectionApiController {
         int limit = ApiQueryParams.normalizedLimit(request.getLimit());
         String sortVal = request.getSort() != null && !request.getSort().isBlank() ? request.getSort() : "_id";
         String orderVal = request.getOrder() != null && !request.getOrder().isBlank() ? request.getOrder() : "asc";
-        return mongoMetadataService.executeQuery(id, request.getDbName(), request.getCollection(), queryText, offset, limit, sortVal, orderVal)
+        return mongoMetadataService.executeQuery(id, request.getDbName(), request.getCollection(), queryText, offset, limit, sortVal, orderVal, request.getCursor())
                 .orElse(QueryResult.error(ApiErrors.QUERY_EXECUTION_FAILED));
     }
 
@@ -126,8 +126,9 @@ public class MongoController {
                                             @QueryValue(value = "offset", defaultValue = "0") Integer offset,
                                             @QueryValue(value = "limit", defaultValue = "100") Integer limit,
                                             @QueryValue(value = "sort", defaultValue = "_id") String sort,
-                                            @QueryValue(value = "order", defaultValue = "asc") String order) {
-        return buildQueryPageModel(id, dbName, collection, query, offset, limit, sort, order);
+                                            @QueryValue(value = "order", defaultValue = "asc") String order,
+                                            @Nullable @QueryValue("cursor") String cursor) {
+        return buildQueryPageModel(id, dbName, collection, query, offset, limit, sort, order, cursor);
     }
 
     @Produces(MediaType.TEXT_HTML)
@@ -136,12 +137,12 @@ public class MongoController {
     @View("mongo/query")
     public Map<String, Object> queryPagePost(@PathVariable Long id, @PathVariable String dbName, @PathVariable String collection,
                                              @Nullable String query, @Nullable Integer offset, @Nullable Integer limit,
-                                             @Nullable String sort, @Nullable String order) {
-        return buildQueryPageModel(id, dbName, collection, query, offset, limit, sort, order);
+                                             @Nullable String sort, @Nullable String order, @Nullable String cursor) {
+        return buildQueryPageModel(id, dbName, collection, query, offset, limit, sort, order, cursor);
     }
 
     private Map<String, Object> buildQueryPageModel(Long id, String dbName, String collection, String query,
-                                                    Integer offset, Integer limit, String sort, String order) {
+                                                    Integer offset, Integer limit, String sort, String order, String cursor) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -185,7 +186,7 @@ public class MongoController {
             model.put("toRow", 0);
         } else {
             String queryText = query != null && !query.isBlank() ? query : "{}";
-            var result = mongoMetadataService.executeQuery(id, dbName, collection, queryText, off, lim, sortVal, orderVal)
+            var result = mongoMetadataService.executeQuery(id, dbName, collection, queryText, off, lim, sortVal, orderVal, cursor)
                     .orElse(QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED));
             QueryResultModelHelper.putQueryResult(model, result, sortVal, orderVal);
         }
@@ -303,7 +304,8 @@ public class MongoController {
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @Produces(MediaType.TEXT_HTML)
     public Object executeQuery(@PathVariable Long id, String dbName, String collection, String query,
-                               @Nullable Integer offset, @Nullable Integer limit, @Nullable String sort, @Nullable String order, String target) {
+                               @Nullable Integer offset, @Nullable Integer limit, @Nullable String sort, @Nullable String order,
+                               @Nullable String cursor, String target) {
         Map<String, Object> model = new HashMap<>();
         model.put("connectionId", id);
         model.put("dbName", dbName);
@@ -325,7 +327,7 @@ public class MongoController {
         String queryText = query != null && !query.isBlank() ? query : "{}";
         int off = offset != null ? Math.max(0, offset) : 0;
         int lim = limit != null && limit > 0 ? limit : 100;
-        var result = mongoMetadataService.executeQuery(id, dbName, collection, queryText, off, lim, sortVal, orderVal)
+        var result = mongoMetadataService.executeQuery(id, dbName, collection, queryText, off, lim, sortVal, orderVal, cursor)
                 .orElse(QueryResult.error(ErrorKeys.QUERY_EXECUTION_FAILED));
         QueryResultModelHelper.putQueryResult(model, result, sortVal, orderVal);
         model.put("query", queryText);
@@ -32,4 +32,7 @@ public class MongoQueryRequest {
 
     @Schema(description = "Sort order: asc, desc")
     private String order = "asc";
+
+    @Schema(description = "Opaque cursor from nextCursor/prevCursor of a previous result; takes precedence over offset")
+    private String cursor;
 }
@@ -1,18 +1,22 @@
 package com.panopticum.mongo.repository;
 
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
 import com.panopticum.core.error.ConnectionSupport;
 import com.panopticum.core.error.MetadataAccessException;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.service.DbConnectionService;
+import com.panopticum.core.util.FieldTypeHistogram;
 import com.panopticum.core.util.SizeFormatter;
-import com.panopticum.core.model.ColumnInfo;
 import com.panopticum.core.model.EntityDescription;
 import com.panopticum.mongo.model.MongoCollectionInfo;
 import com.panopticum.core.model.DatabaseInfo;
+import com.panopticum.mongo.MongoPageCursors;
 import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
@@ -24,8 +28,8 @@ import org.bson.types.ObjectId;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -46,6 +50,9 @@ public class MongoMetadataRepository {
     @Value("${panopticum.limits.collections:500}")
     private int collectionsLimit;
 
+    @Value("${panopticum.limits.schema-sample:10000}")
+    private int schemaSampleLimit;
+
     public Optional<MongoClient> createClient(Long connectionId) {
         return dbConnectionService.findById(connectionId)
                 .filter(c -> "mongodb".equalsIgnoreCase(c.getType()))
@@ -143,57 +150,139 @@ public class MongoMetadataRepository {
         }
     }
 
-    public List<Document> findDocuments(Long connectionId, String dbName, String collectionName,
-                                        Bson filter, int offset, int limit, String sortField, int sortDirection) {
+    public DocumentPage findDocuments(Long connectionId, String dbName, String collectionName, Bson filter,
+                                      int offset, int limit, String sortField, int sortDirection, String cursor) {
         if (dbName == null || dbName.isBlank() || collectionName == null || collectionName.isBlank()) {
-            return List.of();
+            return DocumentPage.empty(offset);
         }
         try (MongoClient client = ConnectionSupport.require(createClient(connectionId))) {
             MongoCollection<Document> collection = client.getDatabase(dbName).getCollection(collectionName);
             int lim = Math.min(limit, queryRowsLimit);
             String sortKey = sortField != null && !sortField.isBlank() ? sortField : "_id";
             int dir = (sortDirection == -1) ? -1 : 1;
-            return collection.find(filter).sort(new Document(sortKey, dir)).skip(offset).limit(lim + 1).into(new ArrayList<>());
+            return findPage(collection, filter, offset, lim, sortKey, dir, cursor);
         } catch (Exception e) {
             log.warn("findDocuments failed: {}", e.getMessage());
             throw new MetadataAccessException(e.getMessage(), e);
         }
     }
 
-    public List<Document> findAllDocuments(Long connectionId, String dbName, String collectionName,
-                                           int offset, int limit, String sortField, int sortDirection) {
+    public DocumentPage findAllDocuments(Long connectionId, String dbName, String collectionName,
+                                         int offset, int limit, String sortField, int sortDirection, String cursor) {
         if (dbName == null || dbName.isBlank() || collectionName == null || collectionName.isBlank()) {
-            return List.of();
+            return DocumentPage.empty(offset);
         }
         try (MongoClient client = ConnectionSupport.require(createClient(connectionId))) {
             MongoCollection<Document> collection = client.getDatabase(dbName).getCollection(collectionName);
             int lim = Math.min(limit, queryRowsLimit);
             String sortKey = sortField != null && !sortField.isBlank() ? sortField : "_id";
             int dir = (sortDirection == -1) ? -1 : 1;
-            return collection.find().sort(new Document(sortKey, dir)).skip(offset).limit(lim + 1).into(new ArrayList<>());
+            return findPage(collection, new Document(), offset, lim, sortKey, dir, cursor);
         } catch (Exception e) {
             log.warn("findAllDocuments failed: {}", e.getMessage());
             throw new MetadataAccessException(e.getMessage(), e);
         }
     }
 
-    public List<Document> aggregateDocuments(Long connectionId, String dbName, String collectionName,
-                                             List<Bson> pipeline, int offset, int limit) {
+    public DocumentPage aggregateDocuments(Long connectionId, String dbName, String collectionName,
+                                           List<Bson> pipeline, int offset, int limit) {
         if (dbName == null || dbName.isBlank() || collectionName == null || collectionName.isBlank()) {
-            return List.of();
+            return DocumentPage.empty(offset);
         }
         try (MongoClient client = ConnectionSupport.require(createClient(connectionId))) {
             MongoCollection<Document> collection = client.getDatabase(dbName).getCollection(collectionName);
             List<Bson> withLimit = new ArrayList<>(pipeline);
             withLimit.add(new Document("$skip", offset));
             withLimit.add(new Document("$limit", limit + 1));
-            return collection.aggregate(withLimit).into(new ArrayList<>());
+            return DocumentPage.fromOverfetch(collection.aggregate(withLimit).into(new ArrayList<>()), offset, limit);
         } catch (Exception e) {
             log.warn("aggregateDocuments failed: {}", e.getMessage());
             throw new MetadataAccessException(e.getMessage(), e);
         }
     }
 
+    private DocumentPage findPage(MongoCollection<Document> collection, Bson filter, int offset, int lim,
+                                  String sortKey, int dir, String cursor) {
+        String namespace = collection.getNamespace().getFullName();
+        Optional<MongoPageCursors.Position> position = MongoPageCursors.decode(cursor, namespace)
+                .filter(p -> p.sortKey().equals(sortKey) && p.direction() == dir);
+        MongoPageCursors.RangeMode mode = position.map(MongoPageCursors.Position::mode)
+                .orElseGet(() -> rangeModeFor(collection, sortKey));
+        if (mode == MongoPageCursors.RangeMode.SKIP) {
+            List<Document> docs = collection.find(filter).sort(MongoPageCursors.sortSpec(sortKey, dir, mode))
+                    .skip(offset).limit(lim + 1).into(new ArrayList<>());
+            return DocumentPage.fromOverfetch(docs, offset, lim);
+        }
+
+        boolean before = position.map(MongoPageCursors.Position::before).orElse(false);
+        Bson query = position.map(p -> Filters.and(filter, MongoPageCursors.rangeFilter(p))).orElse(filter);
+        FindIterable<Document> find = collection.find(query)
+                .sort(MongoPageCursors.sortSpec(sortKey, before ? -dir : dir, mode));
+        if (position.isEmpty() && offset > 0) {
+            find = find.skip(offset);
+        }
+        List<Document> docs = find.limit(lim + 1).into(new ArrayList<>());
+        boolean overflow = docs.size() > lim;
+        List<Document> page = new ArrayList<>(overflow ? docs.subList(0, lim) : docs);
+        if (before) {
+            Collections.reverse(page);
+        }
+
+        int pageOffset = position.map(MongoPageCursors.Position::offset).orElse(offset);
+        if (before && !overflow) {
+            pageOffset = 0;
+        }
+        boolean hasMore = before || overflow;
+        boolean hasPrev = before ? overflow : pageOffset > 0;
+        String next = hasMore && !page.isEmpty()
+                ? MongoPageCursors.after(namespace, page.get(page.size() - 1), sortKey, dir, mode, pageOffset + page.size())
+                : null;
+        String prev = hasPrev && !page.isEmpty()
+                ? MongoPageCursors.before(namespace, page.get(0), sortKey, dir, mode, Math.max(0, pageOffset - lim))
+                : null;
+        return new DocumentPage(page, pageOffset, hasMore, next, prev);
+    }
+
+    private MongoPageCursors.RangeMode rangeModeFor(MongoCollection<Document> collection, String sortKey) {
+        if ("_id".equals(sortKey)) {
+            return MongoPageCursors.RangeMode.ID;
+        }
+        try {
+            for (Document index : collection.listIndexes()) {
+                Document key = index.get("key", Document.class);
+                if (key == null || !(key.get(sortKey) instanceof Number sortSign)) {
+                    continue;
+                }
+                List<String> fields = new ArrayList<>(key.keySet());
+                if (!sortKey.equals(fields.get(0))) {
+                    continue;
+                }
+                if (fields.size() == 1 && Boolean.TRUE.equals(index.getBoolean("unique"))) {
+                    return MongoPageCursors.RangeMode.UNIQUE;
+                }
+                if (fields.size() > 1 && "_id".equals(fields.get(1)) && key.get("_id") instanceof Number idSign
+                        && Math.signum(sortSign.doubleValue()) == Math.signum(idSign.doubleValue())) {
+                    return MongoPageCursors.RangeMode.COMPOUND;
+                }
+            }
+        } catch (Exception e) {
+            log.debug("listIndexes for {} failed: {}", collection.getNamespace(), e.getMessage());
+        }
+        return MongoPageCursors.RangeMode.SKIP;
+    }
+
+    public record DocumentPage(List<Document> documents, int offset, boolean hasMore, String nextCursor, String prevCursor) {
+
+        public static DocumentPage empty(int offset) {
+            return new DocumentPage(List.of(), offset, false, null, null);
+        }
+
+        public static DocumentPage fromOverfetch(List<Document> docs, int offset, int limit) {
+            boolean hasMore = docs.size() > limit;
+            return new DocumentPage(hasMore ? docs.subList(0, limit) : docs, offset, hasMore, null, null);
+        }
+    }
+
     public Optional<Document> getDocument(Long connectionId, String dbName, String collectionName, String docId) {
         if (docId == null || docId.isBlank() || collectionName == null || collectionName.isBlank()
                 || dbName == null || dbName.isBlank()) {
@@ -252,27 +341,23 @@ public class MongoMetadataRepository {
         try (MongoClient client = ConnectionSupport.require(createClient(connectionId))) {
             MongoDatabase db = client.getDatabase(dbName);
             MongoCollection<Document> collection = db.getCollection(collectionName);
-            int n = Math.min(Math.max(1, sampleSize), 500);
-            List<Document> samples = new ArrayList<>();
-            collection.find().limit(n).forEach(samples::add);
-
-            Map<String, String> inferredTypes = new java.util.LinkedHashMap<>();
-            for (Document doc : samples) {
-                for (Map.Entry<String, Object> entry : doc.entrySet()) {
-                    inferredTypes.putIfAbsent(entry.getKey(), inferMongoType(entry.getValue()));
-                }
-            }
+            int n = Math.min(Math.max(1, sampleSize), schemaSampleLimit);
+            List<Bson> pipeline = List.of(
+                    new Document("$sample", new Document("size", n)),
+                    new Document("$project", new Document("_id", 0)
+                            .append("f", new Document("$map", new Document("input", new Document("$objectToArray", "$$ROOT"))
+                                    .append("as", "e")
+                                    .append("in", new Document("k", "$$e.k").append("t", new Document("$type", "$$e.v")))))));
 
-            List<ColumnInfo> columns = new ArrayList<>();
-            int pos = 1;
-            for (Map.Entry<String, String> entry : inferredTypes.entrySet()) {
-                columns.add(ColumnInfo.builder()
-                        .name(entry.getKey())
-                        .type(entry.getValue())
-                        .nullable(!"_id".equals(entry.getKey()))
-                        .primaryKey("_id".equals(entry.getKey()))
-                        .position(pos++)
-                        .build());
+            FieldTypeHistogram histogram = new FieldTypeHistogram();
+            try (MongoCursor<Document> cursor = collection.aggregate(pipeline).allowDiskUse(true).batchSize(1000).iterator()) {
+                while (cursor.hasNext()) {
+                    histogram.nextSample();
+                    List<Document> fields = cursor.next().getList("f", Document.class, List.of());
+                    for (Document field : fields) {
+                        histogram.add(field.getString("k"), normalizeBsonType(field.getString("t")));
+                    }
+                }
             }
 
             long count = collection.estimatedDocumentCount();
@@ -282,13 +367,13 @@ public class MongoMetadataRepository {
                     .catalog(dbName)
                     .namespace(null)
                     .entity(collectionName)
-                    .columns(columns)
+                    .columns(histogram.toColumns("_id", null))
                     .primaryKey(List.of("_id"))
                     .foreignKeys(List.of())
                     .indexes(List.of())
                     .approximateRowCount(count)
                     .inferredFromSample(true)
-                    .notes(List.of("Schema inferred from " + samples.size() + " sample documents."))
+                    .notes(List.of("Schema inferred from " + histogram.getSamples() + " randomly sampled documents ($sample)."))
                     .build());
         } catch (Exception e) {
             log.warn("describeCollection failed for {}.{}: {}", dbName, collectionName, e.getMessage());
@@ -296,17 +381,16 @@ public class MongoMetadataRepository {
         }
     }
 
-    private static String inferMongoType(Object value) {
-        if (value == null) return "null";
-        if (value instanceof org.bson.types.ObjectId) return "ObjectId";
-        if (value instanceof Boolean) return "boolean";
-        if (value instanceof Integer) return "int32";
-        if (value instanceof Long) return "int64";
-        if (value instanceof Double) return "double";
-        if (value instanceof String) return "string";
-        if (value instanceof java.util.Date) return "date";
-        if (value instanceof Document) return "object";
-        if (value instanceof java.util.List) return "array";
-        return value.getClass().getSimpleName().toLowerCase();
+    private static String normalizeBsonType(String alias) {
+        if (alias == null) {
+            return "null";
+        }
+        return switch (alias) {
+            case "objectId" -> "ObjectId";
+            case "bool" -> "boolean";
+            case "int" -> "int32";
+            case "long" -> "int64";
+            default -> alias;
+        };
     }
 }
@@ -98,6 +98,11 @@ public class MongoMetadataService {
 
     public Optional<QueryResult> executeQuery(Long connectionId, String dbName, String collectionName, String queryText,
                                               int offset, int limit, String sort, String order) {
+        return executeQuery(connectionId, dbName, collectionName, queryText, offset, limit, sort, order, null);
+    }
+
+    public Optional<QueryResult> executeQuery(Long connectionId, String dbName, String collectionName, String queryText,
+                                              int offset, int limit, String sort, String order, String cursor) {
         if (collectionName == null || collectionName.isBlank()) {
             return Optional.of(QueryResult.error("error.specifyCollection"));
         }
@@ -111,21 +116,21 @@ public class MongoMetadataService {
         int sortDirection = "desc".equalsIgnoreCase(order) ? -1 : 1;
 
         if (trimmed.isEmpty() || "{}".equals(trimmed)) {
-            List<Document> docs = mongoMetadataRepository.findAllDocuments(connectionId, dbName, collectionName, off, lim, sortField, sortDirection);
-            return Optional.of(documentsToQueryResult(docs, lim, off));
+            MongoMetadataRepository.DocumentPage page = mongoMetadataRepository.findAllDocuments(connectionId, dbName, collectionName, off, lim, sortField, sortDirection, cursor);
+            return Optional.of(documentsToQueryResult(page, lim));
         }
         if (trimmed.startsWith("[")) {
             List<Bson> pipeline = parsePipeline(trimmed);
             if (pipeline.isEmpty()) {
                 return Optional.of(QueryResult.error("error.invalidPipelineFormat"));
             }
-            List<Document> docs = mongoMetadataRepository.aggregateDocuments(connectionId, dbName, collectionName, pipeline, off, lim);
-            return Optional.of(documentsToQueryResult(docs, lim, off));
+            MongoMetadataRepository.DocumentPage page = mongoMetadataRepository.aggregateDocuments(connectionId, dbName, collectionName, pipeline, off, lim);
+            return Optional.of(documentsToQueryResult(page, lim));
         }
         try {
             Bson filter = Document.parse(trimmed);
-            List<Document> docs = mongoMetadataRepository.findDocuments(connectionId, dbName, collectionName, filter, off, lim, sortField, sortDirection);
-            return Optional.of(documentsToQueryResult(docs, lim, off));
+            MongoMetadataRepository.DocumentPage page = mongoMetadataRepository.findDocuments(connectionId, dbName, collectionName, filter, off, lim, sortField, sortDirection, cursor);
+            return Optional.of(documentsToQueryResult(page, lim));
         } catch (Exception e) {
             return Optional.of(QueryResult.error(e.getMessage()));
         }
@@ -160,14 +165,13 @@ public class MongoMetadataService {
         return result;
     }
 
-    private QueryResult documentsToQueryResult(List<Document> docs, int limit, int offset) {
+    private QueryResult documentsToQueryResult(MongoMetadataRepository.DocumentPage page, int limit) {
+        List<Document> rowsDocs = page.documents();
         LinkedHashSet<String> columns = new LinkedHashSet<>();
-        for (Document doc : docs) {
+        for (Document doc : rowsDocs) {
             columns.addAll(doc.keySet());
         }
         List<String> columnList = new ArrayList<>(columns);
-        boolean hasMore = docs.size() > limit;
-        List<Document> rowsDocs = hasMore ? docs.subList(0, limit) : docs;
         List<List<Object>> rows = new ArrayList<>();
         List<String> docIds = new ArrayList<>();
         for (Document doc : rowsDocs) {
@@ -179,7 +183,8 @@ public class MongoMetadataService {
             Object idVal = doc.get("_id");
             docIds.add(idVal instanceof ObjectId ? ((ObjectId) idVal).toHexString() : (idVal != null ? idVal.toString() : ""));
         }
-        return new QueryResult(columnList, null, rows, docIds, null, offset, limit, hasMore);
+        return new QueryResult(columnList, null, rows, docIds, null, page.offset(), limit, page.hasMore(),
+                page.nextCursor(), page.prevCursor());
     }
 
     public Optional<Document> getDocument(Long connectionId, String dbName, String collectionName, String docId) {
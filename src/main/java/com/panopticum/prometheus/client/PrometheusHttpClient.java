@@ -0,0 +1,108 @@
+package com.panopticum.prometheus.client;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Singleton
+public class PrometheusHttpClient {
+
+    private final Map<CallKey, CompletableFuture<HttpResponse<String>>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.prometheus.http.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.prometheus.http.request-timeout:15s}")
+    private Duration requestTimeout;
+
+    @Value("${panopticum.prometheus.http.threads:4}")
+    private int threads;
+
+    private ExecutorService executor;
+    private HttpClient client;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    void stop() {
+        inFlight.values().forEach(call -> call.cancel(true));
+        executor.shutdownNow();
+    }
+
+    public HttpResponse<String> get(String url, String username, String password) throws Exception {
+        CallKey key = new CallKey(url, username, password);
+        CompletableFuture<HttpResponse<String>> created = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            client.sendAsync(request(url, username, password), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .whenComplete((response, error) -> {
+                        inFlight.remove(key, created);
+                        if (error != null) {
+                            created.completeExceptionally(error);
+                        } else {
+                            created.complete(response);
+                        }
+                    });
+        } else {
+            log.debug("Prometheus request coalesced: {}", url);
+        }
+        try {
+            return (existing != null ? existing : created).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private HttpRequest request(String url, String username, String password) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (username != null && !username.isBlank()) {
+            String encoded = Base64.getEncoder().encodeToString((username + ":" + (password != null ? password : "")).getBytes(StandardCharsets.UTF_8));
+            builder.header("Authorization", "Basic " + encoded);
+        } else if (password != null && !password.isBlank()) {
+            builder.header("Authorization", "Bearer " + password);
+        }
+        return builder.build();
+    }
+
+    private record CallKey(String url, String username, String password) {
+    }
+}
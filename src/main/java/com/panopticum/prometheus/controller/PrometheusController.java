@@ -47,6 +47,7 @@ public class PrometheusController {
     @View("prometheus/metrics")
     public Map<String, Object> metrics(@PathVariable Long id,
             @QueryValue(value = "job", defaultValue = "") String job,
+            @QueryValue(value = "search", defaultValue = "") String search,
             @QueryValue(value = "page", defaultValue = "1") int page,
             @QueryValue(value = "size", defaultValue = "50") int size) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
@@ -56,6 +57,7 @@ public class PrometheusController {
         }
         model.put("connectionId", id);
         model.put("selectedJob", job);
+        model.put("search", search);
 
         AccessResult<List<String>> jobsResult = prometheusService.listJobs(id);
         if (jobsResult.isOk()) {
@@ -65,7 +67,7 @@ public class PrometheusController {
             model.put("jobs", List.of());
         }
 
-        AccessResult<Page<PromMetricInfo>> metricsResult = prometheusService.listMetrics(id, job.isBlank() ? null : job, page, size);
+        AccessResult<Page<PromMetricInfo>> metricsResult = prometheusService.listMetrics(id, job.isBlank() ? null : job, search, page, size);
         if (metricsResult.isOk()) {
             ControllerModelHelper.addPagination(model, metricsResult.getPayload(), "metrics");
         } else {
@@ -84,7 +86,9 @@ public class PrometheusController {
             @QueryValue(value = "mode", defaultValue = "instant") String mode,
             @QueryValue(value = "start", defaultValue = "") String start,
             @QueryValue(value = "end", defaultValue = "") String end,
-            @QueryValue(value = "step", defaultValue = "60") String step) {
+            @QueryValue(value = "step", defaultValue = "auto") String step,
+            @QueryValue(value = "downsample", defaultValue = "lttb") String downsample,
+            @QueryValue(value = "format", defaultValue = "long") String format) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -96,11 +100,14 @@ public class PrometheusController {
         model.put("start", start);
         model.put("end", end);
         model.put("step", step);
+        model.put("downsample", downsample);
+        model.put("format", format);
 
         if (!promql.isBlank()) {
             AccessResult<QueryResult> result;
             if ("range".equals(mode)) {
-                result = prometheusService.executeRange(id, promql, start, end, step);
+                result = prometheusService.executeRange(id, promql, start, end, step,
+                        prometheusService.rangeOptions(downsample, format, false));
             } else {
                 result = prometheusService.executeInstant(id, promql);
             }
@@ -9,4 +9,6 @@ public class PromMetricInfo {
 
     private final String name;
     private final String job;
+    private final String type;
+    private final String help;
 }
@@ -0,0 +1,18 @@
+package com.panopticum.prometheus.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PromRangeOptions {
+
+    private final String downsample;
+    private final String format;
+    private final int targetPoints;
+    private final int maxCells;
+
+    public boolean isWide() {
+        return "wide".equalsIgnoreCase(format);
+    }
+}
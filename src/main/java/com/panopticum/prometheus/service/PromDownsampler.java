@@ -0,0 +1,209 @@
+package com.panopticum.prometheus.service;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@UtilityClass
+class PromDownsampler {
+
+    PromSeries downsample(PromSeries series, int points, String mode) {
+        int n = series.size();
+        if (points < 2 || n <= points) {
+            return series;
+        }
+        String m = mode != null ? mode.toLowerCase(Locale.ROOT) : "none";
+        return switch (m) {
+            case "lttb" -> lttb(series, points);
+            case "avg", "min", "max" -> buckets(series, points, m);
+            default -> series;
+        };
+    }
+
+    List<PromSeries> downsampleAligned(List<PromSeries> series, int points, String mode) {
+        String m = mode != null ? mode.toLowerCase(Locale.ROOT) : "none";
+        if (points < 2 || !List.of("lttb", "avg", "min", "max").contains(m)
+                || series.stream().allMatch(s -> s.size() <= points)) {
+            return series;
+        }
+        double from = Double.POSITIVE_INFINITY;
+        double to = Double.NEGATIVE_INFINITY;
+        for (PromSeries s : series) {
+            if (s.size() > 0) {
+                from = Math.min(from, s.times()[0]);
+                to = Math.max(to, s.times()[s.size() - 1]);
+            }
+        }
+        double width = Math.max(1, Math.ceil((to - from) / (points - 1)));
+        String bucketMode = "lttb".equals(m) ? "avg" : m;
+        List<PromSeries> out = new ArrayList<>(series.size());
+        for (PromSeries s : series) {
+            out.add(onGrid(s, from, width, bucketMode));
+        }
+        return out;
+    }
+
+    double parse(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        return switch (value) {
+            case "+Inf", "Inf" -> Double.POSITIVE_INFINITY;
+            case "-Inf" -> Double.NEGATIVE_INFINITY;
+            case "NaN" -> Double.NaN;
+            default -> {
+                try {
+                    yield Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    yield Double.NaN;
+                }
+            }
+        };
+    }
+
+    String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private PromSeries buckets(PromSeries series, int points, String mode) {
+        int n = series.size();
+        double[] times = new double[points];
+        String[] values = new String[points];
+        int out = 0;
+        for (int b = 0; b < points; b++) {
+            int from = (int) ((long) b * n / points);
+            int to = (int) ((long) (b + 1) * n / points);
+            if (from >= to) {
+                continue;
+            }
+            double acc = "min".equals(mode) ? Double.POSITIVE_INFINITY : "max".equals(mode) ? Double.NEGATIVE_INFINITY : 0;
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                double v = parse(series.values()[i]);
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                acc = switch (mode) {
+                    case "min" -> Math.min(acc, v);
+                    case "max" -> Math.max(acc, v);
+                    default -> acc + v;
+                };
+                count++;
+            }
+            times[out] = series.times()[from];
+            values[out] = count == 0 ? "NaN" : format("avg".equals(mode) ? acc / count : acc);
+            out++;
+        }
+        return trim(series, times, values, out);
+    }
+
+    private PromSeries onGrid(PromSeries series, double origin, double width, String mode) {
+        int n = series.size();
+        double[] times = new double[n];
+        String[] values = new String[n];
+        int out = 0;
+        int i = 0;
+        while (i < n) {
+            long bucket = (long) Math.floor((series.times()[i] - origin) / width);
+            double acc = "min".equals(mode) ? Double.POSITIVE_INFINITY : "max".equals(mode) ? Double.NEGATIVE_INFINITY : 0;
+            int count = 0;
+            while (i < n && (long) Math.floor((series.times()[i] - origin) / width) == bucket) {
+                double v = parse(series.values()[i]);
+                i++;
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                acc = switch (mode) {
+                    case "min" -> Math.min(acc, v);
+                    case "max" -> Math.max(acc, v);
+                    default -> acc + v;
+                };
+                count++;
+            }
+            times[out] = origin + bucket * width;
+            values[out] = count == 0 ? "NaN" : format("avg".equals(mode) ? acc / count : acc);
+            out++;
+        }
+        return trim(series, times, values, out);
+    }
+
+    private PromSeries lttb(PromSeries series, int points) {
+        int n = series.size();
+        double[] t = series.times();
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = parse(series.values()[i]);
+        }
+        double[] times = new double[points];
+        String[] values = new String[points];
+        times[0] = t[0];
+        values[0] = series.values()[0];
+        int out = 1;
+        int a = 0;
+        double every = (double) (n - 2) / (points - 2);
+        for (int b = 0; b < points - 2; b++) {
+            int avgFrom = (int) Math.floor((b + 1) * every) + 1;
+            int avgTo = Math.min((int) Math.floor((b + 2) * every) + 1, n);
+            double avgT = 0;
+            double avgV = 0;
+            int avgCount = 0;
+            for (int i = avgFrom; i < avgTo; i++) {
+                if (!Double.isNaN(v[i]) && !Double.isInfinite(v[i])) {
+                    avgT += t[i];
+                    avgV += v[i];
+                    avgCount++;
+                }
+            }
+            if (avgCount > 0) {
+                avgT /= avgCount;
+                avgV /= avgCount;
+            } else {
+                avgT = t[Math.min(avgFrom, n - 1)];
+                avgV = 0;
+            }
+            int rangeFrom = (int) Math.floor(b * every) + 1;
+            int rangeTo = (int) Math.floor((b + 1) * every) + 1;
+            double va = Double.isFinite(v[a]) ? v[a] : 0;
+            double maxArea = -1;
+            int picked = rangeFrom;
+            for (int i = rangeFrom; i < rangeTo; i++) {
+                double vi = Double.isFinite(v[i]) ? v[i] : 0;
+                double area = Math.abs((t[a] - avgT) * (vi - va) - (t[a] - t[i]) * (avgV - va));
+                if (area > maxArea) {
+                    maxArea = area;
+                    picked = i;
+                }
+            }
+            times[out] = t[picked];
+            values[out] = series.values()[picked];
+            out++;
+            a = picked;
+        }
+        times[out] = t[n - 1];
+        values[out] = series.values()[n - 1];
+        out++;
+        return trim(series, times, values, out);
+    }
+
+    private PromSeries trim(PromSeries series, double[] times, String[] values, int size) {
+        if (size == times.length) {
+            return new PromSeries(series.metric(), times, values);
+        }
+        double[] t = new double[size];
+        String[] v = new String[size];
+        System.arraycopy(times, 0, t, 0, size);
+        System.arraycopy(values, 0, v, 0, size);
+        return new PromSeries(series.metric(), t, v);
+    }
+}
@@ -0,0 +1,30 @@
+package com.panopticum.prometheus.service;
+
+import java.util.Map;
+
+record PromSeries(Map<String, String> metric, double[] times, String[] values) {
+
+    int size() {
+        return times.length;
+    }
+
+    PromSeries slice(double from, double to) {
+        int lo = 0;
+        while (lo < times.length && times[lo] < from) {
+            lo++;
+        }
+        int hi = lo;
+        while (hi < times.length && times[hi] <= to) {
+            hi++;
+        }
+        if (lo == 0 && hi == times.length) {
+            return this;
+        }
+        double[] t = new double[hi - lo];
+        String[] v = new String[hi - lo];
+        System.arraycopy(times, lo, t, 0, t.length);
+        System.arraycopy(values, lo, v, 0, v.length);
+
+        return new PromSeries(metric, t, v);
+    }
+}
@@ -0,0 +1,97 @@
+package com.panopticum.prometheus.service;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@UtilityClass
+class PromTime {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|s|m|h|d|w|y)");
+
+    double parseTime(String text, double now, double fallback) {
+        if (text == null || text.isBlank()) {
+            return fallback;
+        }
+        String t = text.trim().toLowerCase(Locale.ROOT);
+        if (t.startsWith("now")) {
+            String rest = t.substring(3).trim();
+            if (rest.isEmpty()) {
+                return now;
+            }
+            if (rest.startsWith("-")) {
+                return now - parseDuration(rest.substring(1).trim());
+            }
+            if (rest.startsWith("+")) {
+                return now + parseDuration(rest.substring(1).trim());
+            }
+            throw new IllegalArgumentException(text);
+        }
+        if (isNumber(t)) {
+            return Double.parseDouble(t);
+        }
+        if (t.startsWith("-")) {
+            return now - parseDuration(t.substring(1));
+        }
+        try {
+            OffsetDateTime time = OffsetDateTime.parse(text.trim());
+            return time.toEpochSecond() + time.getNano() / 1e9;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(text);
+        }
+    }
+
+    double parseDuration(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("empty duration");
+        }
+        String t = text.trim().toLowerCase(Locale.ROOT);
+        if (isNumber(t)) {
+            return Double.parseDouble(t);
+        }
+        Matcher m = DURATION_PART.matcher(t);
+        double seconds = 0;
+        int end = 0;
+        while (m.find()) {
+            if (m.start() != end) {
+                throw new IllegalArgumentException(text);
+            }
+            double amount = Double.parseDouble(m.group(1));
+            seconds += amount * switch (m.group(2)) {
+                case "ms" -> 0.001;
+                case "s" -> 1;
+                case "m" -> 60;
+                case "h" -> 3600;
+                case "d" -> 86_400;
+                case "w" -> 604_800;
+                default -> 31_536_000;
+            };
+            end = m.end();
+        }
+        if (end != t.length() || end == 0) {
+            throw new IllegalArgumentException(text);
+        }
+        return seconds;
+    }
+
+    String format(double seconds) {
+        if (seconds == Math.rint(seconds)) {
+            return Long.toString((long) seconds);
+        }
+        return BigDecimal.valueOf(seconds).stripTrailingZeros().toPlainString();
+    }
+
+    private boolean isNumber(String text) {
+        try {
+            Double.parseDouble(text);
+            return !text.endsWith("d") && !text.endsWith("f");
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.panopticum.prometheus.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.prometheus.model.PromMetricInfo;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Singleton
+public class PrometheusMetricCatalog {
+
+    private final Map<Key, Entry> catalogs = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.prometheus.catalog.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${panopticum.prometheus.catalog.max-entries:64}")
+    private int maxEntries;
+
+    public Optional<List<PromMetricInfo>> get(Long connectionId, String job) {
+        Entry entry = catalogs.get(new Key(connectionId, job));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - entry.loadedAt() > ttl.toMillis()) {
+            catalogs.remove(new Key(connectionId, job), entry);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.metrics());
+    }
+
+    public void put(Long connectionId, String job, List<PromMetricInfo> metrics) {
+        if (catalogs.size() >= maxEntries) {
+            catalogs.entrySet().stream()
+                    .min(Map.Entry.comparingByValue((a, b) -> Long.compare(a.loadedAt(), b.loadedAt())))
+                    .ifPresent(oldest -> catalogs.remove(oldest.getKey(), oldest.getValue()));
+        }
+        catalogs.put(new Key(connectionId, job), new Entry(List.copyOf(metrics), System.currentTimeMillis()));
+    }
+
+    public void invalidate(Long connectionId) {
+        catalogs.keySet().removeIf(key -> key.connectionId().equals(connectionId));
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    private record Key(Long connectionId, String job) {
+    }
+
+    private record Entry(List<PromMetricInfo> metrics, long loadedAt) {
+    }
+}
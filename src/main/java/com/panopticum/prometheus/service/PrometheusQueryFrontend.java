@@ -0,0 +1,264 @@
+package com.panopticum.prometheus.service;
+
+import com.panopticum.core.error.AccessResult;
+import com.panopticum.core.model.ConnectionChangedEvent;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Singleton
+public class PrometheusQueryFrontend {
+
+    private static final long DAY_SECONDS = 86_400L;
+    private static final long[] NICE_STEPS = {1, 2, 5, 10, 15, 30, 60, 120, 300, 600, 900, 1800, 3600, 7200, 10800,
+            21600, 43200, 86400};
+
+    private final Map<ExtentKey, Extent> extents = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedSamples;
+
+    @Value("${panopticum.prometheus.frontend.parallelism:4}")
+    private int parallelism;
+
+    @Value("${panopticum.prometheus.frontend.max-splits:90}")
+    private int maxSplits;
+
+    @Value("${panopticum.prometheus.frontend.max-cached-samples:1000000}")
+    private long maxCachedSamples;
+
+    @Value("${panopticum.prometheus.frontend.max-samples-per-extent:200000}")
+    private int maxSamplesPerExtent;
+
+    @Value("${panopticum.prometheus.frontend.freshness:10m}")
+    private Duration freshness;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-range-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    Optional<Range> plan(String start, String end, String step, int targetPoints) {
+        try {
+            double now = System.currentTimeMillis() / 1000.0;
+            double from = PromTime.parseTime(start, now, now - 3600);
+            double to = PromTime.parseTime(end, now, now);
+            double stepSeconds = isAuto(step) ? autoStep(to - from, targetPoints) : PromTime.parseDuration(step);
+            if (stepSeconds < 1 || stepSeconds != Math.rint(stepSeconds) || to < from) {
+                return Optional.empty();
+            }
+            long s = (long) stepSeconds;
+            long alignedStart = Math.floorDiv((long) Math.floor(from), s) * s;
+            long alignedEnd = Math.floorDiv((long) Math.floor(to), s) * s;
+
+            return Optional.of(new Range(alignedStart, Math.max(alignedStart, alignedEnd), s));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    static boolean isAuto(String step) {
+        return step == null || step.isBlank() || "auto".equalsIgnoreCase(step.trim());
+    }
+
+    private long autoStep(double seconds, int targetPoints) {
+        double raw = Math.max(1, seconds) / Math.max(1, targetPoints);
+        for (long nice : NICE_STEPS) {
+            if (nice >= raw) {
+                return nice;
+            }
+        }
+        return (long) Math.ceil(raw / DAY_SECONDS) * DAY_SECONDS;
+    }
+
+    AccessResult<List<PromSeries>> execute(Long connectionId, String query, Range range, SubqueryFetcher fetcher)
+            throws Exception {
+        long days = Math.floorDiv(range.end(), DAY_SECONDS) - Math.floorDiv(range.start(), DAY_SECONDS) + 1;
+        if (days > Math.max(1, maxSplits)) {
+            log.debug("Prometheus range query spans {} days, above the split cap; running it unsplit", days);
+            return fetcher.fetch(range.start(), range.end(), range.step());
+        }
+        long immutableBefore = System.currentTimeMillis() / 1000 - freshness.toSeconds();
+        List<Split> splits = split(range);
+        List<Future<AccessResult<List<PromSeries>>>> tasks = new ArrayList<>(splits.size());
+        int hits = 0;
+        for (Split split : splits) {
+            ExtentKey key = new ExtentKey(connectionId, query, range.step(), split.day());
+            Extent cached = cached(key, split);
+            if (cached != null) {
+                hits++;
+                tasks.add(CompletableFuture.completedFuture(AccessResult.ok(slice(cached, split))));
+                continue;
+            }
+            tasks.add(pool.submit(() -> {
+                AccessResult<List<PromSeries>> result = fetcher.fetch(split.start(), split.end(), range.step());
+                if (result.isOk() && split.end() < immutableBefore) {
+                    remember(key, split.start(), split.end(), result.getPayload());
+                }
+                return result;
+            }));
+        }
+        log.debug("Prometheus range query split into {} subqueries, {} served from cache", splits.size(), hits);
+
+        Map<Map<String, String>, List<PromSeries>> merged = new LinkedHashMap<>();
+        try {
+            for (Future<AccessResult<List<PromSeries>>> task : tasks) {
+                AccessResult<List<PromSeries>> result = task.get();
+                if (!result.isOk()) {
+                    tasks.forEach(t -> t.cancel(true));
+                    return result;
+                }
+                for (PromSeries series : result.getPayload()) {
+                    merged.computeIfAbsent(series.metric(), k -> new ArrayList<>()).add(series);
+                }
+            }
+        } catch (ExecutionException e) {
+            tasks.forEach(t -> t.cancel(true));
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        List<PromSeries> out = new ArrayList<>(merged.size());
+        merged.forEach((metric, parts) -> out.add(concat(metric, parts)));
+        return AccessResult.ok(out);
+    }
+
+    public void invalidate(Long connectionId) {
+        synchronized (extents) {
+            extents.entrySet().removeIf(e -> {
+                if (!e.getKey().connectionId().equals(connectionId)) {
+                    return false;
+                }
+                cachedSamples -= e.getValue().samples();
+                return true;
+            });
+        }
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    private List<Split> split(Range range) {
+        List<Split> splits = new ArrayList<>();
+        long start = range.start();
+        while (start <= range.end()) {
+            long day = Math.floorDiv(start, DAY_SECONDS);
+            long dayEnd = (day + 1) * DAY_SECONDS;
+            long end = Math.min(range.end(), Math.floorDiv(dayEnd - 1, range.step()) * range.step());
+            if (end < start) {
+                end = start;
+            }
+            splits.add(new Split(day, start, end));
+            start = end + range.step();
+        }
+        return splits;
+    }
+
+    private Extent cached(ExtentKey key, Split split) {
+        synchronized (extents) {
+            Extent extent = extents.get(key);
+            return extent != null && extent.start() <= split.start() && extent.end() >= split.end() ? extent : null;
+        }
+    }
+
+    private void remember(ExtentKey key, long start, long end, List<PromSeries> series) {
+        long samples = series.stream().mapToLong(PromSeries::size).sum();
+        if (samples > Math.min(maxSamplesPerExtent, maxCachedSamples)) {
+            return;
+        }
+        synchronized (extents) {
+            Extent current = extents.get(key);
+            if (current != null && current.end() - current.start() > end - start) {
+                return;
+            }
+            extents.put(key, new Extent(start, end, series, samples));
+            cachedSamples += samples - (current != null ? current.samples() : 0);
+            Iterator<Map.Entry<ExtentKey, Extent>> eldest = extents.entrySet().iterator();
+            while (cachedSamples > maxCachedSamples && eldest.hasNext()) {
+                cachedSamples -= eldest.next().getValue().samples();
+                eldest.remove();
+            }
+        }
+    }
+
+    private List<PromSeries> slice(Extent extent, Split split) {
+        if (extent.start() == split.start() && extent.end() == split.end()) {
+            return extent.series();
+        }
+        List<PromSeries> out = new ArrayList<>(extent.series().size());
+        for (PromSeries series : extent.series()) {
+            PromSeries part = series.slice(split.start(), split.end());
+            if (part.size() > 0) {
+                out.add(part);
+            }
+        }
+        return out;
+    }
+
+    private PromSeries concat(Map<String, String> metric, List<PromSeries> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        int total = parts.stream().mapToInt(PromSeries::size).sum();
+        double[] times = new double[total];
+        String[] values = new String[total];
+        int pos = 0;
+        for (PromSeries part : parts) {
+            System.arraycopy(part.times(), 0, times, pos, part.size());
+            System.arraycopy(part.values(), 0, values, pos, part.size());
+            pos += part.size();
+        }
+        return new PromSeries(metric, times, values);
+    }
+
+    record Range(long start, long end, long step) {
+    }
+
+    @FunctionalInterface
+    interface SubqueryFetcher {
+        AccessResult<List<PromSeries>> fetch(long start, long end, long step) throws Exception;
+    }
+
+    private record Split(long day, long start, long end) {
+    }
+
+    private record ExtentKey(Long connectionId, String query, long step, long day) {
+    }
+
+    private record Extent(long start, long end, List<PromSeries> series, long samples) {
+    }
+}
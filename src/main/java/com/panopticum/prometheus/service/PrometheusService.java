@@ -2,6 +2,7 @@ package com.panopticum.prometheus.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.model.Page;
@@ -9,47 +10,59 @@ import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.model.ColumnInfo;
 import com.panopticum.core.model.EntityDescription;
+import com.panopticum.prometheus.client.PrometheusHttpClient;
 import com.panopticum.prometheus.model.PromMetricInfo;
+import com.panopticum.prometheus.model.PromRangeOptions;
+import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 @Slf4j
 @Singleton
 @RequiredArgsConstructor
 public class PrometheusService {
 
-    private static final int METRICS_LIMIT = 500;
-    private static final Duration TIMEOUT = Duration.ofSeconds(15);
-
     private final DbConnectionService dbConnectionService;
     private final ObjectMapper objectMapper;
+    private final PrometheusHttpClient httpClient;
+    private final PrometheusMetricCatalog metricCatalog;
+    private final PrometheusQueryFrontend queryFrontend;
+
+    @Value("${panopticum.prometheus.range.target-points:500}")
+    private int targetPoints;
+
+    @Value("${panopticum.prometheus.range.max-cells:100000}")
+    private int maxCells;
+
+    @Value("${panopticum.prometheus.range.mcp-max-cells:10000}")
+    private int mcpMaxCells;
 
     public Optional<String> testConnection(String host, int port, String username, String password, boolean useHttps) {
         String baseUrl = buildBaseUrl(host, port, useHttps);
         try {
-            HttpResponse<String> response = get(baseUrl + "/-/healthy", username, password);
+            HttpResponse<String> response = httpClient.get(baseUrl + "/-/healthy", username, password);
             if (response.statusCode() == 200) {
                 return Optional.empty();
             }
             if (response.statusCode() == 401) {
                 return Optional.of("prometheus.access.unauthorized");
             }
-            HttpResponse<String> fallback = get(baseUrl + "/api/v1/status/buildinfo", username, password);
+            HttpResponse<String> fallback = httpClient.get(baseUrl + "/api/v1/status/buildinfo", username, password);
             if (fallback.statusCode() == 200) {
                 return Optional.empty();
             }
@@ -65,7 +78,7 @@ public class PrometheusService {
 
     public AccessResult<List<String>> listJobs(Long connectionId) {
         return withConnection(connectionId, (conn, baseUrl) -> {
-            HttpResponse<String> response = get(baseUrl + "/api/v1/label/job/values", conn.getUsername(), conn.getPassword());
+            HttpResponse<String> response = httpClient.get(baseUrl + "/api/v1/label/job/values", conn.getUsername(), conn.getPassword());
             if (response.statusCode() == 401) {
                 return AccessResult.unauthorized("prometheus.access.unauthorized");
             }
@@ -85,36 +98,30 @@ public class PrometheusService {
     }
 
     public AccessResult<Page<PromMetricInfo>> listMetrics(Long connectionId, String job, int page, int size) {
+        return listMetrics(connectionId, job, null, page, size);
+    }
+
+    public AccessResult<Page<PromMetricInfo>> listMetrics(Long connectionId, String job, String search, int page, int size) {
         return withConnection(connectionId, (conn, baseUrl) -> {
-            String url = buildMetricsUrl(baseUrl, job);
-            HttpResponse<String> response = get(url, conn.getUsername(), conn.getPassword());
-            if (response.statusCode() == 401) {
-                return AccessResult.unauthorized("prometheus.access.unauthorized");
-            }
-            if (response.statusCode() != 200) {
-                return AccessResult.error("prometheus.access.error");
-            }
-            JsonNode root = objectMapper.readTree(response.body());
-            Set<String> metricNames = new LinkedHashSet<>();
-            JsonNode data = root.path("data");
-            if (data.isArray()) {
-                for (JsonNode series : data) {
-                    JsonNode name = series.path("__name__");
-                    if (!name.isMissingNode()) {
-                        metricNames.add(name.asText());
-                    }
+            Optional<List<PromMetricInfo>> cached = metricCatalog.get(connectionId, job);
+            List<PromMetricInfo> catalog;
+            if (cached.isPresent()) {
+                catalog = cached.get();
+            } else {
+                AccessResult<List<PromMetricInfo>> loaded = loadCatalog(conn, baseUrl, job);
+                if (!loaded.isOk()) {
+                    return AccessResult.<Page<PromMetricInfo>>builder()
+                            .status(loaded.getStatus()).messageKey(loaded.getMessageKey()).build();
                 }
+                catalog = loaded.getPayload();
+                metricCatalog.put(connectionId, job, catalog);
             }
-            List<String> sorted = new ArrayList<>(metricNames);
-            sorted.sort(String::compareTo);
-
-            int offset = (page - 1) * size;
-            int end = Math.min(offset + size, sorted.size());
-            List<PromMetricInfo> items = new ArrayList<>();
-            for (int i = offset; i < end && i < sorted.size(); i++) {
-                items.add(PromMetricInfo.builder().name(sorted.get(i)).job(job).build());
+            List<PromMetricInfo> matched = catalog;
+            if (search != null && !search.isBlank()) {
+                String prefix = search.trim().toLowerCase();
+                matched = catalog.stream().filter(m -> m.getName().toLowerCase().startsWith(prefix)).toList();
             }
-            return AccessResult.ok(Page.of(items, page, size, "name", "asc"));
+            return AccessResult.ok(Page.of(matched, page, size, "name", "asc"));
         });
     }
 
@@ -122,7 +129,7 @@ public class PrometheusService {
         return withConnection(connectionId, (conn, baseUrl) -> {
             String encoded = URLEncoder.encode(promql, StandardCharsets.UTF_8);
             String url = baseUrl + "/api/v1/query?query=" + encoded;
-            HttpResponse<String> response = get(url, conn.getUsername(), conn.getPassword());
+            HttpResponse<String> response = httpClient.get(url, conn.getUsername(), conn.getPassword());
             if (response.statusCode() == 401) {
                 return AccessResult.unauthorized("prometheus.access.unauthorized");
             }
@@ -133,22 +140,39 @@ public class PrometheusService {
         });
     }
 
+    public PromRangeOptions rangeOptions(String downsample, String format, boolean mcp) {
+        return PromRangeOptions.builder()
+                .downsample(downsample != null && !downsample.isBlank() ? downsample : "none")
+                .format(format != null && !format.isBlank() ? format : "long")
+                .targetPoints(targetPoints)
+                .maxCells(mcp ? mcpMaxCells : maxCells)
+                .build();
+    }
+
     public AccessResult<QueryResult> executeRange(Long connectionId, String promql, String start, String end, String step) {
+        return executeRange(connectionId, promql, start, end, step, rangeOptions(null, null, false));
+    }
+
+    public AccessResult<QueryResult> executeRange(Long connectionId, String promql, String start, String end, String step,
+                                                  PromRangeOptions options) {
         return withConnection(connectionId, (conn, baseUrl) -> {
-            String encoded = URLEncoder.encode(promql, StandardCharsets.UTF_8);
-            String safeStart = start != null && !start.isBlank() ? URLEncoder.encode(start, StandardCharsets.UTF_8) : "now-1h";
-            String safeEnd = end != null && !end.isBlank() ? URLEncoder.encode(end, StandardCharsets.UTF_8) : "now";
-            String safeStep = step != null && !step.isBlank() ? URLEncoder.encode(step, StandardCharsets.UTF_8) : "60";
-            String url = baseUrl + "/api/v1/query_range?query=" + encoded
-                    + "&start=" + safeStart + "&end=" + safeEnd + "&step=" + safeStep;
-            HttpResponse<String> response = get(url, conn.getUsername(), conn.getPassword());
-            if (response.statusCode() == 401) {
-                return AccessResult.unauthorized("prometheus.access.unauthorized");
+            Optional<PrometheusQueryFrontend.Range> range = queryFrontend.plan(start, end, step, options.getTargetPoints());
+            AccessResult<List<PromSeries>> series;
+            if (range.isPresent()) {
+                series = queryFrontend.execute(connectionId, promql, range.get(),
+                        (from, to, stepSeconds) -> fetchRange(conn, baseUrl, promql, Long.toString(from),
+                                Long.toString(to), Long.toString(stepSeconds)));
+            } else {
+                series = fetchRange(conn, baseUrl, promql,
+                        start != null && !start.isBlank() ? start : "now-1h",
+                        end != null && !end.isBlank() ? end : "now",
+                        PrometheusQueryFrontend.isAuto(step) ? "60" : step);
             }
-            if (response.statusCode() != 200) {
-                return AccessResult.error("prometheus.access.error");
+            if (!series.isOk()) {
+                return AccessResult.<QueryResult>builder()
+                        .status(series.getStatus()).messageKey(series.getMessageKey()).build();
             }
-            return AccessResult.ok(parseRangeResult(response.body()));
+            return AccessResult.ok(toRangeResult(series.getPayload(), options));
         });
     }
 
@@ -156,7 +180,7 @@ public class PrometheusService {
         return withConnection(connectionId, (conn, baseUrl) -> {
             String encoded = URLEncoder.encode(metric, StandardCharsets.UTF_8);
             String url = baseUrl + "/api/v1/labels?match[]=" + encoded;
-            HttpResponse<String> response = get(url, conn.getUsername(), conn.getPassword());
+            HttpResponse<String> response = httpClient.get(url, conn.getUsername(), conn.getPassword());
             if (response.statusCode() == 401) {
                 return AccessResult.unauthorized("prometheus.access.unauthorized");
             }
@@ -212,26 +236,115 @@ public class PrometheusService {
         return new QueryResult(columns, rows, null, 0, rows.size(), false);
     }
 
-    private QueryResult parseRangeResult(String body) throws Exception {
-        JsonNode root = objectMapper.readTree(body);
-        JsonNode results = root.path("data").path("result");
-        if (!results.isArray() || results.isEmpty()) {
-            return QueryResult.error(null);
+    private AccessResult<List<PromSeries>> fetchRange(DbConnection conn, String baseUrl, String promql,
+                                                      String start, String end, String step) throws Exception {
+        String url = baseUrl + "/api/v1/query_range?query=" + URLEncoder.encode(promql, StandardCharsets.UTF_8)
+                + "&start=" + URLEncoder.encode(start, StandardCharsets.UTF_8)
+                + "&end=" + URLEncoder.encode(end, StandardCharsets.UTF_8)
+                + "&step=" + URLEncoder.encode(step, StandardCharsets.UTF_8);
+        HttpResponse<String> response = httpClient.get(url, conn.getUsername(), conn.getPassword());
+        if (response.statusCode() == 401) {
+            return AccessResult.unauthorized("prometheus.access.unauthorized");
+        }
+        if (response.statusCode() != 200) {
+            return AccessResult.error("prometheus.access.error");
+        }
+        return AccessResult.ok(parseMatrix(response.body()));
+    }
+
+    private List<PromSeries> parseMatrix(String body) throws Exception {
+        JsonNode results = objectMapper.readTree(body).path("data").path("result");
+        List<PromSeries> out = new ArrayList<>();
+        if (!results.isArray()) {
+            return out;
         }
-        Set<String> labelKeys = collectLabelKeys(results);
-        List<String> columns = buildColumns(labelKeys);
-        List<List<Object>> rows = new ArrayList<>();
         for (JsonNode series : results) {
+            Map<String, String> metric = new LinkedHashMap<>();
+            series.path("metric").fields().forEachRemaining(e -> metric.put(e.getKey(), e.getValue().asText()));
             JsonNode values = series.path("values");
-            if (values.isArray()) {
-                for (JsonNode point : values) {
-                    if (point.isArray() && point.size() == 2) {
-                        rows.add(buildRow(series.path("metric"), point.get(0).asText(), point.get(1).asText(), labelKeys));
-                    }
+            int n = values.isArray() ? values.size() : 0;
+            double[] times = new double[n];
+            String[] points = new String[n];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                JsonNode point = values.get(i);
+                if (point.isArray() && point.size() == 2) {
+                    times[count] = point.get(0).asDouble();
+                    points[count] = point.get(1).asText();
+                    count++;
                 }
             }
+            out.add(new PromSeries(metric, count == n ? times : Arrays.copyOf(times, count),
+                    count == n ? points : Arrays.copyOf(points, count)));
         }
-        return new QueryResult(columns, rows, null, 0, rows.size(), false);
+        return out;
+    }
+
+    private QueryResult toRangeResult(List<PromSeries> series, PromRangeOptions options) {
+        if (series.isEmpty()) {
+            return QueryResult.error(null);
+        }
+        Set<String> labelKeys = new LinkedHashSet<>();
+        for (PromSeries s : series) {
+            s.metric().keySet().forEach(k -> {
+                if (!"__name__".equals(k)) {
+                    labelKeys.add(k);
+                }
+            });
+        }
+        int cellsPerPoint = options.isWide() ? 1 : 2 + labelKeys.size();
+        int budget = Math.max(2, options.getMaxCells() / Math.max(1, series.size() * cellsPerPoint));
+        int points = Math.min(options.getTargetPoints(), budget);
+        List<PromSeries> sampled;
+        if (options.isWide()) {
+            sampled = PromDownsampler.downsampleAligned(series, points, options.getDownsample());
+        } else {
+            sampled = new ArrayList<>(series.size());
+            for (PromSeries s : series) {
+                sampled.add(PromDownsampler.downsample(s, points, options.getDownsample()));
+            }
+        }
+
+        List<String> columns;
+        List<List<Object>> rows = new ArrayList<>();
+        if (options.isWide()) {
+            columns = new ArrayList<>(sampled.size() + 1);
+            columns.add("timestamp");
+            TreeMap<Double, Object[]> byTime = new TreeMap<>();
+            for (int c = 0; c < sampled.size(); c++) {
+                PromSeries s = sampled.get(c);
+                columns.add(selector(s.metric()));
+                for (int i = 0; i < s.size(); i++) {
+                    byTime.computeIfAbsent(s.times()[i], t -> new Object[sampled.size() + 1])[c + 1] = s.values()[i];
+                }
+            }
+            byTime.forEach((time, cells) -> {
+                cells[0] = PromTime.format(time);
+                rows.add(Arrays.asList(cells));
+            });
+        } else {
+            columns = buildColumns(labelKeys);
+            for (PromSeries s : sampled) {
+                for (int i = 0; i < s.size(); i++) {
+                    rows.add(buildRow(s.metric(), PromTime.format(s.times()[i]), s.values()[i], labelKeys));
+                }
+            }
+        }
+        int maxRows = Math.max(1, options.getMaxCells() / Math.max(1, columns.size()));
+        boolean hasMore = rows.size() > maxRows;
+        List<List<Object>> visible = hasMore ? new ArrayList<>(rows.subList(0, maxRows)) : rows;
+        return new QueryResult(columns, visible, null, 0, visible.size(), hasMore);
+    }
+
+    private String selector(Map<String, String> metric) {
+        StringBuilder sb = new StringBuilder(metric.getOrDefault("__name__", ""));
+        StringJoiner labels = new StringJoiner(",", "{", "}");
+        metric.forEach((k, v) -> {
+            if (!"__name__".equals(k)) {
+                labels.add(k + "=\"" + v + "\"");
+            }
+        });
+        return sb.append(labels).toString();
     }
 
     private Set<String> collectLabelKeys(JsonNode results) {
@@ -266,12 +379,57 @@ public class PrometheusService {
         return row;
     }
 
-    private String buildMetricsUrl(String baseUrl, String job) {
+    private List<Object> buildRow(Map<String, String> metric, String ts, String value, Set<String> labelKeys) {
+        List<Object> row = new ArrayList<>();
+        row.add(ts);
+        row.add(value);
+        for (String key : labelKeys) {
+            row.add(metric.get(key));
+        }
+        return row;
+    }
+
+    private AccessResult<List<PromMetricInfo>> loadCatalog(DbConnection conn, String baseUrl, String job) throws Exception {
+        String url = baseUrl + "/api/v1/label/__name__/values";
         if (job != null && !job.isBlank()) {
-            String encodedJob = URLEncoder.encode(job, StandardCharsets.UTF_8);
-            return baseUrl + "/api/v1/series?match[]=%7Bjob%3D%22" + encodedJob + "%22%7D";
+            url += "?match[]=" + URLEncoder.encode("{job=\"" + job.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}", StandardCharsets.UTF_8);
+        }
+        HttpResponse<String> response = httpClient.get(url, conn.getUsername(), conn.getPassword());
+        if (response.statusCode() == 401) {
+            return AccessResult.unauthorized("prometheus.access.unauthorized");
+        }
+        if (response.statusCode() != 200) {
+            return AccessResult.error("prometheus.access.error");
         }
-        return baseUrl + "/api/v1/series?match[]=%7B__name__%3D~%22.%2B%22%7D&limit=" + METRICS_LIMIT;
+        List<String> names = new ArrayList<>();
+        JsonNode data = objectMapper.readTree(response.body()).path("data");
+        if (data.isArray()) {
+            for (JsonNode name : data) {
+                names.add(name.asText());
+            }
+        }
+        names.sort(String::compareTo);
+
+        JsonNode metadata = MissingNode.getInstance();
+        HttpResponse<String> metaResponse = httpClient.get(baseUrl + "/api/v1/metadata?limit_per_metric=1",
+                conn.getUsername(), conn.getPassword());
+        if (metaResponse.statusCode() == 200) {
+            metadata = objectMapper.readTree(metaResponse.body()).path("data");
+        } else {
+            log.debug("Prometheus metadata unavailable: HTTP {}", metaResponse.statusCode());
+        }
+
+        List<PromMetricInfo> metrics = new ArrayList<>(names.size());
+        for (String name : names) {
+            JsonNode meta = metadata.path(name).path(0);
+            metrics.add(PromMetricInfo.builder()
+                    .name(name)
+                    .job(job)
+                    .type(meta.path("type").asText(""))
+                    .help(meta.path("help").asText(""))
+                    .build());
+        }
+        return AccessResult.ok(metrics);
     }
 
     private <T> AccessResult<T> withConnection(Long connectionId, PrometheusAction<T> action) {
@@ -289,21 +447,6 @@ public class PrometheusService {
         }
     }
 
-    private HttpResponse<String> get(String url, String username, String password) throws Exception {
-        HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
-        HttpRequest.Builder builder = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(TIMEOUT)
-                .GET();
-        if (username != null && !username.isBlank()) {
-            String encoded = Base64.getEncoder().encodeToString((username + ":" + (password != null ? password : "")).getBytes(StandardCharsets.UTF_8));
-            builder.header("Authorization", "Basic " + encoded);
-        } else if (password != null && !password.isBlank()) {
-            builder.header("Authorization", "Bearer " + password);
-        }
-        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
-    }
-
     private String buildBaseUrl(String host, int port, boolean useHttps) {
         if (host.startsWith("http://") || host.startsWith("https://")) {
             return host;
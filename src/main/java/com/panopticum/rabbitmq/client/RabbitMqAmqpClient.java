@@ -0,0 +1,377 @@
+package com.panopticum.rabbitmq.client;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.util.StringUtils;
+import com.panopticum.rabbitmq.model.RabbitMqMessage;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.LongString;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Singleton
+public class RabbitMqAmqpClient {
+
+    private static final int MAX_STREAM_PREFETCH = 1000;
+    private static final long STREAM_IDLE_MILLIS = 300;
+
+    private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+    private final Map<PoolKey, ConnectFailure> failures = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.rabbitmq.amqp.port:5672}")
+    private int port;
+
+    @Value("${panopticum.rabbitmq.amqp.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.rabbitmq.amqp.retry-after:1m}")
+    private Duration retryAfter;
+
+    @Value("${panopticum.rabbitmq.amqp.channels-per-connection:4}")
+    private int channelsPerConnection;
+
+    @Value("${panopticum.rabbitmq.amqp.idle-eviction:10m}")
+    private Duration idleEviction;
+
+    @Value("${panopticum.rabbitmq.amqp.stream-timeout:5s}")
+    private Duration streamTimeout;
+
+    @Value("${panopticum.rabbitmq.amqp.max-payload-bytes:50000}")
+    private int maxPayloadBytes;
+
+    public List<RabbitMqMessage> peek(DbConnection conn, String vhost, String queue, int count)
+            throws IOException, TimeoutException, InterruptedException {
+        Pool pool = pool(conn, vhost);
+        Channel channel = pool.borrow(connectTimeout);
+        boolean reusable = false;
+        try {
+            List<RabbitMqMessage> messages = new ArrayList<>();
+            long lastTag = -1;
+            while (messages.size() < count) {
+                GetResponse response = channel.basicGet(queue, false);
+                if (response == null) {
+                    break;
+                }
+                lastTag = response.getEnvelope().getDeliveryTag();
+                messages.add(toMessage(response.getEnvelope(), response.getProps(), response.getBody()));
+            }
+            if (lastTag >= 0) {
+                channel.basicNack(lastTag, true, true);
+            }
+            reusable = true;
+
+            return messages;
+        } finally {
+            pool.release(channel, reusable);
+        }
+    }
+
+    public List<RabbitMqMessage> readStream(DbConnection conn, String vhost, String queue, String offset, int count)
+            throws IOException, TimeoutException, InterruptedException {
+        Pool pool = pool(conn, vhost);
+        Channel channel = pool.borrow(connectTimeout);
+        try {
+            BlockingQueue<RabbitMqMessage> received = new LinkedBlockingQueue<>();
+            channel.basicQos(Math.min(Math.max(1, count), MAX_STREAM_PREFETCH));
+            String consumerTag = channel.basicConsume(queue, false, Map.of("x-stream-offset", streamOffset(offset)),
+                    (tag, delivery) -> received.add(toMessage(delivery.getEnvelope(), delivery.getProperties(), delivery.getBody())),
+                    tag -> { });
+            List<RabbitMqMessage> messages = new ArrayList<>();
+            long deadline = System.nanoTime() + streamTimeout.toNanos();
+            while (messages.size() < count) {
+                long wait = messages.isEmpty()
+                        ? TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())
+                        : Math.min(STREAM_IDLE_MILLIS, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                RabbitMqMessage message = wait > 0 ? received.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (message == null) {
+                    break;
+                }
+                messages.add(message);
+            }
+            channel.basicCancel(consumerTag);
+
+            return messages;
+        } finally {
+            pool.release(channel, false);
+        }
+    }
+
+    public void invalidate(Long connectionId) {
+        failures.keySet().removeIf(key -> key.connectionId().equals(connectionId));
+        pools.entrySet().removeIf(e -> {
+            if (!e.getKey().connectionId().equals(connectionId)) {
+                return false;
+            }
+            e.getValue().close();
+            return true;
+        });
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction.toMillis();
+        pools.entrySet().removeIf(e -> {
+            Pool pool = e.getValue();
+            if (pool.lastUsed >= cutoff && pool.connection.isOpen()) {
+                return false;
+            }
+            pool.close();
+            return true;
+        });
+        long now = System.currentTimeMillis();
+        failures.values().removeIf(failure -> failure.retryAt() <= now);
+    }
+
+    @PreDestroy
+    void stop() {
+        pools.values().forEach(Pool::close);
+        pools.clear();
+    }
+
+    private Pool pool(DbConnection conn, String vhost) throws IOException, TimeoutException {
+        String fingerprint = String.join("\n", String.valueOf(conn.getHost()), String.valueOf(conn.getUsername()),
+                StringUtils.sha256(conn.getPassword()));
+        PoolKey key = new PoolKey(conn.getId(), vhost);
+        Pool current = pools.get(key);
+        if (current != null && current.fingerprint.equals(fingerprint) && current.connection.isOpen()) {
+            current.lastUsed = System.currentTimeMillis();
+            return current;
+        }
+        synchronized (this) {
+            current = pools.get(key);
+            if (current != null && current.fingerprint.equals(fingerprint) && current.connection.isOpen()) {
+                return current;
+            }
+            if (current != null) {
+                current.close();
+            }
+            ConnectFailure failure = failures.get(key);
+            if (failure != null && failure.fingerprint().equals(fingerprint) && failure.retryAt() > System.currentTimeMillis()) {
+                throw new IOException("AMQP connect failed recently: " + failure.message());
+            }
+            ConnectionFactory factory = new ConnectionFactory();
+            factory.setHost(conn.getHost() != null && !conn.getHost().isBlank() ? conn.getHost() : "localhost");
+            factory.setPort(port);
+            factory.setVirtualHost(vhost);
+            factory.setUsername(conn.getUsername() != null ? conn.getUsername() : "");
+            factory.setPassword(conn.getPassword() != null ? conn.getPassword() : "");
+            factory.setConnectionTimeout((int) connectTimeout.toMillis());
+            factory.setAutomaticRecoveryEnabled(false);
+            Connection connection;
+            try {
+                connection = factory.newConnection("panopticum");
+            } catch (IOException | TimeoutException e) {
+                failures.put(key, new ConnectFailure(fingerprint, String.valueOf(e.getMessage()),
+                        System.currentTimeMillis() + retryAfter.toMillis()));
+                throw e;
+            }
+            failures.remove(key);
+            Pool created = new Pool(connection, fingerprint, Math.max(1, channelsPerConnection));
+            pools.put(key, created);
+
+            return created;
+        }
+    }
+
+    private RabbitMqMessage toMessage(Envelope envelope, AMQP.BasicProperties props, byte[] body) {
+        byte[] shown = body.length > maxPayloadBytes ? Arrays.copyOf(body, maxPayloadBytes) : body;
+        Map<String, Object> properties = new LinkedHashMap<>();
+        putIfPresent(properties, "content_type", props.getContentType());
+        putIfPresent(properties, "content_encoding", props.getContentEncoding());
+        putIfPresent(properties, "delivery_mode", props.getDeliveryMode());
+        putIfPresent(properties, "priority", props.getPriority());
+        putIfPresent(properties, "correlation_id", props.getCorrelationId());
+        putIfPresent(properties, "reply_to", props.getReplyTo());
+        putIfPresent(properties, "expiration", props.getExpiration());
+        putIfPresent(properties, "message_id", props.getMessageId());
+        putIfPresent(properties, "timestamp", props.getTimestamp() != null ? props.getTimestamp().toInstant().toString() : null);
+        putIfPresent(properties, "type", props.getType());
+        putIfPresent(properties, "user_id", props.getUserId());
+        putIfPresent(properties, "app_id", props.getAppId());
+        if (props.getHeaders() != null && !props.getHeaders().isEmpty()) {
+            properties.put("headers", plain(props.getHeaders()));
+        }
+        properties.put("exchange", envelope.getExchange());
+        properties.put("redelivered", envelope.isRedeliver());
+        String payload;
+        try {
+            payload = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(shown))
+                    .toString();
+            properties.put("payload_encoding", "string");
+        } catch (CharacterCodingException e) {
+            payload = Base64.getEncoder().encodeToString(shown);
+            properties.put("payload_encoding", "base64");
+        }
+
+        return RabbitMqMessage.builder()
+                .routingKey(envelope.getRoutingKey())
+                .payload(payload)
+                .payloadBytes((long) body.length)
+                .properties(properties)
+                .build();
+    }
+
+    private static Object streamOffset(String offset) {
+        if (offset == null || offset.isBlank()) {
+            return "first";
+        }
+        String value = offset.trim();
+        if (value.equals("first") || value.equals("last") || value.equals("next")) {
+            return value;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            return Date.from(Instant.parse(value));
+        } catch (DateTimeParseException ignored) {
+        }
+
+        return "first";
+    }
+
+    private static Object plain(Object value) {
+        if (value instanceof LongString longString) {
+            return longString.toString();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(String.valueOf(k), plain(v)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(RabbitMqAmqpClient::plain).toList();
+        }
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+
+        return value;
+    }
+
+    private static void putIfPresent(Map<String, Object> target, String key, Object value) {
+        if (value != null) {
+            target.put(key, value);
+        }
+    }
+
+    private record PoolKey(Long connectionId, String vhost) {
+    }
+
+    private record ConnectFailure(String fingerprint, String message, long retryAt) {
+    }
+
+    private static final class Pool {
+
+        private final Connection connection;
+        private final String fingerprint;
+        private final BlockingQueue<Channel> idle;
+        private final Semaphore permits;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private Pool(Connection connection, String fingerprint, int channels) {
+            this.connection = connection;
+            this.fingerprint = fingerprint;
+            this.idle = new ArrayBlockingQueue<>(channels);
+            this.permits = new Semaphore(channels);
+        }
+
+        private Channel borrow(Duration timeout) throws IOException, TimeoutException, InterruptedException {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("No free AMQP channel");
+            }
+            lastUsed = System.currentTimeMillis();
+            try {
+                Channel channel;
+                while ((channel = idle.poll()) != null) {
+                    if (channel.isOpen()) {
+                        return channel;
+                    }
+                }
+                return connection.createChannel();
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void release(Channel channel, boolean reusable) {
+            try {
+                if (!reusable || !channel.isOpen() || !idle.offer(channel)) {
+                    closeQuietly(channel);
+                }
+            } finally {
+                lastUsed = System.currentTimeMillis();
+                permits.release();
+            }
+        }
+
+        private void close() {
+            Channel channel;
+            while ((channel = idle.poll()) != null) {
+                closeQuietly(channel);
+            }
+            try {
+                if (connection.isOpen()) {
+                    connection.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing AMQP connection failed: {}", e.getMessage());
+            }
+        }
+
+        private static void closeQuietly(Channel channel) {
+            try {
+                if (channel.isOpen()) {
+                    channel.close();
+                }
+            } catch (IOException | TimeoutException | RuntimeException e) {
+                log.debug("Closing AMQP channel failed: {}", e.getMessage());
+            }
+        }
+    }
+}
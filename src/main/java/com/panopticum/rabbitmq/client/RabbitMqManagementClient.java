@@ -5,6 +5,7 @@ import com.panopticum.rabbitmq.model.RabbitMqGetMessagesRequest;
 import com.panopticum.rabbitmq.model.RabbitMqMessage;
 import com.panopticum.rabbitmq.model.RabbitMqPublishRequest;
 import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueuePage;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -55,6 +56,29 @@ public class RabbitMqManagementClient {
         }
     }
 
+    public RabbitMqQueuePage listQueuesPage(String baseUrl, String username, String password,
+                                            int page, int pageSize, String columns) {
+        BlockingHttpClient client = httpClient.toBlocking();
+        String url = baseUrl + "/api/queues?page=" + page + "&page_size=" + pageSize
+                + "&columns=" + URLEncoder.encode(columns, StandardCharsets.UTF_8);
+        MutableHttpRequest<?> request = HttpRequest.GET(url)
+                .accept(MediaType.APPLICATION_JSON_TYPE)
+                .basicAuth(username, password);
+        try {
+            HttpResponse<RabbitMqQueuePage> response = client.exchange(
+                    request,
+                    Argument.of(RabbitMqQueuePage.class)
+            );
+            return response.getBody().orElse(null);
+        } catch (HttpClientResponseException | ReadTimeoutException e) {
+            log.debug("RabbitMQ listQueuesPage failed for {}: {}", url, e.getMessage());
+            throw new MetadataAccessException(e.getMessage(), e);
+        } catch (HttpClientException e) {
+            log.warn("Failed to connect to RabbitMQ {}: {}", url, e.getMessage());
+            throw new MetadataAccessException(e.getMessage(), e);
+        }
+    }
+
     public RabbitMqQueueInfo getQueue(String baseUrl, String vhost, String queue, String username, String password) {
         BlockingHttpClient client = httpClient.toBlocking();
         String url = baseUrl + "/api/queues/" + encodePathSegment(vhost) + "/" + encodePathSegment(queue);
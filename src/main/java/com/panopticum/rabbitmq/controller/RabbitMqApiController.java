@@ -1,13 +1,15 @@
 package com.panopticum.rabbitmq.controller;
 
+import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.model.Page;
 import com.panopticum.core.controller.AbstractConnectionApiController;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.rabbitmq.model.RabbitMqMessage;
-import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueueStats;
 import com.panopticum.rabbitmq.service.RabbitMqMetadataService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
@@ -55,10 +57,10 @@ public class RabbitMqApiController extends AbstractConnectionApiController {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "List queues")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Queues page"),
+            @ApiResponse(responseCode = "200", description = "Queues page from the background sampler with publish/deliver rates and depth history"),
             @ApiResponse(responseCode = "404", description = "connection.notFound")
     })
-    public Page<RabbitMqQueueInfo> queues(
+    public Page<RabbitMqQueueStats> queues(
             @Parameter(description = "Connection ID") @PathVariable Long id,
             @QueryValue(value = "page", defaultValue = "1") int page,
             @QueryValue(value = "size", defaultValue = "50") int size,
@@ -73,7 +75,8 @@ public class RabbitMqApiController extends AbstractConnectionApiController {
     @Operation(summary = "List messages")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Messages list (truncated payloads)"),
-            @ApiResponse(responseCode = "404", description = "connection.notFound")
+            @ApiResponse(responseCode = "404", description = "connection.notFound"),
+            @ApiResponse(responseCode = "409", description = "rabbitmq.quorumPeekRefused")
     })
     public List<RabbitMqMessage> messages(
             @Parameter(description = "Connection ID") @PathVariable Long id,
@@ -81,13 +84,20 @@ public class RabbitMqApiController extends AbstractConnectionApiController {
             @PathVariable String queue,
             @QueryValue(value = "count", defaultValue = "20") int count,
             @QueryValue(value = "sort", defaultValue = "index") String sort,
-            @QueryValue(value = "order", defaultValue = "asc") String order) {
+            @QueryValue(value = "order", defaultValue = "asc") String order,
+            @Parameter(description = "Stream queue offset: first, last, next, numeric offset or ISO-8601 timestamp") @Nullable @QueryValue("offset") String offset,
+            @QueryValue(value = "refresh", defaultValue = "false") boolean refresh,
+            @Parameter(description = "Confirm peeking a quorum queue, which raises the delivery count of peeked messages") @QueryValue(value = "requeue", defaultValue = "false") boolean requeue) {
         ensureConnectionExists(id);
         String vhostDecoded = decodeVhost(vhost);
         String queueName = queue != null ? queue : "";
         int peekCount = count > 0 ? Math.min(count, 50) : 20;
-        List<RabbitMqMessage> messages = rabbitMqMetadataService.peekMessages(id, vhostDecoded, queueName, peekCount);
-        List<RabbitMqMessage> sorted = rabbitMqMetadataService.sortMessages(messages, sort != null ? sort : "index", order != null ? order : "asc");
+        AccessResult<List<RabbitMqMessage>> messages = rabbitMqMetadataService.peekMessages(id, vhostDecoded, queueName,
+                peekCount, offset, refresh, requeue);
+        if (!messages.isOk()) {
+            throw new HttpStatusException(HttpStatus.CONFLICT, messages.getMessageKey());
+        }
+        List<RabbitMqMessage> sorted = rabbitMqMetadataService.sortMessages(messages.getPayload(), sort != null ? sort : "index", order != null ? order : "asc");
         return rabbitMqMetadataService.truncatePayloadsForList(sorted);
     }
 
@@ -96,17 +106,25 @@ public class RabbitMqApiController extends AbstractConnectionApiController {
     @Operation(summary = "Get message by index")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Message or null"),
-            @ApiResponse(responseCode = "404", description = "connection.notFound")
+            @ApiResponse(responseCode = "404", description = "connection.notFound"),
+            @ApiResponse(responseCode = "409", description = "rabbitmq.quorumPeekRefused")
     })
     public RabbitMqMessage messageByIndex(
             @Parameter(description = "Connection ID") @PathVariable Long id,
             @PathVariable String vhost,
             @PathVariable String queue,
-            @PathVariable int index) {
+            @PathVariable int index,
+            @Parameter(description = "Stream queue offset used for the listing") @Nullable @QueryValue("offset") String offset,
+            @Parameter(description = "Confirm peeking a quorum queue, which raises the delivery count of peeked messages") @QueryValue(value = "requeue", defaultValue = "false") boolean requeue) {
         ensureConnectionExists(id);
         String vhostDecoded = decodeVhost(vhost);
         String queueName = queue != null ? queue : "";
-        return rabbitMqMetadataService.peekOneByIndex(id, vhostDecoded, queueName, index).orElse(null);
+        AccessResult<RabbitMqMessage> message = rabbitMqMetadataService.peekOneByIndex(id, vhostDecoded, queueName, index,
+                offset, requeue);
+        if (message.getStatus() == AccessResult.Status.FORBIDDEN) {
+            throw new HttpStatusException(HttpStatus.CONFLICT, message.getMessageKey());
+        }
+        return message.isOk() ? message.getPayload() : null;
     }
 
     @Post("/{id}/queues/{vhost}/{queue}/publish")
@@ -1,5 +1,6 @@
 package com.panopticum.rabbitmq.controller;
 
+import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.model.BreadcrumbItem;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.model.Page;
@@ -8,11 +9,12 @@ import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.ui.AppAlerts;
 import com.panopticum.core.util.ControllerModelHelper;
 import com.panopticum.rabbitmq.model.RabbitMqMessage;
-import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueueStats;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.panopticum.rabbitmq.service.RabbitMqMetadataService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Consumes;
@@ -76,12 +78,13 @@ public class RabbitMqController extends AbstractConnectionUiController {
         ControllerModelHelper.addBreadcrumbs(model, breadcrumbs);
         model.put("connectionId", id);
 
-        Page<RabbitMqQueueInfo> paged = rabbitMqMetadataService.listQueuesPaged(id, page, size, sort, order);
+        Page<RabbitMqQueueStats> paged = rabbitMqMetadataService.listQueuesPaged(id, page, size, sort, order);
         ControllerModelHelper.addPagination(model, paged, "items");
         ControllerModelHelper.addOrderToggles(model, paged.getSort(), paged.getOrder(),
                 Map.of("name", "orderName", "vhost", "orderVhost", "messages", "orderMessages",
                         "messagesReady", "orderMessagesReady", "messagesUnacknowledged", "orderMessagesUnack",
-                        "consumers", "orderConsumers"));
+                        "consumers", "orderConsumers", "publishRate", "orderPublishRate", "deliverRate", "orderDeliverRate"));
+        model.put("sampledAt", rabbitMqMetadataService.queuesSampledAt(id).map(Object::toString).orElse(null));
 
         return model;
     }
@@ -94,8 +97,11 @@ public class RabbitMqController extends AbstractConnectionUiController {
                                        @PathVariable String queue,
                                        @QueryValue(value = "count", defaultValue = "20") int count,
                                        @QueryValue(value = "sort", defaultValue = "index") String sort,
-                                       @QueryValue(value = "order", defaultValue = "asc") String order) {
-        return messagesModel(id, vhost, queue, count, sort, order, null);
+                                       @QueryValue(value = "order", defaultValue = "asc") String order,
+                                       @Nullable @QueryValue("offset") String offset,
+                                       @QueryValue(value = "refresh", defaultValue = "false") boolean refresh,
+                                       @QueryValue(value = "requeue", defaultValue = "false") boolean requeue) {
+        return messagesModel(id, vhost, queue, count, sort, order, offset, refresh, requeue, null);
     }
 
     @Post("/{id}/queues/{vhost}/{queue}/publish")
@@ -114,14 +120,14 @@ public class RabbitMqController extends AbstractConnectionUiController {
         try {
             payloadList = parsePublishPayloads(payloads);
         } catch (IllegalArgumentException e) {
-            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, payloads);
+            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, null, false, false, payloads);
             AppAlerts.i18n(model, "rabbitmq.publishRequired");
 
             return new ModelAndView<>("rabbitmq/messages", model);
         }
 
         if (payloadList.isEmpty()) {
-            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, payloads);
+            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, null, false, false, payloads);
             AppAlerts.i18n(model, "rabbitmq.publishRequired");
 
             return new ModelAndView<>("rabbitmq/messages", model);
@@ -132,12 +138,12 @@ public class RabbitMqController extends AbstractConnectionUiController {
 
         try {
             int published = rabbitMqMetadataService.publishMessages(id, vhostDecoded, queueName, payloadList);
-            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, null);
+            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, null, false, false, null);
             AppAlerts.raw(model, published + " / " + payloadList.size());
 
             return new ModelAndView<>("rabbitmq/messages", model);
         } catch (Exception e) {
-            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, payloads);
+            Map<String, Object> model = messagesModel(id, vhost, queue, count, sort, order, null, false, false, payloads);
             AppAlerts.fromControllerMessage(model, e.getMessage() != null ? e.getMessage() : "rabbitmq.publishFailed");
 
             return new ModelAndView<>("rabbitmq/messages", model);
@@ -145,7 +151,7 @@ public class RabbitMqController extends AbstractConnectionUiController {
     }
 
     private Map<String, Object> messagesModel(Long id, String vhost, String queue, int count, String sort, String order,
-                                              String publishDraft) {
+                                              String offset, boolean refresh, boolean requeue, String publishDraft) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -167,10 +173,18 @@ public class RabbitMqController extends AbstractConnectionUiController {
         model.put("publishDraft", publishDraft != null ? publishDraft : "");
 
         int peekCount = count > 0 ? Math.min(count, 50) : DEFAULT_PEEK_COUNT;
-        List<RabbitMqMessage> messages = rabbitMqMetadataService.peekMessages(id, vhostDecoded, queueName, peekCount);
+        String streamOffset = offset != null && !offset.isBlank() ? offset.trim() : null;
+        AccessResult<List<RabbitMqMessage>> peeked = rabbitMqMetadataService.peekMessages(id, vhostDecoded, queueName,
+                peekCount, streamOffset, refresh, requeue);
+        List<RabbitMqMessage> messages = peeked.isOk() ? peeked.getPayload() : List.of();
+        if (!peeked.isOk()) {
+            AppAlerts.i18n(model, peeked.getMessageKey());
+        }
         List<RabbitMqMessage> sorted = rabbitMqMetadataService.sortMessages(messages, sort != null ? sort : "index", order != null ? order : "asc");
         model.put("messages", rabbitMqMetadataService.truncatePayloadsForList(sorted));
         model.put("peekCount", peekCount);
+        model.put("offset", streamOffset);
+        model.put("requeue", requeue);
         model.put("vhostForUrl", vhostForUrl(vhostDecoded));
         model.put("sort", sort != null ? sort : "index");
         model.put("order", order != null ? order : "asc");
@@ -218,7 +232,9 @@ public class RabbitMqController extends AbstractConnectionUiController {
     public Map<String, Object> messageDetail(@PathVariable Long id,
                                             @PathVariable String vhost,
                                             @PathVariable String queue,
-                                            @PathVariable int index) {
+                                            @PathVariable int index,
+                                            @Nullable @QueryValue("offset") String offset,
+                                            @QueryValue(value = "requeue", defaultValue = "false") boolean requeue) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -239,11 +255,14 @@ public class RabbitMqController extends AbstractConnectionUiController {
         model.put("queue", queueName);
         model.put("index", index);
 
-        Optional<RabbitMqMessage> message = rabbitMqMetadataService.peekOneByIndex(id, vhostDecoded, queueName, index);
+        String streamOffset = offset != null && !offset.isBlank() ? offset.trim() : null;
+        AccessResult<RabbitMqMessage> peeked = rabbitMqMetadataService.peekOneByIndex(id, vhostDecoded, queueName, index,
+                streamOffset, requeue);
+        Optional<RabbitMqMessage> message = peeked.isOk() ? Optional.of(peeked.getPayload()) : Optional.empty();
         model.put("message", message.orElse(null));
         model.put("vhostForUrl", vhostForUrl(vhostDecoded));
         if (message.isEmpty()) {
-            AppAlerts.i18n(model, "rabbitmq.messageNotFound");
+            AppAlerts.i18n(model, peeked.getMessageKey());
         } else {
             String label = conn.get().getName() + " / " + queueBreadcrumbLabel(vhostDecoded, queueName) + " / #" + (index + 1);
             try {
@@ -14,6 +14,8 @@ public class RabbitMqQueueInfo {
 
     private String vhost;
 
+    private String type;
+
     private Long messages;
 
     @JsonProperty("messages_ready")
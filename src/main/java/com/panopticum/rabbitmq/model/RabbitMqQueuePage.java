@@ -0,0 +1,28 @@
+package com.panopticum.rabbitmq.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Serdeable
+public class RabbitMqQueuePage {
+
+    private List<RabbitMqQueueInfo> items;
+
+    private Integer page;
+
+    @JsonProperty("page_count")
+    private Integer pageCount;
+
+    @JsonProperty("page_size")
+    private Integer pageSize;
+
+    @JsonProperty("total_count")
+    private Long totalCount;
+
+    @JsonProperty("filtered_count")
+    private Long filteredCount;
+}
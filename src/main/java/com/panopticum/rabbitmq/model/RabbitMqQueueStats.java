@@ -0,0 +1,50 @@
+package com.panopticum.rabbitmq.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Serdeable
+public class RabbitMqQueueStats {
+
+    private String name;
+
+    private String vhost;
+
+    private String type;
+
+    private Long messages;
+
+    private Long messagesReady;
+
+    private Long messagesUnacknowledged;
+
+    private Integer consumers;
+
+    private Double publishRate;
+
+    private Double deliverRate;
+
+    private List<Long> depthHistory;
+
+    private List<Double> publishRateHistory;
+
+    private List<Double> deliverRateHistory;
+
+    private String depthSparkline;
+
+    private String publishSparkline;
+
+    private String deliverSparkline;
+
+    public String getVhostForUrl() {
+        if (vhost == null || vhost.isBlank()) {
+            return "_";
+        }
+        return vhost.replace("/", "_");
+    }
+}
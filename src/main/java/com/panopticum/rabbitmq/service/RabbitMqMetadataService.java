@@ -6,20 +6,33 @@ import com.panopticum.core.model.Page;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.util.StringUtils;
 import com.panopticum.core.model.ColumnInfo;
+import com.panopticum.core.model.ConnectionChangedEvent;
 import com.panopticum.core.model.EntityDescription;
+import com.panopticum.core.error.AccessResult;
+import com.panopticum.core.error.MetadataAccessException;
+import com.panopticum.rabbitmq.client.RabbitMqAmqpClient;
 import com.panopticum.rabbitmq.client.RabbitMqManagementClient;
 import com.panopticum.rabbitmq.model.RabbitMqMessage;
 import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueueStats;
 import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 
 @Singleton
 @RequiredArgsConstructor
@@ -30,10 +43,20 @@ public class RabbitMqMetadataService {
 
     private final DbConnectionService dbConnectionService;
     private final RabbitMqManagementClient managementClient;
+    private final RabbitMqAmqpClient amqpClient;
+    private final RabbitMqQueueSampler queueSampler;
+
+    private final Map<PageKey, CachedPage> pages = new ConcurrentHashMap<>();
 
     @Value("${panopticum.limits.rabbitmq.peek-count:20}")
     private int defaultPeekCount;
 
+    @Value("${panopticum.rabbitmq.amqp.enabled:true}")
+    private boolean amqpEnabled;
+
+    @Value("${panopticum.rabbitmq.amqp.page-ttl:30s}")
+    private Duration pageTtl;
+
     public Optional<String> testConnection(String host, int port, String vhost, String username, String password) {
         String baseUrl = managementBaseUrl(host, port);
         boolean ok = managementClient.checkConnection(baseUrl, username != null ? username : "", password != null ? password : "");
@@ -42,29 +65,36 @@ public class RabbitMqMetadataService {
 
     public List<RabbitMqQueueInfo> listQueues(Long connectionId) {
         DbConnection conn = requireRabbitConnection(connectionId);
-        return managementClient.listQueues(
-                managementBaseUrl(conn.getHost(), conn.getPort()),
-                conn.getUsername() != null ? conn.getUsername() : "",
-                conn.getPassword() != null ? conn.getPassword() : "");
+        return queueSampler.queues(conn, managementBaseUrl(conn.getHost(), conn.getPort()));
+    }
+
+    public List<RabbitMqQueueStats> listQueueStats(Long connectionId) {
+        DbConnection conn = requireRabbitConnection(connectionId);
+        return queueSampler.stats(conn, managementBaseUrl(conn.getHost(), conn.getPort()));
+    }
+
+    public Optional<Instant> queuesSampledAt(Long connectionId) {
+        return queueSampler.sampledAt(connectionId);
     }
 
-    public Page<RabbitMqQueueInfo> listQueuesPaged(Long connectionId, int page, int size, String sort, String order) {
-        List<RabbitMqQueueInfo> all = listQueues(connectionId);
-        List<RabbitMqQueueInfo> sorted = all.stream()
+    public Page<RabbitMqQueueStats> listQueuesPaged(Long connectionId, int page, int size, String sort, String order) {
+        List<RabbitMqQueueStats> sorted = listQueueStats(connectionId).stream()
                 .sorted(queueComparator(sort, order))
                 .toList();
         return Page.of(sorted, page, size, sort != null ? sort : "name", order != null ? order : "asc");
     }
 
-    private static Comparator<RabbitMqQueueInfo> queueComparator(String sort, String order) {
+    public static Comparator<RabbitMqQueueStats> queueComparator(String sort, String order) {
         String by = sort != null ? sort : "name";
         boolean desc = "desc".equalsIgnoreCase(order);
-        Comparator<RabbitMqQueueInfo> c = switch (by) {
+        Comparator<RabbitMqQueueStats> c = switch (by) {
             case "vhost" -> Comparator.comparing(q -> nullSafe(q.getVhostForUrl()));
             case "messages" -> Comparator.comparing(q -> nullSafe(q.getMessages()));
             case "messagesReady" -> Comparator.comparing(q -> nullSafe(q.getMessagesReady()));
             case "messagesUnacknowledged" -> Comparator.comparing(q -> nullSafe(q.getMessagesUnacknowledged()));
             case "consumers" -> Comparator.comparing(q -> nullSafe(q.getConsumers()));
+            case "publishRate" -> Comparator.comparing(q -> nullSafe(q.getPublishRate()));
+            case "deliverRate" -> Comparator.comparing(q -> nullSafe(q.getDeliverRate()));
             default -> Comparator.comparing(q -> nullSafe(q.getName()));
         };
         return desc ? c.reversed() : c;
@@ -82,6 +112,10 @@ public class RabbitMqMetadataService {
         return n != null ? n : 0;
     }
 
+    private static Double nullSafe(Double n) {
+        return n != null ? n : 0d;
+    }
+
     public Optional<RabbitMqQueueInfo> getQueueDetails(Long connectionId, String vhost, String queue) {
         DbConnection conn = requireRabbitConnection(connectionId);
         return Optional.ofNullable(managementClient.getQueue(
@@ -91,14 +125,73 @@ public class RabbitMqMetadataService {
                         conn.getPassword() != null ? conn.getPassword() : ""));
     }
 
-    public List<RabbitMqMessage> peekMessages(Long connectionId, String vhost, String queue, int count) {
+    public AccessResult<List<RabbitMqMessage>> peekMessages(Long connectionId, String vhost, String queue, int count,
+                                                            String offset, boolean refresh, boolean requeue) {
         int safeCount = count > 0 ? Math.min(count, PEEK_MAX_COUNT) : defaultPeekCount;
         DbConnection conn = requireRabbitConnection(connectionId);
-        return managementClient.getMessages(
-                managementBaseUrl(conn.getHost(), conn.getPort()),
-                vhost, queue, safeCount,
-                conn.getUsername() != null ? conn.getUsername() : "",
-                conn.getPassword() != null ? conn.getPassword() : "");
+        PageKey key = new PageKey(connectionId, vhost, queue, offset != null ? offset.trim() : "");
+        CachedPage cached = pages.get(key);
+        if (!refresh && cached != null && cached.covers(safeCount, pageTtl)) {
+            return AccessResult.ok(cached.messages().subList(0, Math.min(safeCount, cached.messages().size())));
+        }
+        AccessResult<List<RabbitMqMessage>> fetched = fetchMessages(conn, vhost, queue, safeCount, key.offset(), requeue);
+        if (!fetched.isOk()) {
+            return fetched;
+        }
+        List<RabbitMqMessage> messages = List.copyOf(fetched.getPayload());
+        pages.put(key, new CachedPage(messages, safeCount, System.currentTimeMillis()));
+
+        return AccessResult.ok(messages);
+    }
+
+    private AccessResult<List<RabbitMqMessage>> fetchMessages(DbConnection conn, String vhost, String queue, int count, String offset,
+                                                boolean requeue) {
+        String baseUrl = managementBaseUrl(conn.getHost(), conn.getPort());
+        String user = conn.getUsername() != null ? conn.getUsername() : "";
+        String pass = conn.getPassword() != null ? conn.getPassword() : "";
+        String type = null;
+        try {
+            RabbitMqQueueInfo info = managementClient.getQueue(baseUrl, vhost, queue, user, pass);
+            type = info != null ? info.getType() : null;
+        } catch (MetadataAccessException e) {
+            log.debug("Queue type lookup of {} failed: {}", queue, e.getMessage());
+        }
+        if ("quorum".equalsIgnoreCase(type) && !requeue) {
+            return AccessResult.forbidden("rabbitmq.quorumPeekRefused");
+        }
+        if (amqpEnabled) {
+            try {
+                if ("stream".equalsIgnoreCase(type)) {
+                    return AccessResult.ok(amqpClient.readStream(conn, vhost, queue, offset, count));
+                }
+                return AccessResult.ok(amqpClient.peek(conn, vhost, queue, count));
+            } catch (IOException | TimeoutException e) {
+                log.debug("AMQP peek of {} failed, using management API: {}", queue, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return AccessResult.ok(List.of());
+            }
+        }
+
+        return AccessResult.ok(managementClient.getMessages(baseUrl, vhost, queue, count, user, pass));
+    }
+
+    public void invalidatePages(Long connectionId, String vhost, String queue) {
+        pages.keySet().removeIf(k -> k.connectionId().equals(connectionId)
+                && k.vhost().equals(vhost) && k.queue().equals(queue));
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            pages.keySet().removeIf(k -> k.connectionId().equals(event.connectionId()));
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictExpiredPages() {
+        long cutoff = System.currentTimeMillis() - pageTtl.toMillis();
+        pages.values().removeIf(page -> page.fetchedAt() < cutoff);
     }
 
     public int publishMessages(Long connectionId, String vhost, String queue, List<String> payloads) {
@@ -122,6 +215,7 @@ public class RabbitMqMetadataService {
                 published++;
             }
         }
+        invalidatePages(connectionId, vhost, queue);
 
         return published;
     }
@@ -166,16 +260,20 @@ public class RabbitMqMetadataService {
                 .toList();
     }
 
-    public Optional<RabbitMqMessage> peekOneByIndex(Long connectionId, String vhost, String queue, int index) {
+    public AccessResult<RabbitMqMessage> peekOneByIndex(Long connectionId, String vhost, String queue, int index,
+                                                        String offset, boolean requeue) {
         if (index < 0) {
-            return Optional.empty();
+            return AccessResult.notFound("rabbitmq.messageNotFound");
         }
         int count = index + 1;
-        List<RabbitMqMessage> messages = peekMessages(connectionId, vhost, queue, count);
-        if (index < messages.size()) {
-            return Optional.of(messages.get(index));
+        AccessResult<List<RabbitMqMessage>> messages = peekMessages(connectionId, vhost, queue, count, offset, false, requeue);
+        if (!messages.isOk()) {
+            return AccessResult.<RabbitMqMessage>builder().status(messages.getStatus()).messageKey(messages.getMessageKey()).build();
+        }
+        if (index < messages.getPayload().size()) {
+            return AccessResult.ok(messages.getPayload().get(index));
         }
-        return Optional.empty();
+        return AccessResult.notFound("rabbitmq.messageNotFound");
     }
 
     private static String managementBaseUrl(String host, int port) {
@@ -190,10 +288,8 @@ public class RabbitMqMetadataService {
             String baseUrl = managementBaseUrl(conn.getHost(), conn.getPort());
             String vhost = catalog != null && !catalog.isBlank() ? catalog : conn.getDbName();
             if (vhost == null || vhost.isBlank()) vhost = "/";
-            String user = conn.getUsername() != null ? conn.getUsername() : "";
-            String pass = conn.getPassword() != null ? conn.getPassword() : "";
             String finalVhost = vhost;
-            List<RabbitMqQueueInfo> queues = managementClient.listQueues(baseUrl, user, pass).stream()
+            List<RabbitMqQueueInfo> queues = queueSampler.queues(conn, baseUrl).stream()
                     .filter(q -> finalVhost.equals(q.getVhost()))
                     .toList();
             RabbitMqQueueInfo info = queues.stream().filter(q -> queueName.equals(q.getName())).findFirst().orElse(null);
@@ -228,4 +324,15 @@ public class RabbitMqMetadataService {
             return Optional.empty();
         }
     }
+
+    private record PageKey(Long connectionId, String vhost, String queue, String offset) {
+    }
+
+    private record CachedPage(List<RabbitMqMessage> messages, int requested, long fetchedAt) {
+
+        private boolean covers(int count, Duration ttl) {
+            return System.currentTimeMillis() - fetchedAt <= ttl.toMillis()
+                    && (count <= messages.size() || messages.size() < requested);
+        }
+    }
 }
@@ -0,0 +1,241 @@
+package com.panopticum.rabbitmq.service;
+
+import com.panopticum.core.error.MetadataAccessException;
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.rabbitmq.client.RabbitMqManagementClient;
+import com.panopticum.rabbitmq.model.RabbitMqQueueInfo;
+import com.panopticum.rabbitmq.model.RabbitMqQueuePage;
+import com.panopticum.rabbitmq.model.RabbitMqQueueStats;
+import com.panopticum.rabbitmq.util.Sparklines;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Singleton
+@RequiredArgsConstructor
+public class RabbitMqQueueSampler {
+
+    private static final String COLUMNS = "name,vhost,type,messages,messages_ready,messages_unacknowledged,consumers,"
+            + "message_stats.publish_details.rate,message_stats.deliver_get_details.rate";
+
+    private final RabbitMqManagementClient managementClient;
+
+    private final Map<Long, Sampling> samplings = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.rabbitmq.sampler.interval:15s}")
+    private Duration interval;
+
+    @Value("${panopticum.rabbitmq.sampler.history:60}")
+    private int history;
+
+    @Value("${panopticum.rabbitmq.sampler.page-size:500}")
+    private int pageSize;
+
+    @Value("${panopticum.rabbitmq.sampler.max-queues:20000}")
+    private int maxQueues;
+
+    @Value("${panopticum.rabbitmq.sampler.idle-eviction:10m}")
+    private Duration idleEviction;
+
+    public List<RabbitMqQueueStats> stats(DbConnection conn, String baseUrl) {
+        Sampling sampling = sampling(conn, baseUrl);
+        List<RabbitMqQueueStats> out = new ArrayList<>(sampling.series.size());
+        sampling.series.values().forEach(series -> out.add(series.stats()));
+
+        return out;
+    }
+
+    public List<RabbitMqQueueInfo> queues(DbConnection conn, String baseUrl) {
+        Sampling sampling = sampling(conn, baseUrl);
+        List<RabbitMqQueueInfo> out = new ArrayList<>(sampling.series.size());
+        sampling.series.values().forEach(series -> out.add(series.latest));
+
+        return out;
+    }
+
+    public Optional<Instant> sampledAt(Long connectionId) {
+        return Optional.ofNullable(samplings.get(connectionId)).map(s -> s.sampledAt);
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            samplings.remove(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "5s", initialDelay = "5s")
+    public void sampleDue() {
+        long now = System.currentTimeMillis();
+        samplings.values().removeIf(s -> now - s.lastAccess > idleEviction.toMillis());
+        for (Sampling sampling : samplings.values()) {
+            if (sampling.sampledAt == null || now - sampling.sampledAt.toEpochMilli() >= interval.toMillis()) {
+                try {
+                    sample(sampling);
+                } catch (RuntimeException e) {
+                    log.debug("RabbitMQ queue sampling failed for connection {}: {}", sampling.conn.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Sampling sampling(DbConnection conn, String baseUrl) {
+        Sampling sampling = samplings.computeIfAbsent(conn.getId(), id -> new Sampling(conn, baseUrl));
+        sampling.lastAccess = System.currentTimeMillis();
+        if (sampling.sampledAt == null) {
+            sample(sampling);
+        }
+
+        return sampling;
+    }
+
+    private void sample(Sampling sampling) {
+        synchronized (sampling) {
+            if (sampling.sampledAt != null
+                    && System.currentTimeMillis() - sampling.sampledAt.toEpochMilli() < Math.min(interval.toMillis(), 1000)) {
+                return;
+            }
+            List<RabbitMqQueueInfo> fetched;
+            try {
+                fetched = fetchAll(sampling);
+            } catch (MetadataAccessException e) {
+                if (sampling.sampledAt == null) {
+                    samplings.remove(sampling.conn.getId(), sampling);
+                }
+                throw e;
+            }
+            Set<QueueKey> seen = new HashSet<>();
+            for (RabbitMqQueueInfo queue : fetched) {
+                QueueKey key = new QueueKey(queue.getVhost(), queue.getName());
+                seen.add(key);
+                Series series = sampling.series.get(key);
+                if (series != null) {
+                    series.record(queue);
+                    continue;
+                }
+                series = new Series(Math.max(2, history));
+                series.record(queue);
+                sampling.series.put(key, series);
+            }
+            sampling.series.keySet().retainAll(seen);
+            sampling.sampledAt = Instant.now();
+        }
+    }
+
+    private List<RabbitMqQueueInfo> fetchAll(Sampling sampling) {
+        DbConnection conn = sampling.conn;
+        String user = conn.getUsername() != null ? conn.getUsername() : "";
+        String pass = conn.getPassword() != null ? conn.getPassword() : "";
+        int size = Math.min(Math.max(1, pageSize), 500);
+        List<RabbitMqQueueInfo> all = new ArrayList<>();
+        int page = 1;
+        int pageCount;
+        do {
+            RabbitMqQueuePage result = managementClient.listQueuesPage(sampling.baseUrl, user, pass, page, size, COLUMNS);
+            if (result == null || result.getItems() == null || result.getItems().isEmpty()) {
+                break;
+            }
+            all.addAll(result.getItems());
+            pageCount = result.getPageCount() != null ? result.getPageCount() : page;
+            page++;
+        } while (page <= pageCount && all.size() < maxQueues);
+
+        return all.size() > maxQueues ? all.subList(0, maxQueues) : all;
+    }
+
+    private static Double rate(Map<String, Object> messageStats, String details) {
+        if (messageStats == null || !(messageStats.get(details) instanceof Map<?, ?> map)) {
+            return 0d;
+        }
+        return map.get("rate") instanceof Number n ? n.doubleValue() : 0d;
+    }
+
+    private record QueueKey(String vhost, String name) {
+    }
+
+    private static final class Sampling {
+
+        private final DbConnection conn;
+        private final String baseUrl;
+        private final Map<QueueKey, Series> series = new ConcurrentHashMap<>();
+        private volatile Instant sampledAt;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private Sampling(DbConnection conn, String baseUrl) {
+            this.conn = conn;
+            this.baseUrl = baseUrl;
+        }
+    }
+
+    private static final class Series {
+
+        private final long[] depth;
+        private final double[] publish;
+        private final double[] deliver;
+        private int next;
+        private int count;
+        private volatile RabbitMqQueueInfo latest;
+
+        private Series(int capacity) {
+            this.depth = new long[capacity];
+            this.publish = new double[capacity];
+            this.deliver = new double[capacity];
+        }
+
+        private synchronized void record(RabbitMqQueueInfo queue) {
+            latest = queue;
+            depth[next] = queue.getMessages() != null ? queue.getMessages() : 0L;
+            publish[next] = rate(queue.getMessageStats(), "publish_details");
+            deliver[next] = rate(queue.getMessageStats(), "deliver_get_details");
+            next = (next + 1) % depth.length;
+            count = Math.min(count + 1, depth.length);
+        }
+
+        private synchronized RabbitMqQueueStats stats() {
+            List<Long> depths = new ArrayList<>(count);
+            List<Double> publishes = new ArrayList<>(count);
+            List<Double> delivers = new ArrayList<>(count);
+            int start = (next - count + depth.length) % depth.length;
+            for (int i = 0; i < count; i++) {
+                int idx = (start + i) % depth.length;
+                depths.add(depth[idx]);
+                publishes.add(publish[idx]);
+                delivers.add(deliver[idx]);
+            }
+            RabbitMqQueueInfo queue = latest;
+
+            return RabbitMqQueueStats.builder()
+                    .name(queue.getName())
+                    .vhost(queue.getVhost())
+                    .type(queue.getType())
+                    .messages(queue.getMessages())
+                    .messagesReady(queue.getMessagesReady())
+                    .messagesUnacknowledged(queue.getMessagesUnacknowledged())
+                    .consumers(queue.getConsumers())
+                    .publishRate(publishes.isEmpty() ? 0d : publishes.get(publishes.size() - 1))
+                    .deliverRate(delivers.isEmpty() ? 0d : delivers.get(delivers.size() - 1))
+                    .depthHistory(depths)
+                    .publishRateHistory(publishes)
+                    .deliverRateHistory(delivers)
+                    .depthSparkline(Sparklines.render(depths))
+                    .publishSparkline(Sparklines.render(publishes))
+                    .deliverSparkline(Sparklines.render(delivers))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.panopticum.rabbitmq.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+@UtilityClass
+public class Sparklines {
+
+    private static final char[] BARS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+
+    public static String render(List<? extends Number> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (Number value : values) {
+            double v = value != null ? value.doubleValue() : 0;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double span = max - min;
+        StringBuilder sb = new StringBuilder(values.size());
+        for (Number value : values) {
+            double v = value != null ? value.doubleValue() : 0;
+            int level = span > 0 ? (int) Math.round((v - min) / span * (BARS.length - 1)) : 0;
+            sb.append(BARS[level]);
+        }
+
+        return sb.toString();
+    }
+}
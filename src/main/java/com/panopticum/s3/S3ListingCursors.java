@@ -0,0 +1,93 @@
+package com.panopticum.s3;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@UtilityClass
+public class S3ListingCursors {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String AFTER_ALL_CHILDREN = "\uDBFF\uDFFF";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] MAC_KEY = macKey();
+
+    public record Position(String bucket, String prefix, String startAfter, int page) {
+    }
+
+    public Optional<Position> decode(String token, Long connectionId, String bucket, String prefix, int size) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = token.trim().split("\\.", 2);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[0]);
+            if (!MessageDigest.isEqual(sign(payload), Base64.getUrlDecoder().decode(parts[1]))) {
+                return Optional.empty();
+            }
+            Map<String, Object> map = JSON.readValue(payload, new TypeReference<Map<String, Object>>() {
+            });
+            Object after = map.get("a");
+            if (!(after instanceof String startAfter) || startAfter.isEmpty()
+                    || !Objects.equals(map.get("c"), String.valueOf(connectionId))
+                    || !(map.get("s") instanceof Number s) || s.intValue() != size
+                    || !Objects.equals(map.get("b"), bucket) || !Objects.equals(map.get("p"), prefix)) {
+                return Optional.empty();
+            }
+            int page = map.get("n") instanceof Number n ? n.intValue() : 0;
+
+            return page > 1 ? Optional.of(new Position(bucket, prefix, startAfter, page)) : Optional.empty();
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode(Long connectionId, int size, Position position) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("c", String.valueOf(connectionId));
+        payload.put("s", size);
+        payload.put("b", position.bucket());
+        payload.put("p", position.prefix());
+        payload.put("a", position.startAfter());
+        payload.put("n", position.page());
+        try {
+            byte[] bytes = JSON.writeValueAsBytes(payload);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+            return encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public String resumeAfter(String key, boolean commonPrefix) {
+        return commonPrefix ? key + AFTER_ALL_CHILDREN : key;
+    }
+
+    private byte[] sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(MAC_KEY, MAC_ALGORITHM));
+
+        return mac.doFinal(payload);
+    }
+
+    private byte[] macKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        return key;
+    }
+}
@@ -4,17 +4,24 @@ import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.model.BreadcrumbItem;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.model.Page;
+import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.ui.AppAlerts;
 import com.panopticum.core.util.ControllerModelHelper;
+import com.panopticum.core.util.QueryResultModelHelper;
 import com.panopticum.s3.model.S3BucketInfo;
 import com.panopticum.s3.model.S3ObjectInfo;
+import com.panopticum.s3.model.S3PrefixUsage;
+import com.panopticum.s3.model.S3UsageReport;
 import com.panopticum.s3.service.S3Service;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.scheduling.TaskExecutors;
@@ -25,6 +32,10 @@ import io.micronaut.views.View;
 import lombok.RequiredArgsConstructor;
 
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -73,7 +84,8 @@ public class S3Controller {
             @PathVariable String bucket,
             @QueryValue(value = "prefix", defaultValue = "") String prefix,
             @QueryValue(value = "page", defaultValue = "1") int page,
-            @QueryValue(value = "size", defaultValue = "50") int size) {
+            @QueryValue(value = "size", defaultValue = "50") int size,
+            @QueryValue(value = "cursor", defaultValue = "") String cursor) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -87,7 +99,7 @@ public class S3Controller {
         model.put("bucket", bucket);
         model.put("prefix", prefix);
 
-        AccessResult<Page<S3ObjectInfo>> result = s3Service.listObjects(id, bucket, prefix, page, size);
+        AccessResult<Page<S3ObjectInfo>> result = s3Service.listObjects(id, bucket, prefix, page, size, cursor);
         if (result.isOk()) {
             ControllerModelHelper.addPagination(model, result.getPayload(), "items");
         } else {
@@ -104,7 +116,12 @@ public class S3Controller {
             @PathVariable String bucket,
             @QueryValue("key") String key,
             @QueryValue(value = "headBytes", defaultValue = "65536") int headBytes,
-            @QueryValue(value = "format", defaultValue = "auto") String format) {
+            @QueryValue(value = "format", defaultValue = "auto") String format,
+            @QueryValue(value = "columns", defaultValue = "") String columns,
+            @QueryValue(value = "where", defaultValue = "") String where,
+            @QueryValue(value = "offset", defaultValue = "0") int offset,
+            @QueryValue(value = "limit", defaultValue = "50") int limit,
+            @QueryValue(value = "records", defaultValue = "100") int records) {
         Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
         Optional<DbConnection> conn = dbConnectionService.findById(id);
         if (conn.isEmpty()) {
@@ -121,7 +138,34 @@ public class S3Controller {
         model.put("headBytes", headBytes);
         model.put("format", format);
 
-        if (key != null && !key.isBlank()) {
+        model.put("columnsFilter", columns);
+        model.put("where", where);
+        model.put("limit", limit);
+        model.put("records", records);
+
+        if (key != null && !key.isBlank() && s3Service.isParquet(format, key)) {
+            List<String> projection = Arrays.stream(columns.split(","))
+                    .map(String::trim)
+                    .filter(c -> !c.isEmpty())
+                    .toList();
+            AccessResult<QueryResult> result = s3Service.queryParquet(id, bucket, key, projection, where, offset, limit);
+            if (result.isOk()) {
+                model.put("parquet", true);
+                model.put("grid", true);
+                QueryResultModelHelper.putQueryResult(model, result.getPayload(), null, null);
+            } else {
+                AppAlerts.i18n(model, result.getMessageKey());
+            }
+        } else if (key != null && !key.isBlank() && s3Service.isRecordFormat(format, key)) {
+            AccessResult<QueryResult> result = s3Service.previewRecords(id, bucket, key, format, records);
+            if (result.isOk()) {
+                model.put("grid", true);
+                QueryResultModelHelper.putQueryResult(model, result.getPayload(), null, null);
+                model.put("limit", limit);
+            } else {
+                AppAlerts.i18n(model, result.getMessageKey());
+            }
+        } else if (key != null && !key.isBlank()) {
             AccessResult<String> result = s3Service.peekObject(id, bucket, key, headBytes, format);
             if (result.isOk()) {
                 model.put("content", result.getPayload());
@@ -131,4 +175,103 @@ public class S3Controller {
         }
         return model;
     }
+
+    @Produces(MediaType.TEXT_HTML)
+    @Get("/{id}/buckets/{bucket}/select")
+    @View("s3/select")
+    public Map<String, Object> select(@PathVariable Long id,
+            @PathVariable String bucket,
+            @QueryValue(value = "prefix", defaultValue = "") String prefix,
+            @QueryValue(value = "sql", defaultValue = "") String sql,
+            @QueryValue(value = "limit", defaultValue = "100") int limit) {
+        Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
+        Optional<DbConnection> conn = dbConnectionService.findById(id);
+        if (conn.isEmpty()) {
+            return model;
+        }
+        List<BreadcrumbItem> breadcrumbs = List.of(
+                new BreadcrumbItem(conn.get().getName(), "/s3/" + id + "/buckets"),
+                new BreadcrumbItem(bucket, "/s3/" + id + "/buckets/" + bucket),
+                new BreadcrumbItem("SELECT", null));
+        ControllerModelHelper.addBreadcrumbs(model, breadcrumbs);
+        model.put("connectionId", id);
+        model.put("bucket", bucket);
+        model.put("prefix", prefix);
+        model.put("sql", sql.isBlank() ? "SELECT * FROM '" + prefix + "' LIMIT " + limit : sql);
+
+        if (!sql.isBlank()) {
+            AccessResult<QueryResult> result = s3Service.select(id, bucket, sql, limit);
+            if (result.isOk()) {
+                QueryResultModelHelper.putQueryResult(model, result.getPayload(), null, null);
+            } else {
+                AppAlerts.i18n(model, result.getMessageKey());
+            }
+        }
+        return model;
+    }
+
+    @Produces(MediaType.TEXT_HTML)
+    @Get("/{id}/buckets/{bucket}/usage")
+    @View("s3/usage")
+    public Map<String, Object> usage(@PathVariable Long id,
+            @PathVariable String bucket,
+            @QueryValue(value = "prefix", defaultValue = "") String prefix,
+            @QueryValue(value = "depth", defaultValue = "2") int depth,
+            @QueryValue(value = "error", defaultValue = "") String error) {
+        Map<String, Object> model = ControllerModelHelper.baseModel(id, dbConnectionService);
+        Optional<DbConnection> conn = dbConnectionService.findById(id);
+        if (conn.isEmpty()) {
+            return model;
+        }
+        List<BreadcrumbItem> breadcrumbs = List.of(
+                new BreadcrumbItem(conn.get().getName(), "/s3/" + id + "/buckets"),
+                new BreadcrumbItem(bucket, "/s3/" + id + "/buckets/" + bucket),
+                new BreadcrumbItem("Usage", null));
+        ControllerModelHelper.addBreadcrumbs(model, breadcrumbs);
+        model.put("connectionId", id);
+        model.put("bucket", bucket);
+        model.put("prefix", prefix);
+        model.put("depth", Math.max(1, depth));
+        if (!error.isBlank()) {
+            AppAlerts.i18n(model, error);
+        }
+
+        Optional<S3UsageReport> report = s3Service.getUsageReport(id, bucket, prefix);
+        if (report.isPresent()) {
+            List<S3PrefixUsage> rows = new ArrayList<>();
+            flatten(report.get().getRoot(), Math.max(1, depth), rows);
+            model.put("report", report.get());
+            model.put("usageRows", rows);
+            if ("FAILED".equals(report.get().getState())) {
+                AppAlerts.i18n(model, "s3.usageFailed");
+            }
+        }
+        return model;
+    }
+
+    @Post("/{id}/buckets/{bucket}/usage")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public HttpResponse<?> usageAction(@PathVariable Long id, @PathVariable String bucket,
+                                       @Nullable String prefix, @Nullable String action) {
+        String target = prefix != null ? prefix : "";
+        String error = "";
+        if ("cancel".equals(action)) {
+            s3Service.cancelUsageAnalysis(id, bucket, target);
+        } else {
+            AccessResult<S3UsageReport> result = s3Service.startUsageAnalysis(id, bucket, target);
+            if (!result.isOk()) {
+                error = "&error=" + URLEncoder.encode(result.getMessageKey(), StandardCharsets.UTF_8);
+            }
+        }
+        return HttpResponse.redirect(URI.create("/s3/" + id + "/buckets/" + bucket + "/usage?prefix="
+                + URLEncoder.encode(target, StandardCharsets.UTF_8) + error));
+    }
+
+    private void flatten(S3PrefixUsage node, int depth, List<S3PrefixUsage> rows) {
+        rows.add(node);
+        if (node.getDepth() >= depth || node.getChildren() == null) {
+            return;
+        }
+        node.getChildren().forEach(child -> flatten(child, depth, rows));
+    }
 }
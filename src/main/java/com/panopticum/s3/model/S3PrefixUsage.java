@@ -0,0 +1,21 @@
+package com.panopticum.s3.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class S3PrefixUsage {
+
+    private final String prefix;
+    private final int depth;
+    private final long objectCount;
+    private final long totalBytes;
+    private final String totalSize;
+    private final String oldestModified;
+    private final String newestModified;
+    private final boolean truncated;
+    private final List<S3PrefixUsage> children;
+}
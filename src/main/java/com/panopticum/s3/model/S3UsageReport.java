@@ -0,0 +1,27 @@
+package com.panopticum.s3.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class S3UsageReport {
+
+    private final String bucket;
+    private final String prefix;
+    private final String state;
+    private final String startedAt;
+    private final String finishedAt;
+    private final long objectsScanned;
+    private final long bytesScanned;
+    private final String sizeScanned;
+    private final long prefixesScanned;
+    private final long prefixesPending;
+    private final long requests;
+    private final String error;
+    private final S3PrefixUsage root;
+
+    public boolean isRunning() {
+        return "RUNNING".equals(state);
+    }
+}
@@ -0,0 +1,140 @@
+package com.panopticum.s3.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.model.DbConnection;
+import com.panopticum.core.util.StringUtils;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.minio.MinioClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Singleton
+public class S3ClientRegistry {
+
+    private final Map<Long, Entry> clients = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.s3.client.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${panopticum.s3.client.read-timeout:2m}")
+    private Duration readTimeout;
+
+    @Value("${panopticum.s3.client.write-timeout:2m}")
+    private Duration writeTimeout;
+
+    @Value("${panopticum.s3.client.max-idle-connections:32}")
+    private int maxIdleConnections;
+
+    @Value("${panopticum.s3.client.keep-alive:5m}")
+    private Duration keepAlive;
+
+    @Value("${panopticum.s3.client.max-requests-per-host:16}")
+    private int maxRequestsPerHost;
+
+    @Value("${panopticum.s3.client.idle-eviction:15m}")
+    private Duration idleEviction;
+
+    private OkHttpClient httpClient;
+
+    @PostConstruct
+    void start() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(Math.max(1, maxRequestsPerHost));
+        httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(Math.max(1, maxIdleConnections), keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .protocols(List.of(Protocol.HTTP_1_1))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    @PreDestroy
+    void stop() {
+        clients.clear();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    public MinioClient client(DbConnection conn) {
+        String fingerprint = fingerprint(conn);
+        Entry entry = clients.compute(conn.getId(), (id, current) ->
+                current != null && current.fingerprint.equals(fingerprint)
+                        ? current
+                        : new Entry(newClient(conn.getHost(), conn.getPort(), conn.getUsername(), conn.getPassword(), conn.isUseHttps()),
+                        fingerprint));
+        entry.lastUsed = System.currentTimeMillis();
+
+        return entry.client;
+    }
+
+    public MinioClient newClient(String host, int port, String accessKey, String secretKey, boolean useHttps) {
+        return MinioClient.builder()
+                .endpoint(resolveEndpoint(host, port, useHttps))
+                .credentials(accessKey != null ? accessKey : "", secretKey != null ? secretKey : "")
+                .httpClient(httpClient)
+                .build();
+    }
+
+    public void invalidate(Long connectionId) {
+        clients.remove(connectionId);
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    @Scheduled(fixedDelay = "1m", initialDelay = "1m")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction.toMillis();
+        clients.entrySet().removeIf(e -> e.getValue().lastUsed < cutoff);
+    }
+
+    private String resolveEndpoint(String host, int port, boolean useHttps) {
+        if (host.startsWith("http://") || host.startsWith("https://")) {
+            return host;
+        }
+        String scheme = useHttps ? "https" : "http";
+        boolean standardPort = useHttps ? port == 443 : port == 80;
+        return standardPort || port <= 0 ? scheme + "://" + host : scheme + "://" + host + ":" + port;
+    }
+
+    private String fingerprint(DbConnection conn) {
+        return String.join("\n", String.valueOf(conn.getHost()), String.valueOf(conn.getPort()),
+                String.valueOf(conn.getUsername()), StringUtils.sha256(conn.getPassword()),
+                String.valueOf(conn.isUseHttps()));
+    }
+
+    private static final class Entry {
+
+        private final MinioClient client;
+        private final String fingerprint;
+        private volatile long lastUsed;
+
+        private Entry(MinioClient client, String fingerprint) {
+            this.client = client;
+            this.fingerprint = fingerprint;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.panopticum.s3.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Singleton
+public class S3ListingCache {
+
+    private final Map<Key, ConcurrentSkipListMap<Integer, String>> boundaries = new LinkedHashMap<>(64, 0.75f, true);
+
+    @Value("${panopticum.s3.listing-cache.max-prefixes:256}")
+    private int maxPrefixes;
+
+    @Value("${panopticum.s3.listing-cache.max-pages-per-prefix:200}")
+    private int maxPagesPerPrefix;
+
+    public Optional<String> startAfter(Long connectionId, String bucket, String prefix, int size, int page) {
+        ConcurrentSkipListMap<Integer, String> pages = pages(connectionId, bucket, prefix, size, false);
+
+        return pages != null ? Optional.ofNullable(pages.get(page)) : Optional.empty();
+    }
+
+    public Optional<Map.Entry<Integer, String>> nearestBefore(Long connectionId, String bucket, String prefix,
+                                                            int size, int page) {
+        ConcurrentSkipListMap<Integer, String> pages = pages(connectionId, bucket, prefix, size, false);
+
+        return pages != null ? Optional.ofNullable(pages.lowerEntry(page)) : Optional.empty();
+    }
+
+    public void remember(Long connectionId, String bucket, String prefix, int size, int page, String startAfter) {
+        if (page < 2 || startAfter == null) {
+            return;
+        }
+        ConcurrentSkipListMap<Integer, String> pages = pages(connectionId, bucket, prefix, size, true);
+        pages.put(page, startAfter);
+        while (pages.size() > maxPagesPerPrefix) {
+            pages.pollLastEntry();
+        }
+    }
+
+    public void forget(Long connectionId, String bucket, String prefix, int size) {
+        synchronized (boundaries) {
+            boundaries.remove(new Key(connectionId, bucket, prefix, size));
+        }
+    }
+
+    public void invalidate(Long connectionId) {
+        synchronized (boundaries) {
+            boundaries.keySet().removeIf(key -> key.connectionId().equals(connectionId));
+        }
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() != null) {
+            invalidate(event.connectionId());
+        }
+    }
+
+    private ConcurrentSkipListMap<Integer, String> pages(Long connectionId, String bucket, String prefix, int size,
+                                                         boolean create) {
+        Key key = new Key(connectionId, bucket, prefix, size);
+        synchronized (boundaries) {
+            ConcurrentSkipListMap<Integer, String> pages = boundaries.get(key);
+            if (pages == null && create) {
+                pages = new ConcurrentSkipListMap<>();
+                boundaries.put(key, pages);
+                while (boundaries.size() > maxPrefixes) {
+                    boundaries.remove(boundaries.keySet().iterator().next());
+                }
+            }
+
+            return pages;
+        }
+    }
+
+    private record Key(Long connectionId, String bucket, String prefix, int size) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.panopticum.s3.service;
+
+import com.panopticum.core.model.QueryResult;
+import com.panopticum.core.util.StringUtils;
+import lombok.experimental.UtilityClass;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+@UtilityClass
+class S3ParquetReader {
+
+    record Summary(MessageType schema, long rowCount, int rowGroups) {
+    }
+
+    record Scan(QueryResult result, int rowGroupsRead, int rowGroupsSkipped) {
+    }
+
+    Summary describe(InputFile file) throws IOException {
+        try (ParquetFileReader reader = ParquetFileReader.open(file, ParquetReadOptions.builder().build())) {
+            return new Summary(reader.getFooter().getFileMetaData().getSchema(), reader.getRecordCount(),
+                    reader.getRowGroups().size());
+        }
+    }
+
+    Scan read(InputFile file, List<String> columns, S3RowFilter filter, int offset, int limit) throws IOException {
+        try (ParquetFileReader reader = ParquetFileReader.open(file, ParquetReadOptions.builder().build())) {
+            MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+            MessageType projection = project(fileSchema, columns, filter);
+            reader.setRequestedSchema(projection);
+            MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(projection, fileSchema);
+            int filterField = filter != null ? projection.getFieldIndex(filter.column()) : -1;
+
+            List<List<Object>> rows = new ArrayList<>();
+            long remaining = offset;
+            boolean hasMore = false;
+            int read = 0;
+            int skipped = 0;
+            scan:
+            for (BlockMetaData block : reader.getRowGroups()) {
+                if (filter != null && !mayMatch(block, filter)
+                        || filter == null && remaining >= block.getRowCount()) {
+                    if (filter == null) {
+                        remaining -= block.getRowCount();
+                    }
+                    reader.skipNextRowGroup();
+                    skipped++;
+                    continue;
+                }
+                PageReadStore pages = reader.readNextRowGroup();
+                read++;
+                RecordReader<Group> records = columnIO.getRecordReader(pages, new GroupRecordConverter(projection));
+                for (long r = 0; r < pages.getRowCount(); r++) {
+                    Group group = records.read();
+                    if (filter != null && !filter.matches(cell(group, filterField, projection.getType(filterField)))) {
+                        continue;
+                    }
+                    if (remaining > 0) {
+                        remaining--;
+                        continue;
+                    }
+                    if (rows.size() == limit) {
+                        hasMore = true;
+                        break scan;
+                    }
+                    rows.add(row(group, projection));
+                }
+            }
+
+            List<String> names = new ArrayList<>();
+            List<String> types = new ArrayList<>();
+            for (Type field : projection.getFields()) {
+                names.add(field.getName());
+                types.add(typeName(field));
+            }
+            QueryResult result = new QueryResult(names, types, rows, null, null, offset, limit, hasMore);
+
+            return new Scan(result, read, skipped);
+        }
+    }
+
+    Scan scan(InputFile file, Set<String> columns, List<S3RowFilter> pruneBy, Predicate<Map<String, Object>> sink)
+            throws IOException {
+        try (ParquetFileReader reader = ParquetFileReader.open(file, ParquetReadOptions.builder().build())) {
+            MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+            for (S3RowFilter filter : pruneBy) {
+                if (!fileSchema.containsField(filter.column()) || !fileSchema.getType(filter.column()).isPrimitive()) {
+                    return new Scan(null, 0, reader.getRowGroups().size());
+                }
+            }
+            List<Type> fields = new ArrayList<>();
+            for (Type field : fileSchema.getFields()) {
+                if (columns == null || columns.contains(field.getName())) {
+                    fields.add(field);
+                }
+            }
+            if (fields.isEmpty()) {
+                return new Scan(null, 0, reader.getRowGroups().size());
+            }
+            MessageType projection = new MessageType(fileSchema.getName(), fields);
+            reader.setRequestedSchema(projection);
+            MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(projection, fileSchema);
+
+            int read = 0;
+            int skipped = 0;
+            for (BlockMetaData block : reader.getRowGroups()) {
+                if (!pruneBy.stream().allMatch(filter -> mayMatch(block, filter))) {
+                    reader.skipNextRowGroup();
+                    skipped++;
+                    continue;
+                }
+                PageReadStore pages = reader.readNextRowGroup();
+                read++;
+                RecordReader<Group> records = columnIO.getRecordReader(pages, new GroupRecordConverter(projection));
+                for (long r = 0; r < pages.getRowCount(); r++) {
+                    Group group = records.read();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < projection.getFieldCount(); i++) {
+                        row.put(projection.getFieldName(i), cell(group, i, projection.getType(i)));
+                    }
+                    if (!sink.test(row)) {
+                        return new Scan(null, read, skipped);
+                    }
+                }
+            }
+
+            return new Scan(null, read, skipped);
+        }
+    }
+
+    String typeName(Type field) {
+        if (!field.isPrimitive()) {
+            return "group";
+        }
+        PrimitiveType primitive = field.asPrimitiveType();
+        LogicalTypeAnnotation logical = primitive.getLogicalTypeAnnotation();
+
+        return logical != null ? logical.toString().toLowerCase() : primitive.getPrimitiveTypeName().name().toLowerCase();
+    }
+
+    private MessageType project(MessageType schema, List<String> columns, S3RowFilter filter) {
+        if (filter != null && (!schema.containsField(filter.column()) || !schema.getType(filter.column()).isPrimitive())) {
+            throw new IllegalArgumentException("s3.filterInvalid");
+        }
+        if (columns == null || columns.isEmpty()) {
+            return schema;
+        }
+        List<Type> fields = new ArrayList<>();
+        for (Type field : schema.getFields()) {
+            if (columns.contains(field.getName()) || filter != null && field.getName().equals(filter.column())) {
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("s3.columnsNotFound");
+        }
+
+        return new MessageType(schema.getName(), fields);
+    }
+
+    private boolean mayMatch(BlockMetaData block, S3RowFilter filter) {
+        for (ColumnChunkMetaData column : block.getColumns()) {
+            if (column.getPath().toDotString().equals(filter.column())) {
+                return filter.mayMatch(column.getStatistics());
+            }
+        }
+
+        return true;
+    }
+
+    private List<Object> row(Group group, MessageType projection) {
+        List<Object> row = new ArrayList<>(projection.getFieldCount());
+        for (int i = 0; i < projection.getFieldCount(); i++) {
+            row.add(cell(group, i, projection.getType(i)));
+        }
+
+        return row;
+    }
+
+    private Object cell(Group group, int field, Type type) {
+        int count = group.getFieldRepetitionCount(field);
+        if (count == 0) {
+            return null;
+        }
+        if (!type.isPrimitive()) {
+            return StringUtils.truncate(group.getGroup(field, 0).toString().trim());
+        }
+        if (count == 1) {
+            return value(group, field, 0, type.asPrimitiveType());
+        }
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(value(group, field, i, type.asPrimitiveType()));
+        }
+
+        return StringUtils.truncate(values.toString());
+    }
+
+    BigDecimal decimal(Object raw, int scale) {
+        if (raw instanceof Integer i) {
+            return BigDecimal.valueOf(i, scale);
+        }
+        if (raw instanceof Long l) {
+            return BigDecimal.valueOf(l, scale);
+        }
+        if (raw instanceof Binary b) {
+            return new BigDecimal(new BigInteger(b.getBytes()), scale);
+        }
+
+        return null;
+    }
+
+    private Object value(Group group, int field, int index, PrimitiveType type) {
+        LogicalTypeAnnotation logical = type.getLogicalTypeAnnotation();
+        if (logical instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation decimal) {
+            Object raw = switch (type.getPrimitiveTypeName()) {
+                case INT32 -> group.getInteger(field, index);
+                case INT64 -> group.getLong(field, index);
+                case BINARY, FIXED_LEN_BYTE_ARRAY -> group.getBinary(field, index);
+                default -> null;
+            };
+            if (raw != null) {
+                return decimal(raw, decimal.getScale());
+            }
+        }
+
+        return switch (type.getPrimitiveTypeName()) {
+            case INT32 -> logical instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation
+                    ? LocalDate.ofEpochDay(group.getInteger(field, index)).toString()
+                    : group.getInteger(field, index);
+            case INT64 -> logical instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation ts
+                    ? timestamp(group.getLong(field, index), ts.getUnit())
+                    : group.getLong(field, index);
+            case FLOAT -> group.getFloat(field, index);
+            case DOUBLE -> group.getDouble(field, index);
+            case BOOLEAN -> group.getBoolean(field, index);
+            case BINARY -> logical instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation
+                    || logical instanceof LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+                    || logical instanceof LogicalTypeAnnotation.JsonLogicalTypeAnnotation
+                    ? StringUtils.truncate(group.getString(field, index))
+                    : StringUtils.truncate(group.getValueToString(field, index));
+            default -> StringUtils.truncate(group.getValueToString(field, index));
+        };
+    }
+
+    private String timestamp(long value, LogicalTypeAnnotation.TimeUnit unit) {
+        Instant instant = switch (unit) {
+            case MILLIS -> Instant.ofEpochMilli(value);
+            case MICROS -> Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000L), Math.floorMod(value, 1_000_000L) * 1_000L);
+            case NANOS -> Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L), Math.floorMod(value, 1_000_000_000L));
+        };
+
+        return instant.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.panopticum.s3.service;
+
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class S3RangeInputFile implements InputFile {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+
+    private final MinioClient client;
+    private final String bucket;
+    private final String key;
+    private final long length;
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    S3RangeInputFile(MinioClient client, String bucket, String key, long length) {
+        this.client = client;
+        this.bucket = bucket;
+        this.key = key;
+        this.length = length;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public SeekableInputStream newStream() {
+        return new RangeStream();
+    }
+
+    long bytesFetched() {
+        return bytesFetched.get();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    private void fetch(long position, byte[] target, int offset, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        try (InputStream in = client.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(key)
+                .offset(position)
+                .length((long) count)
+                .build())) {
+            int read = in.readNBytes(target, offset, count);
+            requests.incrementAndGet();
+            bytesFetched.addAndGet(read);
+            if (read < count) {
+                throw new EOFException("Unexpected end of s3://" + bucket + "/" + key + " at " + (position + read));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Ranged read of s3://" + bucket + "/" + key + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private final class RangeStream extends SeekableInputStream {
+
+        private long pos;
+        private byte[] buffer = new byte[0];
+        private long bufferStart;
+
+        @Override
+        public long getPos() {
+            return pos;
+        }
+
+        @Override
+        public void seek(long newPos) throws IOException {
+            if (newPos < 0 || newPos > length) {
+                throw new EOFException("Seek outside of object: " + newPos);
+            }
+            pos = newPos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (pos >= length) {
+                return -1;
+            }
+            if (!buffered(pos, 1)) {
+                fill(pos);
+            }
+            return buffer[(int) (pos++ - bufferStart)] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (pos >= length) {
+                return -1;
+            }
+            int count = (int) Math.min(len, length - pos);
+            readFully(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public void readFully(byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int start, int len) throws IOException {
+            if (pos + len > length) {
+                throw new EOFException("Read past end of object: " + (pos + len) + " > " + length);
+            }
+            if (buffered(pos, len)) {
+                System.arraycopy(buffer, (int) (pos - bufferStart), bytes, start, len);
+            } else if (len >= BLOCK_SIZE) {
+                fetch(pos, bytes, start, len);
+            } else {
+                fill(pos);
+                System.arraycopy(buffer, (int) (pos - bufferStart), bytes, start, len);
+            }
+            pos += len;
+        }
+
+        @Override
+        public int read(ByteBuffer buf) throws IOException {
+            int len = (int) Math.min(buf.remaining(), length - pos);
+            if (len <= 0) {
+                return buf.hasRemaining() ? -1 : 0;
+            }
+            copyInto(buf, len);
+            return len;
+        }
+
+        @Override
+        public void readFully(ByteBuffer buf) throws IOException {
+            copyInto(buf, buf.remaining());
+        }
+
+        private void copyInto(ByteBuffer buf, int len) throws IOException {
+            if (buf.hasArray()) {
+                readFully(buf.array(), buf.arrayOffset() + buf.position(), len);
+                buf.position(buf.position() + len);
+                return;
+            }
+            byte[] chunk = new byte[len];
+            readFully(chunk, 0, len);
+            buf.put(chunk);
+        }
+
+        private boolean buffered(long position, int len) {
+            return position >= bufferStart && position + len <= bufferStart + buffer.length;
+        }
+
+        private void fill(long position) throws IOException {
+            long end = Math.min(length, position + BLOCK_SIZE);
+            long start = Math.max(0, Math.min(position, end - BLOCK_SIZE));
+            byte[] block = new byte[(int) (end - start)];
+            fetch(start, block, 0, block.length);
+            buffer = block;
+            bufferStart = start;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.panopticum.s3.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.panopticum.core.model.QueryResult;
+import com.panopticum.core.util.StringUtils;
+import io.airlift.compress.v2.snappy.SnappyFramedInputStream;
+import io.airlift.compress.v2.zstd.ZstdInputStream;
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+@UtilityClass
+class S3RecordPreview {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final List<String> COMPRESSED_SUFFIXES = List.of(".gz", ".gzip", ".zst", ".zstd", ".sz", ".snappy");
+    private static final byte[] SNAPPY_FRAMED_MAGIC = {(byte) 0xff, 0x06, 0x00, 0x00, 's', 'N', 'a', 'P', 'p', 'Y'};
+    private static final char[] DELIMITER_CANDIDATES = {',', ';', '\t', '|'};
+    private static final int SNIFF_CHARS = 65536;
+    private static final int MAX_COLUMNS = 200;
+    private static final int MAX_RECORD_CHARS = 4 * 1024 * 1024;
+    private static final int MAX_FLATTEN_DEPTH = 6;
+
+    String stripCompression(String key) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        for (String suffix : COMPRESSED_SUFFIXES) {
+            if (lower.endsWith(suffix)) {
+                return key.substring(0, key.length() - suffix.length());
+            }
+        }
+
+        return key;
+    }
+
+    InputStream decompress(InputStream raw, long maxBytes) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, 65536);
+        in.mark(SNAPPY_FRAMED_MAGIC.length);
+        byte[] head = in.readNBytes(SNAPPY_FRAMED_MAGIC.length);
+        in.reset();
+        InputStream decoded;
+        if (startsWith(head, new byte[]{0x1f, (byte) 0x8b})) {
+            decoded = new GZIPInputStream(in, 65536);
+        } else if (startsWith(head, new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd})) {
+            decoded = new ZstdInputStream(in);
+        } else if (startsWith(head, SNAPPY_FRAMED_MAGIC)) {
+            decoded = new SnappyFramedInputStream(in);
+        } else {
+            decoded = in;
+        }
+
+        return new BoundedInputStream(decoded, maxBytes);
+    }
+
+    String formatOf(String key) {
+        if (key == null) {
+            return "text";
+        }
+        String lower = stripCompression(key).toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".json") || lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return "json";
+        }
+        if (lower.endsWith(".csv") || lower.endsWith(".tsv")) {
+            return "csv";
+        }
+        if (lower.endsWith(".parquet")) {
+            return "parquet";
+        }
+
+        return "text";
+    }
+
+    char delimiterOf(String key) {
+        return stripCompression(key).toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : 0;
+    }
+
+    QueryResult csv(InputStream in, char preferredDelimiter, int maxRecords) throws IOException {
+        GridCollector grid = new GridCollector(maxRecords);
+        scanCsv(in, preferredDelimiter, grid);
+
+        return grid.toResult();
+    }
+
+    QueryResult jsonRecords(InputStream in, int maxRecords) throws IOException {
+        GridCollector grid = new GridCollector(maxRecords);
+        scanJson(in, grid);
+
+        return grid.toResult();
+    }
+
+    void scanCsv(InputStream in, char preferredDelimiter, Predicate<Map<String, Object>> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), SNIFF_CHARS);
+        char delimiter = preferredDelimiter != 0 ? preferredDelimiter : sniffDelimiter(reader);
+        List<String> header = readCsvRecord(reader, delimiter);
+        if (header == null) {
+            return;
+        }
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < Math.min(header.size(), MAX_COLUMNS); i++) {
+            String name = header.get(i) != null ? header.get(i).trim() : "";
+            columns.add(name.isEmpty() || columns.contains(name) ? "column_" + (i + 1) : name);
+        }
+        List<String> record;
+        while ((record = readCsvRecord(reader, delimiter)) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < Math.min(record.size(), MAX_COLUMNS); i++) {
+                row.put(i < columns.size() ? columns.get(i) : "column_" + (i + 1), record.get(i));
+            }
+            if (!sink.test(row)) {
+                return;
+            }
+        }
+    }
+
+    void scanJson(InputStream in, Predicate<Map<String, Object>> sink) throws IOException {
+        RecordLimitedInputStream limited = new RecordLimitedInputStream(in, MAX_RECORD_CHARS);
+        try (JsonParser parser = JSON.getFactory().createParser(limited)) {
+            JsonToken first = parser.nextToken();
+            boolean array = first == JsonToken.START_ARRAY;
+            JsonToken token = array ? parser.nextToken() : first;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node;
+                limited.startRecord();
+                try {
+                    node = parser.readValueAsTree();
+                } catch (JsonEOFException e) {
+                    return;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                if (node != null && node.isObject()) {
+                    flatten("", node, row, 0);
+                } else {
+                    row.put("value", cell(node));
+                }
+                if (!sink.test(row)) {
+                    return;
+                }
+                token = parser.nextToken();
+            }
+        }
+    }
+
+    private void flatten(String prefix, JsonNode node, Map<String, Object> out, int depth) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = prefix.isEmpty() ? field.getKey() : prefix + "." + field.getKey();
+            JsonNode value = field.getValue();
+            if (value.isObject() && value.size() > 0 && depth < MAX_FLATTEN_DEPTH) {
+                flatten(name, value, out, depth + 1);
+            } else {
+                out.put(name, cell(value));
+            }
+        }
+    }
+
+    private Object cell(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return node.numberValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isTextual()) {
+            return StringUtils.truncate(node.textValue());
+        }
+
+        return StringUtils.truncate(node.toString());
+    }
+
+    private char sniffDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(SNIFF_CHARS);
+        int[] counts = new int[DELIMITER_CANDIDATES.length];
+        boolean quoted = false;
+        for (int i = 0, c; i < SNIFF_CHARS && (c = reader.read()) != -1; i++) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '\n' || c == '\r')) {
+                break;
+            } else if (!quoted) {
+                for (int d = 0; d < DELIMITER_CANDIDATES.length; d++) {
+                    if (c == DELIMITER_CANDIDATES[d]) {
+                        counts[d]++;
+                    }
+                }
+            }
+        }
+        reader.reset();
+        int best = 0;
+        for (int d = 1; d < counts.length; d++) {
+            if (counts[d] > counts[best]) {
+                best = d;
+            }
+        }
+
+        return DELIMITER_CANDIDATES[best];
+    }
+
+    private List<String> readCsvRecord(BufferedReader reader, char delimiter) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("s3.recordTooLarge");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                String value = finish(field);
+                if (fields.size() < MAX_COLUMNS) {
+                    fields.add(value);
+                }
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(field, (char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        String value = finish(field);
+        if (fields.size() < MAX_COLUMNS) {
+            fields.add(value);
+        }
+
+        return fields;
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() <= StringUtils.MAX_CELL_LENGTH) {
+            field.append(c);
+        }
+    }
+
+    private String finish(StringBuilder field) {
+        String value = StringUtils.truncate(field.toString());
+        field.setLength(0);
+
+        return value;
+    }
+
+    private boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static final class GridCollector implements Predicate<Map<String, Object>> {
+
+        private final int maxRecords;
+        private final Map<String, Integer> columns = new LinkedHashMap<>();
+        private final List<Map<String, Object>> records = new ArrayList<>();
+        private boolean hasMore;
+
+        GridCollector(int maxRecords) {
+            this.maxRecords = maxRecords;
+        }
+
+        @Override
+        public boolean test(Map<String, Object> row) {
+            if (records.size() == maxRecords) {
+                hasMore = true;
+                return false;
+            }
+            for (String column : row.keySet()) {
+                if (columns.size() < MAX_COLUMNS) {
+                    columns.putIfAbsent(column, columns.size());
+                }
+            }
+            records.add(row);
+            return true;
+        }
+
+        QueryResult toResult() {
+            List<String> names = new ArrayList<>(columns.keySet());
+            List<List<Object>> rows = new ArrayList<>(records.size());
+            for (Map<String, Object> record : records) {
+                List<Object> row = new ArrayList<>(names.size());
+                for (String name : names) {
+                    row.add(record.get(name));
+                }
+                rows.add(row);
+            }
+
+            return new QueryResult(names, rows, null, 0, maxRecords, hasMore);
+        }
+    }
+
+    private static final class RecordLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long consumed;
+        private long recordStart;
+
+        private RecordLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        private void startRecord() {
+            recordStart = consumed;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            consumed += n;
+            if (consumed - recordStart > limit) {
+                throw new IllegalArgumentException("s3.recordTooLarge");
+            }
+        }
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.panopticum.s3.service;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+record S3RowFilter(String column, String op, String value) {
+
+    private static final Pattern SIMPLE = Pattern.compile("^\\s*([\\w.$-]+)\\s*(==|=|!=|<>|<=|>=|<|>)\\s*(.*?)\\s*$");
+
+    static Optional<S3RowFilter> parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return Optional.empty();
+        }
+        Matcher m = SIMPLE.matcher(expression);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("s3.filterInvalid");
+        }
+        String op = switch (m.group(2)) {
+            case "==" -> "=";
+            case "<>" -> "!=";
+            default -> m.group(2);
+        };
+        String value = m.group(3);
+        if (value.length() >= 2 && (value.startsWith("'") && value.endsWith("'")
+                || value.startsWith("\"") && value.endsWith("\""))) {
+            value = value.substring(1, value.length() - 1);
+        }
+
+        return Optional.of(new S3RowFilter(m.group(1), op, value));
+    }
+
+    boolean mayMatch(Statistics<?> stats) {
+        if (stats == null || stats.isEmpty()) {
+            return true;
+        }
+        if (!stats.hasNonNullValue()) {
+            return false;
+        }
+        Integer lower = bound(stats.type(), stats.genericGetMin());
+        Integer upper = bound(stats.type(), stats.genericGetMax());
+        if (lower == null || upper == null) {
+            return true;
+        }
+
+        return switch (op) {
+            case "=" -> lower <= 0 && upper >= 0;
+            case "!=" -> !(lower == 0 && upper == 0);
+            case "<" -> lower < 0;
+            case "<=" -> lower <= 0;
+            case ">" -> upper > 0;
+            case ">=" -> upper >= 0;
+            default -> true;
+        };
+    }
+
+    boolean matches(Object cell) {
+        if (cell == null) {
+            return false;
+        }
+        Object actual = normalize(cell);
+        Integer c = actual instanceof String text ? compareText(text, value) : compare(actual, value);
+        if (c == null) {
+            c = compareBytes(String.valueOf(cell), value);
+        }
+
+        return switch (op) {
+            case "=" -> c == 0;
+            case "!=" -> c != 0;
+            case "<" -> c < 0;
+            case "<=" -> c <= 0;
+            case ">" -> c > 0;
+            case ">=" -> c >= 0;
+            default -> false;
+        };
+    }
+
+    private Integer bound(PrimitiveType type, Object stat) {
+        LogicalTypeAnnotation logical = type.getLogicalTypeAnnotation();
+        if (logical instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation decimal) {
+            return compare(S3ParquetReader.decimal(stat, decimal.getScale()), value);
+        }
+        if (stat instanceof Binary binary) {
+            boolean text = logical instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation
+                    || logical instanceof LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+                    || logical instanceof LogicalTypeAnnotation.JsonLogicalTypeAnnotation;
+            if (!text || isNumber(value)) {
+                return null;
+            }
+            return PrimitiveComparator.UNSIGNED_LEXICOGRAPHICAL_BINARY_COMPARATOR.compare(binary, Binary.fromString(value));
+        }
+
+        return compare(stat, value);
+    }
+
+    private static boolean isNumber(String text) {
+        try {
+            new BigDecimal(text.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int compareBytes(String actual, String expected) {
+        return PrimitiveComparator.UNSIGNED_LEXICOGRAPHICAL_BINARY_COMPARATOR
+                .compare(Binary.fromString(actual), Binary.fromString(expected));
+    }
+
+    private static Object normalize(Object value) {
+        return value instanceof Binary b ? b.toStringUsingUTF8() : value;
+    }
+
+    private static Integer compareText(String actual, String expected) {
+        try {
+            return new BigDecimal(actual.trim()).compareTo(new BigDecimal(expected.trim()));
+        } catch (NumberFormatException e) {
+            return compareBytes(actual, expected);
+        }
+    }
+
+    private static Integer compare(Object actual, String expected) {
+        try {
+            if (actual instanceof Number n) {
+                return new BigDecimal(n.toString()).compareTo(new BigDecimal(expected.trim()));
+            }
+            if (actual instanceof Boolean b) {
+                return Boolean.compare(b, Boolean.parseBoolean(expected.trim()));
+            }
+            if (actual instanceof String s) {
+                return compareBytes(s, expected);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,263 @@
+package com.panopticum.s3.service;
+
+import com.panopticum.core.model.QueryResult;
+import io.micronaut.context.annotation.Value;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Singleton
+public class S3SelectExecutor {
+
+    @Value("${panopticum.s3.select.parallelism:4}")
+    private int parallelism;
+
+    @Value("${panopticum.s3.select.max-objects:1000}")
+    private int maxObjects;
+
+    @Value("${panopticum.s3.select.timeout:2m}")
+    private Duration timeout;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "s3-select-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    QueryResult execute(MinioClient client, String bucket, S3SelectQuery query) throws Exception {
+        Map<String, Long> objects = query.prefixScan()
+                ? listObjects(client, bucket, query.prefix())
+                : Map.of(query.source(), client.statObject(StatObjectArgs.builder().bucket(bucket).object(query.source()).build()).size());
+        if (objects == null) {
+            return QueryResult.error("s3.selectTooManyObjects");
+        }
+        if (!query.prefixScan() && "text".equals(S3RecordPreview.formatOf(query.source()))) {
+            return QueryResult.error("s3.selectUnsupportedFormat");
+        }
+
+        Run run = new Run(query, query.prefixScan());
+        List<Future<Void>> tasks = new ArrayList<>(objects.size());
+        objects.forEach((key, size) -> tasks.add(pool.submit(() -> {
+            try {
+                scanObject(client, bucket, key, size, query, run);
+            } catch (Exception e) {
+                if (!query.prefixScan()) {
+                    throw e;
+                }
+                if (!run.stopped) {
+                    log.debug("S3 select of s3://{}/{} failed: {}", bucket, key, e.getMessage());
+                    run.failures.put(key, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                }
+            }
+            return null;
+        })));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<Void> task : tasks) {
+                task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            cancel(run, tasks);
+            run.timedOut = true;
+            return run.result();
+        } catch (ExecutionException e) {
+            cancel(run, tasks);
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        return run.result();
+    }
+
+    private Map<String, Long> listObjects(MinioClient client, String bucket, String prefix) throws Exception {
+        Map<String, Long> objects = new LinkedHashMap<>();
+        ListObjectsArgs args = ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .recursive(true)
+                .build();
+        for (Result<Item> result : client.listObjects(args)) {
+            Item item = result.get();
+            if (item.isDir() || "text".equals(S3RecordPreview.formatOf(item.objectName()))) {
+                continue;
+            }
+            if (objects.size() == maxObjects) {
+                return null;
+            }
+            objects.put(item.objectName(), item.size());
+        }
+        return objects;
+    }
+
+    private void scanObject(MinioClient client, String bucket, String key, long size, S3SelectQuery query, Run run)
+            throws Exception {
+        if (run.stopped) {
+            return;
+        }
+        String format = S3RecordPreview.formatOf(key);
+        if ("parquet".equals(format)) {
+            S3RangeInputFile file = new S3RangeInputFile(client, bucket, key, size);
+            if (query.count() && query.where().isEmpty()) {
+                run.count.addAndGet(S3ParquetReader.describe(file).rowCount());
+            } else {
+                S3ParquetReader.Scan scan = S3ParquetReader.scan(file, query.neededColumns(), query.where(),
+                        row -> run.accept(key, row));
+                log.debug("S3 select s3://{}/{}: {} row groups read, {} skipped, {} bytes fetched", bucket, key,
+                        scan.rowGroupsRead(), scan.rowGroupsSkipped(), file.bytesFetched());
+            }
+        } else {
+            InputStream in = client.getObject(GetObjectArgs.builder().bucket(bucket).object(key).build());
+            run.streams.add(in);
+            try (in; InputStream content = S3RecordPreview.decompress(in, Long.MAX_VALUE)) {
+                if (run.stopped) {
+                    return;
+                }
+                if ("csv".equals(format)) {
+                    S3RecordPreview.scanCsv(content, S3RecordPreview.delimiterOf(key), row -> run.accept(key, row));
+                } else {
+                    S3RecordPreview.scanJson(content, row -> run.accept(key, row));
+                }
+            } finally {
+                run.streams.remove(in);
+            }
+        }
+        run.objects.incrementAndGet();
+    }
+
+    private void cancel(Run run, List<Future<Void>> tasks) {
+        run.stopped = true;
+        for (InputStream stream : run.streams) {
+            try {
+                stream.close();
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing S3 object stream failed: {}", e.getMessage());
+            }
+        }
+        tasks.forEach(task -> task.cancel(true));
+    }
+
+    private static final class Run {
+
+        private final S3SelectQuery query;
+        private final boolean withKey;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicInteger objects = new AtomicInteger();
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final Set<InputStream> streams = ConcurrentHashMap.newKeySet();
+        private volatile boolean stopped;
+        private volatile boolean timedOut;
+        private boolean hasMore;
+
+        private Run(S3SelectQuery query, boolean withKey) {
+            this.query = query;
+            this.withKey = withKey;
+        }
+
+        private boolean accept(String key, Map<String, Object> row) {
+            if (stopped) {
+                return false;
+            }
+            for (S3RowFilter filter : query.where()) {
+                if (!filter.matches(row.get(filter.column()))) {
+                    return true;
+                }
+            }
+            if (query.count()) {
+                count.incrementAndGet();
+                return true;
+            }
+            Map<String, Object> out = new LinkedHashMap<>();
+            if (withKey) {
+                out.put("_key", key);
+            }
+            if (query.columns().isEmpty()) {
+                out.putAll(row);
+            } else {
+                query.columns().forEach(column -> out.put(column, row.get(column)));
+            }
+            synchronized (rows) {
+                if (rows.size() >= query.limit()) {
+                    hasMore = true;
+                    stopped = true;
+                    return false;
+                }
+                rows.add(out);
+            }
+            return true;
+        }
+
+        private QueryResult result() {
+            List<Map<String, Object>> out = new ArrayList<>();
+            if (query.count()) {
+                Map<String, Object> totals = new LinkedHashMap<>();
+                totals.put("count", count.get());
+                totals.put("objects", objects.get());
+                out.add(totals);
+            } else {
+                synchronized (rows) {
+                    out.addAll(rows);
+                }
+            }
+            failures.forEach((key, message) -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("_key", key);
+                row.put("_error", message);
+                out.add(row);
+            });
+            Set<String> columns = new LinkedHashSet<>();
+            out.forEach(row -> columns.addAll(row.keySet()));
+            List<String> names = new ArrayList<>(columns);
+            List<List<Object>> grid = new ArrayList<>(out.size());
+            for (Map<String, Object> row : out) {
+                List<Object> cells = new ArrayList<>(names.size());
+                names.forEach(name -> cells.add(row.get(name)));
+                grid.add(cells);
+            }
+            String error = timedOut ? "s3.selectTimeout" : failures.isEmpty() ? null : "s3.selectPartial";
+
+            return new QueryResult(names, grid, error, 0, query.count() ? 1 : query.limit(), hasMore);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.panopticum.s3.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+record S3SelectQuery(List<String> columns, boolean count, String source, List<S3RowFilter> where, int limit) {
+
+    private static final Pattern SELECT = Pattern.compile(
+            "^\\s*select\\s+(.+?)\\s+from\\s+(?:'([^']*)'|\"([^\"]*)\"|(\\S+))"
+                    + "(?:\\s+where\\s+(.+?))?(?:\\s+limit\\s+(\\d{1,9}))?\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern AND = Pattern.compile("\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COUNT = Pattern.compile("^count\\s*\\(\\s*\\*\\s*\\)$", Pattern.CASE_INSENSITIVE);
+
+    static boolean looksLikeSelect(String query) {
+        return query != null && query.trim().regionMatches(true, 0, "select ", 0, 7);
+    }
+
+    static S3SelectQuery parse(String sql, String bucket, int maxLimit) {
+        Matcher m = SELECT.matcher(sql != null ? sql : "");
+        if (!m.matches()) {
+            throw new IllegalArgumentException("s3.selectInvalid");
+        }
+        String projection = m.group(1).trim();
+        boolean count = COUNT.matcher(projection).matches();
+        List<String> columns = count || "*".equals(projection)
+                ? List.of()
+                : Arrays.stream(projection.split(","))
+                        .map(String::trim)
+                        .map(c -> c.length() >= 2 && c.startsWith("\"") && c.endsWith("\"") ? c.substring(1, c.length() - 1) : c)
+                        .filter(c -> !c.isEmpty())
+                        .toList();
+        String source = m.group(2) != null ? m.group(2) : m.group(3) != null ? m.group(3) : m.group(4);
+        List<S3RowFilter> where = new ArrayList<>();
+        if (m.group(5) != null) {
+            for (String condition : AND.split(m.group(5).trim())) {
+                where.add(S3RowFilter.parse(condition).orElseThrow(() -> new IllegalArgumentException("s3.selectInvalid")));
+            }
+        }
+        int limit = m.group(6) != null ? Math.min(Integer.parseInt(m.group(6)), maxLimit) : maxLimit;
+
+        return new S3SelectQuery(columns, count, objectKey(source, bucket), List.copyOf(where), Math.max(1, limit));
+    }
+
+    boolean prefixScan() {
+        return source.isEmpty() || source.endsWith("/") || source.endsWith("*");
+    }
+
+    String prefix() {
+        return source.endsWith("*") ? source.substring(0, source.length() - 1) : source;
+    }
+
+    Set<String> neededColumns() {
+        if (!count && columns.isEmpty()) {
+            return null;
+        }
+        Set<String> needed = new LinkedHashSet<>(columns);
+        where.forEach(filter -> needed.add(filter.column()));
+        return needed;
+    }
+
+    private static String objectKey(String source, String bucket) {
+        String key = source.trim();
+        if (key.regionMatches(true, 0, "s3://", 0, 5)) {
+            key = key.substring(5);
+            if (bucket != null && key.startsWith(bucket + "/")) {
+                key = key.substring(bucket.length() + 1);
+            } else if (bucket != null && key.equals(bucket)) {
+                key = "";
+            }
+        }
+        return key.startsWith("/") ? key.substring(1) : key;
+    }
+}
@@ -3,12 +3,16 @@ package com.panopticum.s3.service;
 import com.panopticum.core.error.AccessResult;
 import com.panopticum.core.model.DbConnection;
 import com.panopticum.core.model.Page;
+import com.panopticum.core.model.QueryResult;
 import com.panopticum.core.service.DbConnectionService;
 import com.panopticum.core.util.SizeFormatter;
 import com.panopticum.core.model.ColumnInfo;
 import com.panopticum.core.model.EntityDescription;
+import com.panopticum.s3.S3ListingCursors;
 import com.panopticum.s3.model.S3BucketInfo;
 import com.panopticum.s3.model.S3ObjectInfo;
+import com.panopticum.s3.model.S3UsageReport;
+import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
 import io.minio.ListBucketsArgs;
 import io.minio.ListObjectsArgs;
@@ -20,6 +24,7 @@ import io.minio.errors.ErrorResponseException;
 import io.minio.messages.Bucket;
 import io.minio.messages.Item;
 import jakarta.inject.Singleton;
+import org.apache.parquet.schema.Type;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +33,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -37,12 +43,20 @@ public class S3Service {
 
     private static final int DEFAULT_PEEK_BYTES = 65536;
     private static final int MAX_PEEK_BYTES = 1048576;
+    private static final int MAX_LIST_KEYS = 1000;
+    private static final int MAX_PARQUET_ROWS = 1000;
+    private static final int MAX_PREVIEW_RECORDS = 1000;
+    private static final long MAX_PREVIEW_DECODED_BYTES = 64L * 1024 * 1024;
 
     private final DbConnectionService dbConnectionService;
+    private final S3ListingCache listingCache;
+    private final S3SelectExecutor selectExecutor;
+    private final S3ClientRegistry clientRegistry;
+    private final S3UsageAnalyzer usageAnalyzer;
 
     public Optional<String> testConnection(String host, int port, String region, String accessKey, String secretKey, boolean useHttps) {
         try {
-            MinioClient client = buildClient(host, port, accessKey, secretKey, useHttps);
+            MinioClient client = clientRegistry.newClient(host, port, accessKey, secretKey, useHttps);
             client.listBuckets(ListBucketsArgs.builder().build());
             return Optional.empty();
         } catch (ErrorResponseException e) {
@@ -72,29 +86,51 @@ public class S3Service {
     }
 
     public AccessResult<Page<S3ObjectInfo>> listObjects(Long connectionId, String bucket, String prefix, int page, int size) {
+        return listObjects(connectionId, bucket, prefix, page, size, null);
+    }
+
+    public AccessResult<Page<S3ObjectInfo>> listObjects(Long connectionId, String bucket, String prefix, int page, int size,
+                                                        String cursor) {
+        String safePrefix = prefix != null ? prefix : "";
+        int limit = Math.min(Math.max(1, size), MAX_LIST_KEYS);
         return withClient(connectionId, client -> {
-            String safePrefix = prefix != null ? prefix : "";
-            ListObjectsArgs args = ListObjectsArgs.builder()
-                    .bucket(bucket)
-                    .prefix(safePrefix)
-                    .delimiter("/")
-                    .build();
+            Optional<S3ListingCursors.Position> position = S3ListingCursors.decode(cursor, connectionId, bucket, safePrefix, limit);
+            int pageNo = position.map(S3ListingCursors.Position::page).orElse(Math.max(1, page));
+            String startAfter;
+            if (position.isPresent()) {
+                startAfter = position.get().startAfter();
+            } else if (pageNo > 1) {
+                startAfter = locateStartAfter(client, connectionId, bucket, safePrefix, limit, pageNo);
+                if (startAfter == null) {
+                    return AccessResult.ok(new Page<>(List.of(), pageNo, limit, "key", "asc",
+                            0, 0, true, false, Math.max(0, (pageNo - 2) * limit), pageNo * limit));
+                }
+            } else {
+                startAfter = null;
+            }
+
             List<S3ObjectInfo> items = new ArrayList<>();
-            for (Result<Item> result : client.listObjects(args)) {
+            String nextStartAfter = null;
+            boolean hasMore = false;
+            for (Result<Item> result : client.listObjects(listArgs(bucket, safePrefix, startAfter, limit + 1))) {
                 Item item = result.get();
-                items.add(S3ObjectInfo.builder()
-                        .key(item.objectName())
-                        .size(SizeFormatter.formatSize(item.size()))
-                        .sizeBytes(item.size())
-                        .lastModified(item.lastModified() != null ? item.lastModified().toString() : "")
-                        .etag(item.etag() != null ? item.etag() : "")
-                        .prefix(item.isDir())
-                        .build());
+                if (items.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(toObjectInfo(item));
+                nextStartAfter = S3ListingCursors.resumeAfter(item.objectName(), item.isDir());
             }
-            int offset = (page - 1) * size;
-            int end = Math.min(offset + size, items.size());
-            List<S3ObjectInfo> slice = offset < items.size() ? items.subList(offset, end) : List.of();
-            return AccessResult.ok(Page.of(slice, page, size, "key", "asc"));
+            String nextCursor = null;
+            if (hasMore) {
+                listingCache.remember(connectionId, bucket, safePrefix, limit, pageNo + 1, nextStartAfter);
+                nextCursor = S3ListingCursors.encode(connectionId, limit,
+                        new S3ListingCursors.Position(bucket, safePrefix, nextStartAfter, pageNo + 1));
+            }
+            int offset = (pageNo - 1) * limit;
+            return AccessResult.ok(new Page<>(items, pageNo, limit, "key", "asc",
+                    items.isEmpty() ? 0 : offset + 1, offset + items.size(), pageNo > 1, hasMore,
+                    Math.max(0, offset - limit), offset + limit, nextCursor));
         });
     }
 
@@ -102,19 +138,118 @@ public class S3Service {
         return withClient(connectionId, client -> {
             int requested = headBytes > 0 ? headBytes : DEFAULT_PEEK_BYTES;
             int safeBytes = Math.min(requested, MAX_PEEK_BYTES);
-            try (InputStream in = client.getObject(GetObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(key)
-                    .offset(0L)
-                    .length((long) safeBytes)
-                    .build())) {
-                byte[] buf = in.readNBytes(safeBytes);
-                String resolvedFormat = resolveFormat(format, key);
+            String resolvedFormat = resolveFormat(format, key);
+            boolean decode = !"hex".equals(resolvedFormat) && isCompressed(key);
+            GetObjectArgs.Builder args = GetObjectArgs.builder().bucket(bucket).object(key);
+            if (!decode) {
+                args.offset(0L).length((long) safeBytes);
+            }
+            try (InputStream in = client.getObject(args.build());
+                 InputStream content = decode ? S3RecordPreview.decompress(in, safeBytes) : in) {
+                byte[] buf = content.readNBytes(safeBytes);
                 return AccessResult.ok(formatContent(buf, resolvedFormat));
             }
         });
     }
 
+    public boolean isRecordFormat(String format, String key) {
+        String resolved = resolveFormat(format, key);
+        return "csv".equals(resolved) || "json".equals(resolved);
+    }
+
+    public AccessResult<QueryResult> previewRecords(Long connectionId, String bucket, String key, String format, int records) {
+        int safeRecords = Math.min(Math.max(1, records), MAX_PREVIEW_RECORDS);
+        return withClient(connectionId, client -> {
+            String resolvedFormat = resolveFormat(format, key);
+            try (InputStream in = client.getObject(GetObjectArgs.builder().bucket(bucket).object(key).build());
+                 InputStream content = S3RecordPreview.decompress(in, MAX_PREVIEW_DECODED_BYTES)) {
+                if ("csv".equals(resolvedFormat)) {
+                    return AccessResult.ok(S3RecordPreview.csv(content, S3RecordPreview.delimiterOf(key), safeRecords));
+                }
+                return AccessResult.ok(S3RecordPreview.jsonRecords(content, safeRecords));
+            } catch (IllegalArgumentException e) {
+                return AccessResult.error(e.getMessage());
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                log.warn("JSON preview of s3://{}/{} failed: {}", bucket, key, e.getOriginalMessage());
+                return AccessResult.error("s3.recordsInvalid");
+            }
+        });
+    }
+
+    public boolean isParquet(String format, String key) {
+        return "parquet".equals(resolveFormat(format, key));
+    }
+
+    public AccessResult<QueryResult> queryParquet(Long connectionId, String bucket, String key, List<String> columns,
+                                                  String where, int offset, int limit) {
+        Optional<S3RowFilter> filter;
+        try {
+            filter = S3RowFilter.parse(where);
+        } catch (IllegalArgumentException e) {
+            return AccessResult.error(e.getMessage());
+        }
+        int safeLimit = Math.min(Math.max(1, limit), MAX_PARQUET_ROWS);
+        return withClient(connectionId, client -> {
+            S3RangeInputFile file = openRanged(client, bucket, key);
+            try {
+                S3ParquetReader.Scan scan = S3ParquetReader.read(file, columns, filter.orElse(null),
+                        Math.max(0, offset), safeLimit);
+                log.debug("Parquet s3://{}/{}: {} row groups read, {} skipped, {} ranged GETs, {} of {} bytes",
+                        bucket, key, scan.rowGroupsRead(), scan.rowGroupsSkipped(), file.requests(),
+                        file.bytesFetched(), file.getLength());
+                return AccessResult.ok(scan.result());
+            } catch (IllegalArgumentException e) {
+                return AccessResult.error(e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Parquet read of s3://{}/{} failed: {}", bucket, key, e.getMessage());
+                return AccessResult.error("s3.parquetInvalid");
+            }
+        });
+    }
+
+    public boolean isSelect(String query) {
+        return S3SelectQuery.looksLikeSelect(query);
+    }
+
+    public AccessResult<QueryResult> select(Long connectionId, String bucket, String sql, int limit) {
+        S3SelectQuery query;
+        try {
+            query = S3SelectQuery.parse(sql, bucket, Math.min(Math.max(1, limit), MAX_PARQUET_ROWS));
+        } catch (IllegalArgumentException e) {
+            return AccessResult.error(e.getMessage());
+        }
+        return withClient(connectionId, client -> {
+            try {
+                QueryResult result = selectExecutor.execute(client, bucket, query);
+                return result.hasError() && result.getColumns().isEmpty()
+                        ? AccessResult.error(result.getError()) : AccessResult.ok(result);
+            } catch (IllegalArgumentException e) {
+                return AccessResult.error(e.getMessage());
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                log.warn("S3 select over s3://{}/{} failed: {}", bucket, query.source(), e.getOriginalMessage());
+                return AccessResult.error("s3.recordsInvalid");
+            }
+        });
+    }
+
+    public AccessResult<S3UsageReport> startUsageAnalysis(Long connectionId, String bucket, String prefix) {
+        String normalized = prefix != null ? prefix : "";
+        return withClient(connectionId, client -> {
+            if (!client.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+                return AccessResult.notFound("s3.access.notFound");
+            }
+            return AccessResult.ok(usageAnalyzer.start(connectionId, client, bucket, normalized));
+        });
+    }
+
+    public Optional<S3UsageReport> getUsageReport(Long connectionId, String bucket, String prefix) {
+        return usageAnalyzer.report(connectionId, bucket, prefix != null ? prefix : "");
+    }
+
+    public boolean cancelUsageAnalysis(Long connectionId, String bucket, String prefix) {
+        return usageAnalyzer.cancel(connectionId, bucket, prefix != null ? prefix : "");
+    }
+
     public AccessResult<EntityDescription> describeObject(Long connectionId, String bucket, String key) {
         return withClient(connectionId, client -> {
             StatObjectResponse stat = client.statObject(StatObjectArgs.builder().bucket(bucket).object(key).build());
@@ -133,6 +268,19 @@ public class S3Service {
             notes.add("size=" + stat.size());
             notes.add("contentType=" + stat.contentType());
             notes.add("etag=" + stat.etag());
+            Long rowCount = null;
+            if (isParquet(null, key)) {
+                S3ParquetReader.Summary parquet = S3ParquetReader.describe(
+                        new S3RangeInputFile(client, bucket, key, stat.size()));
+                columns.clear();
+                int pos = 1;
+                for (Type field : parquet.schema().getFields()) {
+                    columns.add(ColumnInfo.builder().name(field.getName()).type(S3ParquetReader.typeName(field))
+                            .nullable(!field.isRepetition(Type.Repetition.REQUIRED)).primaryKey(false).position(pos++).build());
+                }
+                rowCount = parquet.rowCount();
+                notes.add("rowGroups=" + parquet.rowGroups());
+            }
 
             return AccessResult.ok(EntityDescription.builder()
                     .entityKind("object")
@@ -140,10 +288,10 @@ public class S3Service {
                     .namespace(null)
                     .entity(key)
                     .columns(columns)
-                    .primaryKey(List.of("key"))
+                    .primaryKey(rowCount != null ? List.of() : List.of("key"))
                     .foreignKeys(List.of())
                     .indexes(List.of())
-                    .approximateRowCount(null)
+                    .approximateRowCount(rowCount)
                     .inferredFromSample(false)
                     .notes(notes)
                     .build());
@@ -157,7 +305,7 @@ public class S3Service {
         }
         DbConnection conn = connOpt.get();
         try {
-            MinioClient client = buildClientFromConnection(conn);
+            MinioClient client = clientRegistry.client(conn);
             return action.execute(client);
         } catch (ErrorResponseException e) {
             String code = e.errorResponse().code();
@@ -175,37 +323,15 @@ public class S3Service {
         }
     }
 
-    private MinioClient buildClientFromConnection(DbConnection conn) {
-        return buildClient(conn.getHost(), conn.getPort(), conn.getUsername(), conn.getPassword(), conn.isUseHttps());
-    }
-
-    MinioClient buildClient(String host, int port, String accessKey, String secretKey, boolean useHttps) {
-        String endpoint = resolveEndpoint(host, port, useHttps);
-        return MinioClient.builder()
-                .endpoint(endpoint)
-                .credentials(accessKey != null ? accessKey : "", secretKey != null ? secretKey : "")
-                .build();
-    }
-
-    private String resolveEndpoint(String host, int port, boolean useHttps) {
-        if (host.startsWith("http://") || host.startsWith("https://")) {
-            return host;
-        }
-        String scheme = useHttps ? "https" : "http";
-        boolean standardPort = useHttps ? port == 443 : port == 80;
-        return standardPort || port <= 0 ? scheme + "://" + host : scheme + "://" + host + ":" + port;
+    private boolean isCompressed(String key) {
+        return key != null && !S3RecordPreview.stripCompression(key).equals(key);
     }
 
     private String resolveFormat(String format, String key) {
         if (format != null && !"auto".equalsIgnoreCase(format)) {
             return format.toLowerCase();
         }
-        if (key == null) return "text";
-        String lower = key.toLowerCase();
-        if (lower.endsWith(".json") || lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) return "json";
-        if (lower.endsWith(".csv") || lower.endsWith(".tsv")) return "csv";
-        if (lower.endsWith(".parquet")) return "parquet";
-        return "text";
+        return S3RecordPreview.formatOf(key);
     }
 
     private String formatContent(byte[] buf, String format) {
@@ -236,7 +362,60 @@ public class S3Service {
         if (!"PAR1".equals(magic)) {
             return "[not a parquet file - magic bytes: " + HexFormat.of().formatHex(buf, 0, 4) + "]";
         }
-        return "[parquet file detected - use query-data to read rows]\nSize: " + buf.length + " bytes read.";
+        return "[parquet file detected - rows are read from the footer and column chunks]";
+    }
+
+    private String locateStartAfter(MinioClient client, Long connectionId, String bucket, String prefix,
+                                    int limit, int page) throws Exception {
+        Optional<String> cached = listingCache.startAfter(connectionId, bucket, prefix, limit, page);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Optional<Map.Entry<Integer, String>> nearest = listingCache.nearestBefore(connectionId, bucket, prefix, limit, page);
+        int current = nearest.map(Map.Entry::getKey).orElse(1);
+        String startAfter = nearest.map(Map.Entry::getValue).orElse(null);
+        int consumed = 0;
+        for (Result<Item> result : client.listObjects(listArgs(bucket, prefix, startAfter, MAX_LIST_KEYS))) {
+            Item item = result.get();
+            startAfter = S3ListingCursors.resumeAfter(item.objectName(), item.isDir());
+            if (++consumed == limit) {
+                consumed = 0;
+                current++;
+                listingCache.remember(connectionId, bucket, prefix, limit, current, startAfter);
+                if (current == page) {
+                    return startAfter;
+                }
+            }
+        }
+        return null;
+    }
+
+    private S3RangeInputFile openRanged(MinioClient client, String bucket, String key) throws Exception {
+        StatObjectResponse stat = client.statObject(StatObjectArgs.builder().bucket(bucket).object(key).build());
+        return new S3RangeInputFile(client, bucket, key, stat.size());
+    }
+
+    private ListObjectsArgs listArgs(String bucket, String prefix, String startAfter, int maxKeys) {
+        ListObjectsArgs.Builder args = ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .delimiter("/")
+                .maxKeys(maxKeys);
+        if (startAfter != null) {
+            args.startAfter(startAfter);
+        }
+        return args.build();
+    }
+
+    private S3ObjectInfo toObjectInfo(Item item) {
+        return S3ObjectInfo.builder()
+                .key(item.objectName())
+                .size(SizeFormatter.formatSize(item.size()))
+                .sizeBytes(item.size())
+                .lastModified(item.lastModified() != null ? item.lastModified().toString() : "")
+                .etag(item.etag() != null ? item.etag() : "")
+                .prefix(item.isDir())
+                .build();
     }
 
     @FunctionalInterface
@@ -0,0 +1,376 @@
+package com.panopticum.s3.service;
+
+import com.panopticum.core.model.ConnectionChangedEvent;
+import com.panopticum.core.util.SizeFormatter;
+import com.panopticum.s3.S3ListingCursors;
+import com.panopticum.s3.model.S3PrefixUsage;
+import com.panopticum.s3.model.S3UsageReport;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Singleton
+public class S3UsageAnalyzer {
+
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    private final Map<JobKey, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${panopticum.s3.usage.parallelism:8}")
+    private int parallelism;
+
+    @Value("${panopticum.s3.usage.requests-per-second:25}")
+    private int requestsPerSecond;
+
+    @Value("${panopticum.s3.usage.max-depth:6}")
+    private int maxDepth;
+
+    @Value("${panopticum.s3.usage.max-prefixes:20000}")
+    private int maxPrefixes;
+
+    @Value("${panopticum.s3.usage.result-ttl:1h}")
+    private Duration resultTtl;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "s3-usage-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        pool.shutdownNow();
+    }
+
+    S3UsageReport start(Long connectionId, MinioClient client, String bucket, String prefix) {
+        Job job = jobs.compute(new JobKey(connectionId, bucket, prefix), (key, current) ->
+                current != null && "RUNNING".equals(current.state) ? current : new Job(client, bucket, prefix));
+        if (job.launched.compareAndSet(false, true)) {
+            log.debug("S3 usage analysis started for s3://{}/{}", bucket, prefix);
+            submit(job, job.root);
+        }
+
+        return job.report();
+    }
+
+    Optional<S3UsageReport> report(Long connectionId, String bucket, String prefix) {
+        return Optional.ofNullable(jobs.get(new JobKey(connectionId, bucket, prefix))).map(Job::report);
+    }
+
+    boolean cancel(Long connectionId, String bucket, String prefix) {
+        Job job = jobs.get(new JobKey(connectionId, bucket, prefix));
+        if (job == null || !"RUNNING".equals(job.state)) {
+            return false;
+        }
+        job.cancel();
+
+        return true;
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.connectionId() == null) {
+            return;
+        }
+        jobs.entrySet().removeIf(entry -> {
+            if (!entry.getKey().connectionId().equals(event.connectionId())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelay = "5m", initialDelay = "5m")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void submit(Job job, Node node) {
+        job.pending.incrementAndGet();
+        try {
+            pool.execute(() -> scan(job, node));
+        } catch (RejectedExecutionException e) {
+            job.fail(e);
+            complete(job);
+        }
+    }
+
+    private void scan(Job job, Node node) {
+        try {
+            if (job.cancelled) {
+                return;
+            }
+            node.flat = node.depth >= maxDepth || job.prefixes.get() >= maxPrefixes;
+            long seen = 0;
+            String startAfter = null;
+            boolean rescan = true;
+            while (rescan) {
+                rescan = false;
+                ListObjectsArgs.Builder args = ListObjectsArgs.builder()
+                        .bucket(job.bucket)
+                        .prefix(node.prefix)
+                        .recursive(node.flat)
+                        .maxKeys(LIST_PAGE_SIZE);
+                if (startAfter != null) {
+                    args.startAfter(startAfter);
+                }
+                String last = startAfter;
+                throttle(job);
+                for (Result<Item> result : job.client.listObjects(args.build())) {
+                    if (job.cancelled) {
+                        return;
+                    }
+                    Item item = result.get();
+                    if (++seen % LIST_PAGE_SIZE == 0) {
+                        throttle(job);
+                    }
+                    if (item.isDir() && !node.flat) {
+                        if (!reservePrefix(job)) {
+                            node.flat = true;
+                            startAfter = last;
+                            rescan = true;
+                            break;
+                        }
+                        Node child = new Node(item.objectName(), node.depth + 1);
+                        node.children.add(child);
+                        submit(job, child);
+                    } else {
+                        node.add(item.size(), item.lastModified());
+                        job.objects.incrementAndGet();
+                        job.bytes.addAndGet(item.size());
+                    }
+                    last = S3ListingCursors.resumeAfter(item.objectName(), item.isDir());
+                }
+            }
+            job.scanned.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancel();
+        } catch (Exception e) {
+            log.warn("S3 usage analysis of s3://{}/{} failed: {}", job.bucket, node.prefix, e.getMessage());
+            job.fail(e);
+        } finally {
+            complete(job);
+        }
+    }
+
+    private boolean reservePrefix(Job job) {
+        long current;
+        do {
+            current = job.prefixes.get();
+            if (current >= maxPrefixes) {
+                return false;
+            }
+        } while (!job.prefixes.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    private void complete(Job job) {
+        if (job.pending.decrementAndGet() == 0) {
+            job.finish();
+        }
+    }
+
+    private void throttle(Job job) throws InterruptedException {
+        job.requests.incrementAndGet();
+        if (requestsPerSecond <= 0) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long wait;
+        synchronized (job) {
+            long now = System.nanoTime();
+            job.nextRequestAt = Math.max(job.nextRequestAt, now);
+            wait = job.nextRequestAt - now;
+            job.nextRequestAt += interval;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private record JobKey(Long connectionId, String bucket, String prefix) {
+    }
+
+    private record Rollup(S3PrefixUsage usage, ZonedDateTime oldest, ZonedDateTime newest) {
+    }
+
+    private static final class Job {
+
+        private final MinioClient client;
+        private final String bucket;
+        private final Node root;
+        private final Instant startedAt = Instant.now();
+        private final AtomicBoolean launched = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong objects = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong prefixes = new AtomicLong(1);
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+        private volatile String state = "RUNNING";
+        private volatile boolean cancelled;
+        private volatile String error;
+        private volatile Instant finishedAt;
+        private long nextRequestAt;
+
+        private Job(MinioClient client, String bucket, String prefix) {
+            this.client = client;
+            this.bucket = bucket;
+            this.root = new Node(prefix, 0);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            if ("RUNNING".equals(state)) {
+                state = "CANCELLED";
+                finishedAt = Instant.now();
+            }
+        }
+
+        private synchronized void fail(Exception e) {
+            cancelled = true;
+            if ("RUNNING".equals(state)) {
+                state = "FAILED";
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                finishedAt = Instant.now();
+            }
+        }
+
+        private synchronized void finish() {
+            if ("RUNNING".equals(state)) {
+                state = "DONE";
+                finishedAt = Instant.now();
+            }
+        }
+
+        private S3UsageReport report() {
+            return S3UsageReport.builder()
+                    .bucket(bucket)
+                    .prefix(root.prefix)
+                    .state(state)
+                    .startedAt(startedAt.toString())
+                    .finishedAt(finishedAt != null ? finishedAt.toString() : null)
+                    .objectsScanned(objects.get())
+                    .bytesScanned(bytes.get())
+                    .sizeScanned(SizeFormatter.formatSize(bytes.get()))
+                    .prefixesScanned(scanned.get())
+                    .prefixesPending(Math.max(0, prefixes.get() - scanned.get()))
+                    .requests(requests.get())
+                    .error(error)
+                    .root(rollup(root).usage())
+                    .build();
+        }
+
+        private static Rollup rollup(Node node) {
+            List<Rollup> children = new ArrayList<>();
+            for (Node child : node.children) {
+                children.add(rollup(child));
+            }
+            children.sort(Comparator.comparingLong((Rollup r) -> r.usage().getTotalBytes()).reversed());
+            long count;
+            long total;
+            ZonedDateTime oldest;
+            ZonedDateTime newest;
+            synchronized (node) {
+                count = node.count;
+                total = node.bytes;
+                oldest = node.oldest;
+                newest = node.newest;
+            }
+            List<S3PrefixUsage> usages = new ArrayList<>(children.size());
+            for (Rollup child : children) {
+                count += child.usage().getObjectCount();
+                total += child.usage().getTotalBytes();
+                oldest = earliest(oldest, child.oldest());
+                newest = latest(newest, child.newest());
+                usages.add(child.usage());
+            }
+            S3PrefixUsage usage = S3PrefixUsage.builder()
+                    .prefix(node.prefix)
+                    .depth(node.depth)
+                    .objectCount(count)
+                    .totalBytes(total)
+                    .totalSize(SizeFormatter.formatSize(total))
+                    .oldestModified(oldest != null ? oldest.toString() : "")
+                    .newestModified(newest != null ? newest.toString() : "")
+                    .truncated(node.flat)
+                    .children(usages)
+                    .build();
+
+            return new Rollup(usage, oldest, newest);
+        }
+
+        private static ZonedDateTime earliest(ZonedDateTime a, ZonedDateTime b) {
+            return a == null ? b : b == null || a.isBefore(b) ? a : b;
+        }
+
+        private static ZonedDateTime latest(ZonedDateTime a, ZonedDateTime b) {
+            return a == null ? b : b == null || a.isAfter(b) ? a : b;
+        }
+    }
+
+    private static final class Node {
+
+        private final String prefix;
+        private final int depth;
+        private final Queue<Node> children = new ConcurrentLinkedQueue<>();
+        private long count;
+        private long bytes;
+        private ZonedDateTime oldest;
+        private ZonedDateTime newest;
+        private volatile boolean flat;
+
+        private Node(String prefix, int depth) {
+            this.prefix = prefix;
+            this.depth = depth;
+        }
+
+        private synchronized void add(long size, ZonedDateTime modified) {
+            count++;
+            bytes += size;
+            if (modified != null) {
+                oldest = Job.earliest(oldest, modified);
+                newest = Job.latest(newest, modified);
+            }
+        }
+    }
+}